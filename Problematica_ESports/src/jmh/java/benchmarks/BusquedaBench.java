@@ -0,0 +1,54 @@
+package benchmarks;
+
+import models.Partida;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsquedas por nombre a través de {@link viewModel.AppVM}: torneo, equipo + torneo, y partida por id.
+ *
+ * <p>Los nombres se consultan en orden rotativo y, en {@link #inscripcionSinDistinguirMayusculas}, en
+ * mayúsculas, para recorrer también el camino de comparación sin distinguir mayúsculas.</p>
+ */
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BusquedaBench extends Escenario {
+
+    private String[] enMayusculas;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        construir();
+        enMayusculas = new String[nombresEquipos.length];
+        for (int i = 0; i < enMayusculas.length; i++) enMayusculas[i] = nombresEquipos[i].toUpperCase(Locale.ROOT);
+    }
+
+    /** Busca el torneo por nombre. */
+    @Benchmark
+    public int torneoPorNombre() {
+        return vm.getCantidadInscritos(TORNEO);
+    }
+
+    /** Busca torneo y equipo por nombre y comprueba la inscripción (ya inscrito: no cambia nada). */
+    @Benchmark
+    public boolean inscripcionExistente() {
+        return vm.inscribirEquipoEnTorneo(TORNEO, nombresEquipos[siguiente++ % equipos]);
+    }
+
+    @Benchmark
+    public boolean inscripcionSinDistinguirMayusculas() {
+        return vm.inscribirEquipoEnTorneo(TORNEO, enMayusculas[siguiente++ % equipos]);
+    }
+
+    /** Busca el torneo por nombre y la partida por id. */
+    @Benchmark
+    public Partida partidaPorId() {
+        return vm.getPartida(TORNEO, 1 + siguiente++ % partidas);
+    }
+}
@@ -0,0 +1,51 @@
+package benchmarks;
+
+import models.Equipo;
+import models.Jugador;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plantillas: {@link Equipo#addJugador} y {@link Equipo#removeJugador} con plantillas de distinto tamaño.
+ *
+ * <p>Se mide el alta seguida de la baja del mismo jugador, así la plantilla no cambia de tamaño entre
+ * invocaciones.</p>
+ */
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EquipoBench extends Escenario {
+
+    private Equipo equipo;
+    private Jugador[] jugadores;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        construir();
+        equipo = listaEquipos.get(0);
+        jugadores = new Jugador[1024];
+        for (int i = 0; i < jugadores.length; i++) jugadores[i] = new Jugador("Nuevo " + i, "N" + i, i);
+    }
+
+    @Benchmark
+    public int altaYBaja() {
+        Jugador j = jugadores[siguiente++ & (jugadores.length - 1)];
+        equipo.addJugador(j);
+        equipo.removeJugador(j);
+        return equipo.getCantidadJugadores();
+    }
+
+    /** Alta y baja más la lectura de la plantilla, que reconstruye la vista de jugadores tras cada cambio. */
+    @Benchmark
+    public int altaBajaYLectura() {
+        Jugador j = jugadores[siguiente++ & (jugadores.length - 1)];
+        equipo.addJugador(j);
+        int n = equipo.getJugadores().size();
+        equipo.removeJugador(j);
+        return n + equipo.getJugadores().size();
+    }
+}
@@ -0,0 +1,91 @@
+package benchmarks;
+
+import models.Arbitro;
+import models.Equipo;
+import models.Torneo;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import utils.ConsoleIO;
+import viewModel.AppVM;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datos de partida comunes a los benchmarks: un {@link AppVM} con {@code equipos} equipos de
+ * {@code jugadoresPorEquipo} jugadores, todos inscritos en un torneo con {@code partidas} partidas ya
+ * programadas.
+ *
+ * <h2>Notas de diseño</h2>
+ * <ul>
+ *   <li>Los tres tamaños son {@link Param}: cada benchmark se mide con todas las combinaciones (o las que se
+ *       pidan con {@code -p}), para ver cómo escala cada camino.</li>
+ *   <li>El calendario es un round-robin simple: cada día juegan todos los equipos, en parejas que rotan, con un
+ *       árbitro por cancha; así nunca hay conflictos de agenda.</li>
+ *   <li>Nombres como {@code "Equipo 17"}; {@link #nombresEquipos} los guarda para las búsquedas.</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+public abstract class Escenario {
+
+    static final String TORNEO = "Copa Benchmark";
+    static final LocalDate INICIO = LocalDate.of(2025, 1, 1);
+
+    @Param({"64", "1024"})
+    public int equipos;
+
+    @Param({"5", "50"})
+    public int jugadoresPorEquipo;
+
+    @Param({"1000", "100000"})
+    public int partidas;
+
+    AppVM vm;
+    Torneo torneo;
+    String[] nombresEquipos;
+    List<Equipo> listaEquipos;
+    List<Arbitro> arbitros;
+    /** Primer día sin partidas en el calendario. */
+    LocalDate diaLibre;
+
+    /** Arma el escenario desde cero (lo llaman los {@code @Setup} de cada benchmark). */
+    void construir() {
+        if (equipos < 2 || equipos % 2 != 0) throw new IllegalArgumentException("equipos debe ser par y >= 2");
+        vm = new AppVM(consolaMuda());
+        vm.crearJuego("Juego Benchmark", vm.crearCategoria("General", null));
+        vm.crearTorneo(TORNEO, "Benchmarks", INICIO, "Juego Benchmark");
+
+        nombresEquipos = new String[equipos];
+        for (int i = 0; i < equipos; i++) {
+            nombresEquipos[i] = "Equipo " + i;
+            vm.crearEquipo(nombresEquipos[i]);
+            vm.inscribirEquipoEnTorneo(TORNEO, nombresEquipos[i]);
+            for (int k = 0; k < jugadoresPorEquipo; k++) {
+                vm.agregarJugadorAEquipo(nombresEquipos[i], "Jugador " + i + "-" + k, "J" + i + "_" + k, (i * 31 + k * 17) % 4000);
+            }
+        }
+        arbitros = new ArrayList<>(equipos / 2);
+        for (int s = 0; s < equipos / 2; s++) arbitros.add(vm.crearArbitro("Árbitro", String.valueOf(s)));
+
+        int porDia = equipos / 2;
+        for (int k = 0; k < partidas; k++) {
+            int dia = k / porDia, cancha = k % porDia;
+            vm.programarPartida(TORNEO, INICIO.plusDays(dia),
+                    nombresEquipos[(2 * cancha + dia) % equipos], nombresEquipos[(2 * cancha + 1 + dia) % equipos],
+                    arbitros.get(cancha));
+        }
+        diaLibre = INICIO.plusDays((partidas + porDia - 1) / porDia);
+        torneo = vm.getTorneos().get(0);
+        listaEquipos = vm.getEquipos();
+    }
+
+    /** Consola sin entrada ni salida (la salida se descarta). */
+    static ConsoleIO consolaMuda() {
+        return new ConsoleIO(InputStream.nullInputStream(), new PrintStream(OutputStream.nullOutputStream()), false);
+    }
+}
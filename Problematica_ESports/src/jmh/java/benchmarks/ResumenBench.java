@@ -0,0 +1,85 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import utils.ConsoleIO;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Agregación del resumen (opción "Resumen" del menú): las filas armadas con la API pública e impresas con
+ * {@link ConsoleIO#table} a una salida descartada, frente a la impresión por páginas de
+ * {@link ConsoleIO#pagedTable} que usa hoy el flujo de resumen de {@link viewModel.AppVM}.
+ */
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ResumenBench extends Escenario {
+
+    private ConsoleIO io;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        construir();
+        io = consolaMuda();
+    }
+
+    /** Solo arma las filas (juegos, equipos y torneos). */
+    @Benchmark
+    public int filas() {
+        return filasJuegos().size() + filasEquipos().size() + filasTorneos().size();
+    }
+
+    /** Arma las filas y las imprime como tablas. */
+    @Benchmark
+    public void filasEImpresion() {
+        io.table(List.of("Juego", "Categoría"), filasJuegos());
+        io.table(List.of("Equipo", "#Jugadores"), filasEquipos());
+        io.table(List.of("Torneo", "Juego", "Equipos", "Partidas"), filasTorneos());
+    }
+
+    /** Imprime las mismas tablas por páginas, sin armar las listas de filas. */
+    @Benchmark
+    public int impresionPaginada() {
+        int n = io.pagedTable(List.of("Juego", "Categoría"), vm.getJuegos().iterator(), (j, celdas) -> {
+            celdas[0] = j.getNombre();
+            celdas[1] = j.getCategoria().toString();
+        }, ConsoleIO.DEFAULT_PAGE_SIZE, false);
+        n += io.pagedTable(List.of("Equipo", "#Jugadores"), vm.getEquipos().iterator(), (e, celdas) -> {
+            celdas[0] = e.getNombre();
+            celdas[1] = String.valueOf(e.getCantidadJugadores());
+        }, ConsoleIO.DEFAULT_PAGE_SIZE, false);
+        n += io.pagedTable(List.of("Torneo", "Juego", "Equipos", "Partidas"), vm.getTorneos().iterator(), (t, celdas) -> {
+            celdas[0] = t.getNombre();
+            celdas[1] = t.getJuego().getNombre();
+            celdas[2] = String.valueOf(vm.getCantidadInscritos(t.getNombre()));
+            celdas[3] = String.valueOf(vm.getCantidadPartidas(t.getNombre()));
+        }, ConsoleIO.DEFAULT_PAGE_SIZE, false);
+        return n;
+    }
+
+    private List<List<String>> filasJuegos() {
+        return vm.getJuegos().stream()
+                .map(j -> List.of(j.getNombre(), j.getCategoria().toString()))
+                .collect(Collectors.toList());
+    }
+
+    private List<List<String>> filasEquipos() {
+        return vm.getEquipos().stream()
+                .map(e -> List.of(e.getNombre(), String.valueOf(e.getCantidadJugadores())))
+                .collect(Collectors.toList());
+    }
+
+    private List<List<String>> filasTorneos() {
+        return vm.getTorneos().stream()
+                .map(t -> List.of(
+                        t.getNombre(),
+                        t.getJuego().getNombre(),
+                        String.valueOf(vm.getCantidadInscritos(t.getNombre())),
+                        String.valueOf(vm.getCantidadPartidas(t.getNombre()))
+                )).collect(Collectors.toList());
+    }
+}
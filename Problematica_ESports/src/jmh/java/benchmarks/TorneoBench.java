@@ -0,0 +1,77 @@
+package benchmarks;
+
+import models.Equipo;
+import models.Partida;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calendario de un torneo: {@link models.Torneo#programarPartida} y {@link models.Torneo#cancelarPartida}
+ * sobre calendarios de distinto tamaño.
+ *
+ * <h2>Notas de diseño</h2>
+ * <ul>
+ *   <li>Ambas operaciones cambian el estado (el calendario crece o se vacía), así que se miden en lotes de
+ *       {@link #LOTE} operaciones sobre un escenario recién armado en cada iteración
+ *       ({@link Mode#SingleShotTime}): el tiempo informado es el de <b>todo el lote</b>.</li>
+ *   <li>{@link #programarYCancelar} mide el par en régimen estable (el calendario no cambia de tamaño).</li>
+ * </ul>
+ */
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TorneoBench extends Escenario {
+
+    /** Operaciones por lote en los benchmarks de un solo disparo. */
+    public static final int LOTE = 1000;
+
+    private int siguiente;
+    private LocalDate dia;
+
+    @Setup(Level.Iteration)
+    public void preparar() {
+        construir();
+        siguiente = 0;
+        dia = diaLibre;
+    }
+
+    /** Programa {@link #LOTE} partidas nuevas, una por día libre. */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5, batchSize = LOTE)
+    @Measurement(iterations = 10, batchSize = LOTE)
+    public Partida programarPartida() {
+        return programarSiguiente();
+    }
+
+    /** Cancela {@link #LOTE} partidas existentes, en orden de id. */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5, batchSize = LOTE)
+    @Measurement(iterations = 10, batchSize = LOTE)
+    public boolean cancelarPartida() {
+        return torneo.cancelarPartida(1 + siguiente++ % partidas);
+    }
+
+    /** Programa una partida y la cancela enseguida. */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public void programarYCancelar(Blackhole bh) {
+        Partida p = programarSiguiente();
+        bh.consume(torneo.cancelarPartida(p.getId()));
+    }
+
+    private Partida programarSiguiente() {
+        int i = siguiente++ % equipos;
+        Equipo e1 = listaEquipos.get(i);
+        Equipo e2 = listaEquipos.get((i + 1) % equipos);
+        Partida p = torneo.programarPartida(dia, e1, e2, arbitros.get(0));
+        dia = dia.plusDays(1);
+        return p;
+    }
+}
@@ -0,0 +1,250 @@
+package api;
+
+import java.util.*;
+
+/**
+ * Lector/escritor JSON mínimo para la API HTTP (sin dependencias externas).
+ *
+ * <h2>Responsabilidades</h2>
+ * <ul>
+ *   <li>Leer el cuerpo de las peticiones: objetos, arreglos, textos, números, booleanos y null.</li>
+ *   <li>Escribir respuestas a partir de {@link Map}, {@link List}, {@link String}, {@link Number},
+ *       {@link Boolean} y null.</li>
+ * </ul>
+ *
+ * <h2>Notas de diseño</h2>
+ * <ul>
+ *   <li>Descenso recursivo sobre el texto, sin tokenizar aparte. Los objetos se leen como
+ *       {@link LinkedHashMap} (conservan el orden) y los números como {@link Long} o {@link Double}.</li>
+ *   <li>Errores de sintaxis: {@link IllegalArgumentException} (la API los responde como 400).</li>
+ *   <li>El anidamiento de objetos y arreglos se limita a {@link #PROFUNDIDAD_MAXIMA} niveles: un cuerpo como
+ *       {@code [[[[...]]]]} es un error de sintaxis más, no un desborde de pila del hilo que lo lee.</li>
+ * </ul>
+ */
+final class Json {
+
+    /** Niveles máximos de objetos y arreglos anidados al leer. */
+    static final int PROFUNDIDAD_MAXIMA = 64;
+
+    private final String texto;
+    private int pos;
+    private int profundidad;
+
+    private Json(String texto) { this.texto = texto; }
+
+    // ------------------------
+    // Lectura
+    // ------------------------
+
+    /**
+     * @return el objeto JSON del texto (un cuerpo vacío se lee como objeto vacío)
+     * @throws IllegalArgumentException si el texto no es un objeto JSON válido
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> leerObjeto(String texto) {
+        if (texto == null || texto.isBlank()) return new LinkedHashMap<>();
+        Json p = new Json(texto);
+        Object v = p.valor();
+        p.espacios();
+        if (p.pos != texto.length()) throw p.error("Contenido extra");
+        if (!(v instanceof Map)) throw new IllegalArgumentException("Se esperaba un objeto JSON");
+        return (Map<String, Object>) v;
+    }
+
+    private Object valor() {
+        espacios();
+        if (pos >= texto.length()) throw error("Fin inesperado");
+        char c = texto.charAt(pos);
+        switch (c) {
+            case '{': return objeto();
+            case '[': return arreglo();
+            case '"': return texto();
+            case 't': return literal("true", Boolean.TRUE);
+            case 'f': return literal("false", Boolean.FALSE);
+            case 'n': return literal("null", null);
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) return numero();
+                throw error("Carácter inesperado '" + c + "'");
+        }
+    }
+
+    private Map<String, Object> objeto() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        entrar();
+        pos++; // {
+        espacios();
+        if (consumir('}')) { profundidad--; return m; }
+        do {
+            espacios();
+            if (pos >= texto.length() || texto.charAt(pos) != '"') throw error("Se esperaba una clave");
+            String k = texto();
+            espacios();
+            if (!consumir(':')) throw error("Se esperaba ':'");
+            m.put(k, valor());
+            espacios();
+        } while (consumir(','));
+        if (!consumir('}')) throw error("Se esperaba '}'");
+        profundidad--;
+        return m;
+    }
+
+    private List<Object> arreglo() {
+        List<Object> l = new ArrayList<>();
+        entrar();
+        pos++; // [
+        espacios();
+        if (consumir(']')) { profundidad--; return l; }
+        do {
+            l.add(valor());
+            espacios();
+        } while (consumir(','));
+        if (!consumir(']')) throw error("Se esperaba ']'");
+        profundidad--;
+        return l;
+    }
+
+    private void entrar() {
+        if (++profundidad > PROFUNDIDAD_MAXIMA)
+            throw error("Más de " + PROFUNDIDAD_MAXIMA + " niveles de anidamiento");
+    }
+
+    private String texto() {
+        pos++; // "
+        StringBuilder sb = null;
+        int inicio = pos;
+        while (pos < texto.length()) {
+            char c = texto.charAt(pos);
+            if (c == '"') {
+                String s = sb == null ? texto.substring(inicio, pos) : sb.append(texto, inicio, pos).toString();
+                pos++;
+                return s;
+            }
+            if (c == '\\') {
+                if (sb == null) sb = new StringBuilder();
+                sb.append(texto, inicio, pos);
+                if (++pos >= texto.length()) break;
+                char e = texto.charAt(pos++);
+                switch (e) {
+                    case '"': case '\\': case '/': sb.append(e); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'u':
+                        if (pos + 4 > texto.length()) throw error("Escape \\u incompleto");
+                        try {
+                            sb.append((char) Integer.parseInt(texto.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException ex) {
+                            throw error("Escape \\u inválido");
+                        }
+                        pos += 4;
+                        break;
+                    default: throw error("Escape inválido '\\" + e + "'");
+                }
+                inicio = pos;
+            } else {
+                pos++;
+            }
+        }
+        throw error("Texto sin cerrar");
+    }
+
+    private Number numero() {
+        int inicio = pos;
+        if (texto.charAt(pos) == '-') pos++;
+        boolean decimal = false;
+        while (pos < texto.length()) {
+            char c = texto.charAt(pos);
+            if (c >= '0' && c <= '9') pos++;
+            else if (c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') { decimal = true; pos++; }
+            else break;
+        }
+        String s = texto.substring(inicio, pos);
+        try {
+            return decimal ? (Number) Double.parseDouble(s) : (Number) Long.parseLong(s);
+        } catch (NumberFormatException ex) {
+            throw error("Número inválido '" + s + "'");
+        }
+    }
+
+    private Object literal(String palabra, Object valor) {
+        if (!texto.startsWith(palabra, pos)) throw error("Literal inválido");
+        pos += palabra.length();
+        return valor;
+    }
+
+    private void espacios() {
+        while (pos < texto.length() && Character.isWhitespace(texto.charAt(pos))) pos++;
+    }
+
+    private boolean consumir(char c) {
+        if (pos < texto.length() && texto.charAt(pos) == c) { pos++; return true; }
+        return false;
+    }
+
+    private IllegalArgumentException error(String motivo) {
+        return new IllegalArgumentException("JSON inválido en la posición " + pos + ": " + motivo);
+    }
+
+    // ------------------------
+    // Escritura
+    // ------------------------
+
+    /** @return el valor serializado como JSON */
+    static String escribir(Object valor) {
+        StringBuilder sb = new StringBuilder(128);
+        escribir(sb, valor);
+        return sb.toString();
+    }
+
+    static void escribir(StringBuilder sb, Object valor) {
+        if (valor == null) {
+            sb.append("null");
+        } else if (valor instanceof String) {
+            escribirTexto(sb, (String) valor);
+        } else if (valor instanceof Number || valor instanceof Boolean) {
+            sb.append(valor);
+        } else if (valor instanceof Map) {
+            sb.append('{');
+            boolean primero = true;
+            for (Map.Entry<?, ?> e : ((Map<?, ?>) valor).entrySet()) {
+                if (!primero) sb.append(',');
+                primero = false;
+                escribirTexto(sb, String.valueOf(e.getKey()));
+                sb.append(':');
+                escribir(sb, e.getValue());
+            }
+            sb.append('}');
+        } else if (valor instanceof Collection) {
+            sb.append('[');
+            boolean primero = true;
+            for (Object o : (Collection<?>) valor) {
+                if (!primero) sb.append(',');
+                primero = false;
+                escribir(sb, o);
+            }
+            sb.append(']');
+        } else {
+            escribirTexto(sb, valor.toString());
+        }
+    }
+
+    private static void escribirTexto(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+}
@@ -0,0 +1,519 @@
+package api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import metricas.Medidor;
+import models.*;
+import viewModel.AppVM;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Front-end <b>HTTP/JSON</b> de {@link AppVM} sobre el servidor HTTP incluido en el JDK
+ * ({@code com.sun.net.httpserver}).
+ *
+ * <h2>Responsabilidades</h2>
+ * <ul>
+ *   <li>Traducir peticiones HTTP a llamadas de la API programática de {@link AppVM} y sus resultados a JSON.</li>
+ *   <li>Atender cada petición en su propio <b>hilo virtual</b>
+ *       ({@link Executors#newVirtualThreadPerTaskExecutor()}): miles de clientes simultáneos no requieren
+ *       miles de hilos del sistema.</li>
+ *   <li>Mapear las excepciones de la API a códigos HTTP.</li>
+ * </ul>
+ *
+ * <h2>Rutas</h2>
+ * <ul>
+ *   <li>{@code GET  /equipos} · {@code POST /equipos {"nombre"}}</li>
+ *   <li>{@code GET  /equipos/{equipo}/rivales} (cara a cara contra cada rival, todos los torneos)</li>
+ *   <li>{@code GET  /juegos} · {@code GET /torneos}</li>
+ *   <li>{@code POST /torneos/{torneo}/equipos {"equipo"}}</li>
+ *   <li>{@code GET  /torneos/{torneo}/partidas[?desde=id&limite=n]} (página por id) ·
+ *       {@code POST /torneos/{torneo}/partidas {"fecha":"yyyy-MM-dd","equipo1","equipo2"}} (árbitro del pool)</li>
+ *   <li>{@code GET  /torneos/{torneo}/clasificacion} (tabla de posiciones)</li>
+ *   <li>{@code GET  /partidas?desde=yyyy-MM-dd&hasta=yyyy-MM-dd[&saltar=n&limite=n&juego=&categoria=&equipo=]}
+ *       (todos los torneos, en orden cronológico)</li>
+ *   <li>{@code GET  /ranking?top=k} (como mucho {@link #MAX_PAGINA})</li>
+ *   <li>{@code GET  /metricas} (llamadas, errores y latencias por operación; ver {@link AppVM#getMetricas()})</li>
+ * </ul>
+ *
+ * <h2>Errores</h2>
+ * <ul>
+ *   <li>{@link IllegalArgumentException} → 400, {@link NoSuchElementException} → 404,
+ *       {@link IllegalStateException} → 409, ruta desconocida → 404, método no admitido → 405.</li>
+ *   <li>JSON con más de {@link Json#PROFUNDIDAD_MAXIMA} niveles de anidamiento → 400; cuerpo de más de
+ *       {@link #MAX_CUERPO} bytes → 413 (se lee con ese tope, nunca entero a memoria).</li>
+ *   <li>El cuerpo de error es {@code {"error": "..."}}.</li>
+ * </ul>
+ *
+ * <h2>Notas de diseño</h2>
+ * <ul>
+ *   <li>Requiere un {@link AppVM} en modo concurrente ({@link AppVM#AppVM(utils.ConsoleIO, boolean)}):
+ *       las peticiones llegan en paralelo.</li>
+ *   <li>Los segmentos de ruta se decodifican (p. ej. {@code /torneos/SYSTECH%20Cup/partidas}).</li>
+ *   <li>Los listados de partidas se paginan: {@code {"partidas": [...], "siguiente": {...}}} con como mucho
+ *       {@code limite} (tope {@link #MAX_PAGINA}) partidas. {@code siguiente} trae los parámetros de la
+ *       página siguiente, o es null si no quedan. Cada petición arma solo su página, nunca el resultado
+ *       entero: un torneo de millones de partidas cuesta lo mismo que uno chico.</li>
+ * </ul>
+ *
+ * <h2>Ejemplo</h2>
+ * <pre>{@code
+ * AppVM vm = new AppVM(new ConsoleIO(), true);
+ * try (ServidorApi api = new ServidorApi(vm, new InetSocketAddress(8080))) {
+ *     api.iniciar();
+ *     ...
+ * }
+ * }</pre>
+ */
+public final class ServidorApi implements AutoCloseable {
+
+    /** Conexiones pendientes de aceptar que admite el socket (picos de clientes detrás del balanceador). */
+    private static final int BACKLOG = 4096;
+
+    private static final int TOP_POR_DEFECTO = 10;
+
+    /** Partidas por página si no se pide {@code limite}. */
+    private static final int PAGINA_POR_DEFECTO = 100;
+
+    /** Tope de {@code limite} y de {@code top}: lo más que arma una sola respuesta. */
+    static final int MAX_PAGINA = 1000;
+
+    /** Bytes máximos del cuerpo de una petición. */
+    static final int MAX_CUERPO = 64 * 1024;
+
+    /** El cuerpo de la petición supera {@link #MAX_CUERPO} (se responde 413). */
+    private static final class CuerpoDemasiadoGrande extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        CuerpoDemasiadoGrande() { super("El cuerpo supera " + MAX_CUERPO + " bytes"); }
+    }
+
+    private final AppVM vm;
+    private final HttpServer servidor;
+    private final ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * @param vm        VM en modo concurrente
+     * @param direccion dirección y puerto de escucha (puerto 0 = uno libre)
+     * @throws IllegalArgumentException si el VM no está en modo concurrente
+     * @throws IOException              si no se puede abrir el puerto
+     */
+    public ServidorApi(AppVM vm, InetSocketAddress direccion) throws IOException {
+        this.vm = Objects.requireNonNull(vm, "vm");
+        if (!vm.isConcurrente()) throw new IllegalArgumentException("La API requiere un AppVM en modo concurrente");
+        this.servidor = HttpServer.create(direccion, BACKLOG);
+        servidor.createContext("/", this::atender);
+        servidor.setExecutor(hilos);
+    }
+
+    /** Empieza a aceptar peticiones (no bloquea). */
+    public void iniciar() { servidor.start(); }
+
+    /** @return puerto en el que escucha el servidor. */
+    public int getPuerto() { return servidor.getAddress().getPort(); }
+
+    /** Deja de aceptar peticiones, espera a las que están en curso y libera los hilos. */
+    @Override
+    public void close() {
+        servidor.stop(0);
+        hilos.close();
+    }
+
+    // ------------------------
+    // Enrutado
+    // ------------------------
+
+    private void atender(HttpExchange ex) throws IOException {
+        try (ex) {
+            int estado;
+            Object respuesta;
+            try {
+                List<String> ruta = segmentos(ex.getRequestURI().getRawPath());
+                String metodo = ex.getRequestMethod();
+                Resultado r = enrutar(metodo, ruta, ex);
+                estado = r.estado;
+                respuesta = r.cuerpo;
+            } catch (CuerpoDemasiadoGrande e) {
+                estado = 413;
+                respuesta = error(e);
+            } catch (IllegalArgumentException e) {
+                estado = 400;
+                respuesta = error(e);
+            } catch (NoSuchElementException e) {
+                estado = 404;
+                respuesta = error(e);
+            } catch (IllegalStateException e) {
+                estado = 409;
+                respuesta = error(e);
+            } catch (RuntimeException e) {
+                estado = 500;
+                respuesta = error(e);
+            }
+            responder(ex, estado, respuesta);
+        }
+    }
+
+    private Resultado enrutar(String metodo, List<String> ruta, HttpExchange ex) throws IOException {
+        int n = ruta.size();
+        String raiz = n == 0 ? "" : ruta.get(0);
+        switch (raiz) {
+            case "equipos":
+                if (n == 3 && ruta.get(2).equals("rivales")) {
+                    return metodo.equals("GET") ? ok(rivales(vm.getRivales(ruta.get(1)))) : noAdmitido();
+                }
+                if (n != 1) break;
+                if (metodo.equals("GET")) return ok(equipos());
+                if (metodo.equals("POST")) {
+                    Map<String, Object> cuerpo = cuerpo(ex);
+                    return creado(equipo(vm.crearEquipo(texto(cuerpo, "nombre"))));
+                }
+                return noAdmitido();
+            case "juegos":
+                if (n != 1) break;
+                return metodo.equals("GET") ? ok(juegos()) : noAdmitido();
+            case "torneos":
+                if (n == 1) return metodo.equals("GET") ? ok(torneos()) : noAdmitido();
+                if (n != 3) break;
+                String torneo = ruta.get(1);
+                if (ruta.get(2).equals("equipos")) {
+                    if (!metodo.equals("POST")) return noAdmitido();
+                    boolean inscrito = vm.inscribirEquipoEnTorneo(torneo, texto(cuerpo(ex), "equipo"));
+                    return ok(Map.of("inscrito", inscrito));
+                }
+                if (ruta.get(2).equals("partidas")) {
+                    if (metodo.equals("GET")) return ok(paginaDeTorneo(torneo, ex.getRequestURI().getRawQuery()));
+                    if (!metodo.equals("POST")) return noAdmitido();
+                    Map<String, Object> cuerpo = cuerpo(ex);
+                    Partida p = vm.programarPartida(torneo, fecha(cuerpo, "fecha"),
+                            texto(cuerpo, "equipo1"), texto(cuerpo, "equipo2"));
+                    return creado(partida(p));
+                }
+                if (ruta.get(2).equals("clasificacion")) {
+                    return metodo.equals("GET") ? ok(clasificacion(vm.getClasificacion(torneo))) : noAdmitido();
+                }
+                break;
+            case "partidas": {
+                if (n != 1) break;
+                if (!metodo.equals("GET")) return noAdmitido();
+                String consulta = ex.getRequestURI().getRawQuery();
+                Agenda.Filtro filtro = vm.filtroPartidas(parametro(consulta, "juego"), parametro(consulta, "categoria"),
+                        parametro(consulta, "equipo"));
+                return ok(paginaEntre(consulta, filtro));
+            }
+            case "ranking":
+                if (n != 1) break;
+                if (!metodo.equals("GET")) return noAdmitido();
+                int top = Math.max(0, Math.min(entero(ex.getRequestURI().getRawQuery(), "top", TOP_POR_DEFECTO), MAX_PAGINA));
+                List<Object> out = new ArrayList<>();
+                for (Jugador j : vm.getTopJugadores(top)) out.add(jugador(j));
+                return ok(out);
+            case "metricas":
+                if (n != 1) break;
+                return metodo.equals("GET") ? ok(metricas()) : noAdmitido();
+            default:
+                break;
+        }
+        return new Resultado(404, Map.of("error", "Ruta no encontrada"));
+    }
+
+    // ------------------------
+    // Representación JSON
+    // ------------------------
+
+    private List<Object> metricas() {
+        List<Object> out = new ArrayList<>();
+        for (Medidor.Resumen r : vm.getMetricas().resumen()) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("operacion", r.getNombre());
+            m.put("llamadas", r.getLlamadas());
+            m.put("errores", r.getErrores());
+            m.put("erroresPorTipo", r.getErroresPorTipo());
+            m.put("mediaNanos", r.getMediaNanos());
+            m.put("p50Nanos", r.getP50Nanos());
+            m.put("p90Nanos", r.getP90Nanos());
+            m.put("p99Nanos", r.getP99Nanos());
+            m.put("maxNanos", r.getMaxNanos());
+            out.add(m);
+        }
+        return out;
+    }
+
+    private List<Object> equipos() {
+        List<Object> out = new ArrayList<>();
+        for (Equipo e : vm.getEquipos()) out.add(equipo(e));
+        return out;
+    }
+
+    private static List<Object> clasificacion(List<Clasificacion.Posicion> tabla) {
+        List<Object> out = new ArrayList<>(tabla.size());
+        for (Clasificacion.Posicion p : tabla) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("puesto", p.getPuesto());
+            m.put("equipo", p.getEquipo().getNombre());
+            m.put("puntos", p.getPuntos());
+            m.put("jugadas", p.getJugadas());
+            m.put("ganadas", p.getGanadas());
+            m.put("empatadas", p.getEmpatadas());
+            m.put("perdidas", p.getPerdidas());
+            m.put("aFavor", p.getAFavor());
+            m.put("enContra", p.getEnContra());
+            m.put("diferencia", p.getDiferencia());
+            out.add(m);
+        }
+        return out;
+    }
+
+    private static List<Object> rivales(List<Enfrentamientos.Balance> balances) {
+        List<Object> out = new ArrayList<>(balances.size());
+        for (Enfrentamientos.Balance b : balances) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("rival", b.getRival().getNombre());
+            m.put("jugadas", b.getJugadas());
+            m.put("ganadas", b.getGanadas());
+            m.put("empatadas", b.getEmpatadas());
+            m.put("perdidas", b.getPerdidas());
+            m.put("aFavor", b.getAFavor());
+            m.put("enContra", b.getEnContra());
+            m.put("diferencia", b.getDiferencia());
+            out.add(m);
+        }
+        return out;
+    }
+
+    private static Map<String, Object> equipo(Equipo e) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("nombre", e.getNombre());
+        m.put("jugadores", e.getCantidadJugadores());
+        m.put("rankingPromedio", e.getRankingPromedio());
+        return m;
+    }
+
+    private List<Object> juegos() {
+        List<Object> out = new ArrayList<>();
+        for (Juego j : vm.getJuegos()) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("nombre", j.getNombre());
+            m.put("categoria", j.getCategoria().toString());
+            out.add(m);
+        }
+        return out;
+    }
+
+    private List<Object> torneos() {
+        List<Object> out = new ArrayList<>();
+        for (Torneo t : vm.getTorneos()) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("nombre", t.getNombre());
+            m.put("organizador", t.getOrganizador());
+            m.put("fechaInicio", t.getFechaInicio().toString());
+            m.put("juego", t.getJuego().getNombre());
+            m.put("equipos", vm.getCantidadInscritos(t.getNombre()));
+            m.put("partidas", vm.getCantidadPartidas(t.getNombre()));
+            out.add(m);
+        }
+        return out;
+    }
+
+    /** Página por id del calendario de un torneo (con {@link AppVM#recorrerPartidas}, sin copiarlo). */
+    private Map<String, Object> paginaDeTorneo(String torneo, String consulta) {
+        int desde = Math.max(1, entero(consulta, "desde", 1));
+        int limite = limite(consulta);
+        List<Object> partidas = new ArrayList<>(limite);
+        int siguiente = vm.recorrerPartidas(torneo, desde, limite, p -> partidas.add(partida(p)));
+        // Si el bloque no llegó a recortarse por el último id, puede haber más.
+        return pagina(partidas, siguiente == desde + limite ? Map.of("desde", siguiente) : null);
+    }
+
+    /**
+     * Página cronológica de {@code /partidas}. Se pide una partida de más para saber si hay página siguiente;
+     * esa continúa desde la fecha de la última devuelta, saltando las de ese día ya devueltas.
+     */
+    private Map<String, Object> paginaEntre(String consulta, Agenda.Filtro filtro) {
+        LocalDate desde = fecha(consulta, "desde");
+        int saltar = entero(consulta, "saltar", 0);
+        if (saltar < 0) throw new IllegalArgumentException("Parámetro 'saltar' negativo");
+        int limite = limite(consulta);
+        List<Partida> encontradas = vm.getPartidasEntre(desde, fecha(consulta, "hasta"), filtro, saltar, limite + 1);
+
+        int n = Math.min(encontradas.size(), limite);
+        List<Object> partidas = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) partidas.add(partida(encontradas.get(i)));
+        Map<String, Object> siguiente = null;
+        if (encontradas.size() > limite) {
+            LocalDate ultima = encontradas.get(n - 1).getFecha();
+            int mismoDia = 0;
+            for (int i = n - 1; i >= 0 && encontradas.get(i).getFecha().equals(ultima); i--) mismoDia++;
+            siguiente = new LinkedHashMap<>();
+            siguiente.put("desde", ultima.toString());
+            siguiente.put("saltar", ultima.equals(desde) ? saltar + mismoDia : mismoDia);
+        }
+        return pagina(partidas, siguiente);
+    }
+
+    private static Map<String, Object> pagina(List<Object> partidas, Map<String, Object> siguiente) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("partidas", partidas);
+        m.put("siguiente", siguiente);
+        return m;
+    }
+
+    private static Map<String, Object> partida(Partida p) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("id", p.getId());
+        m.put("torneo", p.getTorneo().getNombre());
+        m.put("fecha", p.getFecha().toString());
+        m.put("equipo1", p.getEquipo1().getNombre());
+        m.put("equipo2", p.getEquipo2().getNombre());
+        m.put("arbitro", p.getArbitro() == null ? null : p.getArbitro().toString());
+        if (p.tieneResultado()) {
+            m.put("marcador1", p.getMarcador1());
+            m.put("marcador2", p.getMarcador2());
+        }
+        return m;
+    }
+
+    private static Map<String, Object> jugador(Jugador j) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("alias", j.getAlias());
+        m.put("nombre", j.getNombre());
+        m.put("ranking", j.getRanking());
+        m.put("equipo", j.getEquipo() == null ? null : j.getEquipo().getNombre());
+        return m;
+    }
+
+    // ------------------------
+    // Utilidades HTTP
+    // ------------------------
+
+    /** Respuesta ya resuelta: código HTTP y cuerpo a serializar. */
+    private static final class Resultado {
+        final int estado;
+        final Object cuerpo;
+
+        Resultado(int estado, Object cuerpo) {
+            this.estado = estado;
+            this.cuerpo = cuerpo;
+        }
+    }
+
+    private static Resultado ok(Object cuerpo) { return new Resultado(200, cuerpo); }
+
+    private static Resultado creado(Object cuerpo) { return new Resultado(201, cuerpo); }
+
+    private static Resultado noAdmitido() { return new Resultado(405, Map.of("error", "Método no admitido")); }
+
+    private static Map<String, Object> error(RuntimeException e) {
+        return Map.of("error", e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+    }
+
+    private static void responder(HttpExchange ex, int estado, Object cuerpo) throws IOException {
+        byte[] bytes = Json.escribir(cuerpo).getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        ex.sendResponseHeaders(estado, bytes.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Lee el cuerpo como objeto JSON con un tope de {@link #MAX_CUERPO} bytes: si {@code Content-Length} ya lo
+     * supera no se lee nada, y si no lo declara se leen como mucho {@code MAX_CUERPO + 1} bytes.
+     */
+    private static Map<String, Object> cuerpo(HttpExchange ex) throws IOException {
+        String declarado = ex.getRequestHeaders().getFirst("Content-Length");
+        if (declarado != null) {
+            try {
+                if (Long.parseLong(declarado.trim()) > MAX_CUERPO) throw new CuerpoDemasiadoGrande();
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Content-Length inválido: " + declarado);
+            }
+        }
+        try (InputStream in = ex.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_CUERPO + 1);
+            if (bytes.length > MAX_CUERPO) throw new CuerpoDemasiadoGrande();
+            return Json.leerObjeto(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    /** Parte la ruta en segmentos no vacíos y decodifica cada uno ({@code %20} → espacio). */
+    private static List<String> segmentos(String rutaCruda) {
+        List<String> out = new ArrayList<>();
+        if (rutaCruda == null) return out;
+        for (String s : rutaCruda.split("/")) {
+            if (!s.isEmpty()) out.add(URLDecoder.decode(s.replace("+", "%2B"), StandardCharsets.UTF_8));
+        }
+        return out;
+    }
+
+    private static String texto(Map<String, Object> cuerpo, String campo) {
+        Object v = cuerpo.get(campo);
+        if (!(v instanceof String) || ((String) v).isBlank())
+            throw new IllegalArgumentException("Falta el campo de texto '" + campo + "'");
+        return (String) v;
+    }
+
+    private static LocalDate fecha(Map<String, Object> cuerpo, String campo) {
+        try {
+            return LocalDate.parse(texto(cuerpo, campo));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Fecha inválida en '" + campo + "' (yyyy-MM-dd)");
+        }
+    }
+
+    /** @return valor entero del parámetro de consulta, o el valor por defecto si no viene */
+    private static int entero(String consulta, String parametro, int porDefecto) {
+        String valor = parametro(consulta, parametro);
+        if (valor == null) return porDefecto;
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parámetro '" + parametro + "' no numérico");
+        }
+    }
+
+    /**
+     * @return {@code limite} de la consulta acotado a {@link #MAX_PAGINA} ({@link #PAGINA_POR_DEFECTO} si no viene)
+     * @throws IllegalArgumentException si es menor que 1
+     */
+    private static int limite(String consulta) {
+        int limite = entero(consulta, "limite", PAGINA_POR_DEFECTO);
+        if (limite < 1) throw new IllegalArgumentException("Parámetro 'limite' debe ser >= 1");
+        return Math.min(limite, MAX_PAGINA);
+    }
+
+    /**
+     * @return fecha del parámetro de consulta (obligatorio)
+     * @throws IllegalArgumentException si falta o no es {@code yyyy-MM-dd}
+     */
+    private static LocalDate fecha(String consulta, String parametro) {
+        String valor = parametro(consulta, parametro);
+        if (valor == null) throw new IllegalArgumentException("Falta el parámetro '" + parametro + "'");
+        try {
+            return LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Fecha inválida en '" + parametro + "' (yyyy-MM-dd)");
+        }
+    }
+
+    /** @return valor decodificado del parámetro de consulta, o null si no viene */
+    private static String parametro(String consulta, String parametro) {
+        if (consulta == null) return null;
+        for (String par : consulta.split("&")) {
+            int igual = par.indexOf('=');
+            if (igual > 0 && par.substring(0, igual).equals(parametro)) {
+                return URLDecoder.decode(par.substring(igual + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+}
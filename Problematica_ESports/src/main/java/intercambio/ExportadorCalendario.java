@@ -0,0 +1,358 @@
+package intercambio;
+
+import models.Partida;
+import viewModel.AppVM;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Exportación del calendario de un torneo a CSV, iCalendar (RFC 5545) o JSON por líneas.
+ *
+ * <h2>Responsabilidades</h2>
+ * <ul>
+ *   <li>Escribir las partidas vigentes de un torneo, en orden de id, directo a un {@link FileChannel}.</li>
+ *   <li>Exportar varios torneos a la vez, uno por hilo virtual (ver {@link #exportarVarios}).</li>
+ * </ul>
+ *
+ * <h2>Formatos</h2>
+ * <ul>
+ *   <li>{@link Formato#CSV}: {@code id,fecha,equipo1,equipo2,arbitro,marcador1,marcador2} (marcadores vacíos
+ *       si no hay resultado); se lee de vuelta con {@link LectorCsv}.</li>
+ *   <li>{@link Formato#ICALENDAR}: un {@code VEVENT} de día completo por partida.</li>
+ *   <li>{@link Formato#JSON_LINEAS}: un objeto por línea con los mismos campos que la API HTTP.</li>
+ * </ul>
+ *
+ * <h2>Notas de diseño</h2>
+ * <ul>
+ *   <li><b>Memoria constante</b>: el calendario se recorre en bloques de {@link #BLOQUE} partidas
+ *       ({@link AppVM#recorrerPartidas}); de cada bloque se copian solo los campos a arreglos reutilizados y
+ *       luego se escriben sin el torneo bloqueado. No se arma el documento ni se usa
+ *       {@link Partida#toString()}.</li>
+ *   <li>La salida pasa por un único búfer de bytes por exportación ({@link SalidaCanal}); sin estado
+ *       compartido, así que varias exportaciones pueden correr en paralelo.</li>
+ *   <li>Cada bloque es una foto coherente del calendario; un calendario que cambia durante la exportación
+ *       puede quedar con bloques de momentos distintos.</li>
+ * </ul>
+ */
+public class ExportadorCalendario {
+
+    /** Formato de salida (con su extensión de archivo). */
+    public enum Formato {
+        CSV("csv"), ICALENDAR("ics"), JSON_LINEAS("jsonl");
+
+        private final String extension;
+
+        Formato(String extension) { this.extension = extension; }
+
+        public String getExtension() { return extension; }
+    }
+
+    /** Partidas que se copian por cada toma del cerrojo del torneo. */
+    public static final int BLOQUE = 1024;
+
+    /** Plegado de líneas de iCalendar (octetos por línea sin contar el CRLF). */
+    private static final int LINEA_ICALENDAR = 75;
+
+    private final AppVM vm;
+
+    public ExportadorCalendario(AppVM vm) {
+        this.vm = Objects.requireNonNull(vm, "vm");
+    }
+
+    /**
+     * Exporta el calendario del torneo a un archivo (lo crea o lo reemplaza).
+     * @return cantidad de partidas exportadas
+     * @throws NoSuchElementException si el torneo no existe
+     */
+    public long exportar(String torneoNombre, Formato formato, Path archivo) throws IOException {
+        vm.getCantidadPartidas(torneoNombre); // falla antes de crear el archivo si el torneo no existe
+        return exportar(torneoNombre, formato, FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    /**
+     * Exporta el calendario del torneo al canal (que se cierra al terminar).
+     * @return cantidad de partidas exportadas
+     * @throws NoSuchElementException si el torneo no existe
+     */
+    public long exportar(String torneoNombre, Formato formato, WritableByteChannel canal) throws IOException {
+        Objects.requireNonNull(formato, "formato");
+        try (SalidaCanal out = new SalidaCanal(canal)) {
+            Bloque b = new Bloque();
+            int desde = b.leer(vm, torneoNombre, 1);
+            String torneo = b.n > 0 ? b.torneo : torneoNombre.trim();
+            LocalDateTime ahora = LocalDateTime.now(ZoneOffset.UTC);
+
+            encabezado(out, formato, torneo);
+            long total = 0;
+            while (b.n > 0 || desde > b.desde) {
+                for (int i = 0; i < b.n; i++) {
+                    switch (formato) {
+                        case CSV -> filaCsv(out, b, i);
+                        case ICALENDAR -> eventoIcs(out, b, i, torneo, ahora);
+                        case JSON_LINEAS -> lineaJson(out, b, i, torneo);
+                    }
+                }
+                total += b.n;
+                desde = b.leer(vm, torneoNombre, desde);
+            }
+            if (formato == Formato.ICALENDAR) out.ascii("END:VCALENDAR\r\n");
+            return total;
+        }
+    }
+
+    /**
+     * Exporta varios torneos en paralelo (un hilo virtual por torneo) a {@code carpeta}, un archivo
+     * {@code <torneo>.<extensión>} por torneo.
+     *
+     * @return partidas exportadas por torneo, en el orden recibido
+     * @throws IOException si falla alguna exportación (las demás terminan igual; el resto de los errores
+     *                     van como suprimidos)
+     * @throws NoSuchElementException si algún torneo no existe
+     */
+    public Map<String, Long> exportarVarios(Collection<String> torneos, Formato formato, Path carpeta) throws IOException {
+        Files.createDirectories(carpeta);
+        Map<String, Future<Long>> tareas = new LinkedHashMap<>();
+        Set<String> archivos = new HashSet<>();
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String t : torneos) {
+                Path archivo = carpeta.resolve(nombreArchivo(t, formato, archivos));
+                tareas.put(t, hilos.submit(() -> exportar(t, formato, archivo)));
+            }
+        }
+        Map<String, Long> out = new LinkedHashMap<>();
+        Exception primero = null;
+        for (Map.Entry<String, Future<Long>> e : tareas.entrySet()) {
+            try {
+                out.put(e.getKey(), e.getValue().get());
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof Error err) throw err;
+                if (primero == null) primero = (Exception) ex.getCause();
+                else primero.addSuppressed(ex.getCause());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Exportación interrumpida", ex);
+            }
+        }
+        if (primero instanceof IOException io) throw io;
+        if (primero instanceof RuntimeException re) throw re;
+        if (primero != null) throw new IOException(primero);
+        return out;
+    }
+
+    // ------------------------
+    // Bloque de partidas copiadas
+    // ------------------------
+
+    /** Campos de hasta {@link #BLOQUE} partidas, en arreglos reutilizados entre bloques. */
+    private static final class Bloque implements Consumer<Partida> {
+        final int[] ids = new int[BLOQUE];
+        final LocalDate[] fechas = new LocalDate[BLOQUE];
+        final String[] equipos1 = new String[BLOQUE];
+        final String[] equipos2 = new String[BLOQUE];
+        final String[] arbNombres = new String[BLOQUE];
+        final String[] arbApellidos = new String[BLOQUE];
+        final int[] marcadores1 = new int[BLOQUE];
+        final int[] marcadores2 = new int[BLOQUE];
+        String torneo;
+        int n;
+        int desde;
+
+        /** Copia el bloque que empieza en {@code desde}. @return id desde el que seguir */
+        int leer(AppVM vm, String torneoNombre, int desde) {
+            this.n = 0;
+            this.desde = desde;
+            return vm.recorrerPartidas(torneoNombre, desde, BLOQUE, this);
+        }
+
+        @Override
+        public void accept(Partida p) {
+            ids[n] = p.getId();
+            fechas[n] = p.getFecha();
+            equipos1[n] = p.getEquipo1().getNombre();
+            equipos2[n] = p.getEquipo2().getNombre();
+            arbNombres[n] = p.getArbitro() == null ? null : p.getArbitro().getNombre();
+            arbApellidos[n] = p.getArbitro() == null ? null : p.getArbitro().getApellido();
+            marcadores1[n] = p.tieneResultado() ? p.getMarcador1() : -1;
+            marcadores2[n] = p.tieneResultado() ? p.getMarcador2() : -1;
+            torneo = p.getTorneo().getNombre();
+            n++;
+        }
+    }
+
+    // ------------------------
+    // Formatos
+    // ------------------------
+
+    private static void encabezado(SalidaCanal out, Formato formato, String torneo) throws IOException {
+        switch (formato) {
+            case CSV -> out.ascii("id,fecha,equipo1,equipo2,arbitro,marcador1,marcador2\n");
+            case ICALENDAR -> {
+                out.plegarEn(LINEA_ICALENDAR);
+                out.ascii("BEGIN:VCALENDAR\r\nVERSION:2.0\r\nPRODID:-//SYSTECH//Problematica ESports//ES\r\n");
+                out.ascii("CALSCALE:GREGORIAN\r\nX-WR-CALNAME:");
+                textoIcs(out, torneo);
+                out.ascii("\r\n");
+            }
+            case JSON_LINEAS -> { }
+        }
+    }
+
+    private static void filaCsv(SalidaCanal out, Bloque b, int i) throws IOException {
+        out.entero(b.ids[i]).ascii(',').fecha(b.fechas[i], true).ascii(',');
+        textoCsv(out, b.equipos1[i]);
+        out.ascii(',');
+        textoCsv(out, b.equipos2[i]);
+        out.ascii(',');
+        if (b.arbNombres[i] != null) {
+            boolean comillas = requiereComillas(b.arbNombres[i]) || requiereComillas(b.arbApellidos[i]);
+            if (comillas) out.ascii('"');
+            escaparCsv(out, b.arbNombres[i]);
+            out.ascii(' ');
+            escaparCsv(out, b.arbApellidos[i]);
+            if (comillas) out.ascii('"');
+        }
+        out.ascii(',');
+        if (b.marcadores1[i] >= 0) out.entero(b.marcadores1[i]).ascii(',').entero(b.marcadores2[i]);
+        else out.ascii(',');
+        out.ascii('\n');
+    }
+
+    private static void eventoIcs(SalidaCanal out, Bloque b, int i, String torneo, LocalDateTime ahora)
+            throws IOException {
+        out.ascii("BEGIN:VEVENT\r\nUID:").entero(b.ids[i]).ascii('-');
+        textoIcs(out, torneo);
+        out.ascii("@problematica-esports\r\nDTSTAMP:").fecha(ahora.toLocalDate(), false).ascii('T')
+                .digitos(ahora.getHour(), 2).digitos(ahora.getMinute(), 2).digitos(ahora.getSecond(), 2)
+                .ascii("Z\r\nDTSTART;VALUE=DATE:").fecha(b.fechas[i], false)
+                .ascii("\r\nDTEND;VALUE=DATE:").fecha(b.fechas[i].plusDays(1), false)
+                .ascii("\r\nSUMMARY:");
+        textoIcs(out, b.equipos1[i]);
+        out.ascii(" vs ");
+        textoIcs(out, b.equipos2[i]);
+        out.ascii("\r\nDESCRIPTION:");
+        textoIcs(out, torneo);
+        out.ascii(" - partida ").entero(b.ids[i]);
+        if (b.arbNombres[i] != null) {
+            out.ascii("\\n").texto("Árbitro: ");
+            textoIcs(out, b.arbNombres[i]);
+            out.ascii(' ');
+            textoIcs(out, b.arbApellidos[i]);
+        }
+        if (b.marcadores1[i] >= 0)
+            out.ascii("\\nResultado: ").entero(b.marcadores1[i]).ascii('-').entero(b.marcadores2[i]);
+        out.ascii("\r\nEND:VEVENT\r\n");
+    }
+
+    private static void lineaJson(SalidaCanal out, Bloque b, int i, String torneo) throws IOException {
+        out.ascii("{\"id\":").entero(b.ids[i]).ascii(",\"torneo\":");
+        textoJson(out, torneo);
+        out.ascii(",\"fecha\":\"").fecha(b.fechas[i], true).ascii("\",\"equipo1\":");
+        textoJson(out, b.equipos1[i]);
+        out.ascii(",\"equipo2\":");
+        textoJson(out, b.equipos2[i]);
+        out.ascii(",\"arbitro\":");
+        if (b.arbNombres[i] == null) out.ascii("null");
+        else {
+            out.ascii('"');
+            escaparJson(out, b.arbNombres[i]);
+            out.ascii(' ');
+            escaparJson(out, b.arbApellidos[i]);
+            out.ascii('"');
+        }
+        if (b.marcadores1[i] >= 0)
+            out.ascii(",\"marcador1\":").entero(b.marcadores1[i]).ascii(",\"marcador2\":").entero(b.marcadores2[i]);
+        out.ascii("}\n");
+    }
+
+    // ------------------------
+    // Escapes (sin textos intermedios)
+    // ------------------------
+
+    private static boolean requiereComillas(String s) {
+        if (s.isEmpty()) return false;
+        if (s.charAt(0) == ' ' || s.charAt(s.length() - 1) == ' ') return true;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') return true;
+        }
+        return false;
+    }
+
+    private static void textoCsv(SalidaCanal out, String s) throws IOException {
+        boolean comillas = requiereComillas(s);
+        if (comillas) out.ascii('"');
+        escaparCsv(out, s);
+        if (comillas) out.ascii('"');
+    }
+
+    private static void escaparCsv(SalidaCanal out, String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) == '"') out.ascii('"');
+            out.caracter(s, i);
+        }
+    }
+
+    /** Texto de iCalendar: escapa {@code \ ; ,} y los saltos de línea. */
+    private static void textoIcs(SalidaCanal out, String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> out.ascii('\\').ascii(c);
+                case '\n' -> out.ascii("\\n");
+                case '\r' -> { }
+                default -> out.caracter(s, i);
+            }
+        }
+    }
+
+    private static void textoJson(SalidaCanal out, String s) throws IOException {
+        out.ascii('"');
+        escaparJson(out, s);
+        out.ascii('"');
+    }
+
+    /** Mismos escapes que {@code api.Json}. */
+    private static void escaparJson(SalidaCanal out, String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> out.ascii("\\\"");
+                case '\\' -> out.ascii("\\\\");
+                case '\n' -> out.ascii("\\n");
+                case '\r' -> out.ascii("\\r");
+                case '\t' -> out.ascii("\\t");
+                default -> {
+                    if (c < 0x20) out.ascii("\\u00").ascii(Character.forDigit(c >> 4, 16)).ascii(Character.forDigit(c & 0xF, 16));
+                    else out.caracter(s, i);
+                }
+            }
+        }
+    }
+
+    private static String nombreArchivo(String torneo, Formato formato, Set<String> usados) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < torneo.trim().length(); i++) {
+            char c = torneo.trim().charAt(i);
+            sb.append(Character.isLetterOrDigit(c) || c == '-' || c == '_' ? c : '_');
+        }
+        String base = sb.isEmpty() ? "torneo" : sb.toString();
+        String nombre = base;
+        for (int k = 2; !usados.add(nombre.toLowerCase(Locale.ROOT)); k++) nombre = base + "-" + k;
+        return nombre + "." + formato.getExtension();
+    }
+}
@@ -0,0 +1,291 @@
+package intercambio;
+
+import models.Jugador;
+import viewModel.AppVM;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Importación masiva de equipos, jugadores e inscripciones desde archivos CSV.
+ *
+ * <h2>Responsabilidades</h2>
+ * <ul>
+ *   <li>Leer el archivo en streaming ({@link LectorCsv}) y validar cada fila (columnas, números).</li>
+ *   <li>Cargar las filas válidas en lotes mediante las operaciones en lote de {@link AppVM}
+ *       ({@code crearEquipos}, {@code agregarJugadores}, {@code inscribirEquipos}).</li>
+ *   <li>Informar cada fila rechazada con su número de línea y motivo, sin cortar la importación
+ *       (ver {@link Reporte}).</li>
+ * </ul>
+ *
+ * <h2>Formatos (separador coma, UTF-8, primera fila de encabezados opcional)</h2>
+ * <ul>
+ *   <li>Equipos: {@code nombre}</li>
+ *   <li>Jugadores: {@code equipo,nombre,alias,ranking}</li>
+ *   <li>Inscripciones: {@code torneo,equipo}</li>
+ * </ul>
+ *
+ * <h2>Notas de diseño</h2>
+ * <ul>
+ *   <li>Memoria acotada: solo se retiene un lote de filas a la vez, sin importar el tamaño del archivo.</li>
+ *   <li>Dentro de un lote, jugadores e inscripciones se agrupan por equipo / torneo: cada grupo resuelve su
+ *       entidad, toma su cerrojo y abre su tramo de diario una sola vez en lugar de una vez por fila.</li>
+ *   <li>El orden de alta de los jugadores de un mismo equipo se conserva; entre equipos distintos de un lote
+ *       sigue el orden de la primera aparición de cada equipo.</li>
+ *   <li>El reporte guarda los primeros {@link #MAX_ERRORES} errores (el total se cuenta siempre).</li>
+ * </ul>
+ */
+public class ImportadorCsv {
+
+    /** Filas por lote si no se indica otro tamaño. */
+    public static final int LOTE_POR_DEFECTO = 10_000;
+    /** Errores que se detallan en el reporte (el resto solo se cuenta). */
+    public static final int MAX_ERRORES = 1000;
+
+    /** Fila rechazada: línea del archivo (base 1) y motivo. */
+    public static final class ErrorFila {
+        private final long linea;
+        private final String motivo;
+
+        public ErrorFila(long linea, String motivo) {
+            this.linea = linea;
+            this.motivo = motivo;
+        }
+
+        /** @return línea (base 1) en la que empieza la fila rechazada. */
+        public long getLinea() { return linea; }
+        public String getMotivo() { return motivo; }
+
+        @Override public String toString() { return "Línea " + linea + ": " + motivo; }
+    }
+
+    /** Resultado de una importación. */
+    public static final class Reporte {
+        private long filas;
+        private long importadas;
+        private long errores;
+        private final List<ErrorFila> detalle = new ArrayList<>();
+
+        /** @return filas de datos leídas (sin contar el encabezado). */
+        public long getFilas() { return filas; }
+        /** @return filas aplicadas al sistema. */
+        public long getImportadas() { return importadas; }
+        /** @return filas rechazadas (total, aunque no todas estén detalladas). */
+        public long getErrores() { return errores; }
+        /** @return las primeras {@link #MAX_ERRORES} filas rechazadas (los errores de forma primero, los del lote al aplicarlo). */
+        public List<ErrorFila> getDetalleErrores() { return Collections.unmodifiableList(detalle); }
+
+        private void error(long linea, String motivo) {
+            errores++;
+            if (detalle.size() < MAX_ERRORES) detalle.add(new ErrorFila(linea, motivo));
+        }
+
+        @Override public String toString() {
+            return filas + " filas: " + importadas + " importadas, " + errores + " con errores";
+        }
+    }
+
+    private final AppVM vm;
+    private final int tamLote;
+
+    public ImportadorCsv(AppVM vm) { this(vm, LOTE_POR_DEFECTO); }
+
+    /**
+     * @param vm      destino de la importación
+     * @param tamLote filas por lote (&gt;= 1)
+     */
+    public ImportadorCsv(AppVM vm, int tamLote) {
+        this.vm = Objects.requireNonNull(vm, "vm");
+        if (tamLote < 1) throw new IllegalArgumentException("tamLote debe ser >= 1");
+        this.tamLote = tamLote;
+    }
+
+    // ------------------------
+    // Equipos
+    // ------------------------
+
+    public Reporte importarEquipos(Path archivo) throws IOException {
+        try (LectorCsv csv = LectorCsv.abrir(archivo)) {
+            return importarEquipos(csv);
+        }
+    }
+
+    /** Importa equipos (columna {@code nombre}); los nombres repetidos o ya existentes se rechazan. */
+    public Reporte importarEquipos(LectorCsv csv) throws IOException {
+        Reporte r = new Reporte();
+        List<String> nombres = new ArrayList<>(tamLote);
+        List<Long> lineas = new ArrayList<>(tamLote);
+        boolean primera = true;
+        while (csv.siguiente()) {
+            if (primera && csv.coincide(0, "nombre")) { primera = false; continue; }
+            primera = false;
+            r.filas++;
+            if (!filaValida(csv, 1, r)) continue;
+            nombres.add(csv.campo(0));
+            lineas.add(csv.getLinea());
+            if (nombres.size() == tamLote) aplicarEquipos(nombres, lineas, r);
+        }
+        aplicarEquipos(nombres, lineas, r);
+        return r;
+    }
+
+    private void aplicarEquipos(List<String> nombres, List<Long> lineas, Reporte r) {
+        if (nombres.isEmpty()) return;
+        List<AppVM.Rechazo> rechazos = vm.crearEquipos(nombres);
+        registrar(rechazos, lineas, r);
+        nombres.clear();
+        lineas.clear();
+    }
+
+    // ------------------------
+    // Jugadores
+    // ------------------------
+
+    public Reporte importarJugadores(Path archivo) throws IOException {
+        try (LectorCsv csv = LectorCsv.abrir(archivo)) {
+            return importarJugadores(csv);
+        }
+    }
+
+    /** Importa jugadores (columnas {@code equipo,nombre,alias,ranking}) en equipos ya existentes. */
+    public Reporte importarJugadores(LectorCsv csv) throws IOException {
+        Reporte r = new Reporte();
+        Map<String, Grupo<Jugador>> lote = new LinkedHashMap<>();
+        int enLote = 0;
+        boolean primera = true;
+        while (csv.siguiente()) {
+            if (primera && csv.coincide(0, "equipo")) { primera = false; continue; }
+            primera = false;
+            r.filas++;
+            if (!filaValida(csv, 4, r)) continue;
+            int ranking;
+            try {
+                ranking = csv.entero(3);
+            } catch (NumberFormatException e) {
+                r.error(csv.getLinea(), "Ranking inválido: " + e.getMessage());
+                continue;
+            }
+            if (ranking < 0) {
+                r.error(csv.getLinea(), "Ranking negativo: " + ranking);
+                continue;
+            }
+            Jugador j = new Jugador(csv.campo(1), csv.campo(2), ranking);
+            lote.computeIfAbsent(csv.campo(0), k -> new Grupo<>()).agregar(j, csv.getLinea());
+            if (++enLote == tamLote) {
+                aplicarJugadores(lote, r);
+                enLote = 0;
+            }
+        }
+        aplicarJugadores(lote, r);
+        return r;
+    }
+
+    private void aplicarJugadores(Map<String, Grupo<Jugador>> lote, Reporte r) {
+        for (Map.Entry<String, Grupo<Jugador>> g : lote.entrySet()) {
+            Grupo<Jugador> grupo = g.getValue();
+            try {
+                registrar(vm.agregarJugadores(g.getKey(), grupo.elementos), grupo.lineas, r);
+            } catch (NoSuchElementException e) {
+                grupo.rechazarTodo(e.getMessage(), r);
+            }
+        }
+        lote.clear();
+    }
+
+    // ------------------------
+    // Inscripciones
+    // ------------------------
+
+    public Reporte importarInscripciones(Path archivo) throws IOException {
+        try (LectorCsv csv = LectorCsv.abrir(archivo)) {
+            return importarInscripciones(csv);
+        }
+    }
+
+    /**
+     * Importa inscripciones (columnas {@code torneo,equipo}) de equipos existentes en torneos existentes;
+     * las que ya estaban hechas cuentan como importadas.
+     */
+    public Reporte importarInscripciones(LectorCsv csv) throws IOException {
+        Reporte r = new Reporte();
+        Map<String, Grupo<String>> lote = new LinkedHashMap<>();
+        int enLote = 0;
+        boolean primera = true;
+        while (csv.siguiente()) {
+            if (primera && csv.coincide(0, "torneo")) { primera = false; continue; }
+            primera = false;
+            r.filas++;
+            if (!filaValida(csv, 2, r)) continue;
+            lote.computeIfAbsent(csv.campo(0), k -> new Grupo<>()).agregar(csv.campo(1), csv.getLinea());
+            if (++enLote == tamLote) {
+                aplicarInscripciones(lote, r);
+                enLote = 0;
+            }
+        }
+        aplicarInscripciones(lote, r);
+        return r;
+    }
+
+    private void aplicarInscripciones(Map<String, Grupo<String>> lote, Reporte r) {
+        for (Map.Entry<String, Grupo<String>> g : lote.entrySet()) {
+            Grupo<String> grupo = g.getValue();
+            try {
+                registrar(vm.inscribirEquipos(g.getKey(), grupo.elementos), grupo.lineas, r);
+            } catch (NoSuchElementException e) {
+                grupo.rechazarTodo(e.getMessage(), r);
+            }
+        }
+        lote.clear();
+    }
+
+    // ------------------------
+    // Internos
+    // ------------------------
+
+    /** Elementos de un lote que van a la misma entidad, con la línea de cada uno. */
+    private static final class Grupo<T> {
+        final List<T> elementos = new ArrayList<>();
+        final List<Long> lineas = new ArrayList<>();
+
+        void agregar(T elemento, long linea) {
+            elementos.add(elemento);
+            lineas.add(linea);
+        }
+
+        void rechazarTodo(String motivo, Reporte r) {
+            for (long linea : lineas) r.error(linea, motivo);
+        }
+    }
+
+    /** Valida la forma de la fila: sin errores de formato, con las columnas esperadas y sin vacíos. */
+    private static boolean filaValida(LectorCsv csv, int columnas, Reporte r) {
+        if (csv.getError() != null) {
+            r.error(csv.getLinea(), csv.getError());
+            return false;
+        }
+        if (csv.getCantidadCampos() != columnas) {
+            r.error(csv.getLinea(), "Se esperaban " + columnas + " columnas y hay " + csv.getCantidadCampos());
+            return false;
+        }
+        for (int i = 0; i < columnas; i++) {
+            if (csv.estaVacio(i)) {
+                r.error(csv.getLinea(), "Columna " + (i + 1) + " vacía");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Cuenta como importado todo el grupo salvo los rechazados, que se informan con su línea. */
+    private static void registrar(List<AppVM.Rechazo> rechazos, List<Long> lineas, Reporte r) {
+        r.importadas += lineas.size() - rechazos.size();
+        for (AppVM.Rechazo x : rechazos) r.error(lineas.get(x.getIndice()), x.getMotivo());
+    }
+}
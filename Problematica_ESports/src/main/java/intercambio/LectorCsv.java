@@ -0,0 +1,292 @@
+package intercambio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Lector CSV en streaming sobre un canal NIO, pensado para archivos de millones de filas.
+ *
+ * <h2>Responsabilidades</h2>
+ * <ul>
+ *   <li>Leer el canal por bloques ({@link ByteBuffer} de 64 KiB) y decodificarlo como UTF-8 (una marca BOM
+ *       inicial se ignora; secuencias inválidas se reemplazan por U+FFFD).</li>
+ *   <li>Separar registros y campos según RFC 4180: campos entre comillas (con separadores, saltos de línea
+ *       y comillas dobles {@code ""} dentro), fines de línea {@code \n} o {@code \r\n}; las líneas vacías
+ *       se saltan.</li>
+ *   <li>Marcar el registro mal formado (texto tras la comilla de cierre, comillas sin cerrar) sin cortar la
+ *       lectura: ver {@link #getError()}.</li>
+ * </ul>
+ *
+ * <h2>Notas de diseño</h2>
+ * <ul>
+ *   <li>Sin {@code String.split} ni líneas intermedias: un autómata recorre los caracteres una vez y deja los
+ *       campos del registro actual en un único {@code char[]} reutilizado (inicio/fin de cada campo).</li>
+ *   <li>Los textos se crean solo al pedirlos ({@link #campo(int)}); {@link #entero(int)} y
+ *       {@link #coincide(int, String)} trabajan sobre los caracteres sin crear objetos.</li>
+ *   <li>No es thread-safe: un lector por hilo.</li>
+ * </ul>
+ *
+ * <h2>Ejemplo</h2>
+ * <pre>{@code
+ * try (LectorCsv csv = LectorCsv.abrir(Path.of("jugadores.csv"))) {
+ *     while (csv.siguiente()) {
+ *         String alias = csv.campo(1);
+ *         int ranking = csv.entero(2);
+ *     }
+ * }
+ * }</pre>
+ */
+public final class LectorCsv implements AutoCloseable {
+
+    private static final int BUFER = 1 << 16;
+
+    // Estados del autómata.
+    private static final int INICIO = 0;    // al comienzo de un campo
+    private static final int CAMPO = 1;     // dentro de un campo sin comillas
+    private static final int COMILLAS = 2;  // dentro de un campo entre comillas
+    private static final int CIERRE = 3;    // tras una comilla dentro de comillas (cierre o primera de "")
+
+    private final ReadableByteChannel canal;
+    private final char separador;
+    private final CharsetDecoder decodificador = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFER);
+    private final CharBuffer caracteres = CharBuffer.allocate(BUFER).flip();
+    private boolean finCanal;
+    private boolean agotado;
+    private boolean inicioArchivo = true;
+
+    // Registro actual: texto de todos sus campos seguido y los límites de cada campo.
+    private char[] texto = new char[256];
+    private int largo;
+    private int[] inicios = new int[16];
+    private int[] fines = new int[16];
+    private int campos;
+    private String error;
+
+    private long linea = 1;
+    private long lineaRegistro;
+    private long registros;
+
+    /**
+     * @param canal     canal de entrada (se cierra con el lector)
+     * @param separador separador de campos (normalmente {@code ','} o {@code ';'})
+     */
+    public LectorCsv(ReadableByteChannel canal, char separador) {
+        this.canal = canal;
+        this.separador = separador;
+        if (separador == '"' || separador == '\n' || separador == '\r')
+            throw new IllegalArgumentException("Separador inválido");
+    }
+
+    /** Lector con separador coma. */
+    public LectorCsv(ReadableByteChannel canal) { this(canal, ','); }
+
+    /** Abre un archivo CSV (separador coma). */
+    public static LectorCsv abrir(Path archivo) throws IOException {
+        return new LectorCsv(FileChannel.open(archivo, StandardOpenOption.READ));
+    }
+
+    // ------------------------
+    // Lectura
+    // ------------------------
+
+    /**
+     * Avanza al siguiente registro.
+     * @return false si no quedan registros
+     */
+    public boolean siguiente() throws IOException {
+        largo = 0;
+        campos = 0;
+        error = null;
+        lineaRegistro = linea;
+        int estado = INICIO;
+        int inicioCampo = 0;
+        boolean hayDatos = false;
+        while (true) {
+            if (!caracteres.hasRemaining() && !rellenar()) {
+                if (!hayDatos) return false;
+                if (estado == COMILLAS) error = "Comillas sin cerrar";
+                cerrarCampo(inicioCampo);
+                registros++;
+                return true;
+            }
+            char c = caracteres.get();
+            if (inicioArchivo) {
+                inicioArchivo = false;
+                if (c == '\uFEFF') continue;
+            }
+            if (estado == COMILLAS) {
+                if (c == '"') estado = CIERRE;
+                else {
+                    if (c == '\n') linea++;
+                    agregar(c);
+                }
+                continue;
+            }
+            if (estado == CIERRE && c == '"') { // comilla escapada
+                agregar('"');
+                estado = COMILLAS;
+                continue;
+            }
+            if (c == separador) {
+                cerrarCampo(inicioCampo);
+                inicioCampo = largo;
+                estado = INICIO;
+                hayDatos = true;
+            } else if (c == '\n') {
+                linea++;
+                if (!hayDatos) { // línea vacía
+                    lineaRegistro = linea;
+                    continue;
+                }
+                cerrarCampo(inicioCampo);
+                registros++;
+                return true;
+            } else if (c == '\r') {
+                // fin de línea Windows: lo resuelve el '\n' que sigue
+            } else if (c == '"' && estado == INICIO) {
+                estado = COMILLAS;
+                hayDatos = true;
+            } else {
+                if (estado == CIERRE && error == null) error = "Texto después de las comillas de cierre";
+                agregar(c);
+                estado = CAMPO;
+                hayDatos = true;
+            }
+        }
+    }
+
+    /** @return línea (base 1) en la que empieza el registro actual. */
+    public long getLinea() { return lineaRegistro; }
+
+    /** @return registros leídos hasta ahora (incluido el actual). */
+    public long getRegistros() { return registros; }
+
+    /** @return motivo si el registro actual está mal formado, o null. */
+    public String getError() { return error; }
+
+    /** @return cantidad de campos del registro actual. */
+    public int getCantidadCampos() { return campos; }
+
+    /**
+     * @return el campo {@code i}, sin espacios en los extremos
+     * @throws IndexOutOfBoundsException si el registro no tiene ese campo
+     */
+    public String campo(int i) {
+        int ini = inicioRecortado(i), fin = finRecortado(i, ini);
+        return new String(texto, ini, fin - ini);
+    }
+
+    /** @return true si el campo {@code i} falta o solo tiene espacios. */
+    public boolean estaVacio(int i) {
+        if (i >= campos) return true;
+        int ini = inicioRecortado(i);
+        return finRecortado(i, ini) == ini;
+    }
+
+    /** @return true si el campo {@code i} es igual a {@code valor} sin distinguir mayúsculas (sin crear textos). */
+    public boolean coincide(int i, String valor) {
+        if (i >= campos) return false;
+        int ini = inicioRecortado(i), fin = finRecortado(i, ini);
+        if (fin - ini != valor.length()) return false;
+        for (int k = 0; k < valor.length(); k++) {
+            char a = texto[ini + k], b = valor.charAt(k);
+            if (a != b && Character.toLowerCase(a) != Character.toLowerCase(b)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Interpreta el campo {@code i} como entero decimal (signo opcional), sin crear textos intermedios.
+     * @throws NumberFormatException si no es un entero válido de 32 bits
+     */
+    public int entero(int i) {
+        if (i >= campos) throw new NumberFormatException("Falta el campo " + (i + 1));
+        int ini = inicioRecortado(i), fin = finRecortado(i, ini);
+        if (ini == fin) throw new NumberFormatException("Número vacío");
+        boolean negativo = texto[ini] == '-';
+        int k = texto[ini] == '-' || texto[ini] == '+' ? ini + 1 : ini;
+        if (k == fin) throw new NumberFormatException("Número inválido: " + campo(i));
+        long valor = 0;
+        for (; k < fin; k++) {
+            char c = texto[k];
+            if (c < '0' || c > '9') throw new NumberFormatException("Número inválido: " + campo(i));
+            valor = valor * 10 + (c - '0');
+            if (valor > (long) Integer.MAX_VALUE + 1) throw new NumberFormatException("Número fuera de rango: " + campo(i));
+        }
+        valor = negativo ? -valor : valor;
+        if (valor > Integer.MAX_VALUE) throw new NumberFormatException("Número fuera de rango: " + campo(i));
+        return (int) valor;
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    // ------------------------
+    // Internos
+    // ------------------------
+
+    /** Lleva más caracteres al búfer. @return false si ya no hay más entrada */
+    private boolean rellenar() throws IOException {
+        if (agotado) return false;
+        caracteres.compact();
+        try {
+            while (caracteres.position() == 0) {
+                if (!finCanal && canal.read(bytes) < 0) finCanal = true;
+                bytes.flip();
+                decodificador.decode(bytes, caracteres, finCanal);
+                boolean sinBytes = finCanal && !bytes.hasRemaining();
+                bytes.compact();
+                if (sinBytes) {
+                    decodificador.flush(caracteres);
+                    agotado = true;
+                    break;
+                }
+            }
+        } finally {
+            caracteres.flip();
+        }
+        return caracteres.hasRemaining();
+    }
+
+    private void agregar(char c) {
+        if (largo == texto.length) texto = Arrays.copyOf(texto, largo * 2);
+        texto[largo++] = c;
+    }
+
+    private void cerrarCampo(int inicio) {
+        if (campos == inicios.length) {
+            inicios = Arrays.copyOf(inicios, campos * 2);
+            fines = Arrays.copyOf(fines, campos * 2);
+        }
+        inicios[campos] = inicio;
+        fines[campos] = largo;
+        campos++;
+    }
+
+    private int inicioRecortado(int i) {
+        if (i < 0 || i >= campos) throw new IndexOutOfBoundsException("Campo " + i + " de " + campos);
+        int ini = inicios[i], fin = fines[i];
+        while (ini < fin && Character.isWhitespace(texto[ini])) ini++;
+        return ini;
+    }
+
+    private int finRecortado(int i, int ini) {
+        int fin = fines[i];
+        while (fin > ini && Character.isWhitespace(texto[fin - 1])) fin--;
+        return fin;
+    }
+}
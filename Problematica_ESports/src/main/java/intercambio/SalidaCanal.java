@@ -0,0 +1,154 @@
+package intercambio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDate;
+
+/**
+ * Escritura de texto UTF-8 directo a un canal a través de un único {@link ByteBuffer} reutilizado.
+ *
+ * <h2>Notas de diseño</h2>
+ * <ul>
+ *   <li>Los caracteres se codifican a mano en el búfer (sin {@code String.getBytes} ni textos intermedios);
+ *       números y fechas se escriben dígito a dígito.</li>
+ *   <li>Con {@link #plegarEn(int)} parte las líneas largas a esa cantidad de bytes (RFC 5545: CRLF +
+ *       espacio), sin cortar nunca un carácter multibyte.</li>
+ *   <li>No es thread-safe: una salida por exportación.</li>
+ * </ul>
+ */
+final class SalidaCanal implements AutoCloseable {
+
+    private static final int BUFER = 1 << 16;
+
+    private final WritableByteChannel canal;
+    private final ByteBuffer buf = ByteBuffer.allocate(BUFER);
+    private int limiteLinea;
+    private int columna;
+    private long bytes;
+
+    SalidaCanal(WritableByteChannel canal) {
+        this.canal = canal;
+    }
+
+    /** Pliega las líneas que superen {@code octetos} bytes (0 = no plegar). */
+    void plegarEn(int octetos) { this.limiteLinea = octetos; }
+
+    /** @return bytes escritos hasta ahora (incluido lo pendiente en el búfer). */
+    long getBytes() { return bytes + buf.position(); }
+
+    /** Escribe un carácter ASCII de control de formato (separadores, comillas, dígitos). */
+    SalidaCanal ascii(char c) throws IOException {
+        if (c == '\n' || c == '\r') { // los fines de línea no cuentan para el plegado
+            poner((byte) c);
+            if (c == '\n') columna = 0;
+            return this;
+        }
+        antesDe(1);
+        poner((byte) c);
+        return this;
+    }
+
+    SalidaCanal ascii(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) ascii(s.charAt(i));
+        return this;
+    }
+
+    /** Escribe un carácter cualquiera codificado en UTF-8 (los sustitutos sueltos se escriben como '?'). */
+    SalidaCanal caracter(String s, int i) throws IOException {
+        char c = s.charAt(i);
+        if (c < 0x80) return ascii(c);
+        if (c < 0x800) {
+            antesDe(2);
+            poner((byte) (0xC0 | c >> 6));
+            poner((byte) (0x80 | c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+            int cp = Character.toCodePoint(c, s.charAt(i + 1));
+            antesDe(4);
+            poner((byte) (0xF0 | cp >> 18));
+            poner((byte) (0x80 | cp >> 12 & 0x3F));
+            poner((byte) (0x80 | cp >> 6 & 0x3F));
+            poner((byte) (0x80 | cp & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+            if (!Character.isLowSurrogate(c) || i == 0 || !Character.isHighSurrogate(s.charAt(i - 1))) ascii('?');
+        } else {
+            antesDe(3);
+            poner((byte) (0xE0 | c >> 12));
+            poner((byte) (0x80 | c >> 6 & 0x3F));
+            poner((byte) (0x80 | c & 0x3F));
+        }
+        return this;
+    }
+
+    /** Escribe el texto tal cual (UTF-8). */
+    SalidaCanal texto(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) caracter(s, i);
+        return this;
+    }
+
+    /** Escribe un entero en decimal sin crear textos. */
+    SalidaCanal entero(long v) throws IOException {
+        if (v < 0) {
+            ascii('-');
+            if (v == Long.MIN_VALUE) return ascii("9223372036854775808");
+            v = -v;
+        }
+        long div = 1;
+        while (div <= v / 10) div *= 10;
+        for (; div > 0; div /= 10) ascii((char) ('0' + v / div % 10));
+        return this;
+    }
+
+    /** Escribe {@code n} con al menos {@code ancho} dígitos (ceros a la izquierda). */
+    SalidaCanal digitos(int n, int ancho) throws IOException {
+        int div = 1;
+        for (int k = 1; k < ancho || div <= n / 10; k++) div *= 10;
+        for (; div > 0; div /= 10) ascii((char) ('0' + n / div % 10));
+        return this;
+    }
+
+    /** Escribe la fecha como {@code yyyy-MM-dd} (o {@code yyyyMMdd} sin guiones). */
+    SalidaCanal fecha(LocalDate f, boolean guiones) throws IOException {
+        digitos(f.getYear(), 4);
+        if (guiones) ascii('-');
+        digitos(f.getMonthValue(), 2);
+        if (guiones) ascii('-');
+        return digitos(f.getDayOfMonth(), 2);
+    }
+
+    /** Vacía el búfer en el canal. */
+    void vaciar() throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) bytes += canal.write(buf);
+        buf.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            vaciar();
+        } finally {
+            canal.close();
+        }
+    }
+
+    // ------------------------
+    // Internos
+    // ------------------------
+
+    /** Pliega la línea si el próximo carácter ({@code n} bytes) la haría superar el límite. */
+    private void antesDe(int n) throws IOException {
+        if (limiteLinea > 0 && columna + n > limiteLinea) {
+            poner((byte) '\r');
+            poner((byte) '\n');
+            poner((byte) ' ');
+            columna = 1;
+        }
+        columna += n;
+    }
+
+    private void poner(byte b) throws IOException {
+        if (!buf.hasRemaining()) vaciar();
+        buf.put(b);
+    }
+}
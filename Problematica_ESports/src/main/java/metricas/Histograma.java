@@ -0,0 +1,120 @@
+package metricas;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias (en nanosegundos) de escala log-lineal, thread-safe y sin reservas de memoria al
+ * registrar.
+ *
+ * <h2>Notas de diseño</h2>
+ * <ul>
+ *   <li>Cada potencia de dos se parte en {@value #SUB} cubetas iguales: el error relativo de un percentil es
+ *       como mucho 1/{@value #SUB} (12,5 %), desde 1 ns hasta 2<sup>63</sup> ns, con {@value #CUBETAS}
+ *       contadores fijos.</li>
+ *   <li>{@link #registrar(long)} hace solo operaciones atómicas sobre arreglos y acumuladores ya creados;
+ *       los percentiles se calculan al leer (recorriendo las cubetas).</li>
+ *   <li>Las cubetas están repartidas en {@link #FRANJAS} franjas (como un {@link LongAdder}): cada hilo
+ *       suma en la franja que le toca por su id, así los hilos que miden la misma operación no compiten por
+ *       el mismo contador. Leer suma las franjas de cada cubeta.</li>
+ *   <li>Las lecturas concurrentes con escrituras son aproximadas (no es una foto atómica), suficiente para
+ *       monitoreo.</li>
+ * </ul>
+ */
+public final class Histograma {
+
+    private static final int BITS_SUB = 3;
+    /** Cubetas por potencia de dos. */
+    static final int SUB = 1 << BITS_SUB;
+    /** Total de cubetas: valores exactos 0..SUB-1 y luego SUB por cada potencia de dos hasta 2^63. */
+    static final int CUBETAS = (64 - BITS_SUB) * SUB;
+
+    /** Franjas de cubetas: potencia de dos ≥ procesadores, hasta 16 (unos 4 KB por franja). */
+    static final int FRANJAS =
+            Math.min(16, Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1);
+
+    /** Franja {@code f}, cubeta {@code i} en la posición {@code f * CUBETAS + i}. */
+    private final AtomicLongArray cubetas = new AtomicLongArray(FRANJAS * CUBETAS);
+    private final LongAdder cantidad = new LongAdder();
+    private final LongAdder suma = new LongAdder();
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, 0);
+
+    /** Registra un valor (los negativos cuentan como 0). */
+    public void registrar(long valor) {
+        if (valor < 0) valor = 0;
+        cubetas.getAndIncrement(franja() * CUBETAS + indice(valor));
+        cantidad.increment();
+        suma.add(valor);
+        maximo.accumulate(valor);
+    }
+
+    /** @return valores registrados. */
+    public long getCantidad() { return cantidad.sum(); }
+
+    /** @return promedio de los valores (0 si no hay). */
+    public double getMedia() {
+        long n = cantidad.sum();
+        return n == 0 ? 0 : (double) suma.sum() / n;
+    }
+
+    /** @return máximo exacto registrado (0 si no hay). */
+    public long getMaximo() { return maximo.get(); }
+
+    /**
+     * @param p percentil en (0, 100]
+     * @return cota superior de la cubeta que contiene el percentil (0 si no hay valores)
+     */
+    public long percentil(double p) {
+        if (!(p > 0 && p <= 100)) throw new IllegalArgumentException("Percentil fuera de (0, 100]: " + p);
+        long[] porCubeta = new long[CUBETAS];
+        long total = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            for (int f = 0; f < FRANJAS; f++) porCubeta[i] += cubetas.get(f * CUBETAS + i);
+            total += porCubeta[i];
+        }
+        if (total == 0) return 0;
+        long objetivo = (long) Math.ceil(total * p / 100.0);
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += porCubeta[i];
+            if (acumulado >= objetivo) return Math.min(limiteSuperior(i), getMaximo());
+        }
+        return getMaximo();
+    }
+
+    /** Pone todo en cero. */
+    public void reiniciar() {
+        for (int i = 0; i < cubetas.length(); i++) cubetas.set(i, 0);
+        cantidad.reset();
+        suma.reset();
+        maximo.reset();
+    }
+
+    // ------------------------
+    // Cubetas
+    // ------------------------
+
+    /** @return franja del hilo actual (ids consecutivos se reparten por la mezcla de Fibonacci). */
+    private static int franja() {
+        return (int) (Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L >>> 32) & (FRANJAS - 1);
+    }
+
+    /** @return cubeta del valor: exacta debajo de SUB, log-lineal desde ahí. */
+    static int indice(long v) {
+        if (v < SUB) return (int) v;
+        int exp = 63 - Long.numberOfLeadingZeros(v);                // v en [2^exp, 2^(exp+1))
+        int sub = (int) (v >>> (exp - BITS_SUB)) & (SUB - 1);       // posición dentro de esa potencia
+        return (exp - BITS_SUB + 1) * SUB + sub;
+    }
+
+    /** @return mayor valor que cae en la cubeta {@code i}. */
+    static long limiteSuperior(int i) {
+        if (i < SUB) return i;
+        int exp = i / SUB + BITS_SUB - 1;
+        long ancho = 1L << (exp - BITS_SUB);
+        long inicio = (1L << exp) + (i % SUB) * ancho;
+        long fin = inicio + ancho - 1;
+        return fin < 0 ? Long.MAX_VALUE : fin;
+    }
+}
@@ -0,0 +1,130 @@
+package metricas;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas de una operación: llamadas, errores por tipo de excepción e histograma de latencias.
+ *
+ * <h2>Uso</h2>
+ * <pre>{@code
+ * long t0 = Medidor.inicio();
+ * try {
+ *     ... operación ...
+ * } catch (RuntimeException e) {
+ *     throw medidor.fallo(e);
+ * } finally {
+ *     medidor.registrar(t0);
+ * }
+ * }</pre>
+ *
+ * <h2>Notas de diseño</h2>
+ * <ul>
+ *   <li>Sin reservas de memoria al registrar: {@link LongAdder} para los conteos (sin contención entre
+ *       hilos) y {@link Histograma} de tamaño fijo.</li>
+ *   <li>Los errores se cuentan por clase de excepción; el contador de cada clase se crea la primera vez que
+ *       aparece y después se reutiliza.</li>
+ *   <li>La latencia incluye las llamadas que fallan.</li>
+ *   <li>El bloque se escribe en cada operación en vez de recibir la operación como lambda: una lambda que
+ *       captura argumentos es una reserva por llamada.</li>
+ * </ul>
+ */
+public final class Medidor {
+
+    private final String nombre;
+    private final LongAdder llamadas = new LongAdder();
+    private final Histograma latencias = new Histograma();
+    private final ConcurrentHashMap<Class<?>, LongAdder> errores = new ConcurrentHashMap<>();
+
+    Medidor(String nombre) {
+        this.nombre = nombre;
+    }
+
+    /** @return marca de tiempo para {@link #registrar(long)}. */
+    public static long inicio() { return System.nanoTime(); }
+
+    public String getNombre() { return nombre; }
+
+    /** Cuenta una llamada que empezó en {@code inicio} (de {@link #inicio()}). */
+    public void registrar(long inicio) {
+        llamadas.increment();
+        latencias.registrar(System.nanoTime() - inicio);
+    }
+
+    /**
+     * Cuenta un error del tipo de {@code e}.
+     * @return la misma excepción, para relanzarla: {@code throw medidor.fallo(e);}
+     */
+    public <T extends Throwable> T fallo(T e) {
+        LongAdder c = errores.get(e.getClass());
+        if (c == null) c = errores.computeIfAbsent(e.getClass(), k -> new LongAdder());
+        c.increment();
+        return e;
+    }
+
+    /** @return foto de las métricas acumuladas. */
+    public Resumen resumen() {
+        Map<String, Long> porTipo = new TreeMap<>();
+        long total = 0;
+        for (Map.Entry<Class<?>, LongAdder> e : errores.entrySet()) {
+            long n = e.getValue().sum();
+            if (n == 0) continue;
+            porTipo.put(e.getKey().getSimpleName(), n);
+            total += n;
+        }
+        return new Resumen(nombre, llamadas.sum(), total, porTipo, latencias.getMedia(),
+                latencias.percentil(50), latencias.percentil(90), latencias.percentil(99), latencias.getMaximo());
+    }
+
+    /** Pone todo en cero. */
+    public void reiniciar() {
+        llamadas.reset();
+        latencias.reiniciar();
+        errores.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * Foto de un {@link Medidor} (también es el tipo que se publica por JMX: cada getter es un atributo).
+     */
+    public static final class Resumen {
+        private final String nombre;
+        private final long llamadas;
+        private final long errores;
+        private final Map<String, Long> erroresPorTipo;
+        private final double mediaNanos;
+        private final long p50Nanos;
+        private final long p90Nanos;
+        private final long p99Nanos;
+        private final long maxNanos;
+
+        Resumen(String nombre, long llamadas, long errores, Map<String, Long> erroresPorTipo, double mediaNanos,
+                long p50Nanos, long p90Nanos, long p99Nanos, long maxNanos) {
+            this.nombre = nombre;
+            this.llamadas = llamadas;
+            this.errores = errores;
+            this.erroresPorTipo = erroresPorTipo;
+            this.mediaNanos = mediaNanos;
+            this.p50Nanos = p50Nanos;
+            this.p90Nanos = p90Nanos;
+            this.p99Nanos = p99Nanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public String getNombre() { return nombre; }
+        public long getLlamadas() { return llamadas; }
+        public long getErrores() { return errores; }
+        /** @return errores por nombre simple de la clase de excepción. */
+        public Map<String, Long> getErroresPorTipo() { return erroresPorTipo; }
+        public double getMediaNanos() { return mediaNanos; }
+        public long getP50Nanos() { return p50Nanos; }
+        public long getP90Nanos() { return p90Nanos; }
+        public long getP99Nanos() { return p99Nanos; }
+        public long getMaxNanos() { return maxNanos; }
+
+        @Override public String toString() {
+            return nombre + ": " + llamadas + " llamadas, " + errores + " errores";
+        }
+    }
+}
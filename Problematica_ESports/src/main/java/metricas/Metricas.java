@@ -0,0 +1,122 @@
+package metricas;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registro de {@link Medidor}es (uno por operación) con exportación como texto y por JMX.
+ *
+ * <h2>Responsabilidades</h2>
+ * <ul>
+ *   <li>Crear los medidores por nombre (una vez, al construir quien los usa) y listarlos en orden de alta.</li>
+ *   <li>Dar una foto de todas las operaciones: como objetos ({@link #resumen()}), como tabla de texto
+ *       ({@link #texto()}) o como MXBean ({@link #registrarJmx(String)}).</li>
+ * </ul>
+ *
+ * <h2>Ejemplo</h2>
+ * <pre>{@code
+ * Metricas m = new Metricas();
+ * Medidor crear = m.medidor("crearEquipo");
+ * ...
+ * System.out.println(m.texto());
+ * }</pre>
+ */
+public final class Metricas implements MetricasMXBean {
+
+    /** Dominio de los nombres JMX. */
+    public static final String DOMINIO_JMX = "Problematica_ESports";
+
+    private final Map<String, Medidor> porNombre = new ConcurrentHashMap<>();
+    private final List<Medidor> medidores = new CopyOnWriteArrayList<>();
+    private volatile ObjectName nombreJmx;
+
+    /** @return el medidor de la operación (lo crea la primera vez). */
+    public synchronized Medidor medidor(String operacion) {
+        Medidor m = porNombre.get(operacion);
+        if (m == null) {
+            m = new Medidor(operacion);
+            porNombre.put(operacion, m);
+            medidores.add(m);
+        }
+        return m;
+    }
+
+    /** @return foto de cada operación, en orden de alta. */
+    public List<Medidor.Resumen> resumen() {
+        List<Medidor.Resumen> out = new ArrayList<>(medidores.size());
+        for (Medidor m : medidores) out.add(m.resumen());
+        return out;
+    }
+
+    /** @return tabla de texto con las operaciones llamadas al menos una vez (latencias en µs). */
+    public String texto() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-28s %10s %8s %10s %10s %10s %10s %10s%n",
+                "operación", "llamadas", "errores", "media µs", "p50 µs", "p90 µs", "p99 µs", "máx µs"));
+        for (Medidor.Resumen r : resumen()) {
+            if (r.getLlamadas() == 0) continue;
+            sb.append(String.format(Locale.ROOT, "%-28s %10d %8d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    r.getNombre(), r.getLlamadas(), r.getErrores(), r.getMediaNanos() / 1e3,
+                    r.getP50Nanos() / 1e3, r.getP90Nanos() / 1e3, r.getP99Nanos() / 1e3, r.getMaxNanos() / 1e3));
+            for (Map.Entry<String, Long> e : r.getErroresPorTipo().entrySet()) {
+                sb.append(String.format(Locale.ROOT, "    %-24s %10s %8d%n", e.getKey(), "", e.getValue()));
+            }
+        }
+        return sb.toString();
+    }
+
+    /** Pone todas las métricas en cero (no es atómico respecto de las llamadas en curso). */
+    @Override
+    public void reiniciar() {
+        for (Medidor m : medidores) m.reiniciar();
+    }
+
+    // ------------------------
+    // JMX
+    // ------------------------
+
+    @Override public List<Medidor.Resumen> getOperaciones() { return resumen(); }
+
+    @Override public String getTexto() { return texto(); }
+
+    /**
+     * Publica estas métricas en el servidor JMX de la plataforma como
+     * {@code Problematica_ESports:type=Metricas,name=<nombre>}.
+     *
+     * @throws IllegalStateException si ya hay otras métricas publicadas con ese nombre
+     */
+    public synchronized void registrarJmx(String nombre) {
+        if (nombreJmx != null) throw new IllegalStateException("Las métricas ya están publicadas: " + nombreJmx);
+        try {
+            ObjectName on = new ObjectName(DOMINIO_JMX + ":type=Metricas,name=" + ObjectName.quote(nombre));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, on);
+            nombreJmx = on;
+        } catch (InstanceAlreadyExistsException e) {
+            throw new IllegalStateException("Ya hay métricas publicadas con el nombre " + nombre, e);
+        } catch (JMException e) {
+            throw new IllegalStateException("No se pudieron publicar las métricas por JMX", e);
+        }
+    }
+
+    /** Retira las métricas del servidor JMX (si estaban publicadas). */
+    public synchronized void quitarJmx() {
+        if (nombreJmx == null) return;
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (servidor.isRegistered(nombreJmx)) servidor.unregisterMBean(nombreJmx);
+        } catch (JMException e) {
+            throw new IllegalStateException("No se pudieron retirar las métricas de JMX", e);
+        } finally {
+            nombreJmx = null;
+        }
+    }
+}
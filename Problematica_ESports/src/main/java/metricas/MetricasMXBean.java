@@ -0,0 +1,18 @@
+package metricas;
+
+import java.util.List;
+
+/**
+ * Vista JMX de {@link Metricas} (JConsole / VisualVM: {@code Problematica_ESports:type=Metricas}).
+ */
+public interface MetricasMXBean {
+
+    /** @return una fila por operación, en orden de alta. */
+    List<Medidor.Resumen> getOperaciones();
+
+    /** @return la misma foto como tabla de texto. */
+    String getTexto();
+
+    /** Pone todas las métricas en cero. */
+    void reiniciar();
+}
@@ -0,0 +1,453 @@
+package models;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Índice de ocupación por <b>participante</b> y <b>fecha</b> para detectar dobles reservas.
+ *
+ * <h2>Responsabilidades</h2>
+ * <ul>
+ *   <li>Registrar qué {@link Partida} ocupa a cada {@link Equipo} y {@link Arbitro} en cada fecha.</li>
+ *   <li>Responder en O(log n) si un participante ya tiene partida en una fecha.</li>
+ *   <li>Validar en bloque un calendario importado (contra el índice y contra sí mismo).</li>
+ *   <li>Listar las partidas de un rango de fechas, opcionalmente filtradas por juego, categoría, equipo o
+ *       árbitro ({@link #entre(LocalDate, LocalDate, Filtro)}).</li>
+ * </ul>
+ *
+ * <h2>Notas de diseño</h2>
+ * <ul>
+ *   <li>Cada participante tiene su propio árbol ({@link TreeMap}) fecha → partida; la búsqueda es un
+ *       {@link HashMap#get} más una búsqueda en el árbol, sin recorrer {@link Torneo#getPartidas()}.</li>
+ *   <li>Los equipos se indexan con su {@code equals/hashCode} (nombre case-insensitive) y los árbitros
+ *       por identidad.</li>
+ *   <li>Cada {@link Torneo} mantiene su agenda propia; {@code AppVM} comparte una agenda global entre todos
+ *       sus torneos.</li>
+ *   <li>La agenda global ({@link #global(boolean)}) indexa además todas las partidas por fecha, en un árbol
+ *       general y en uno por juego (fecha → partidas de ese día, ordenadas por torneo e id, así que los
+ *       resultados no se ordenan al consultar). Una consulta por rango usa el árbol más
+ *       selectivo que admita el filtro y recorre solo las partidas del rango: O(log n + k). Las agendas
+ *       propias de cada torneo no lo necesitan y no lo pagan.</li>
+ *   <li>{@link #Agenda()} no es thread-safe (igual que {@link Torneo}). {@link #concurrente()} usa
+ *       {@link ConcurrentHashMap} y {@link ConcurrentSkipListMap}: consultas y altas/bajas son seguras desde
+ *       varios hilos. Que "comprobar libre + registrar" sea atómico lo garantiza quien llama, tomando el
+ *       cerrojo de los participantes (ver {@code AppVM} en modo concurrente).</li>
+ * </ul>
+ */
+public class Agenda {
+
+    /** Participante (Equipo o Arbitro) → fecha → partida que lo ocupa. */
+    private final Map<Object, NavigableMap<LocalDate, Partida>> ocupacion;
+
+    /** Clave de {@link #porFecha} para el árbol de todas las partidas. */
+    private static final Object TODAS = new Object();
+
+    /** {@link #TODAS} o {@link Juego} → fecha → partidas de ese día; null si la agenda no indexa por fecha. */
+    private final Map<Object, NavigableMap<LocalDate, Set<Partida>>> porFecha;
+
+    private final boolean concurrente;
+
+    /** Orden dentro de un día: torneo e id (los nombres de torneo no se repiten en la agenda global). */
+    private static final Comparator<Partida> DENTRO_DEL_DIA = Comparator
+            .comparing((Partida p) -> p.getTorneo().getNombre(), String.CASE_INSENSITIVE_ORDER)
+            .thenComparingInt(Partida::getId);
+
+    /** Orden de los resultados de {@link #entre}: fecha, torneo e id. */
+    private static final Comparator<Partida> CRONOLOGICO = Comparator.comparing(Partida::getFecha)
+            .thenComparing(DENTRO_DEL_DIA);
+
+    /** Agenda para uso desde un solo hilo. */
+    public Agenda() { this(false, false); }
+
+    private Agenda(boolean concurrente, boolean indexarFechas) {
+        this.concurrente = concurrente;
+        this.ocupacion = concurrente ? new ConcurrentHashMap<>() : new HashMap<>();
+        this.porFecha = !indexarFechas ? null : concurrente ? new ConcurrentHashMap<>() : new HashMap<>();
+    }
+
+    /** @return agenda segura para consultas y registros desde varios hilos */
+    public static Agenda concurrente() { return new Agenda(true, false); }
+
+    /**
+     * Agenda compartida por varios torneos: además de la ocupación indexa todas las partidas por fecha, para
+     * {@link #entre(LocalDate, LocalDate, Filtro)}.
+     *
+     * @param concurrente true = segura desde varios hilos (como {@link #concurrente()})
+     */
+    public static Agenda global(boolean concurrente) { return new Agenda(concurrente, true); }
+
+    /**
+     * Cita propuesta (aún no creada como {@link Partida}) usada para validar calendarios en bloque.
+     */
+    public static final class Cita {
+        private final LocalDate fecha;
+        private final Equipo equipo1;
+        private final Equipo equipo2;
+        private final Arbitro arbitro;
+
+        public Cita(LocalDate fecha, Equipo equipo1, Equipo equipo2, Arbitro arbitro) {
+            this.fecha = Objects.requireNonNull(fecha, "fecha");
+            this.equipo1 = Objects.requireNonNull(equipo1, "equipo1");
+            this.equipo2 = Objects.requireNonNull(equipo2, "equipo2");
+            this.arbitro = Objects.requireNonNull(arbitro, "arbitro");
+        }
+
+        public LocalDate getFecha() { return fecha; }
+        public Equipo getEquipo1() { return equipo1; }
+        public Equipo getEquipo2() { return equipo2; }
+        public Arbitro getArbitro() { return arbitro; }
+
+        @Override public String toString() {
+            return fecha + " " + equipo1.getNombre() + " vs " + equipo2.getNombre() + " (" + arbitro + ")";
+        }
+    }
+
+    /**
+     * Filtro de {@link #entre(LocalDate, LocalDate, Filtro)} (inmutable). Cada criterio es opcional; los que se
+     * fijen deben cumplirse todos.
+     * <pre>{@code
+     * Agenda.Filtro f = Agenda.Filtro.todas().juego(lol).equipo(fox);
+     * }</pre>
+     */
+    public static final class Filtro {
+        private static final Filtro TODAS = new Filtro(null, null, null, null);
+
+        private final Juego juego;
+        private final String categoria;
+        private final Equipo equipo;
+        private final Arbitro arbitro;
+
+        private Filtro(Juego juego, String categoria, Equipo equipo, Arbitro arbitro) {
+            this.juego = juego;
+            this.categoria = categoria;
+            this.equipo = equipo;
+            this.arbitro = arbitro;
+        }
+
+        /** @return filtro que no descarta ninguna partida */
+        public static Filtro todas() { return TODAS; }
+
+        /** @return este filtro, restringido a las partidas del juego */
+        public Filtro juego(Juego juego) { return new Filtro(Objects.requireNonNull(juego, "juego"), categoria, equipo, arbitro); }
+
+        /** @return este filtro, restringido a los juegos de la categoría (por nombre, sin distinguir mayúsculas) */
+        public Filtro categoria(String categoria) {
+            return new Filtro(juego, Objects.requireNonNull(categoria, "categoria").trim(), equipo, arbitro);
+        }
+
+        /** @return este filtro, restringido a las partidas del equipo */
+        public Filtro equipo(Equipo equipo) { return new Filtro(juego, categoria, Objects.requireNonNull(equipo, "equipo"), arbitro); }
+
+        /** @return este filtro, restringido a las partidas que dirige el árbitro */
+        public Filtro arbitro(Arbitro arbitro) { return new Filtro(juego, categoria, equipo, Objects.requireNonNull(arbitro, "arbitro")); }
+
+        public Juego getJuego() { return juego; }
+        public String getCategoria() { return categoria; }
+        public Equipo getEquipo() { return equipo; }
+        public Arbitro getArbitro() { return arbitro; }
+
+        boolean admite(Partida p) {
+            return (juego == null || p.getJuego() == juego)
+                    && (categoria == null || esDeCategoria(p.getJuego(), categoria))
+                    && (equipo == null || equipo.equals(p.getEquipo1()) || equipo.equals(p.getEquipo2()))
+                    && (arbitro == null || p.getArbitro() == arbitro);
+        }
+    }
+
+    /** Conflicto detectado al validar un lote: índice de la cita dentro del lote y motivo. */
+    public static final class Conflicto {
+        private final int indice;
+        private final String motivo;
+
+        public Conflicto(int indice, String motivo) {
+            this.indice = indice;
+            this.motivo = motivo;
+        }
+
+        /** @return posición (base 0) de la cita conflictiva en el lote. */
+        public int getIndice() { return indice; }
+        public String getMotivo() { return motivo; }
+
+        @Override public String toString() { return "#" + indice + ": " + motivo; }
+    }
+
+    // ------------------------
+    // Consultas
+    // ------------------------
+
+    /**
+     * @return la partida que ocupa al participante en esa fecha, o null si está libre
+     */
+    public Partida ocupacion(Object participante, LocalDate fecha) {
+        NavigableMap<LocalDate, Partida> fechas = ocupacion.get(participante);
+        return fechas == null ? null : fechas.get(fecha);
+    }
+
+    /** @return true si el participante no tiene partida en esa fecha. */
+    public boolean estaLibre(Object participante, LocalDate fecha) {
+        return ocupacion(participante, fecha) == null;
+    }
+
+    /**
+     * Partidas con fecha en {@code [desde, hasta]} que cumplen el filtro, en orden cronológico (y por torneo e
+     * id dentro de un mismo día).
+     *
+     * <p>Parte del índice más selectivo que admite el filtro: la ocupación del equipo o del árbitro, el
+     * árbol del juego, los árboles de los juegos de la categoría o, sin filtro, el árbol general. Los demás
+     * criterios se comprueban sobre esas partidas.</p>
+     *
+     * @return lista nueva (vacía si {@code desde} es posterior a {@code hasta})
+     * @throws IllegalStateException si hace falta el índice por fecha y esta agenda no lo tiene (ver
+     *                               {@link #global(boolean)})
+     */
+    public List<Partida> entre(LocalDate desde, LocalDate hasta, Filtro filtro) {
+        return entre(desde, hasta, filtro, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Página de {@link #entre(LocalDate, LocalDate, Filtro)}: como mucho {@code maximo} partidas, saltando las
+     * primeras {@code saltar} del día {@code desde} que cumplen el filtro (las que ya devolvió la página
+     * anterior). Recorre los índices en orden sin copiar más que la página.
+     *
+     * @return lista nueva (vacía si {@code desde} es posterior a {@code hasta})
+     * @throws IllegalArgumentException si {@code saltar} o {@code maximo} son negativos
+     * @throws IllegalStateException si hace falta el índice por fecha y esta agenda no lo tiene
+     */
+    public List<Partida> entre(LocalDate desde, LocalDate hasta, Filtro filtro, int saltar, int maximo) {
+        Objects.requireNonNull(desde, "desde");
+        Objects.requireNonNull(hasta, "hasta");
+        Objects.requireNonNull(filtro, "filtro");
+        if (saltar < 0 || maximo < 0) throw new IllegalArgumentException("saltar y maximo deben ser >= 0");
+        List<Partida> out = new ArrayList<>(Math.min(maximo, 256));
+        if (desde.isAfter(hasta) || maximo == 0) return out;
+
+        Iterator<Partida> recorrido;
+        Object participante = filtro.equipo != null ? filtro.equipo : filtro.arbitro;
+        if (participante != null) {
+            NavigableMap<LocalDate, Partida> fechas = ocupacion.get(participante);
+            if (fechas == null) return out;
+            // Un día por entrada: ya está en orden cronológico.
+            recorrido = fechas.subMap(desde, true, hasta, true).values().iterator();
+        } else {
+            if (porFecha == null) throw new IllegalStateException("Esta agenda no indexa las partidas por fecha");
+            if (filtro.juego != null) {
+                recorrido = delRango(porFecha.get(filtro.juego), desde, hasta);
+            } else if (filtro.categoria != null) {
+                List<Iterator<Partida>> tramos = new ArrayList<>();
+                for (Object clave : porFecha.keySet()) {
+                    if (clave instanceof Juego && esDeCategoria((Juego) clave, filtro.categoria)) {
+                        tramos.add(delRango(porFecha.get(clave), desde, hasta));
+                    }
+                }
+                // Varios juegos: cada tramo ya viene ordenado, solo falta intercalarlos.
+                recorrido = intercalar(tramos);
+            } else {
+                recorrido = delRango(porFecha.get(TODAS), desde, hasta);
+            }
+        }
+
+        int saltadas = 0;
+        while (out.size() < maximo && recorrido.hasNext()) {
+            Partida p = recorrido.next();
+            if (!filtro.admite(p)) continue;
+            if (saltadas < saltar && p.getFecha().equals(desde)) {
+                saltadas++;
+                continue;
+            }
+            out.add(p);
+        }
+        return out;
+    }
+
+    /** Partidas del rango, ya en orden cronológico (días en orden y cada día ordenado), sin copiarlas. */
+    private static Iterator<Partida> delRango(NavigableMap<LocalDate, Set<Partida>> dias, LocalDate desde,
+                                              LocalDate hasta) {
+        if (dias == null) return Collections.emptyIterator();
+        Iterator<Set<Partida>> porDia = dias.subMap(desde, true, hasta, true).values().iterator();
+        return new Iterator<>() {
+            private Iterator<Partida> delDia = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!delDia.hasNext() && porDia.hasNext()) delDia = porDia.next().iterator();
+                return delDia.hasNext();
+            }
+
+            @Override
+            public Partida next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return delDia.next();
+            }
+        };
+    }
+
+    /** Mezcla recorridos ya ordenados en uno solo en orden {@link #CRONOLOGICO}. */
+    private static Iterator<Partida> intercalar(List<Iterator<Partida>> tramos) {
+        if (tramos.isEmpty()) return Collections.emptyIterator();
+        if (tramos.size() == 1) return tramos.get(0);
+        // Cada cabeza: la próxima partida del tramo y el tramo del que sale.
+        PriorityQueue<Map.Entry<Partida, Iterator<Partida>>> cabezas =
+                new PriorityQueue<>(tramos.size(), Map.Entry.comparingByKey(CRONOLOGICO));
+        for (Iterator<Partida> t : tramos) if (t.hasNext()) cabezas.add(new AbstractMap.SimpleEntry<>(t.next(), t));
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() { return !cabezas.isEmpty(); }
+
+            @Override
+            public Partida next() {
+                Map.Entry<Partida, Iterator<Partida>> c = cabezas.poll();
+                if (c == null) throw new NoSuchElementException();
+                Iterator<Partida> t = c.getValue();
+                if (t.hasNext()) cabezas.add(new AbstractMap.SimpleEntry<>(t.next(), t));
+                return c.getKey();
+            }
+        };
+    }
+
+    private static boolean esDeCategoria(Juego juego, String categoria) {
+        return juego.getCategoria() != null && categoria.equalsIgnoreCase(juego.getCategoria().getNombre());
+    }
+
+    /**
+     * Busca el primer conflicto de una cita contra lo ya registrado.
+     *
+     * @return descripción del conflicto o null si los tres participantes están libres
+     */
+    public String conflicto(LocalDate fecha, Equipo e1, Equipo e2, Arbitro arbitro) {
+        if (!estaLibre(e1, fecha)) return "El equipo " + e1.getNombre() + " ya tiene partida el " + fecha;
+        if (!estaLibre(e2, fecha)) return "El equipo " + e2.getNombre() + " ya tiene partida el " + fecha;
+        if (arbitro != null && !estaLibre(arbitro, fecha))
+            return "El árbitro " + arbitro + " ya tiene partida el " + fecha;
+        return null;
+    }
+
+    /**
+     * Exige que los participantes estén libres en la fecha.
+     * @throws IllegalStateException si alguno ya tiene partida ese día
+     */
+    public void exigirLibre(LocalDate fecha, Equipo e1, Equipo e2, Arbitro arbitro) {
+        String motivo = conflicto(fecha, e1, e2, arbitro);
+        if (motivo != null) throw new IllegalStateException("Conflicto de agenda: " + motivo);
+    }
+
+    // ------------------------
+    // Mantenimiento
+    // ------------------------
+
+    /** Registra la partida para sus equipos y su árbitro (y en el índice por fecha, si lo hay). */
+    public void registrar(Partida p) {
+        ocupar(p.getEquipo1(), p);
+        ocupar(p.getEquipo2(), p);
+        if (p.getArbitro() != null) ocupar(p.getArbitro(), p);
+        if (porFecha != null) {
+            indexar(TODAS, p);
+            indexar(p.getJuego(), p);
+        }
+    }
+
+    /** Libera las fechas ocupadas por la partida (si seguían apuntando a ella). */
+    public void retirar(Partida p) {
+        liberar(p.getEquipo1(), p);
+        liberar(p.getEquipo2(), p);
+        if (p.getArbitro() != null) liberar(p.getArbitro(), p);
+        if (porFecha != null) {
+            desindexar(TODAS, p);
+            desindexar(p.getJuego(), p);
+        }
+    }
+
+    // compute/computeIfPresent: en modo concurrente, alta y baja de un mismo participante no se pisan
+    // (una baja no puede descartar el árbol en el que otro hilo está registrando).
+
+    private void ocupar(Object participante, Partida p) {
+        ocupacion.compute(participante, (k, fechas) -> {
+            if (fechas == null) fechas = concurrente ? new ConcurrentSkipListMap<>() : new TreeMap<>();
+            fechas.put(p.getFecha(), p);
+            return fechas;
+        });
+    }
+
+    private void liberar(Object participante, Partida p) {
+        ocupacion.computeIfPresent(participante, (k, fechas) -> {
+            fechas.remove(p.getFecha(), p);
+            return fechas.isEmpty() ? null : fechas;
+        });
+    }
+
+    // Índice por fecha: el árbol de cada clave (TODAS y los juegos, pocas) se crea una vez y no se descarta.
+    // En modo concurrente tampoco se descartan los días que quedan vacíos: quitar el conjunto podría pisar
+    // un alta simultánea en otro torneo para ese mismo día.
+
+    private void indexar(Object clave, Partida p) {
+        NavigableMap<LocalDate, Set<Partida>> dias = porFecha.computeIfAbsent(clave,
+                k -> concurrente ? new ConcurrentSkipListMap<>() : new TreeMap<>());
+        dias.computeIfAbsent(p.getFecha(),
+                f -> concurrente ? new ConcurrentSkipListSet<>(DENTRO_DEL_DIA) : new TreeSet<>(DENTRO_DEL_DIA)).add(p);
+    }
+
+    private void desindexar(Object clave, Partida p) {
+        NavigableMap<LocalDate, Set<Partida>> dias = porFecha.get(clave);
+        Set<Partida> delDia = dias == null ? null : dias.get(p.getFecha());
+        if (delDia == null) return;
+        delDia.remove(p);
+        if (!concurrente && delDia.isEmpty()) dias.remove(p.getFecha());
+    }
+
+    // ------------------------
+    // Validación en bloque
+    // ------------------------
+
+    /**
+     * Valida un calendario completo antes de importarlo: cada cita se contrasta con lo ya registrado
+     * (O(log n)) y con las citas anteriores del mismo lote (O(1) con un índice temporal).
+     *
+     * @param citas calendario propuesto
+     * @return conflictos encontrados (vacía si el lote es válido)
+     */
+    public List<Conflicto> validarLote(List<Cita> citas) {
+        return validarLote(citas, Collections.emptyList());
+    }
+
+    /**
+     * Igual que {@link #validarLote(List)}, pero también contrasta contra otras agendas (p. ej. la global).
+     */
+    public List<Conflicto> validarLote(List<Cita> citas, Collection<Agenda> otras) {
+        Objects.requireNonNull(citas, "citas");
+        List<Conflicto> conflictos = new ArrayList<>();
+        Map<Object, Set<LocalDate>> enLote = new HashMap<>();
+        for (int i = 0; i < citas.size(); i++) {
+            Cita c = citas.get(i);
+            if (c.equipo1.equals(c.equipo2)) {
+                conflictos.add(new Conflicto(i, "Una partida requiere equipos distintos"));
+                continue;
+            }
+            String motivo = conflicto(c.fecha, c.equipo1, c.equipo2, c.arbitro);
+            for (Iterator<Agenda> it = otras.iterator(); motivo == null && it.hasNext(); ) {
+                motivo = it.next().conflicto(c.fecha, c.equipo1, c.equipo2, c.arbitro);
+            }
+            if (motivo == null) motivo = reservarEnLote(enLote, c);
+            if (motivo != null) conflictos.add(new Conflicto(i, motivo));
+        }
+        return conflictos;
+    }
+
+    private static String reservarEnLote(Map<Object, Set<LocalDate>> enLote, Cita c) {
+        Object[] participantes = {c.equipo1, c.equipo2, c.arbitro};
+        for (Object x : participantes) {
+            Set<LocalDate> fechas = enLote.get(x);
+            if (fechas != null && fechas.contains(c.fecha))
+                return etiqueta(x) + " aparece dos veces el " + c.fecha + " dentro del lote";
+        }
+        for (Object x : participantes) enLote.computeIfAbsent(x, k -> new HashSet<>()).add(c.fecha);
+        return null;
+    }
+
+    private static String etiqueta(Object participante) {
+        return participante instanceof Equipo
+                ? "El equipo " + ((Equipo) participante).getNombre()
+                : "El árbitro " + participante;
+    }
+}
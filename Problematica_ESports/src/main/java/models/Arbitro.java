@@ -19,7 +19,8 @@ import java.util.*;
  *
  * <h2>Notas</h2>
  * <ul>
- *   <li>El método {@link #asignarPartida(Partida)} es <i>package-private</i> y lo invoca {@link Partida} al asignarse.</li>
+ *   <li>El método {@link #asignarPartida(Partida)} lo invoca {@link Partida} al asignarse; {@link #quitarPartida(Partida)}
+ *       es <i>package-private</i> y lo invoca {@link Partida} al cambiar de árbitro.</li>
  * </ul>
  */
 public class Arbitro {
@@ -43,6 +44,11 @@ public class Arbitro {
     public void asignarPartida(Partida partida) {
         if (partida != null) partidasArbitradas.add(partida);
     }
+
+    /** Saca una partida del historial; lo invoca {@link Partida} al cambiar de árbitro. */
+    void quitarPartida(Partida partida) {
+        partidasArbitradas.remove(partida);
+    }
     public List<Partida> getPartidasSupervisadas() {
         return Collections.unmodifiableList(partidasArbitradas);
     }
@@ -0,0 +1,92 @@
+package models;
+
+import utils.TablaNombres;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Catálogo de juegos y categorías: una sola instancia por nombre (<i>flyweight</i>).
+ *
+ * <h2>Responsabilidades</h2>
+ * <ul>
+ *   <li>Registrar cada juego una vez ({@link #agregar(String, Categoria)}) con la categoría canónica de su
+ *       nombre, y buscarlo por nombre ({@link #getJuego(String)}).</li>
+ *   <li>Las categorías existen solo a través de sus juegos: una categoría nueva entra al catálogo con el
+ *       primer juego que la usa, y solo si ese juego se agrega.</li>
+ *   <li>Listar juegos y categorías en orden de alta como vistas de solo lectura.</li>
+ * </ul>
+ *
+ * <h2>Notas de diseño</h2>
+ * <ul>
+ *   <li>Los nombres se comparan como en {@link TablaNombres}: sin distinguir mayúsculas ni espacios en los
+ *       extremos. {@code "moba"} y {@code "MOBA "} son la misma categoría.</li>
+ *   <li>Gana el primer alta: si la categoría ya existe, se devuelve la registrada aunque se pida con otra
+ *       descripción (igual que un juego que ya existe con otra categoría).</li>
+ *   <li>{@link Juego} y {@link Categoria} son inmutables, así que las instancias canónicas se comparten entre
+ *       torneos, partidas e hilos sin copias. Como hay una por nombre, se comparan por identidad
+ *       ({@code ==}, o los mapas de identidad de la persistencia).</li>
+ *   <li>Sin bajas: los repositorios de la aplicación solo agregan.</li>
+ *   <li>{@link #Catalogo()} no es thread-safe. {@link #concurrente()} usa tablas concurrentes: las búsquedas
+ *       no bloquean y dos altas con el mismo nombre devuelven la misma instancia.</li>
+ * </ul>
+ */
+public final class Catalogo {
+
+    private final TablaNombres<Categoria> categorias;
+    private final TablaNombres<Juego> juegos;
+
+    /** Catálogo para uso desde un solo hilo. */
+    public Catalogo() { this(false); }
+
+    private Catalogo(boolean concurrente) {
+        this.categorias = concurrente ? TablaNombres.concurrente() : new TablaNombres<>();
+        this.juegos = concurrente ? TablaNombres.concurrente() : new TablaNombres<>();
+    }
+
+    /** @return catálogo seguro para lecturas y altas desde varios hilos */
+    public static Catalogo concurrente() { return new Catalogo(true); }
+
+    // ------------------------
+    // Categorías
+    // ------------------------
+
+    /** @return categoría registrada con ese nombre o null */
+    public Categoria getCategoria(String nombre) { return categorias.get(nombre); }
+
+    /** @return categorías en orden de alta (vista de solo lectura; en modo concurrente, una copia del momento) */
+    public List<Categoria> getCategorias() { return categorias.values(); }
+
+    // ------------------------
+    // Juegos
+    // ------------------------
+
+    /**
+     * Registra un juego nuevo si no hay otro con su nombre. Su categoría es la registrada con el nombre de
+     * {@code categoria}; si no hay ninguna, se registra {@code categoria} junto con el juego (nunca sin él).
+     *
+     * <p>Las altas se serializan en el monitor del catálogo para que juego y categoría entren juntos; las
+     * búsquedas no lo toman.</p>
+     *
+     * @return el juego agregado, o null si ya había uno con ese nombre (ver {@link #getJuego(String)})
+     * @throws IllegalArgumentException si el nombre está vacío
+     */
+    public synchronized Juego agregar(String nombre, Categoria categoria) {
+        Objects.requireNonNull(categoria, "categoria");
+        if (juegos.get(nombre) != null) return null;
+        Categoria registrada = categorias.get(categoria.getNombre());
+        Juego juego = new Juego(nombre, registrada != null ? registrada : categoria);
+        juegos.putIfAbsent(juego.getNombre(), juego);
+        if (registrada == null) categorias.putIfAbsent(categoria.getNombre(), categoria);
+        return juego;
+    }
+
+    /** @return juego registrado con ese nombre o null */
+    public Juego getJuego(String nombre) { return juegos.get(nombre); }
+
+    /** @return juegos en orden de alta (vista de solo lectura; en modo concurrente, una copia del momento) */
+    public List<Juego> getJuegos() { return juegos.values(); }
+
+    /** @return true si no hay juegos registrados */
+    public boolean sinJuegos() { return juegos.isEmpty(); }
+}
@@ -1,26 +1,25 @@
 package models;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Categoría o género de un juego (p.ej., MOBA, FPS, Deportes).
  *
  * <h2>Notas</h2>
  * <ul>
- *   <li>Se modela como entidad simple; si más adelante requieres un catálogo fijo,
- *       puedes convertirlo en enum o mantener una tabla en BD.</li>
+ *   <li>Se modela como entidad simple e inmutable; el catálogo de categorías es {@link Catalogo}, que
+ *       mantiene una instancia por nombre (la igualdad es la de identidad).</li>
  * </ul>
  */
-public class Categoria {
-    private String nombre;
-    private String descripcion; // opcional
+public final class Categoria {
+    private final String nombre;
+    private final String descripcion; // opcional
 
     public Categoria(String nombre) {
-        this.nombre = nombre;
+        this(nombre, null);
     }
 
     public Categoria(String nombre, String descripcion) {
+        if (nombre == null || nombre.isBlank())
+            throw new IllegalArgumentException("El nombre de la categoría es obligatorio");
         this.nombre = nombre;
         this.descripcion = descripcion;
     }
@@ -35,16 +34,8 @@ public class Categoria {
         return descripcion;
     }
 
-    public void setNombre(String nombre) {
-        this.nombre = nombre;
-    }
-
-    public void setDescripcion(String descripcion) {
-        this.descripcion = descripcion;
-    }
-
     @Override
     public String toString() {
         return nombre + (descripcion != null ? " (" + descripcion + ")" : "");
     }
-}
\ No newline at end of file
+}
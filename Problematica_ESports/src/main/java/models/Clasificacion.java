@@ -0,0 +1,168 @@
+package models;
+
+import java.util.*;
+
+/**
+ * Tabla de posiciones de un torneo, mantenida a medida que se registran resultados.
+ *
+ * <h2>Responsabilidades</h2>
+ * <ul>
+ *   <li>Llevar por equipo inscrito las partidas jugadas, ganadas, empatadas y perdidas, los tantos a favor y en
+ *       contra y los puntos ({@value #PUNTOS_VICTORIA} por victoria, {@value #PUNTOS_EMPATE} por empate).</li>
+ *   <li>Mantener a los inscritos ordenados: puntos, diferencia de tantos, tantos a favor y nombre.</li>
+ *   <li>Dar la tabla como foto inmutable ({@link #getTabla()}) sin recorrer las partidas del torneo.</li>
+ * </ul>
+ *
+ * <h2>Notas de diseño</h2>
+ * <ul>
+ *   <li>Las filas viven en un {@link TreeSet} ordenado por esos criterios. Un resultado saca e inserta solo
+ *       las filas de sus dos equipos: O(log n).</li>
+ *   <li>La foto se arma al primer pedido después de un cambio y se reutiliza hasta el siguiente (igual que
+ *       {@link Torneo#getPartidas()}). Entre dos resultados todas las lecturas devuelven la misma lista.</li>
+ *   <li>Un equipo retirado sale de la tabla pero conserva sus números; si se vuelve a inscribir, reaparece
+ *       con ellos.</li>
+ *   <li>El desempate por enfrentamiento directo no es un orden total (puede ser circular), así que no entra
+ *       en el orden del árbol; para eso está {@link Torneo#getCaraACara(Equipo, Equipo)}.</li>
+ *   <li>No es thread-safe: se usa bajo el cerrojo de su {@link Torneo}.</li>
+ * </ul>
+ */
+public class Clasificacion {
+
+    public static final int PUNTOS_VICTORIA = 3;
+    public static final int PUNTOS_EMPATE = 1;
+
+    /** Orden de la tabla; lee campos mutables, así que una fila se saca del árbol antes de modificarla. */
+    private static final Comparator<Fila> ORDEN = Comparator
+            .comparingInt((Fila f) -> -f.puntos)
+            .thenComparingLong(f -> -(f.aFavor - f.enContra))
+            .thenComparingLong(f -> -f.aFavor)
+            .thenComparing(f -> f.equipo.getNombre(), String.CASE_INSENSITIVE_ORDER);
+
+    /** Números de cada equipo que pasó por el torneo (inscrito o no). */
+    private final Map<Equipo, Fila> filas = new HashMap<>();
+
+    /** Filas de los equipos inscritos, en orden de tabla. */
+    private final TreeSet<Fila> orden = new TreeSet<>(ORDEN);
+
+    /** Última foto de la tabla; null si hay que rearmarla. */
+    private List<Posicion> foto;
+
+    /** Acumulado de un equipo. */
+    private static final class Fila {
+        final Equipo equipo;
+        int jugadas, ganadas, empatadas, perdidas, puntos;
+        long aFavor, enContra;
+
+        Fila(Equipo equipo) { this.equipo = equipo; }
+    }
+
+    /**
+     * Fila de la tabla en el momento de la foto (inmutable).
+     */
+    public static final class Posicion {
+        private final int puesto;
+        private final Equipo equipo;
+        private final int jugadas, ganadas, empatadas, perdidas, puntos;
+        private final long aFavor, enContra;
+
+        private Posicion(int puesto, Fila f) {
+            this.puesto = puesto;
+            this.equipo = f.equipo;
+            this.jugadas = f.jugadas;
+            this.ganadas = f.ganadas;
+            this.empatadas = f.empatadas;
+            this.perdidas = f.perdidas;
+            this.puntos = f.puntos;
+            this.aFavor = f.aFavor;
+            this.enContra = f.enContra;
+        }
+
+        /** @return puesto en la tabla (1 = primero). */
+        public int getPuesto() { return puesto; }
+        public Equipo getEquipo() { return equipo; }
+        public int getJugadas() { return jugadas; }
+        public int getGanadas() { return ganadas; }
+        public int getEmpatadas() { return empatadas; }
+        public int getPerdidas() { return perdidas; }
+        public int getPuntos() { return puntos; }
+        public long getAFavor() { return aFavor; }
+        public long getEnContra() { return enContra; }
+        public long getDiferencia() { return aFavor - enContra; }
+
+        @Override public String toString() {
+            return puesto + ". " + equipo.getNombre() + " " + puntos + "pts " + ganadas + "G " + empatadas + "E "
+                    + perdidas + "P (" + aFavor + "-" + enContra + ")";
+        }
+    }
+
+    // ------------------------
+    // Altas y bajas
+    // ------------------------
+
+    /** Agrega el equipo a la tabla (con los números que tuviera de antes). O(log n). */
+    public void inscribir(Equipo equipo) {
+        Objects.requireNonNull(equipo, "equipo");
+        if (orden.add(filas.computeIfAbsent(equipo, Fila::new))) foto = null;
+    }
+
+    /** Saca el equipo de la tabla; sus números se conservan. O(log n). */
+    public void retirar(Equipo equipo) {
+        Fila f = equipo == null ? null : filas.get(equipo);
+        if (f != null && orden.remove(f)) foto = null;
+    }
+
+    /**
+     * Suma el resultado de la partida a sus dos equipos y los reubica en la tabla. O(log n).
+     * @throws IllegalArgumentException si la partida no tiene resultado
+     */
+    public void registrar(Partida p) {
+        Objects.requireNonNull(p, "partida");
+        if (!p.tieneResultado()) throw new IllegalArgumentException("La partida no tiene resultado");
+        int m1 = p.getMarcador1(), m2 = p.getMarcador2();
+        sumar(p.getEquipo1(), m1, m2);
+        sumar(p.getEquipo2(), m2, m1);
+        foto = null;
+    }
+
+    private void sumar(Equipo equipo, int propios, int ajenos) {
+        Fila f = filas.computeIfAbsent(equipo, Fila::new);
+        boolean enTabla = orden.remove(f);
+        f.jugadas++;
+        if (propios > ajenos) {
+            f.ganadas++;
+            f.puntos += PUNTOS_VICTORIA;
+        } else if (propios < ajenos) {
+            f.perdidas++;
+        } else {
+            f.empatadas++;
+            f.puntos += PUNTOS_EMPATE;
+        }
+        f.aFavor += propios;
+        f.enContra += ajenos;
+        if (enTabla) orden.add(f);
+    }
+
+    // ------------------------
+    // Consultas
+    // ------------------------
+
+    /**
+     * Tabla de los equipos inscritos, del primero al último.
+     * @return lista inmutable; la misma instancia mientras no haya cambios
+     */
+    public List<Posicion> getTabla() {
+        if (foto == null) {
+            Posicion[] tabla = new Posicion[orden.size()];
+            int i = 0;
+            for (Fila f : orden) {
+                tabla[i] = new Posicion(i + 1, f);
+                i++;
+            }
+            foto = List.of(tabla);
+        }
+        return foto;
+    }
+
+    /** @return equipos en la tabla. */
+    public int size() { return orden.size(); }
+}
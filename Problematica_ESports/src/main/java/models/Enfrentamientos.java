@@ -0,0 +1,150 @@
+package models;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Historial cara a cara entre equipos: partidas jugadas, victorias, empates y tantos de cada par.
+ *
+ * <h2>Responsabilidades</h2>
+ * <ul>
+ *   <li>Acumular cada resultado registrado ({@link #registrar(Partida)}) en el par de equipos que lo jugó.</li>
+ *   <li>Responder en O(1) el balance de un equipo contra otro ({@link #entre(Equipo, Equipo)}), sin recorrer
+ *       {@link Torneo#getPartidas()}, y listar los rivales de un equipo ({@link #rivales(Equipo)}).</li>
+ * </ul>
+ *
+ * <h2>Notas de diseño</h2>
+ * <ul>
+ *   <li>Un contador por par no ordenado, alcanzable desde los dos equipos (equipo → rival → contador); el
+ *       balance se da vuelta según desde qué lado se consulte.</li>
+ *   <li>Solo crece: los resultados no se corrigen y una partida con resultado no se puede cancelar.</li>
+ *   <li>Cada {@link Torneo} tiene el suyo; {@code AppVM} comparte además uno global entre todos sus torneos.</li>
+ *   <li>{@link #Enfrentamientos()} no es thread-safe (igual que {@link Torneo}). En {@link #concurrente()} el
+ *       índice de equipos es concurrente y los rivales de cada equipo se leen y modifican con el cerrojo de
+ *       ese equipo tomado (ver {@code AppVM} en modo concurrente).</li>
+ * </ul>
+ */
+public class Enfrentamientos {
+
+    /** Equipo → rival → contador del par (el mismo objeto desde los dos lados). */
+    private final Map<Equipo, Map<Equipo, Contador>> porEquipo;
+
+    /** Historial para uso desde un solo hilo. */
+    public Enfrentamientos() { this(false); }
+
+    private Enfrentamientos(boolean concurrente) {
+        this.porEquipo = concurrente ? new ConcurrentHashMap<>() : new HashMap<>();
+    }
+
+    /** @return historial cuyo índice de equipos admite altas desde varios hilos */
+    public static Enfrentamientos concurrente() { return new Enfrentamientos(true); }
+
+    /** Acumulado de un par, desde el punto de vista de {@link #local}. */
+    private static final class Contador {
+        final Equipo local;
+        int jugadas, ganadasLocal, ganadasRival, empates;
+        long tantosLocal, tantosRival;
+
+        Contador(Equipo local) { this.local = local; }
+    }
+
+    /**
+     * Balance de un equipo contra un rival (foto inmutable).
+     */
+    public static final class Balance {
+        private final Equipo equipo;
+        private final Equipo rival;
+        private final int jugadas, ganadas, empatadas, perdidas;
+        private final long aFavor, enContra;
+
+        Balance(Equipo equipo, Equipo rival, int jugadas, int ganadas, int empatadas, int perdidas,
+                long aFavor, long enContra) {
+            this.equipo = equipo;
+            this.rival = rival;
+            this.jugadas = jugadas;
+            this.ganadas = ganadas;
+            this.empatadas = empatadas;
+            this.perdidas = perdidas;
+            this.aFavor = aFavor;
+            this.enContra = enContra;
+        }
+
+        public Equipo getEquipo() { return equipo; }
+        public Equipo getRival() { return rival; }
+        public int getJugadas() { return jugadas; }
+        public int getGanadas() { return ganadas; }
+        public int getEmpatadas() { return empatadas; }
+        public int getPerdidas() { return perdidas; }
+        /** @return tantos anotados por {@link #getEquipo()} en esas partidas. */
+        public long getAFavor() { return aFavor; }
+        /** @return tantos recibidos por {@link #getEquipo()} en esas partidas. */
+        public long getEnContra() { return enContra; }
+        public long getDiferencia() { return aFavor - enContra; }
+
+        @Override public String toString() {
+            return equipo.getNombre() + " vs " + rival.getNombre() + ": " + ganadas + "G " + empatadas + "E "
+                    + perdidas + "P (" + aFavor + "-" + enContra + ")";
+        }
+    }
+
+    // ------------------------
+    // Altas
+    // ------------------------
+
+    /**
+     * Suma el resultado de la partida al par de equipos que la jugó.
+     * @throws IllegalArgumentException si la partida no tiene resultado
+     */
+    public void registrar(Partida p) {
+        Objects.requireNonNull(p, "partida");
+        if (!p.tieneResultado()) throw new IllegalArgumentException("La partida no tiene resultado");
+        Equipo e1 = p.getEquipo1(), e2 = p.getEquipo2();
+        Map<Equipo, Contador> rivales1 = porEquipo.computeIfAbsent(e1, k -> new HashMap<>());
+        Contador c = rivales1.get(e2);
+        if (c == null) {
+            c = new Contador(e1);
+            rivales1.put(e2, c);
+            porEquipo.computeIfAbsent(e2, k -> new HashMap<>()).put(e1, c);
+        }
+        boolean directo = c.local.equals(e1);
+        int m1 = p.getMarcador1(), m2 = p.getMarcador2();
+        int local = directo ? m1 : m2, rival = directo ? m2 : m1;
+        c.jugadas++;
+        if (local > rival) c.ganadasLocal++;
+        else if (local < rival) c.ganadasRival++;
+        else c.empates++;
+        c.tantosLocal += local;
+        c.tantosRival += rival;
+    }
+
+    // ------------------------
+    // Consultas
+    // ------------------------
+
+    /** @return balance de {@code equipo} contra {@code rival} (todo en cero si nunca se enfrentaron), O(1) */
+    public Balance entre(Equipo equipo, Equipo rival) {
+        Objects.requireNonNull(equipo, "equipo");
+        Objects.requireNonNull(rival, "rival");
+        Map<Equipo, Contador> rivales = porEquipo.get(equipo);
+        Contador c = rivales == null ? null : rivales.get(rival);
+        return c == null ? new Balance(equipo, rival, 0, 0, 0, 0, 0, 0) : balance(equipo, rival, c);
+    }
+
+    /** @return balance de {@code equipo} contra cada rival con el que jugó, de más a menos partidas */
+    public List<Balance> rivales(Equipo equipo) {
+        Objects.requireNonNull(equipo, "equipo");
+        Map<Equipo, Contador> rivales = porEquipo.get(equipo);
+        if (rivales == null) return List.of();
+        List<Balance> out = new ArrayList<>(rivales.size());
+        for (Map.Entry<Equipo, Contador> e : rivales.entrySet()) out.add(balance(equipo, e.getKey(), e.getValue()));
+        out.sort(Comparator.comparingInt(Balance::getJugadas).reversed()
+                .thenComparing(b -> b.getRival().getNombre(), String.CASE_INSENSITIVE_ORDER));
+        return out;
+    }
+
+    private static Balance balance(Equipo equipo, Equipo rival, Contador c) {
+        return c.local.equals(equipo)
+                ? new Balance(equipo, rival, c.jugadas, c.ganadasLocal, c.empates, c.ganadasRival, c.tantosLocal, c.tantosRival)
+                : new Balance(equipo, rival, c.jugadas, c.ganadasRival, c.empates, c.ganadasLocal, c.tantosRival, c.tantosLocal);
+    }
+}
@@ -6,6 +6,8 @@
 
 package models;
 
+import utils.TablaNombres;
+
 import java.util.*;
 
 /**
@@ -16,6 +18,7 @@ import java.util.*;
  *   <li>Gestionar la plantilla de jugadores (alta, baja, consulta).</li>
  *   <li>Mantener la relación bidireccional Jugador ↔ Equipo.</li>
  *   <li>Definir identidad por nombre (case-insensitive) para evitar duplicados en sets.</li>
+ *   <li>Mantener agregados de la plantilla (cantidad, suma, promedio y máximo de ranking) de forma incremental.</li>
  * </ul>
  *
  * <h2>Reglas</h2>
@@ -23,18 +26,45 @@ import java.util.*;
  *   <li>No se permiten jugadores nulos.</li>
  *   <li>Un jugador no puede pertenecer a dos equipos a la vez.</li>
  * </ul>
+ *
+ * <h2>Complejidad</h2>
+ * <ul>
+ *   <li>Alta, baja y pertenencia: O(1) medio sobre {@link LinkedHashSet} (conserva el orden de alta).</li>
+ *   <li>Agregados: lectura O(1); al cambiar la plantilla o el ranking de un jugador se actualizan en
+ *       O(log k) (k = rankings distintos), sin recorrer la plantilla.</li>
+ * </ul>
+ *
+ * <h2>Concurrencia</h2>
+ * <ul>
+ *   <li>Thread-safe: el cerrojo de cada equipo es su propio monitor.</li>
+ *   <li>Alta y baja toman primero el monitor del equipo y luego el del jugador (siempre en ese orden), de
+ *       modo que dos equipos no pueden quedarse a la vez con el mismo jugador y la referencia
+ *       {@link Jugador#getEquipo()} siempre coincide con la plantilla.</li>
+ * </ul>
  */
 public class Equipo {
     /** Nombre público del equipo (identidad lógica). */
     private final String nombre;
 
-    /** Roster interno; el orden no tiene semántica especial. */
-    private final List<Jugador> jugadores = new ArrayList<>();
+    /** Hash del nombre ignorando mayúsculas, calculado una sola vez (el nombre es inmutable). */
+    private final int hash;
+
+    /** Roster interno en orden de alta; pertenencia y baja en O(1). */
+    private final Set<Jugador> jugadores = new LinkedHashSet<>();
+
+    /** Vista de lista para {@link #getJugadores()}; se reconstruye solo si la plantilla cambió. */
+    private List<Jugador> vista = List.of();
+    private boolean vistaVigente = true;
+
+    /** Agregados de ranking mantenidos en cada alta/baja y en cada {@link Jugador#setRanking(int)}. */
+    private long sumaRanking;
+    private final TreeMap<Integer, Integer> conteoPorRanking = new TreeMap<>();
 
     public Equipo(String nombre) {
         if (nombre == null || nombre.isBlank())
             throw new IllegalArgumentException("El nombre del equipo es obligatorio");
         this.nombre = nombre.trim();
+        this.hash = TablaNombres.hash(this.nombre);
     }
 
     /** @return nombre del equipo. */
@@ -45,13 +75,16 @@ public class Equipo {
      * <b>Pre:</b> j != null y (j.getEquipo() == null || j.getEquipo() == this)<br>
      * <b>Post:</b> el jugador pertenece a este equipo y figura en la lista.
      */
-    public void addJugador(Jugador j) {
+    public synchronized void addJugador(Jugador j) {
         if (j == null) throw new IllegalArgumentException("Jugador null");
-        if (j.getEquipo() != null && j.getEquipo() != this)
-            throw new IllegalStateException("El jugador ya pertenece a otro equipo");
-        if (!jugadores.contains(j)) {
-            jugadores.add(j);
-            j.setEquipo(this); // setter package-private en Jugador
+        synchronized (j) {
+            if (j.getEquipo() != null && j.getEquipo() != this)
+                throw new IllegalStateException("El jugador ya pertenece a otro equipo");
+            if (jugadores.add(j)) {
+                j.setEquipo(this); // setter package-private en Jugador
+                sumar(j.getRanking());
+                vistaVigente = false;
+            }
         }
     }
 
@@ -59,15 +92,67 @@ public class Equipo {
      * Elimina un jugador del equipo (si está).
      * <b>Post:</b> el jugador queda sin equipo (equipo == null).
      */
-    public void removeJugador(Jugador j) {
-        if (jugadores.remove(j)) {
-            j.setEquipo(null);
+    public synchronized void removeJugador(Jugador j) {
+        if (j == null) return;
+        synchronized (j) {
+            if (jugadores.remove(j)) {
+                j.setEquipo(null);
+                restar(j.getRanking());
+                vistaVigente = false;
+            }
+        }
+    }
+
+    /**
+     * @return lista inmutable de la plantilla en orden de alta (se reutiliza mientras la plantilla no cambie)
+     */
+    public synchronized List<Jugador> getJugadores() {
+        if (!vistaVigente) {
+            vista = List.copyOf(jugadores);
+            vistaVigente = true;
         }
+        return vista;
+    }
+
+    /** @return true si el jugador pertenece a la plantilla (O(1)). */
+    public synchronized boolean contieneJugador(Jugador j) {
+        return j != null && jugadores.contains(j);
+    }
+
+    // ------------------------
+    // Agregados de la plantilla
+    // ------------------------
+
+    /** @return cantidad de jugadores. */
+    public synchronized int getCantidadJugadores() { return jugadores.size(); }
+
+    /** @return suma de los rankings de la plantilla. */
+    public synchronized long getSumaRanking() { return sumaRanking; }
+
+    /** @return ranking promedio de la plantilla (0 si está vacía). */
+    public synchronized double getRankingPromedio() {
+        return jugadores.isEmpty() ? 0 : (double) sumaRanking / jugadores.size();
+    }
+
+    /** @return mayor ranking de la plantilla (0 si está vacía). */
+    public synchronized int getRankingMaximo() {
+        return conteoPorRanking.isEmpty() ? 0 : conteoPorRanking.lastKey();
+    }
+
+    /** Lo invoca {@link Jugador#setRanking(int)} para mantener los agregados al día. */
+    synchronized void rankingCambiado(int anterior, int nuevo) {
+        restar(anterior);
+        sumar(nuevo);
+    }
+
+    private void sumar(int ranking) {
+        sumaRanking += ranking;
+        conteoPorRanking.merge(ranking, 1, Integer::sum);
     }
 
-    /** @return vista inmutable de la plantilla. */
-    public List<Jugador> getJugadores() {
-        return Collections.unmodifiableList(jugadores);
+    private void restar(int ranking) {
+        sumaRanking -= ranking;
+        conteoPorRanking.computeIfPresent(ranking, (k, v) -> v == 1 ? null : v - 1);
     }
 
     // Identidad por nombre para usar en Set<Equipo>
@@ -75,11 +160,11 @@ public class Equipo {
         if (this == o) return true;
         if (!(o instanceof Equipo)) return false;
         Equipo e = (Equipo) o;
-        return nombre.equalsIgnoreCase(e.nombre);
+        return hash == e.hash && nombre.equalsIgnoreCase(e.nombre);
     }
-    @Override public int hashCode() { return nombre.toLowerCase().hashCode(); }
+    @Override public int hashCode() { return hash; }
 
     @Override public String toString() {
-        return "Equipo{" + nombre + ", jugadores=" + jugadores.size() + '}';
+        return "Equipo{" + nombre + ", jugadores=" + getCantidadJugadores() + '}';
     }
 }
@@ -12,12 +12,14 @@ package models;
  * <h2>Invariantes</h2>
  * <ul>
  *   <li>Nombre y categoría no son nulos y no cambian tras la creación.</li>
+ *   <li>Inmutable: una instancia se comparte entre torneos, partidas e hilos. {@link Catalogo} mantiene una
+ *       por nombre, así que la igualdad es la de identidad.</li>
  * </ul>
  */
-public class Juego {
+public final class Juego {
 
-    private String nombre;
-    private Categoria categoria;
+    private final String nombre;
+    private final Categoria categoria;
 
 
     //Si el jugador se elimina, se mantiene
@@ -31,13 +33,9 @@ public class Juego {
     public String getNombre() { return nombre; }
     public Categoria getCategoria() { return categoria; }
 
-
-    public void setNombre(String nombre) { this.nombre = nombre; }
-    public void setCategoria(Categoria categoria) { this.categoria = categoria; }
-
     @Override public String toString() {
         return nombre + " [" + categoria + "]";
     }
-    
+
 
 }
@@ -6,13 +6,18 @@
 
 
 package models;
+
+import java.util.Arrays;
+import java.util.Objects;
+
 /**
  * Jugador integrante de un equipo.
  *
  * <h2>Responsabilidades</h2>
  * <ul>
  *   <li>Almacenar identidad del jugador (nombre legal y alias).</li>
- *   <li>Conservar su ranking (métrica editable).</li>
+ *   <li>Conservar su ranking (métrica editable) y el ranking con el que se creó, del que parte
+ *       {@code MotorElo} al recalcular el historial.</li>
  *   <li>Mantener una referencia al equipo al que pertenece.</li>
  * </ul>
  *
@@ -20,17 +25,36 @@ package models;
  * <ul>
  *   <li>El setter de equipo es <i>package-private</i> para que solo lo gestione {@link Equipo}.</li>
  *   <li>Alias y nombre son inmutables tras la creación.</li>
+ *   <li>{@link #setRanking(int)} avisa a los {@link ObservadorRanking} registrados (índices de clasificación).</li>
+ *   <li>Thread-safe: el cambio de ranking se hace con el monitor del equipo (o del jugador si no tiene), el
+ *       mismo que protege los agregados de {@link Equipo}; los observadores se avisan fuera de ese cerrojo.</li>
  * </ul>
  */
 public class Jugador {
     private String nombre;
     private String alias;
-    private int ranking;
-    private Equipo equipo;
+    private volatile int ranking;
+    private final int rankingInicial;
+    private volatile Equipo equipo;
+
+    private static final ObservadorRanking[] NINGUNO = new ObservadorRanking[0];
+
+    /** Observadores del ranking (la mayoría de los jugadores tiene 0 o 1; arreglo para no pagar una lista). */
+    private volatile ObservadorRanking[] observadores = NINGUNO;
 
     public Jugador(String nombre, String alias, int ranking) {
+        this(nombre, alias, ranking, ranking);
+    }
+
+    /**
+     * Jugador cuyo ranking ya se movió desde el inicial (p. ej. al restaurar una instantánea).
+     * @param rankingInicial ranking con el que empezó (semilla del recálculo)
+     * @param ranking        ranking actual
+     */
+    public Jugador(String nombre, String alias, int rankingInicial, int ranking) {
         this.nombre = nombre;
         this.alias = alias;
+        this.rankingInicial = rankingInicial;
         this.ranking = ranking;
     }
 
@@ -38,12 +62,49 @@ public class Jugador {
     public String getNombre() { return nombre; }
     public String getAlias() { return alias; }
     public int getRanking() { return ranking; }
-    public void setRanking(int ranking) { this.ranking = ranking; }
+    /** @return ranking con el que se creó el jugador (no cambia con los resultados). */
+    public int getRankingInicial() { return rankingInicial; }
+    public void setRanking(int ranking) {
+        int anterior;
+        while (true) {
+            Equipo e = equipo;
+            synchronized (e != null ? e : this) {
+                if (equipo != e) continue; // cambió de equipo entretanto: se reintenta con el nuevo cerrojo
+                anterior = this.ranking;
+                if (anterior == ranking) return;
+                this.ranking = ranking;
+                if (e != null) e.rankingCambiado(anterior, ranking);
+            }
+            break;
+        }
+        for (ObservadorRanking o : observadores) o.rankingCambiado(this, anterior, ranking);
+    }
     public Equipo getEquipo() { return equipo; }
     /** Solo debe llamarse desde {@link Equipo} para mantener la coherencia del modelo. */
     void setEquipo(Equipo equipo) { this.equipo = equipo; }
 
 
+    /** Registra un observador de cambios de ranking (ignora duplicados). */
+    public synchronized void agregarObservador(ObservadorRanking observador) {
+        Objects.requireNonNull(observador, "observador");
+        for (ObservadorRanking o : observadores) if (o == observador) return;
+        observadores = Arrays.copyOf(observadores, observadores.length + 1);
+        observadores[observadores.length - 1] = observador;
+    }
+
+    /** Quita un observador previamente registrado. */
+    public synchronized void quitarObservador(ObservadorRanking observador) {
+        for (int i = 0; i < observadores.length; i++) {
+            if (observadores[i] == observador) {
+                ObservadorRanking[] resto = new ObservadorRanking[observadores.length - 1];
+                System.arraycopy(observadores, 0, resto, 0, i);
+                System.arraycopy(observadores, i + 1, resto, i, resto.length - i);
+                observadores = resto;
+                return;
+            }
+        }
+    }
+
     /** @return alias + " (" + nombre + ")" */
     @Override
     public String toString() {
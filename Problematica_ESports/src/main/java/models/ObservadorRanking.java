@@ -0,0 +1,22 @@
+package models;
+
+/**
+ * Recibe avisos cuando cambia el ranking de un {@link Jugador}.
+ *
+ * <p>Permite mantener índices derivados (p. ej. una tabla de clasificación ordenada) actualizados
+ * en el momento, sin recorrer todas las plantillas.</p>
+ *
+ * <p>Los avisos se emiten fuera de los cerrojos del modelo: con varios hilos, dos avisos del mismo jugador
+ * pueden llegar desordenados. El valor vigente es siempre {@link Jugador#getRanking()}.</p>
+ */
+public interface ObservadorRanking {
+
+    /**
+     * Se invoca después de que el ranking cambió (no se invoca si el valor es el mismo).
+     *
+     * @param jugador  jugador afectado (ya con el ranking nuevo)
+     * @param anterior ranking previo
+     * @param nuevo    ranking actual
+     */
+    void rankingCambiado(Jugador jugador, int anterior, int nuevo);
+}
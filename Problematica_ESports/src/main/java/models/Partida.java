@@ -12,8 +12,11 @@ import java.util.Objects;
  *
  * <h2>Responsabilidades</h2>
  * <ul>
- *   <li>Almacenar datos inmutables de la cita (fecha, equipos y juego).</li>
- *   <li>Permitir asignar o cambiar el árbitro responsable.</li>
+ *   <li>Almacenar los datos de la cita (fecha, equipos y juego); solo la fecha puede cambiar, vía
+ *       {@link Torneo#reprogramarPartida(int, LocalDate)}.</li>
+ *   <li>Exponer un identificador numérico compacto, único dentro de su torneo ({@link #getId()}).</li>
+ *   <li>Cambiar el árbitro responsable, vía {@link Torneo#reasignarArbitro(int, Arbitro)}.</li>
+ *   <li>Guardar el resultado (marcador) una vez disputada; lo registra {@link Torneo#registrarResultado}.</li>
  *   <li>Exponer getters de solo lectura.</li>
  * </ul>
  *
@@ -21,7 +24,9 @@ import java.util.Objects;
  * <ul>
  *   <li>fecha, equipo1, equipo2 y juego no son nulos.</li>
  *   <li>equipo1 y equipo2 son <b>distintos</b>.</li>
- *   <li>El árbitro puede ser null y asignarse después.</li>
+ *   <li>El árbitro no es nulo (cada partida tiene exactamente uno).</li>
+ *   <li>Las dobles reservas (mismo equipo o árbitro el mismo día) las rechaza {@link Torneo} con su
+ *       {@link Agenda}; esta clase no conoce el resto del calendario.</li>
  * </ul>
  *
  * <h2>Creación</h2>
@@ -29,8 +34,11 @@ import java.util.Objects;
  */
 public class Partida {
 
-    /** Fecha acordada para disputar la partida. */
-    private final LocalDate fecha;
+    /** Identificador dentro del torneo (1, 2, 3…); 0 mientras no se haya agregado al calendario. */
+    private int id;
+
+    /** Fecha acordada para disputar la partida (la cambia solo {@link Torneo}). */
+    private LocalDate fecha;
 
     /** Participantes. */
     private final Equipo equipo1;
@@ -39,16 +47,24 @@ public class Partida {
     /** Juego al que pertenece la partida (el mismo del torneo que la programa). */
     private final Juego juego;
 
-    /** Árbitro que supervisa la partida (opcional). */
+    /** Árbitro que supervisa la partida (lo cambia solo {@link Torneo}). */
     private Arbitro arbitro;
 
     private Torneo torneo;
 
+    /** Marcador final; {@code SIN_RESULTADO} mientras no se haya jugado. */
+    private static final int SIN_RESULTADO = -1;
+    private int marcador1 = SIN_RESULTADO;
+    private int marcador2 = SIN_RESULTADO;
 
 
 
 
-    private Partida(Torneo torneo, LocalDate fecha, Equipo e1, Equipo e2, Arbitro arbitro) {
+    /**
+     * Constructor sin validaciones. Es <i>package-private</i> para que {@link Torneo} pueda crear
+     * partidas en bloque cuando ya validó los datos una sola vez (ver {@link Torneo#generarRoundRobin}).
+     */
+    Partida(Torneo torneo, LocalDate fecha, Equipo e1, Equipo e2, Arbitro arbitro) {
         this.torneo = torneo;
         this.fecha = fecha;
         this.equipo1 = e1;
@@ -68,9 +84,9 @@ public class Partida {
      * @param e1      primer equipo
      * @param e2      segundo equipo (distinto a e1)
      * @param torneo   juego de la partida (el del torneo)
-     * @param arbitro árbitro asignado (puede ser null)
+     * @param arbitro árbitro asignado (no nulo)
      * @return instancia inmutable de Partida
-     * @throws NullPointerException     si fecha, e1, e2 o juego son nulos
+     * @throws NullPointerException     si torneo, fecha, e1, e2 o arbitro son nulos
      * @throws IllegalArgumentException si e1 y e2 son el mismo equipo
      */
     public static Partida of(Torneo torneo, LocalDate fecha, Equipo e1, Equipo e2, Arbitro arbitro) {
@@ -83,6 +99,9 @@ public class Partida {
         return new Partida(torneo, fecha, e1, e2, arbitro);
     }
 
+    /** @return identificador de la partida dentro de su torneo (&gt; 0 una vez programada). */
+    public int getId() { return id; }
+
     /** @return fecha programada. */
     public LocalDate getFecha() { return fecha; }
 
@@ -97,9 +116,33 @@ public class Partida {
     /** @return juego de la partida. */
     public Juego getJuego() { return juego; }
 
-    /** @return árbitro asignado (puede ser null). */
+    /** @return árbitro asignado (no nulo). */
     public Arbitro getArbitro() { return arbitro; }
 
+    /** @return true si ya se registró el resultado. */
+    public boolean tieneResultado() { return marcador1 != SIN_RESULTADO; }
+
+    /** @return marcador del equipo 1 (-1 si aún no hay resultado). */
+    public int getMarcador1() { return marcador1; }
+
+    /** @return marcador del equipo 2 (-1 si aún no hay resultado). */
+    public int getMarcador2() { return marcador2; }
+
+    /** @return true si hay resultado y fue empate. */
+    public boolean isEmpate() { return tieneResultado() && marcador1 == marcador2; }
+
+    /** @return equipo ganador, o null si aún no hay resultado o fue empate. */
+    public Equipo getGanador() {
+        if (!tieneResultado() || marcador1 == marcador2) return null;
+        return marcador1 > marcador2 ? equipo1 : equipo2;
+    }
+
+    /** @return equipo perdedor, o null si aún no hay resultado o fue empate. */
+    public Equipo getPerdedor() {
+        if (!tieneResultado() || marcador1 == marcador2) return null;
+        return marcador1 > marcador2 ? equipo2 : equipo1;
+    }
+
 
 
     // ------------------------
@@ -107,27 +150,46 @@ public class Partida {
     // ------------------------
 
     /**
-     * Asigna o cambia el árbitro de la partida.
-     * <p><b>Post:</b> si el árbitro no es null, se registra esta partida en su historial.</p>
-     *
-     * @param arbitro nuevo árbitro (puede ser null para “desasignar” temporalmente)
+     * Cambia el árbitro de la partida y la pasa del historial del anterior al del nuevo. <i>Package-private</i>:
+     * el punto de entrada es {@link Torneo#reasignarArbitro(int, Arbitro)}, que valida y actualiza sus agendas.
      */
-    public void asignarArbitro(Arbitro arbitro) {
+    void asignarArbitro(Arbitro arbitro) {
+        this.arbitro.quitarPartida(this);
         this.arbitro = arbitro;
-        if (arbitro != null) {
-            arbitro.asignarPartida(this);
-        }
+        arbitro.asignarPartida(this);
+    }
+
+    /**
+     * Fija el marcador final. <i>Package-private</i>: el punto de entrada es
+     * {@link Torneo#registrarResultado(Partida, int, int)}, que mantiene la coherencia del torneo.
+     *
+     * @throws IllegalArgumentException si algún marcador es negativo
+     * @throws IllegalStateException    si la partida ya tenía resultado
+     */
+    void registrarResultado(int marcador1, int marcador2) {
+        if (marcador1 < 0 || marcador2 < 0) throw new IllegalArgumentException("El marcador no puede ser negativo");
+        if (tieneResultado()) throw new IllegalStateException("La partida ya tiene resultado");
+        this.marcador1 = marcador1;
+        this.marcador2 = marcador2;
     }
 
+    /** Lo asigna {@link Torneo} al agregar la partida a su calendario. */
+    void setId(int id) { this.id = id; }
+
+    /** Cambia la fecha; {@link Torneo} actualiza antes y después sus agendas. */
+    void setFecha(LocalDate fecha) { this.fecha = fecha; }
+
     @Override
     public String toString() {
         return "Partida{" +
-                "torneo=" + torneo.getNombre() +
+                "id=" + id +
+                ", torneo=" + torneo.getNombre() +
                 ", fecha=" + fecha +
                 ", e1=" + equipo1.getNombre() +
                 ", e2=" + equipo2.getNombre() +
                 ", juego=" + juego.getNombre() +
                 ", arbitro=" + arbitro.getNombre() + " " + arbitro.getApellido() +
+                (tieneResultado() ? ", resultado=" + marcador1 + "-" + marcador2 : "") +
                 '}';
     }
 
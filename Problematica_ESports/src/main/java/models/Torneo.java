@@ -11,6 +11,12 @@ import java.util.*;
  *   <li>Mantener la identidad y metadatos del torneo (nombre, organizador, fecha de inicio y juego).</li>
  *   <li>Gestionar la inscripción de equipos (alta/baja y consulta de inscritos).</li>
  *   <li>Programar partidas entre equipos <i>inscritos</i> del mismo torneo.</li>
+ *   <li>Generar en bloque el calendario round-robin de todos los inscritos, o programar de una vez un
+ *       calendario armado afuera ({@link #programarCalendario(List)}).</li>
+ *   <li>Numerar las partidas (1, 2, 3…) y permitir buscarlas, cancelarlas y reprogramarlas por id en O(1).</li>
+ *   <li>Llevar el historial cara a cara de los equipos a medida que se registran resultados
+ *       ({@link #getCaraACara(Equipo, Equipo)}).</li>
+ *   <li>Mantener la tabla de posiciones al día con cada resultado ({@link #getClasificacion()}).</li>
  *   <li>Exponer vistas de solo lectura de equipos y partidas para proteger invariantes.</li>
  * </ul>
  *
@@ -19,13 +25,19 @@ import java.util.*;
  *   <li>El torneo pertenece a un <b>único</b> {@link Juego} (no puede cambiarse tras su creación).</li>
  *   <li>Los equipos inscritos no se repiten (estructura {@link Set} + {@link #equals(Object)} de Equipo).</li>
  *   <li>Solo se pueden programar partidas entre dos <b>equipos distintos</b> que ya estén inscritos.</li>
+ *   <li>Un equipo o árbitro no tiene dos partidas el mismo día (índice {@link Agenda}).</li>
  * </ul>
  *
  * <h2>Notas de diseño</h2>
  * <ul>
  *   <li>Las colecciones expuestas son inmutables (wrappers unmodifiable) para evitar modificaciones externas.</li>
- *   <li>No es thread-safe por diseño (pensado para uso en capa de aplicación/servicio). Sincronizar externamente si procede.</li>
- *   <li>Complejidad: inscripción/consulta media O(1) sobre {@link HashSet}; almacenamiento de partidas en {@link ArrayList} (append O(1) amortizado).</li>
+ *   <li>No es thread-safe por diseño (pensado para uso en capa de aplicación/servicio). Sincronizar externamente si procede;
+ *       {@code AppVM} en modo concurrente le asigna a cada torneo un cerrojo propio.</li>
+ *   <li>Complejidad: inscripción/consulta media O(1) sobre {@link HashSet}. Las partidas se guardan en un
+ *       {@link ArrayList} indexado por id (alta O(1) amortizada; búsqueda y cancelación O(1), la
+ *       cancelación deja un hueco). {@link #getPartidas()} devuelve la vista directa mientras no haya huecos
+ *       y, si los hay, una copia compacta que se reutiliza hasta el siguiente cambio.</li>
+ *   <li>Los ids no se reutilizan: una partida cancelada deja libre su número para siempre.</li>
  * </ul>
  *
  * <h2>Ejemplo de uso</h2>
@@ -61,8 +73,29 @@ public class Torneo {
     /** Conjunto de equipos inscritos (sin duplicados). */
     private final Set<Equipo> equipos = new HashSet<>();
 
-    /** Calendario/agenda de partidas del torneo. */
-    private final List<Partida> partidas = new ArrayList<>();
+    /** Calendario del torneo indexado por id: la partida con id {@code i} está en la posición {@code i-1} (null si se canceló). */
+    private final ArrayList<Partida> partidas = new ArrayList<>();
+
+    /** Cantidad de huecos (partidas canceladas) en {@link #partidas}. */
+    private int canceladas;
+
+    /** Copia compacta (sin huecos) para {@link #getPartidas()}; null si hay que reconstruirla. */
+    private List<Partida> vistaCompacta;
+
+    /** Índice fecha/participante de las partidas de este torneo (detección de dobles reservas). */
+    private final Agenda agenda = new Agenda();
+
+    /** Agenda compartida con otros torneos (puede ser null si el torneo es independiente). */
+    private final Agenda agendaGlobal;
+
+    /** Historial cara a cara de este torneo (se actualiza en {@link #registrarResultado}). */
+    private final Enfrentamientos enfrentamientos = new Enfrentamientos();
+
+    /** Historial compartido con otros torneos (puede ser null). */
+    private final Enfrentamientos enfrentamientosGlobales;
+
+    /** Tabla de posiciones de los inscritos (se actualiza en la inscripción y en {@link #registrarResultado}). */
+    private final Clasificacion clasificacion = new Clasificacion();
 
     /**
      * Crea un torneo asociado a un único juego.
@@ -75,10 +108,33 @@ public class Torneo {
      * @throws NullPointerException     si algún argumento requerido es nulo
      */
     public Torneo(String nombre, String organizador, LocalDate fechaInicio, Juego juego) {
+        this(nombre, organizador, fechaInicio, juego, null);
+    }
+
+    /**
+     * Crea un torneo que, además de su agenda propia, consulta y actualiza una agenda global compartida
+     * con otros torneos (así un equipo o árbitro no puede tener dos partidas el mismo día en torneos distintos).
+     *
+     * @param agendaGlobal agenda compartida (null = solo agenda propia)
+     */
+    public Torneo(String nombre, String organizador, LocalDate fechaInicio, Juego juego, Agenda agendaGlobal) {
+        this(nombre, organizador, fechaInicio, juego, agendaGlobal, null);
+    }
+
+    /**
+     * Como {@link #Torneo(String, String, LocalDate, Juego, Agenda)}, sumando además cada resultado a un
+     * historial cara a cara compartido con otros torneos.
+     *
+     * @param enfrentamientosGlobales historial compartido (null = solo el del torneo)
+     */
+    public Torneo(String nombre, String organizador, LocalDate fechaInicio, Juego juego, Agenda agendaGlobal,
+                  Enfrentamientos enfrentamientosGlobales) {
         this.nombre = requireNonBlank(nombre, "nombre");
         this.organizador = requireNonBlank(organizador, "organizador");
         this.fechaInicio = Objects.requireNonNull(fechaInicio, "fechaInicio");
         this.juego = Objects.requireNonNull(juego, "juego");
+        this.agendaGlobal = agendaGlobal;
+        this.enfrentamientosGlobales = enfrentamientosGlobales;
     }
 
     // ------------------------
@@ -106,11 +162,31 @@ public class Torneo {
     }
 
     /**
-     * Vista inmutable de las partidas programadas.
+     * Vista inmutable de las partidas programadas, en orden de programación (orden de id).
      * @return lista no modificable de partidas
      */
     public List<Partida> getPartidas() {
-        return Collections.unmodifiableList(partidas);
+        if (canceladas == 0) return Collections.unmodifiableList(partidas);
+        if (vistaCompacta == null) {
+            List<Partida> vivas = new ArrayList<>(partidas.size() - canceladas);
+            for (Partida p : partidas) if (p != null) vivas.add(p);
+            vistaCompacta = Collections.unmodifiableList(vivas);
+        }
+        return vistaCompacta;
+    }
+
+    /** @return cantidad de partidas programadas (sin contar las canceladas). */
+    public int getCantidadPartidas() { return partidas.size() - canceladas; }
+
+    /** @return último id asignado (0 si nunca se programó una partida; cuenta también las canceladas). */
+    public int getUltimoId() { return partidas.size(); }
+
+    /**
+     * Busca una partida por su id en O(1).
+     * @return la partida, o null si el id no existe o la partida se canceló
+     */
+    public Partida getPartida(int id) {
+        return id >= 1 && id <= partidas.size() ? partidas.get(id - 1) : null;
     }
 
     // ------------------------
@@ -129,7 +205,9 @@ public class Torneo {
      */
     public boolean agregarEquipo(Equipo equipo) {
         Objects.requireNonNull(equipo, "equipo");
-        return equipos.add(equipo);
+        if (!equipos.add(equipo)) return false;
+        clasificacion.inscribir(equipo);
+        return true;
     }
 
     /**
@@ -140,7 +218,9 @@ public class Torneo {
      */
     public boolean retirarEquipo(Equipo equipo) {
         if (equipo == null) return false;
-        return equipos.remove(eequipoSafeKey(equipo));
+        if (!equipos.remove(eequipoSafeKey(equipo))) return false;
+        clasificacion.retirar(equipo);
+        return true;
     }
 
     /**
@@ -167,6 +247,7 @@ public class Torneo {
      *   <li>{@code e1 != null && e2 != null}</li>
      *   <li>{@code !e1.equals(e2)} (equipos distintos)</li>
      *   <li>Ambos equipos deben estar previamente inscritos en el torneo</li>
+     *   <li>Ni los equipos ni el árbitro tienen otra partida en esa fecha (consulta O(log n) en la agenda)</li>
      * </ul>
      *
      * <p><b>Postcondiciones:</b> se crea y almacena una {@link Partida} en la lista interna y se retorna.</p>
@@ -174,39 +255,362 @@ public class Torneo {
      * @param fecha   fecha de la partida (no nula)
      * @param e1      primer equipo
      * @param e2      segundo equipo (distinto a e1)
-     * @param arbitro árbitro asignado (puede ser null si aún no se define)
+     * @param arbitro árbitro asignado (no nulo)
      * @return la partida creada y agregada a la agenda del torneo
-     * @throws NullPointerException     si fecha o algún equipo es nulo
+     * @throws NullPointerException     si fecha, algún equipo o el árbitro es nulo
      * @throws IllegalArgumentException si los equipos son iguales
-     * @throws IllegalStateException    si algún equipo no está inscrito
+     * @throws IllegalStateException    si algún equipo no está inscrito, o si un equipo o el árbitro ya
+     *                                  tienen partida ese día (en este torneo o en la agenda global)
      */
     public Partida programarPartida(LocalDate fecha, Equipo e1, Equipo e2, Arbitro arbitro) {
         Objects.requireNonNull(arbitro, "arbitro"); // 1:1 obligatorio
         if (e1.equals(e2)) throw new IllegalArgumentException("Una partida requiere equipos distintos");
         if (!estaInscrito(e1) || !estaInscrito(e2))
             throw new IllegalStateException("Ambos equipos deben estar inscritos en el torneo");
+        Objects.requireNonNull(fecha, "fecha");
+        exigirAgendaLibre(fecha, e1, e2, arbitro);
 
         Partida p = Partida.of(this, fecha, e1, e2, arbitro);
-        partidas.add(p);
+        agregarAlCalendario(p);
         return p;
     }
 
+    /**
+     * Genera en una sola llamada el calendario <b>round-robin</b> completo (todos contra todos, una vuelta)
+     * entre los equipos inscritos, usando el método del círculo.
+     *
+     * <p>Las validaciones se hacen <b>una sola vez</b> al inicio: los equipos salen del propio conjunto de
+     * inscritos (por lo que están inscritos y son distintos por construcción) y las partidas se crean sin
+     * repetir {@link #estaInscrito(Equipo)} ni las comprobaciones de {@link Partida#of}. La lista interna se
+     * dimensiona de antemano para las {@code n·(n-1)/2} partidas.</p>
+     *
+     * <p><b>Distribución en fechas:</b> cada ronda ocupa sus propios días, así que ningún equipo juega dos
+     * veces el mismo día. Cada árbitro dirige como máximo una partida por día: si una ronda tiene más
+     * partidas que árbitros, se reparte en {@code ceil(partidas/árbitros)} días consecutivos.</p>
+     *
+     * <pre>{@code
+     * List<Partida> calendario = torneo.generarRoundRobin(LocalDate.of(2025, 10, 1), List.of(a1, a2));
+     * }</pre>
+     *
+     * @param primeraFecha fecha de la primera ronda (no nula)
+     * @param arbitros     árbitros disponibles (no nula, no vacía y sin nulos; los repetidos cuentan una vez)
+     * @return partidas creadas, en orden de ronda
+     * @throws NullPointerException     si la fecha, la lista o alguno de sus árbitros es nulo
+     * @throws IllegalArgumentException si no hay árbitros
+     * @throws IllegalStateException    si hay menos de 2 equipos inscritos, o si alguna partida del plan choca
+     *                                  con la agenda existente (en ese caso no se programa ninguna)
+     */
+    public List<Partida> generarRoundRobin(LocalDate primeraFecha, List<Arbitro> arbitros) {
+        Objects.requireNonNull(primeraFecha, "primeraFecha");
+        Objects.requireNonNull(arbitros, "arbitros");
+        if (arbitros.isEmpty()) throw new IllegalArgumentException("Se requiere al menos un árbitro");
+        // Un árbitro repetido en la lista dirigiría dos partidas el mismo día: cada uno cuenta una vez.
+        List<Arbitro> distintos = new ArrayList<>(arbitros.size());
+        Set<Arbitro> vistos = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Arbitro a : arbitros) if (vistos.add(Objects.requireNonNull(a, "arbitro"))) distintos.add(a);
+        if (equipos.size() < 2)
+            throw new IllegalStateException("El torneo necesita al menos 2 equipos inscritos");
+
+        // Orden estable (por nombre) para que el calendario sea reproducible; null = descanso si n es impar.
+        List<Equipo> ruleta = new ArrayList<>(equipos);
+        ruleta.sort(Comparator.comparing(Equipo::getNombre, String.CASE_INSENSITIVE_ORDER));
+        int n = ruleta.size();
+        if (n % 2 != 0) ruleta.add(null);
+        int slots = ruleta.size();
+        int rondas = slots - 1;
+        int porRonda = n / 2;
+        int capacidadDia = distintos.size();
+        int diasPorRonda = (porRonda + capacidadDia - 1) / capacidadDia;
+
+        // 1) Plan: fechas, equipos y árbitros de cada partida (sin crear objetos Partida todavía).
+        int total = n * (n - 1) / 2;
+        LocalDate[] fechas = new LocalDate[total];
+        Equipo[] locales = new Equipo[total], visitas = new Equipo[total];
+        Arbitro[] asignados = new Arbitro[total];
+        int k = 0;
+
+        Equipo[] r = ruleta.toArray(new Equipo[0]);
+        for (int ronda = 0; ronda < rondas; ronda++) {
+            LocalDate inicioRonda = primeraFecha.plusDays((long) ronda * diasPorRonda);
+            int slot = 0;
+            for (int i = 0; i < slots / 2; i++) {
+                Equipo local = r[i];
+                Equipo visita = r[slots - 1 - i];
+                if (local == null || visita == null) continue;
+                // Alterna local/visita del equipo fijo para no dejarlo siempre como local.
+                if (i == 0 && ronda % 2 == 1) { Equipo tmp = local; local = visita; visita = tmp; }
+
+                fechas[k] = inicioRonda.plusDays(slot / capacidadDia);
+                locales[k] = local;
+                visitas[k] = visita;
+                asignados[k] = distintos.get(slot % capacidadDia);
+                k++;
+                slot++;
+            }
+            // Rotación del método del círculo: r[0] fijo, el resto gira una posición.
+            Equipo ultimo = r[slots - 1];
+            System.arraycopy(r, 1, r, 2, slots - 2);
+            r[1] = ultimo;
+        }
+
+        // 2) El plan no choca consigo mismo por construcción (cada ronda tiene sus días y cada árbitro distinto
+        //    dirige una partida por día); solo falta contrastarlo con lo ya agendado.
+        for (int i = 0; i < total; i++) exigirAgendaLibre(fechas[i], locales[i], visitas[i], asignados[i]);
+
+        // 3) Alta en bloque.
+        partidas.ensureCapacity(partidas.size() + total);
+        List<Partida> creadas = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            Partida p = new Partida(this, fechas[i], locales[i], visitas[i], asignados[i]);
+            agregarAlCalendario(p);
+            creadas.add(p);
+        }
+        return creadas;
+    }
+
+    /**
+     * Valida en bloque un calendario importado sin programarlo: inscripción de los equipos y dobles
+     * reservas contra este torneo, contra la agenda global y dentro del propio lote.
+     *
+     * @param citas calendario propuesto
+     * @return conflictos encontrados (vacía si se puede programar completo)
+     */
+    public List<Agenda.Conflicto> validarCalendario(List<Agenda.Cita> citas) {
+        List<Agenda.Conflicto> conflictos = new ArrayList<>();
+        for (int i = 0; i < citas.size(); i++) {
+            Agenda.Cita c = citas.get(i);
+            if (!estaInscrito(c.getEquipo1()) || !estaInscrito(c.getEquipo2()))
+                conflictos.add(new Agenda.Conflicto(i, "Ambos equipos deben estar inscritos en el torneo"));
+        }
+        conflictos.addAll(agenda.validarLote(citas,
+                agendaGlobal == null ? List.of() : List.of(agendaGlobal)));
+        conflictos.sort(Comparator.comparingInt(Agenda.Conflicto::getIndice));
+        return conflictos;
+    }
 
+    /**
+     * Programa un calendario completo de forma atómica: se valida entero con {@link #validarCalendario(List)}
+     * y, solo si no hay conflictos, se crean todas las partidas (si hay alguno, no se crea ninguna).
+     *
+     * @param citas calendario a programar (p. ej. el de {@code services.PlanificadorCalendario})
+     * @return partidas creadas, en el orden de las citas
+     * @throws IllegalStateException si alguna cita tiene conflictos
+     */
+    public List<Partida> programarCalendario(List<Agenda.Cita> citas) {
+        Objects.requireNonNull(citas, "citas");
+        List<Agenda.Conflicto> conflictos = validarCalendario(citas);
+        if (!conflictos.isEmpty()) {
+            String mas = conflictos.size() > 1 ? " (y " + (conflictos.size() - 1) + " más)" : "";
+            throw new IllegalStateException("Calendario inválido: " + conflictos.get(0) + mas);
+        }
+        partidas.ensureCapacity(partidas.size() + citas.size());
+        List<Partida> creadas = new ArrayList<>(citas.size());
+        for (Agenda.Cita c : citas) {
+            Partida p = new Partida(this, c.getFecha(), c.getEquipo1(), c.getEquipo2(), c.getArbitro());
+            agregarAlCalendario(p);
+            creadas.add(p);
+        }
+        return creadas;
+    }
 
     /**
-     * Cancela una partida previamente programada.
+     * @return la partida de este torneo que ocupa al equipo o árbitro en esa fecha, o null si está libre
+     */
+    public Partida partidaEnFecha(Object participante, LocalDate fecha) {
+        return agenda.ocupacion(participante, fecha);
+    }
+
+    /**
+     * Registra el resultado de una partida de este torneo.
+     *
+     * <p>La pertenencia se comprueba en O(1) por id, sin recorrer el calendario. El resultado se suma al
+     * historial cara a cara del torneo (y al global, si hay) y a la tabla de posiciones (O(log n)).</p>
+     *
+     * @param partida   partida del torneo
+     * @param marcador1 marcador del equipo 1 (>= 0)
+     * @param marcador2 marcador del equipo 2 (>= 0)
+     * @throws NullPointerException     si la partida es nula
+     * @throws IllegalArgumentException si la partida no pertenece al torneo o algún marcador es negativo
+     * @throws IllegalStateException    si la partida ya tenía resultado
+     */
+    public void registrarResultado(Partida partida, int marcador1, int marcador2) {
+        Objects.requireNonNull(partida, "partida");
+        if (!contienePartida(partida))
+            throw new IllegalArgumentException("La partida no pertenece al torneo " + nombre);
+        partida.registrarResultado(marcador1, marcador2);
+        enfrentamientos.registrar(partida);
+        if (enfrentamientosGlobales != null) enfrentamientosGlobales.registrar(partida);
+        clasificacion.registrar(partida);
+    }
+
+    /**
+     * Tabla de posiciones de los equipos inscritos (puntos, diferencia de tantos, tantos a favor y nombre).
+     * @return foto inmutable; la misma lista hasta el próximo resultado o cambio de inscripción
+     */
+    public List<Clasificacion.Posicion> getClasificacion() {
+        return clasificacion.getTabla();
+    }
+
+    /** @return balance de {@code equipo} contra {@code rival} en este torneo, O(1) */
+    public Enfrentamientos.Balance getCaraACara(Equipo equipo, Equipo rival) {
+        return enfrentamientos.entre(equipo, rival);
+    }
+
+    /** @return balance de {@code equipo} contra cada rival que enfrentó en este torneo */
+    public List<Enfrentamientos.Balance> getRivales(Equipo equipo) {
+        return enfrentamientos.rivales(equipo);
+    }
+
+    /** @return true si la partida está en el calendario de este torneo (O(1)). */
+    public boolean contienePartida(Partida partida) {
+        return partida != null && partida.getTorneo() == this && getPartida(partida.getId()) == partida;
+    }
+
+    /**
+     * Cancela una partida previamente programada (O(1)).
      *
      * @param partida partida a eliminar (ignora null)
      * @return true si existía y fue eliminada; false en caso contrario
+     * @throws IllegalStateException si la partida ya tiene resultado (no se puede cancelar lo jugado)
      */
     public boolean cancelarPartida(Partida partida) {
-        if (partida == null) return false;
-        return partidas.remove(partida);
+        if (!contienePartida(partida)) return false;
+        return cancelarPartida(partida.getId());
+    }
+
+    /**
+     * Cancela por id una partida previamente programada (O(1)).
+     *
+     * @param id id de la partida
+     * @return true si existía y fue eliminada; false si el id no existe o ya estaba cancelada
+     * @throws IllegalStateException si la partida ya tiene resultado (no se puede cancelar lo jugado)
+     */
+    public boolean cancelarPartida(int id) {
+        Partida p = getPartida(id);
+        if (p == null) return false;
+        if (p.tieneResultado()) throw new IllegalStateException("No se puede cancelar una partida con resultado");
+        partidas.set(id - 1, null);
+        canceladas++;
+        vistaCompacta = null;
+        agenda.retirar(p);
+        if (agendaGlobal != null) agendaGlobal.retirar(p);
+        return true;
+    }
+
+    /**
+     * Mueve una partida a otra fecha conservando su id, equipos y árbitro.
+     *
+     * <p>Ambos equipos y el árbitro deben estar libres en la nueva fecha (en este torneo y en la agenda
+     * global); si no lo están, la partida queda como estaba.</p>
+     *
+     * @param id         id de la partida
+     * @param nuevaFecha nueva fecha (no nula)
+     * @return la partida reprogramada
+     * @throws NoSuchElementException si no hay partida con ese id
+     * @throws IllegalStateException  si la partida ya tiene resultado o hay conflicto de agenda
+     */
+    public Partida reprogramarPartida(int id, LocalDate nuevaFecha) {
+        Objects.requireNonNull(nuevaFecha, "nuevaFecha");
+        Partida p = getPartida(id);
+        if (p == null) throw new NoSuchElementException("No existe la partida " + id + " en el torneo " + nombre);
+        if (p.tieneResultado()) throw new IllegalStateException("No se puede reprogramar una partida con resultado");
+        if (nuevaFecha.equals(p.getFecha())) return p;
+        exigirAgendaLibre(nuevaFecha, p.getEquipo1(), p.getEquipo2(), p.getArbitro());
+
+        agenda.retirar(p);
+        if (agendaGlobal != null) agendaGlobal.retirar(p);
+        p.setFecha(nuevaFecha);
+        agenda.registrar(p);
+        if (agendaGlobal != null) agendaGlobal.registrar(p);
+        return p;
+    }
+
+    /**
+     * Cambia el árbitro de una partida conservando su id, fecha y equipos.
+     *
+     * <p>El nuevo árbitro debe estar libre ese día (en este torneo y en la agenda global); si no lo está, la
+     * partida queda como estaba. No toca la carga de ningún pool de árbitros.</p>
+     *
+     * @param id      id de la partida
+     * @param arbitro nuevo árbitro (no nulo)
+     * @return la partida con su nuevo árbitro
+     * @throws NoSuchElementException si no hay partida con ese id
+     * @throws IllegalStateException  si la partida ya tiene resultado o el árbitro tiene otra partida ese día
+     */
+    public Partida reasignarArbitro(int id, Arbitro arbitro) {
+        Objects.requireNonNull(arbitro, "arbitro");
+        Partida p = getPartida(id);
+        if (p == null) throw new NoSuchElementException("No existe la partida " + id + " en el torneo " + nombre);
+        if (p.tieneResultado()) throw new IllegalStateException("No se puede cambiar el árbitro de una partida con resultado");
+        if (arbitro == p.getArbitro()) return p;
+
+        // Fuera de las agendas mientras se valida: sus propios equipos ocupan ese día.
+        agenda.retirar(p);
+        if (agendaGlobal != null) agendaGlobal.retirar(p);
+        try {
+            exigirAgendaLibre(p.getFecha(), p.getEquipo1(), p.getEquipo2(), arbitro);
+            p.asignarArbitro(arbitro);
+        } finally {
+            agenda.registrar(p); // con el árbitro nuevo, o de vuelta con el anterior si falló
+            if (agendaGlobal != null) agendaGlobal.registrar(p);
+        }
+        return p;
+    }
+
+    // ------------------------
+    // Restauración (persistencia)
+    // ------------------------
+
+    /**
+     * Vuelve a poner en el calendario, con su id original, una partida guardada en una instantánea. Los ids
+     * intermedios que falten quedan como cancelados.
+     *
+     * <p>No repite las validaciones de {@link #programarPartida}: la instantánea ya las cumplía al guardarse.
+     * Se usa solo para reconstruir el estado (ver {@code viewModel.AppVM#activarPersistencia}).</p>
+     *
+     * @param id id original (mayor que {@link #getUltimoId()})
+     * @return la partida restaurada
+     * @throws IllegalArgumentException si el id ya está ocupado o cancelado
+     */
+    public Partida restaurarPartida(int id, LocalDate fecha, Equipo e1, Equipo e2, Arbitro arbitro) {
+        if (id <= partidas.size()) throw new IllegalArgumentException("Id de partida ya usado: " + id);
+        restaurarUltimoId(id - 1);
+        Partida p = new Partida(this, fecha, e1, e2, arbitro);
+        agregarAlCalendario(p);
+        return p;
+    }
+
+    /**
+     * Marca como cancelados los ids que falten hasta {@code ultimoId} (canceladas al final del calendario,
+     * que una instantánea no puede representar con partidas).
+     */
+    public void restaurarUltimoId(int ultimoId) {
+        if (ultimoId <= partidas.size()) return;
+        partidas.ensureCapacity(ultimoId);
+        while (partidas.size() < ultimoId) {
+            partidas.add(null);
+            canceladas++;
+        }
+        vistaCompacta = null;
     }
 
     // ------------------------
     // Utilidades privadas
     // ------------------------/
+
+    private void exigirAgendaLibre(LocalDate fecha, Equipo e1, Equipo e2, Arbitro arbitro) {
+        agenda.exigirLibre(fecha, e1, e2, arbitro);
+        if (agendaGlobal != null) agendaGlobal.exigirLibre(fecha, e1, e2, arbitro);
+    }
+
+    private void agregarAlCalendario(Partida p) {
+        partidas.add(p);
+        p.setId(partidas.size());
+        vistaCompacta = null;
+        agenda.registrar(p);
+        if (agendaGlobal != null) agendaGlobal.registrar(p);
+    }
+
     /**
      * Valida que un texto no sea nulo ni en blanco.
      */
@@ -239,7 +643,7 @@ public class Torneo {
                 ", fechaInicio=" + fechaInicio +
                 ", juego=" + (juego != null ? juego.getNombre() : "null") +
                 ", equipos=" + equipos.size() +
-                ", partidas=" + partidas.size() +
+                ", partidas=" + getCantidadPartidas() +
                 '}';
     }
 }
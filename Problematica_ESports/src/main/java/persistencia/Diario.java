@@ -0,0 +1,253 @@
+package persistencia;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Diario (<i>journal</i>) binario de solo-anexar: cada mutación del sistema se guarda como un registro
+ * compacto numerado, para poder reconstruir el estado tras un reinicio.
+ *
+ * <h2>Formato</h2>
+ * <ul>
+ *   <li>Segmentos {@code diario-<secuencia>.bin} en un directorio; cada uno empieza en la secuencia de su
+ *       nombre y se lee en orden.</li>
+ *   <li>Registro: {@code [int largo][long secuencia][byte tipo][datos…][int crc32]}; el CRC cubre secuencia,
+ *       tipo y datos. El contenido de {@code datos} lo define quien anota (ver {@link Escritor}).</li>
+ * </ul>
+ *
+ * <h2>Durabilidad</h2>
+ * <ul>
+ *   <li><b>fsync por lotes</b>: los registros se acumulan en un búfer y se fuerzan a disco cada
+ *       {@code loteFsync} registros o cada {@code intervaloMs} milisegundos (lo que ocurra antes). Ante una
+ *       caída se pierden como mucho los registros de un lote.</li>
+ *   <li>Un registro final incompleto o con CRC inválido (escritura cortada) marca el fin del diario al
+ *       reproducir. Cada apertura empieza un segmento nuevo, así nunca se anexa detrás de una cola rota.</li>
+ *   <li>{@link #rotar(long)} empieza un segmento nuevo y borra los anteriores (tras guardar una
+ *       {@link Instantanea} que ya los incluye; {@link Instantanea#guardar} vuelve con el renombre ya forzado
+ *       a disco, así una caída no deja la instantánea anterior sin los segmentos borrados).</li>
+ * </ul>
+ *
+ * <h2>Concurrencia</h2>
+ * <p>Thread-safe: {@link #anotar} es el punto de serialización de todas las mutaciones (sección crítica
+ * corta: copiar el registro al búfer).</p>
+ */
+public final class Diario implements AutoCloseable {
+
+    /** Escribe los datos de un registro. */
+    @FunctionalInterface
+    public interface Escritor {
+        void escribir(DataOutput datos) throws IOException;
+    }
+
+    /** Recibe cada registro válido al reproducir el diario. */
+    @FunctionalInterface
+    public interface Lector {
+        void leer(long secuencia, byte tipo, DataInput datos) throws IOException;
+    }
+
+    private static final String PREFIJO = "diario-";
+    private static final String SUFIJO = ".bin";
+    private static final int BUFER = 1 << 16;
+
+    private final Path directorio;
+    private final int loteFsync;
+    private final ScheduledExecutorService sincronizador;
+
+    private FileChannel canal;
+    private DataOutputStream salida;
+    private long siguiente;
+    private int pendientes;
+    private IOException fallo;
+
+    /** Búfer reutilizado para armar cada registro antes de copiarlo al archivo. */
+    private final ByteArrayOutputStream registro = new ByteArrayOutputStream(256);
+    private final DataOutputStream datosRegistro = new DataOutputStream(registro);
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Abre el diario para anotar a partir de {@code siguienteSecuencia} (en un segmento nuevo).
+     *
+     * @param directorio          carpeta del diario (se crea si no existe)
+     * @param siguienteSecuencia  secuencia del próximo registro (la última reproducida + 1)
+     * @param loteFsync           registros por fsync (&gt;= 1)
+     * @param intervaloMs         máximo de milisegundos entre fsync con registros pendientes (&gt; 0)
+     */
+    public Diario(Path directorio, long siguienteSecuencia, int loteFsync, long intervaloMs) throws IOException {
+        if (loteFsync < 1) throw new IllegalArgumentException("loteFsync debe ser >= 1");
+        if (intervaloMs <= 0) throw new IllegalArgumentException("intervaloMs debe ser > 0");
+        this.directorio = Files.createDirectories(directorio);
+        this.loteFsync = loteFsync;
+        this.siguiente = siguienteSecuencia;
+        for (Path p : segmentos(directorio)) {
+            if (Files.size(p) == 0) Files.delete(p); // aperturas anteriores sin registros
+        }
+        abrirSegmento();
+        this.sincronizador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "diario-fsync");
+            t.setDaemon(true);
+            return t;
+        });
+        sincronizador.scheduleWithFixedDelay(this::sincronizarSiHayPendientes, intervaloMs, intervaloMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /** @return secuencia que recibirá el próximo registro. */
+    public synchronized long getSiguienteSecuencia() { return siguiente; }
+
+    /**
+     * Anota un registro y lo deja en el búfer; se fuerza a disco al completarse el lote.
+     *
+     * @return secuencia asignada al registro
+     * @throws UncheckedIOException si falla la escritura (o falló un fsync en segundo plano)
+     */
+    public synchronized long anotar(byte tipo, Escritor escritor) {
+        try {
+            if (fallo != null) throw fallo;
+            long sec = siguiente;
+            registro.reset();
+            datosRegistro.writeLong(sec);
+            datosRegistro.writeByte(tipo);
+            escritor.escribir(datosRegistro);
+            byte[] bytes = registro.toByteArray();
+            crc.reset();
+            crc.update(bytes, 0, bytes.length);
+            salida.writeInt(bytes.length);
+            salida.write(bytes);
+            salida.writeInt((int) crc.getValue());
+            siguiente++;
+            if (++pendientes >= loteFsync) sincronizar();
+            return sec;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir en el diario", e);
+        }
+    }
+
+    /** Fuerza a disco todo lo anotado. */
+    public synchronized void sincronizar() throws IOException {
+        salida.flush();
+        canal.force(false);
+        pendientes = 0;
+    }
+
+    /**
+     * Cierra el segmento actual (forzándolo a disco), empieza uno nuevo en la secuencia actual y borra los
+     * segmentos anteriores. Llamar solo después de guardar una instantánea hasta {@code hastaSecuencia}.
+     *
+     * @param hastaSecuencia última secuencia incluida en la instantánea
+     */
+    public synchronized void rotar(long hastaSecuencia) throws IOException {
+        if (hastaSecuencia != siguiente - 1)
+            throw new IllegalStateException("La instantánea no cubre todo el diario");
+        sincronizar();
+        salida.close();
+        abrirSegmento();
+        for (Path p : segmentos(directorio)) {
+            if (secuenciaDe(p) < siguiente) Files.deleteIfExists(p);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        sincronizador.shutdownNow();
+        sincronizar();
+        salida.close();
+    }
+
+    // ------------------------
+    // Reproducción
+    // ------------------------
+
+    /**
+     * Reproduce en orden los registros con secuencia {@code > desde}.
+     *
+     * @return última secuencia leída (o {@code desde} si no hay registros nuevos)
+     */
+    public static long reproducir(Path directorio, long desde, Lector lector) throws IOException {
+        long ultima = desde;
+        if (!Files.isDirectory(directorio)) return ultima;
+        CRC32 crc = new CRC32();
+        for (Path segmento : segmentos(directorio)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segmento), BUFER))) {
+                while (true) {
+                    byte[] bytes = leerRegistro(in, crc);
+                    if (bytes == null) break; // fin del segmento o cola cortada
+                    DataInputStream datos = new DataInputStream(new ByteArrayInputStream(bytes));
+                    long sec = datos.readLong();
+                    byte tipo = datos.readByte();
+                    if (sec <= ultima) continue;
+                    if (sec != ultima + 1)
+                        throw new IOException("Hueco en el diario: se esperaba " + (ultima + 1) + " y llegó " + sec);
+                    lector.leer(sec, tipo, datos);
+                    ultima = sec;
+                }
+            }
+        }
+        return ultima;
+    }
+
+    /** @return bytes del registro (secuencia + tipo + datos) o null si no hay uno completo y válido */
+    private static byte[] leerRegistro(DataInputStream in, CRC32 crc) throws IOException {
+        int largo;
+        try {
+            largo = in.readInt();
+        } catch (EOFException fin) {
+            return null;
+        }
+        if (largo < 9 || largo > (1 << 26)) return null;
+        byte[] bytes = new byte[largo];
+        try {
+            in.readFully(bytes);
+            int esperado = in.readInt();
+            crc.reset();
+            crc.update(bytes, 0, largo);
+            return (int) crc.getValue() == esperado ? bytes : null;
+        } catch (EOFException cortado) {
+            return null;
+        }
+    }
+
+    // ------------------------
+    // Internos
+    // ------------------------
+
+    private void abrirSegmento() throws IOException {
+        Path archivo = directorio.resolve(String.format("%s%020d%s", PREFIJO, siguiente, SUFIJO));
+        canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        salida = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(canal), BUFER));
+        pendientes = 0;
+        // El alta del segmento también debe ser durable: si no, sus registros forzados podrían perderse.
+        Instantanea.sincronizarDirectorio(directorio);
+    }
+
+    private synchronized void sincronizarSiHayPendientes() {
+        if (pendientes == 0 || fallo != null) return;
+        try {
+            sincronizar();
+        } catch (IOException e) {
+            fallo = e; // la próxima anotación lo informa
+        }
+    }
+
+    private static List<Path> segmentos(Path directorio) throws IOException {
+        List<Path> out = new ArrayList<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(directorio, PREFIJO + "*" + SUFIJO)) {
+            for (Path p : ds) out.add(p);
+        }
+        out.sort(null); // el nombre lleva la secuencia con ceros a la izquierda
+        return out;
+    }
+
+    private static long secuenciaDe(Path segmento) {
+        String n = segmento.getFileName().toString();
+        return Long.parseLong(n.substring(PREFIJO.length(), n.length() - SUFIJO.length()));
+    }
+}
@@ -0,0 +1,184 @@
+package persistencia;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Instantánea binaria del estado completo, asociada a la última secuencia del {@link Diario} que incluye.
+ * Al reiniciar se carga la instantánea y solo se reproduce la cola del diario posterior a ella.
+ *
+ * <h2>Formato</h2>
+ * <p>{@code instantanea.bin}: {@code [int MAGICO][int VERSION][long secuencia][contenido…][int crc32]}, todo en
+ * big-endian; el CRC cubre todo lo anterior. El contenido lo escribe y lo lee quien guarda (ver
+ * {@link Contenido}); {@link Textos} ofrece una tabla de textos para guardar cada nombre una sola vez.</p>
+ *
+ * <h2>Notas de diseño</h2>
+ * <ul>
+ *   <li>Se escribe en {@code instantanea.tmp}, se fuerza a disco y se renombra de forma atómica: una caída a
+ *       mitad de la escritura deja intacta la instantánea anterior. Después se fuerza a disco el directorio:
+ *       {@link #guardar} no vuelve hasta que el renombre es durable, así quien llama puede borrar el diario
+ *       que la instantánea ya incluye sin que una caída deje la anterior y pierda esos eventos.</li>
+ *   <li>Se lee con el archivo <b>mapeado en memoria</b> ({@link MappedByteBuffer}): sin copias a búferes
+ *       intermedios ni objetos por registro; el contenido lee enteros directamente de las páginas del
+ *       archivo. El CRC se calcula sobre el mismo mapeo antes de entregar el contenido.</li>
+ *   <li>Un mapeo abarca como mucho 2 GiB; una instantánea mayor se rechaza con {@link IOException}.</li>
+ *   <li>Una instantánea con CRC inválido se rechaza con {@link IOException} (no se carga a medias en silencio).</li>
+ * </ul>
+ */
+public final class Instantanea {
+
+    /** Escribe o lee el contenido de la instantánea. */
+    @FunctionalInterface
+    public interface Contenido<S> {
+        void procesar(S flujo) throws IOException;
+    }
+
+    /**
+     * Tabla de textos: cada texto distinto se guarda una vez ({@code [int n]} y luego {@code [int largo][bytes
+     * UTF-8]} por texto) y el resto de la instantánea lo referencia por índice ({@code -1} = null).
+     */
+    public static final class Textos {
+        private final Map<String, Integer> indices = new HashMap<>();
+        private final List<String> textos = new ArrayList<>();
+
+        /** @return índice del texto (lo agrega si es nuevo); -1 para null */
+        public int indice(String texto) {
+            if (texto == null) return -1;
+            Integer i = indices.putIfAbsent(texto, textos.size());
+            if (i != null) return i;
+            textos.add(texto);
+            return textos.size() - 1;
+        }
+
+        /** @return índice de un texto ya agregado (-1 para null) */
+        public int existente(String texto) {
+            if (texto == null) return -1;
+            Integer i = indices.get(texto);
+            if (i == null) throw new IllegalStateException("Texto no agregado a la tabla: " + texto);
+            return i;
+        }
+
+        public void escribir(DataOutput out) throws IOException {
+            out.writeInt(textos.size());
+            for (String t : textos) {
+                byte[] b = t.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(b.length);
+                out.write(b);
+            }
+        }
+
+        /** Lee la tabla desde la posición actual del búfer (reutiliza un único arreglo auxiliar). */
+        public static String[] leer(ByteBuffer in) {
+            String[] out = new String[in.getInt()];
+            byte[] aux = new byte[64];
+            for (int i = 0; i < out.length; i++) {
+                int largo = in.getInt();
+                if (largo > aux.length) aux = new byte[Math.max(largo, aux.length * 2)];
+                in.get(aux, 0, largo);
+                out[i] = new String(aux, 0, largo, StandardCharsets.UTF_8);
+            }
+            return out;
+        }
+    }
+
+    private static final int MAGICO = 0x45535054; // "ESPT"
+    private static final int VERSION = 3;
+    private static final int CABECERA = 16;
+    private static final String ARCHIVO = "instantanea.bin";
+    private static final String TEMPORAL = "instantanea.tmp";
+    private static final int BUFER = 1 << 16;
+
+    private Instantanea() { }
+
+    /**
+     * Guarda una instantánea que incluye el diario hasta {@code secuencia}.
+     *
+     * @param directorio carpeta de persistencia (se crea si no existe)
+     * @param secuencia  última secuencia del diario reflejada en el contenido
+     * @param contenido  escribe el estado
+     */
+    public static void guardar(Path directorio, long secuencia, Contenido<DataOutputStream> contenido) throws IOException {
+        Files.createDirectories(directorio);
+        Path tmp = directorio.resolve(TEMPORAL);
+        try (FileChannel canal = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            CRC32 crc = new CRC32();
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(canal), BUFER), crc));
+            out.writeInt(MAGICO);
+            out.writeInt(VERSION);
+            out.writeLong(secuencia);
+            contenido.procesar(out);
+            out.flush();
+            new DataOutputStream(Channels.newOutputStream(canal)).writeInt((int) crc.getValue());
+            canal.force(true);
+        }
+        Files.move(tmp, directorio.resolve(ARCHIVO), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        sincronizarDirectorio(directorio);
+    }
+
+    /**
+     * Fuerza a disco las entradas del directorio (renombres, altas y bajas de archivos). En sistemas que no
+     * permiten abrir un directorio (Windows) no hace nada: ahí el renombre ya es durable al volver.
+     */
+    static void sincronizarDirectorio(Path directorio) throws IOException {
+        FileChannel canal;
+        try {
+            canal = FileChannel.open(directorio, StandardOpenOption.READ);
+        } catch (AccessDeniedException | UnsupportedOperationException e) {
+            return;
+        }
+        try (canal) {
+            canal.force(true);
+        }
+    }
+
+    /**
+     * Carga la instantánea del directorio, si existe, mapeándola en memoria.
+     *
+     * @param contenido lee el estado (recibe un búfer de solo lectura posicionado justo después de la
+     *                  cabecera y limitado al contenido; debe consumirlo entero)
+     * @return secuencia del diario incluida en la instantánea, o 0 si no hay instantánea
+     * @throws IOException si la instantánea es de otro formato o está corrupta
+     */
+    public static long cargar(Path directorio, Contenido<ByteBuffer> contenido) throws IOException {
+        Path archivo = directorio.resolve(ARCHIVO);
+        if (!Files.exists(archivo)) return 0;
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long largo = canal.size();
+            if (largo < CABECERA + 4) throw new IOException("Instantánea corrupta: " + archivo);
+            if (largo > Integer.MAX_VALUE) throw new IOException("Instantánea demasiado grande para mapearla: " + archivo);
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, largo);
+            int fin = (int) largo - 4;
+
+            if (mapa.getInt(0) != MAGICO) throw new IOException("No es una instantánea: " + archivo);
+            int version = mapa.getInt(4);
+            if (version != VERSION) throw new IOException("Versión de instantánea no soportada: " + version);
+            CRC32 crc = new CRC32();
+            crc.update(mapa.slice(0, fin));
+            if ((int) crc.getValue() != mapa.getInt(fin)) throw new IOException("Instantánea corrupta (CRC): " + archivo);
+
+            long secuencia = mapa.getLong(8);
+            ByteBuffer datos = mapa.slice(CABECERA, fin - CABECERA).asReadOnlyBuffer();
+            try {
+                contenido.procesar(datos);
+            } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+                throw new IOException("Instantánea corrupta (incompleta): " + archivo, e);
+            }
+            if (datos.hasRemaining()) throw new IOException("Instantánea corrupta (datos sobrantes): " + archivo);
+            return secuencia;
+        }
+    }
+}
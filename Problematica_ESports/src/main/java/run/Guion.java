@@ -0,0 +1,262 @@
+package run;
+
+import models.*;
+import utils.ConsoleIO;
+import viewModel.AppVM;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Modo guion: ejecuta sin interacción un archivo de comandos con las mismas operaciones del menú de
+ * {@link AppVM#runMenuLoop()}.
+ *
+ * <h2>Formato</h2>
+ * Un comando por línea; las líneas vacías y las que empiezan con {@code #} se ignoran. Los argumentos se
+ * separan con espacios; un argumento con espacios va entre comillas dobles ({@code ""} dentro de comillas
+ * es una comilla). Fechas en {@code yyyy-MM-dd}.
+ * <pre>
+ * equipo     &lt;nombre&gt;
+ * jugador    &lt;equipo&gt; &lt;nombre&gt; &lt;alias&gt; &lt;ranking&gt;
+ * juego      &lt;nombre&gt; &lt;categoría&gt; [descripción]
+ * torneo     &lt;nombre&gt; &lt;organizador&gt; &lt;fecha&gt; &lt;juego&gt;
+ * inscribir  &lt;torneo&gt; &lt;equipo&gt;
+ * arbitro    &lt;nombre&gt; &lt;apellido&gt;
+ * partida    &lt;torneo&gt; &lt;fecha&gt; &lt;equipo1&gt; &lt;equipo2&gt;
+ * roundrobin &lt;torneo&gt; &lt;fecha&gt;
+ * calendario &lt;torneo&gt; &lt;desde&gt; &lt;hasta&gt; &lt;partidasPorDia&gt; &lt;díasDescanso&gt;
+ * resultado  &lt;torneo&gt; &lt;id&gt; &lt;marcador1&gt; &lt;marcador2&gt;
+ * resumen
+ * ranking    &lt;k&gt;
+ * salir
+ * </pre>
+ *
+ * <h2>Notas de diseño</h2>
+ * <ul>
+ *   <li>Usa la API pública de {@link AppVM} (como {@code api.ServidorApi}), no los flujos del menú: no hay
+ *       {@code clear}, {@code pause} ni banners, y cada comando es una sola llamada.</li>
+ *   <li>Los comandos que funcionan no imprimen nada; los errores se informan con su número de línea y el
+ *       guion sigue. {@code resumen} y {@code ranking} imprimen sus tablas.</li>
+ *   <li>La salida va al {@link ConsoleIO} recibido: para ir rápido, uno sin ANSI sobre una salida con búfer
+ *       (ver {@link Main}).</li>
+ * </ul>
+ */
+public final class Guion {
+
+    private final AppVM vm;
+    private final ConsoleIO io;
+    private final List<String> args = new ArrayList<>();
+    private long comandos;
+    private long errores;
+
+    public Guion(AppVM vm, ConsoleIO io) {
+        this.vm = Objects.requireNonNull(vm);
+        this.io = Objects.requireNonNull(io);
+    }
+
+    /**
+     * Ejecuta los comandos hasta el final de la entrada o hasta {@code salir}.
+     * @return cantidad de comandos que fallaron
+     */
+    public long ejecutar(BufferedReader entrada) throws IOException {
+        long linea = 0;
+        String s;
+        while ((s = entrada.readLine()) != null) {
+            linea++;
+            try {
+                if (!separar(s)) continue;
+                comandos++;
+                if (!ejecutarComando()) break;
+            } catch (RuntimeException e) {
+                errores++;
+                io.error("Línea " + linea + ": " + e.getMessage());
+            }
+        }
+        return errores;
+    }
+
+    /** @return comandos ejecutados (con o sin error). */
+    public long getComandos() { return comandos; }
+
+    /** @return comandos que fallaron. */
+    public long getErrores() { return errores; }
+
+    // ------------------------
+    // Comandos
+    // ------------------------
+
+    /** @return false si el comando pide terminar. */
+    private boolean ejecutarComando() {
+        String comando = args.get(0);
+        switch (comando.toLowerCase(Locale.ROOT)) {
+            case "equipo":
+                aridad(1, 1);
+                vm.crearEquipo(arg(1));
+                break;
+            case "jugador":
+                aridad(4, 4);
+                vm.agregarJugadorAEquipo(arg(1), arg(2), arg(3), entero(4));
+                break;
+            case "juego": {
+                aridad(2, 3);
+                String desc = args.size() > 3 && !arg(3).isBlank() ? arg(3) : null;
+                vm.crearJuego(arg(1), vm.crearCategoria(arg(2), desc));
+                break;
+            }
+            case "torneo":
+                aridad(4, 4);
+                vm.crearTorneo(arg(1), arg(2), fecha(3), arg(4));
+                break;
+            case "inscribir":
+                aridad(2, 2);
+                vm.inscribirEquipoEnTorneo(arg(1), arg(2));
+                break;
+            case "arbitro":
+                aridad(2, 2);
+                vm.crearArbitro(arg(1), arg(2));
+                break;
+            case "partida":
+                aridad(4, 4);
+                vm.programarPartida(arg(1), fecha(2), arg(3), arg(4));
+                break;
+            case "roundrobin":
+                aridad(2, 2);
+                vm.generarCalendarioRoundRobin(arg(1), fecha(2), vm.getArbitros());
+                break;
+            case "calendario":
+                aridad(5, 5);
+                vm.planificarCalendario(arg(1), fecha(2), fecha(3), entero(4), entero(5), vm.getArbitros());
+                break;
+            case "resultado": {
+                aridad(4, 4);
+                int id = entero(2);
+                Partida p = vm.getPartida(arg(1), id);
+                if (p == null) throw new NoSuchElementException("No existe la partida " + id + " en " + arg(1));
+                vm.registrarResultado(p, entero(3), entero(4));
+                break;
+            }
+            case "resumen":
+                aridad(0, 0);
+                resumen();
+                break;
+            case "ranking":
+                aridad(1, 1);
+                ranking(entero(1));
+                break;
+            case "salir":
+                aridad(0, 0);
+                return false;
+            default:
+                throw new IllegalArgumentException("Comando desconocido: " + comando);
+        }
+        return true;
+    }
+
+    private void resumen() {
+        io.println("Juegos");
+        io.pagedTable(List.of("Juego", "Categoría"), vm.getJuegos().iterator(), (j, celdas) -> {
+            celdas[0] = j.getNombre();
+            celdas[1] = j.getCategoria().toString();
+        }, ConsoleIO.DEFAULT_PAGE_SIZE, false);
+        io.println("Equipos");
+        io.pagedTable(List.of("Equipo", "#Jugadores"), vm.getEquipos().iterator(), (e, celdas) -> {
+            celdas[0] = e.getNombre();
+            celdas[1] = String.valueOf(e.getCantidadJugadores());
+        }, ConsoleIO.DEFAULT_PAGE_SIZE, false);
+        io.println("Torneos");
+        io.pagedTable(List.of("Torneo", "Juego", "Equipos", "Partidas"), vm.getTorneos().iterator(), (t, celdas) -> {
+            celdas[0] = t.getNombre();
+            celdas[1] = t.getJuego().getNombre();
+            celdas[2] = String.valueOf(vm.getCantidadInscritos(t.getNombre()));
+            celdas[3] = String.valueOf(vm.getCantidadPartidas(t.getNombre()));
+        }, ConsoleIO.DEFAULT_PAGE_SIZE, false);
+    }
+
+    private void ranking(int k) {
+        List<Jugador> top = vm.getTopJugadores(k);
+        int[] puesto = {0};
+        io.pagedTable(List.of("#", "Alias", "Equipo", "Ranking"), top.iterator(), (j, celdas) -> {
+            celdas[0] = String.valueOf(++puesto[0]);
+            celdas[1] = j.getAlias();
+            celdas[2] = j.getEquipo() != null ? j.getEquipo().getNombre() : "-";
+            celdas[3] = String.valueOf(j.getRanking());
+        }, ConsoleIO.DEFAULT_PAGE_SIZE, false);
+    }
+
+    // ------------------------
+    // Argumentos
+    // ------------------------
+
+    private String arg(int i) { return args.get(i); }
+
+    private void aridad(int min, int max) {
+        int n = args.size() - 1;
+        if (n < min || n > max) {
+            String esperados = min == max ? String.valueOf(min) : min + " a " + max;
+            throw new IllegalArgumentException(args.get(0) + ": se esperaban " + esperados + " argumentos y hay " + n);
+        }
+    }
+
+    private int entero(int i) {
+        try {
+            return Integer.parseInt(arg(i));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("No es un entero: " + arg(i));
+        }
+    }
+
+    private LocalDate fecha(int i) {
+        try {
+            return LocalDate.parse(arg(i));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Fecha inválida (yyyy-MM-dd): " + arg(i));
+        }
+    }
+
+    /**
+     * Separa la línea en {@link #args}.
+     * @return false si la línea está vacía o es un comentario
+     * @throws IllegalArgumentException si quedan comillas sin cerrar
+     */
+    private boolean separar(String linea) {
+        args.clear();
+        int n = linea.length();
+        int i = 0;
+        StringBuilder sb = null;
+        while (true) {
+            while (i < n && Character.isWhitespace(linea.charAt(i))) i++;
+            if (i == n) break;
+            if (args.isEmpty() && linea.charAt(i) == '#') break;
+            if (linea.charAt(i) != '"') {
+                int ini = i;
+                while (i < n && !Character.isWhitespace(linea.charAt(i))) i++;
+                args.add(linea.substring(ini, i));
+                continue;
+            }
+            if (sb == null) sb = new StringBuilder();
+            sb.setLength(0);
+            i++;
+            while (true) {
+                if (i == n) throw new IllegalArgumentException("Comillas sin cerrar");
+                char c = linea.charAt(i++);
+                if (c != '"') {
+                    sb.append(c);
+                } else if (i < n && linea.charAt(i) == '"') {
+                    sb.append('"');
+                    i++;
+                } else {
+                    break;
+                }
+            }
+            args.add(sb.toString());
+        }
+        return !args.isEmpty();
+    }
+}
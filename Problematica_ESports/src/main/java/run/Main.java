@@ -1,15 +1,116 @@
 package run;
+import api.ServidorApi;
 import models.*;
 import utils.ConsoleIO;
 import viewModel.AppVM;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 
 public class Main {
-    public static void main(String[] args) {
-        ConsoleIO io = new ConsoleIO();
-        AppVM app = new AppVM(io);
-        app.runMenuLoop();
+    private static final int PUERTO_API_POR_DEFECTO = 8080;
+    private static final int EVENTOS_POR_INSTANTANEA = 100_000;
+    private static final int BUFER_SALIDA_GUION = 1 << 16;
+
+    /**
+     * Sin argumentos abre el menú de consola. Con {@code --api [puerto]} levanta la API HTTP/JSON
+     * (ver {@link ServidorApi}) sobre un {@link AppVM} en modo concurrente. Con {@code --datos <carpeta>}
+     * (en cualquiera de los dos modos) el estado se guarda en esa carpeta y se recupera al volver a arrancar.
+     * Con {@code --guion <archivo>} (o {@code -} para la entrada estándar) ejecuta los comandos del archivo
+     * sin interacción (ver {@link Guion}) y termina, con código 1 si alguno falló; junto con {@code --api},
+     * el guion carga los datos antes de levantar la API.
+     * Las métricas de las operaciones se publican por JMX ({@code Problematica_ESports:type=Metricas}).
+     */
+    public static void main(String[] args) throws IOException {
+        boolean api = false;
+        int puerto = PUERTO_API_POR_DEFECTO;
+        Path datos = null;
+        String guion = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--api")) {
+                api = true;
+                if (i + 1 < args.length && !args[i + 1].startsWith("--")) puerto = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--datos") && i + 1 < args.length) {
+                datos = Path.of(args[++i]);
+            } else if (args[i].equals("--guion") && i + 1 < args.length) {
+                guion = args[++i];
+            }
+        }
+
+        // En modo guion la salida va con búfer y sin ANSI; se vuelca al terminar.
+        PrintStream salidaGuion = guion == null ? null : new PrintStream(
+                new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), BUFER_SALIDA_GUION),
+                false, StandardCharsets.UTF_8);
+        ConsoleIO io = salidaGuion == null ? new ConsoleIO()
+                : new ConsoleIO(InputStream.nullInputStream(), salidaGuion, false);
+
+        AppVM app = new AppVM(io, api);
+        app.getMetricas().registrarJmx("AppVM");
+        if (datos != null) {
+            app.activarPersistencia(datos, EVENTOS_POR_INSTANTANEA);
+            io.success("Datos recuperados de " + datos.toAbsolutePath());
+        }
+        if (guion != null) {
+            long errores;
+            try {
+                errores = ejecutarGuion(app, io, guion);
+            } finally {
+                if (!api) cerrarPersistencia(app, io);
+                salidaGuion.flush();
+            }
+            if (!api) {
+                if (errores > 0) System.exit(1);
+                return;
+            }
+        }
+        if (api) {
+            ConsoleIO consola = guion != null ? new ConsoleIO() : io;
+            ServidorApi servidor = new ServidorApi(app, new InetSocketAddress(puerto));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                servidor.close();
+                cerrarPersistencia(app, consola);
+            }));
+            servidor.iniciar();
+            consola.success("API escuchando en http://localhost:" + servidor.getPuerto() + "/");
+            return;
+        }
+        try {
+            app.runMenuLoop();
+        } finally {
+            cerrarPersistencia(app, io);
+        }
+    }
+
+    private static long ejecutarGuion(AppVM app, ConsoleIO io, String archivo) throws IOException {
+        long t0 = System.nanoTime();
+        Guion g = new Guion(app, io);
+        try (BufferedReader in = archivo.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(archivo), StandardCharsets.UTF_8)) {
+            g.ejecutar(in);
+        }
+        long ms = (System.nanoTime() - t0) / 1_000_000;
+        io.info("Guion: " + g.getComandos() + " comandos, " + g.getErrores() + " con error, " + ms + " ms");
+        return g.getErrores();
+    }
+
+    private static void cerrarPersistencia(AppVM app, ConsoleIO io) {
+        try {
+            app.cerrarPersistencia();
+        } catch (IOException e) {
+            io.error("No se pudo cerrar el diario: " + e.getMessage());
+        }
     }
 
 }
@@ -0,0 +1,268 @@
+package services;
+
+import models.Agenda;
+import models.Arbitro;
+import models.Equipo;
+import models.Jugador;
+import models.Partida;
+import models.Torneo;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Motor base de llaves (brackets) de un {@link Torneo}.
+ *
+ * <h2>Responsabilidades</h2>
+ * <ul>
+ *   <li>Sembrar los equipos inscritos por el promedio de {@link Jugador#getRanking()} de su plantilla.</li>
+ *   <li>Crear las {@link Partida} de forma <b>perezosa</b>: solo cuando sus dos equipos ya se conocen.</li>
+ *   <li>Programar en un solo lote las partidas que habilita cada paso (la ronda inicial o un resultado), con
+ *       un árbitro distinto del pool para cada partida del mismo día.</li>
+ *   <li>Validar y enrutar los resultados hacia la implementación concreta (eliminación o suizo).</li>
+ * </ul>
+ *
+ * <h2>Notas de diseño</h2>
+ * <ul>
+ *   <li>Cada paso primero <i>planifica</i> sus partidas y luego las programa juntas con
+ *       {@link Torneo#programarCalendario}: el lote se valida completo y, si el torneo lo rechaza, no se crea
+ *       ninguna. Las planificadas quedan a la espera y {@link #programarPlanificadas()} reintenta el lote.</li>
+ *   <li>Los árbitros los elige el {@link PoolArbitros} (los menos cargados y libres ese día, uno por
+ *       partida) y la carga se registra al programar.</li>
+ *   <li>No es thread-safe (igual que {@link Torneo}).</li>
+ *   <li>Sobre un torneo de {@code AppVM} se usa a través de {@code AppVM.crearLlaveEliminacion},
+ *       {@code crearLlaveSuiza} y {@code registrarResultado}, que toman los cerrojos, aplican el Elo y anotan
+ *       partidas y resultados en el diario. Usarla directo sobre ese torneo se salta las tres cosas.</li>
+ * </ul>
+ *
+ * <h2>Ejemplo de uso</h2>
+ * <pre>{@code
+ * PoolArbitros pool = new PoolArbitros();
+ * pool.registrar("Carla", "Gómez");
+ * pool.registrar("Luis", "Paz");
+ * Llave llave = LlaveEliminacion.simple(torneo, LocalDate.now(), 1, pool);
+ * List<Partida> ronda1 = llave.getPendientes();
+ * List<Partida> nuevas = llave.registrarResultado(ronda1.get(0), 2, 1); // gana el equipo 1
+ * }</pre>
+ */
+public abstract class Llave {
+
+    /** Torneo en el que se programan las partidas. */
+    protected final Torneo torneo;
+
+    /** Equipos ordenados por siembra (índice 0 = mejor). */
+    protected final List<Equipo> semillas;
+
+    /** Fecha de la primera ronda. */
+    protected final LocalDate fechaInicio;
+
+    /** Días de descanso entre partidas consecutivas de un mismo equipo (mínimo 1). */
+    protected final int diasEntreRondas;
+
+    /** Pool del que salen los árbitros de cada partida. */
+    private final PoolArbitros arbitros;
+
+    /** Partida ya decidida por la llave que aún no se programó en el torneo. */
+    private static final class Plan {
+        final Equipo a, b;
+        final LocalDate fecha;
+        final Consumer<Partida> alCrear;
+
+        Plan(Equipo a, Equipo b, LocalDate fecha, Consumer<Partida> alCrear) {
+            this.a = a; this.b = b; this.fecha = fecha; this.alCrear = alCrear;
+        }
+    }
+
+    /** Partidas planificadas por el paso en curso (o por uno cuyo lote fue rechazado). */
+    private final List<Plan> planificadas = new ArrayList<>();
+
+    /** Partidas creadas por la llave que aún esperan resultado (orden de creación). */
+    private final Map<Partida, Boolean> pendientes = new LinkedHashMap<>();
+
+    /** Fecha de la última partida creada para cada equipo. */
+    private final Map<Equipo, LocalDate> ultimaFecha = new HashMap<>();
+
+    protected Llave(Torneo torneo, LocalDate fechaInicio, int diasEntreRondas, PoolArbitros arbitros) {
+        this.torneo = Objects.requireNonNull(torneo, "torneo");
+        this.fechaInicio = Objects.requireNonNull(fechaInicio, "fechaInicio");
+        this.arbitros = Objects.requireNonNull(arbitros, "arbitros");
+        if (diasEntreRondas < 1) throw new IllegalArgumentException("diasEntreRondas debe ser >= 1");
+        this.diasEntreRondas = diasEntreRondas;
+        if (torneo.getEquipos().size() < 2)
+            throw new IllegalStateException("El torneo necesita al menos 2 equipos inscritos");
+        this.semillas = Collections.unmodifiableList(sembrar(torneo.getEquipos()));
+    }
+
+    // ------------------------
+    // Siembra
+    // ------------------------
+
+    /**
+     * Ordena equipos por ranking promedio de sus jugadores (desc.); empata por nombre.
+     * Los promedios se leen de los agregados de cada {@link Equipo} (O(n log n) en total).
+     *
+     * @param equipos equipos a sembrar
+     * @return nueva lista ordenada (índice 0 = primera semilla)
+     */
+    public static List<Equipo> sembrar(Collection<Equipo> equipos) {
+        Map<Equipo, Double> promedio = new HashMap<>(equipos.size() * 2);
+        for (Equipo e : equipos) promedio.put(e, rankingPromedio(e));
+        List<Equipo> orden = new ArrayList<>(equipos);
+        orden.sort(Comparator.<Equipo>comparingDouble(promedio::get).reversed()
+                .thenComparing(Equipo::getNombre, String.CASE_INSENSITIVE_ORDER));
+        return orden;
+    }
+
+    /** @return promedio de ranking de la plantilla (0 si no tiene jugadores); O(1) vía {@link Equipo}. */
+    public static double rankingPromedio(Equipo equipo) {
+        return equipo.getRankingPromedio();
+    }
+
+    // ------------------------
+    // Resultados
+    // ------------------------
+
+    /**
+     * Registra el marcador de una partida de la llave en el torneo ({@link Torneo#registrarResultado}, así
+     * cuenta en la clasificación y en el historial cara a cara) y programa las partidas que quedan
+     * habilitadas.
+     *
+     * @param partida partida pendiente creada por esta llave
+     * @return partidas nuevas creadas a raíz de este resultado (puede estar vacía)
+     * @throws IllegalArgumentException si la partida no está pendiente en esta llave, algún marcador es
+     *                                  negativo o es un empate y la llave no los admite (no se registra nada)
+     * @throws IllegalStateException    si el torneo rechaza el lote de partidas nuevas o faltan árbitros; el
+     *                                  resultado queda registrado y las partidas, planificadas
+     *                                  (ver {@link #programarPlanificadas()})
+     */
+    public final List<Partida> registrarResultado(Partida partida, int marcador1, int marcador2) {
+        validarResultado(partida, marcador1, marcador2);
+        torneo.registrarResultado(partida, marcador1, marcador2);
+        return registrarResultado(partida);
+    }
+
+    /**
+     * Comprueba, sin registrar nada, que la llave aceptaría ese marcador para la partida (para quien registra
+     * el resultado en el torneo por su cuenta y después llama a {@link #registrarResultado(Partida)}).
+     *
+     * @throws IllegalArgumentException en los mismos casos que {@link #registrarResultado(Partida, int, int)}
+     */
+    public final void validarResultado(Partida partida, int marcador1, int marcador2) {
+        if (partida == null || !pendientes.containsKey(partida))
+            throw new IllegalArgumentException("La partida no está pendiente en esta llave");
+        if (marcador1 < 0 || marcador2 < 0) throw new IllegalArgumentException("El marcador no puede ser negativo");
+        if (marcador1 == marcador2 && !admiteEmpates())
+            throw new IllegalArgumentException("Esta llave no admite empates");
+    }
+
+    /**
+     * Avanza la llave con el resultado ya registrado en el torneo ({@link Partida#getGanador()}; null si fue
+     * empate) y programa las partidas que quedan habilitadas.
+     *
+     * @throws IllegalStateException    si la partida aún no tiene resultado, o en los casos de
+     *                                  {@link #registrarResultado(Partida, int, int)}
+     * @throws IllegalArgumentException si la partida no está pendiente en esta llave o es un empate que la
+     *                                  llave no admite
+     */
+    public final List<Partida> registrarResultado(Partida partida) {
+        if (partida == null || !partida.tieneResultado())
+            throw new IllegalStateException("La partida aún no tiene resultado");
+        validarResultado(partida, partida.getMarcador1(), partida.getMarcador2());
+        pendientes.remove(partida);
+        avanzar(partida, partida.getGanador());
+        return programarPlanificadas();
+    }
+
+    /** @return true si la partida fue creada por esta llave y aún espera resultado. */
+    public boolean esPendiente(Partida partida) { return pendientes.containsKey(partida); }
+
+    /**
+     * Programa en el torneo, como un solo lote, las partidas que la llave ya decidió y aún no están en el
+     * calendario. Los pasos de la llave lo hacen solos; llamarlo a mano solo hace falta si un lote fue
+     * rechazado (p. ej. faltaban árbitros) y se quiere reintentar.
+     *
+     * @return partidas creadas, en orden de planificación (vacía si no había ninguna)
+     * @throws IllegalStateException si faltan árbitros o el lote tiene conflictos; no se crea ninguna
+     */
+    public final List<Partida> programarPlanificadas() {
+        if (planificadas.isEmpty()) return List.of();
+        Map<LocalDate, Integer> porFecha = new HashMap<>();
+        for (Plan p : planificadas) porFecha.merge(p.fecha, 1, Integer::sum);
+        Map<LocalDate, Iterator<Arbitro>> asignados = new HashMap<>();
+        for (Map.Entry<LocalDate, Integer> e : porFecha.entrySet())
+            asignados.put(e.getKey(), arbitros.elegir(e.getKey(), e.getValue()).iterator());
+
+        List<Agenda.Cita> citas = new ArrayList<>(planificadas.size());
+        for (Plan p : planificadas) citas.add(new Agenda.Cita(p.fecha, p.a, p.b, asignados.get(p.fecha).next()));
+        List<Partida> creadas = torneo.programarCalendario(citas);
+
+        for (int i = 0; i < creadas.size(); i++) {
+            Partida p = creadas.get(i);
+            arbitros.contabilizar(p);
+            pendientes.put(p, Boolean.TRUE);
+            planificadas.get(i).alCrear.accept(p);
+        }
+        planificadas.clear();
+        return creadas;
+    }
+
+    /** @return true si hay partidas planificadas cuyo lote aún no se programó. */
+    public boolean hayPlanificadas() { return !planificadas.isEmpty(); }
+
+    /** @return partidas creadas que aún esperan resultado (orden de creación). */
+    public List<Partida> getPendientes() {
+        return List.copyOf(pendientes.keySet());
+    }
+
+    /** @return true si la llave ya definió su resultado final. */
+    public abstract boolean isTerminada();
+
+    /** @return campeón de la llave, o null si aún no termina. */
+    public abstract Equipo getCampeon();
+
+    // ------------------------
+    // Extensión
+    // ------------------------
+
+    /** @return true si {@link #registrarResultado} acepta ganador nulo (empate). */
+    protected boolean admiteEmpates() { return false; }
+
+    /**
+     * Procesa el resultado ya validado y planifica ({@link #planificar}) las partidas que habilita.
+     * @param ganador equipo ganador o null si fue empate
+     */
+    protected abstract void avanzar(Partida partida, Equipo ganador);
+
+    /**
+     * Planifica una partida en la fecha indicada; se programa con el resto del lote del paso en curso.
+     * @param alCrear recibe la partida cuando el lote se programa (p. ej. para ubicarla en la llave)
+     */
+    protected final void planificar(Equipo a, Equipo b, LocalDate fecha, Consumer<Partida> alCrear) {
+        planificadas.add(new Plan(a, b, fecha, alCrear));
+        ultimaFecha.put(a, fecha);
+        ultimaFecha.put(b, fecha);
+    }
+
+    /**
+     * Planifica una partida respetando el descanso de ambos equipos: la fecha es la más tardía entre la
+     * última partida de cada uno más {@link #diasEntreRondas}, o {@link #fechaInicio} si aún no jugaron.
+     */
+    protected final void planificar(Equipo a, Equipo b, Consumer<Partida> alCrear) {
+        planificar(a, b, proximaFecha(a, b), alCrear);
+    }
+
+    private LocalDate proximaFecha(Equipo a, Equipo b) {
+        LocalDate fa = ultimaFecha.get(a), fb = ultimaFecha.get(b);
+        LocalDate ultima = fa == null ? fb : (fb == null || fa.isAfter(fb) ? fa : fb);
+        return ultima == null ? fechaInicio : ultima.plusDays(diasEntreRondas);
+    }
+
+    /** @return el rival de {@code equipo} en la partida. */
+    protected static Equipo rival(Partida p, Equipo equipo) {
+        return p.getEquipo1().equals(equipo) ? p.getEquipo2() : p.getEquipo1();
+    }
+
+    /** @return true si no quedan partidas pendientes. */
+    protected final boolean sinPendientes() { return pendientes.isEmpty(); }
+}
@@ -0,0 +1,248 @@
+package services;
+
+import models.Equipo;
+import models.Partida;
+import models.Torneo;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Llave de eliminación <b>simple</b> o <b>doble</b>.
+ *
+ * <h2>Estructura</h2>
+ * <ul>
+ *   <li><b>Cuadro superior:</b> árbol clásico de tamaño potencia de 2 con orden de siembra estándar
+ *       (1 vs N, 2 vs N-1, ...). Si faltan equipos, las mejores semillas pasan con <i>bye</i>.</li>
+ *   <li><b>Cuadro inferior</b> (solo doble): los perdedores de la ronda {@code r} del superior entran al
+ *       nivel {@code 0} (r = 0) o {@code 2r-1}; cada nivel empareja a sus equipos en espera por orden de
+ *       llegada y el ganador sube al nivel siguiente. Un equipo solo en su nivel sube con bye cuando ya no
+ *       puede llegarle rival.</li>
+ *   <li><b>Gran final</b> (solo doble): campeón del superior vs campeón del inferior; si gana el del
+ *       inferior se juega un desempate (reset), ya que ambos tienen una derrota.</li>
+ * </ul>
+ *
+ * <h2>Complejidad</h2>
+ * <p>Cada resultado se procesa en O(1) amortizado en el superior y O(niveles) en el inferior; las
+ * partidas se crean solo cuando sus dos equipos están definidos. La ronda inicial se programa como un solo
+ * lote: si el torneo la rechaza, la fábrica falla sin crear ninguna partida.</p>
+ */
+public class LlaveEliminacion extends Llave {
+
+    /** Ubicación de una partida pendiente dentro de la llave. */
+    private static final int SUPERIOR = 0, INFERIOR = 1, FINAL = 2;
+
+    private static final class Posicion {
+        final int cuadro, nivel, indice;
+        Posicion(int cuadro, int nivel, int indice) { this.cuadro = cuadro; this.nivel = nivel; this.indice = indice; }
+    }
+
+    private final boolean doble;
+
+    /** slots[r][i]: equipo ubicado en la posición i de la ronda r del cuadro superior. */
+    private final Equipo[][] slots;
+
+    /** Parejas de cada ronda del superior que aún no tienen ganador. */
+    private final int[] abiertasSuperior;
+
+    /** Colas de espera por nivel del cuadro inferior. */
+    private final List<ArrayDeque<Equipo>> esperaInferior = new ArrayList<>();
+
+    /** Partidas pendientes del cuadro inferior por nivel. */
+    private final List<Integer> pendientesInferior = new ArrayList<>();
+
+    private final Map<Partida, Posicion> posiciones = new HashMap<>();
+    private final Map<Equipo, Integer> derrotas = new HashMap<>();
+
+    private Equipo campeonSuperior;
+    private Equipo campeonInferior;
+    private Equipo campeon;
+
+    private LlaveEliminacion(Torneo torneo, LocalDate fechaInicio, int diasEntreRondas,
+                             PoolArbitros arbitros, boolean doble) {
+        super(torneo, fechaInicio, diasEntreRondas, arbitros);
+        this.doble = doble;
+
+        int n = semillas.size();
+        int tam = Integer.highestOneBit(n - 1) << 1;
+        int rondas = Integer.numberOfTrailingZeros(tam);
+        slots = new Equipo[rondas + 1][];
+        abiertasSuperior = new int[rondas];
+        for (int r = 0; r <= rondas; r++) slots[r] = new Equipo[tam >> r];
+        for (int r = 0; r < rondas; r++) abiertasSuperior[r] = tam >> (r + 1);
+
+        int[] orden = ordenSiembra(tam);
+        for (int i = 0; i < tam; i++) slots[0][i] = orden[i] < n ? semillas.get(orden[i]) : null;
+
+        for (int i = 0; i < tam; i += 2) {
+            Equipo a = slots[0][i], b = slots[0][i + 1];
+            if (a != null && b != null) {
+                planificar(a, b, ubicar(new Posicion(SUPERIOR, 0, i / 2)));
+            } else {
+                // Bye: el orden de siembra garantiza al menos un equipo real por pareja en la ronda 0.
+                abiertasSuperior[0]--;
+                ubicarSuperior(1, i / 2, a != null ? a : b);
+            }
+        }
+    }
+
+    /**
+     * Crea una llave de eliminación simple con todos los equipos inscritos del torneo y programa su primera
+     * ronda.
+     * @throws IllegalStateException si faltan árbitros o el torneo rechaza la primera ronda (no crea ninguna)
+     */
+    public static LlaveEliminacion simple(Torneo torneo, LocalDate fechaInicio, int diasEntreRondas,
+                                          PoolArbitros arbitros) {
+        LlaveEliminacion llave = new LlaveEliminacion(torneo, fechaInicio, diasEntreRondas, arbitros, false);
+        llave.programarPlanificadas();
+        return llave;
+    }
+
+    /**
+     * Crea una llave de doble eliminación con todos los equipos inscritos del torneo y programa su primera
+     * ronda.
+     * @throws IllegalStateException si faltan árbitros o el torneo rechaza la primera ronda (no crea ninguna)
+     */
+    public static LlaveEliminacion doble(Torneo torneo, LocalDate fechaInicio, int diasEntreRondas,
+                                         PoolArbitros arbitros) {
+        LlaveEliminacion llave = new LlaveEliminacion(torneo, fechaInicio, diasEntreRondas, arbitros, true);
+        llave.programarPlanificadas();
+        return llave;
+    }
+
+    /** @return true si es doble eliminación. */
+    public boolean isDoble() { return doble; }
+
+    @Override public boolean isTerminada() { return campeon != null; }
+
+    @Override public Equipo getCampeon() { return campeon; }
+
+    // ------------------------
+    // Avance
+    // ------------------------
+
+    @Override
+    protected void avanzar(Partida partida, Equipo ganador) {
+        Posicion pos = posiciones.remove(partida);
+        Equipo perdedor = rival(partida, ganador);
+        derrotas.merge(perdedor, 1, Integer::sum);
+
+        switch (pos.cuadro) {
+            case SUPERIOR:
+                abiertasSuperior[pos.nivel]--;
+                ubicarSuperior(pos.nivel + 1, pos.indice, ganador);
+                if (doble) entrarInferior(pos.nivel == 0 ? 0 : 2 * pos.nivel - 1, perdedor);
+                break;
+            case INFERIOR:
+                pendientesInferior.set(pos.nivel, pendientesInferior.get(pos.nivel) - 1);
+                entrarInferior(pos.nivel + 1, ganador);
+                break;
+            default: // FINAL
+                if (derrotas.get(perdedor) >= 2) {
+                    campeon = ganador;
+                } else {
+                    // Ganó el campeón del inferior: ambos con una derrota, se juega el desempate.
+                    planificar(ganador, perdedor, ubicar(new Posicion(FINAL, 0, 0)));
+                }
+                return;
+        }
+        if (doble) resolverInferior();
+    }
+
+    /** Coloca un equipo en el cuadro superior y crea la partida si su rival ya está definido. */
+    private void ubicarSuperior(int ronda, int indice, Equipo equipo) {
+        if (ronda == slots.length - 1) {
+            campeonSuperior = equipo;
+            if (!doble) campeon = equipo;
+            return;
+        }
+        slots[ronda][indice] = equipo;
+        Equipo rival = slots[ronda][indice ^ 1];
+        if (rival != null) {
+            Equipo a = (indice & 1) == 0 ? equipo : rival;
+            Equipo b = (indice & 1) == 0 ? rival : equipo;
+            planificar(a, b, ubicar(new Posicion(SUPERIOR, ronda, indice / 2)));
+        }
+    }
+
+    private void entrarInferior(int nivel, Equipo equipo) {
+        while (esperaInferior.size() <= nivel) {
+            esperaInferior.add(new ArrayDeque<>());
+            pendientesInferior.add(0);
+        }
+        esperaInferior.get(nivel).addLast(equipo);
+    }
+
+    /**
+     * Empareja a los equipos en espera del cuadro inferior y promueve con bye a los que quedan solos sin
+     * posibilidad de rival. Cuando solo queda un equipo vivo en el inferior y el superior terminó, se
+     * programa la gran final.
+     */
+    private void resolverInferior() {
+        boolean cambios = true;
+        while (cambios) {
+            cambios = false;
+            int minimoFuturo = nivelMinimoFuturoDesdeSuperior();
+            boolean bloqueado = false; // hay actividad en un nivel inferior que puede alimentar a los siguientes
+            for (int nivel = 0; nivel < esperaInferior.size(); nivel++) {
+                ArrayDeque<Equipo> cola = esperaInferior.get(nivel);
+                while (cola.size() >= 2) {
+                    Equipo a = cola.pollFirst(), b = cola.pollFirst();
+                    pendientesInferior.set(nivel, pendientesInferior.get(nivel) + 1);
+                    planificar(a, b, ubicar(new Posicion(INFERIOR, nivel, 0)));
+                    cambios = true;
+                }
+                if (cola.size() == 1 && !bloqueado && nivel < minimoFuturo) {
+                    if (campeonSuperior != null && vivosInferior() == 1) {
+                        campeonInferior = cola.pollFirst();
+                        planificar(campeonSuperior, campeonInferior, ubicar(new Posicion(FINAL, 0, 0)));
+                        return;
+                    }
+                    entrarInferior(nivel + 1, cola.pollFirst());
+                    cambios = true;
+                }
+                if (!cola.isEmpty() || pendientesInferior.get(nivel) > 0) bloqueado = true;
+            }
+        }
+    }
+
+    /** @return nivel más bajo del inferior al que todavía puede caer un perdedor del superior. */
+    private int nivelMinimoFuturoDesdeSuperior() {
+        for (int r = 0; r < abiertasSuperior.length; r++) {
+            if (abiertasSuperior[r] > 0) return r == 0 ? 0 : 2 * r - 1;
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private int vivosInferior() {
+        int vivos = 0;
+        for (int nivel = 0; nivel < esperaInferior.size(); nivel++) {
+            vivos += esperaInferior.get(nivel).size() + 2 * pendientesInferior.get(nivel);
+        }
+        return vivos;
+    }
+
+    /** @return acción que ubica en {@code pos} la partida cuando se programa. */
+    private Consumer<Partida> ubicar(Posicion pos) {
+        return p -> posiciones.put(p, pos);
+    }
+
+    /**
+     * Orden estándar de siembra para un cuadro de tamaño potencia de 2 (índices base 0).
+     * Ej. tam=8 → [0,7,3,4,1,6,2,5]: la semilla 1 solo puede cruzarse con la 2 en la final.
+     */
+    static int[] ordenSiembra(int tam) {
+        int[] orden = {0};
+        while (orden.length < tam) {
+            int len = orden.length * 2;
+            int[] sig = new int[len];
+            for (int i = 0; i < orden.length; i++) {
+                sig[2 * i] = orden[i];
+                sig[2 * i + 1] = len - 1 - orden[i];
+            }
+            orden = sig;
+        }
+        return orden;
+    }
+}
@@ -0,0 +1,184 @@
+package services;
+
+import models.Equipo;
+import models.Partida;
+import models.Torneo;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Llave de sistema <b>suizo</b>: un número fijo de rondas en las que se enfrentan equipos con puntaje
+ * similar, evitando revanchas.
+ *
+ * <h2>Reglas</h2>
+ * <ul>
+ *   <li>Victoria = 2 medios puntos, empate = 1, derrota = 0; el bye cuenta como victoria.</li>
+ *   <li>La ronda siguiente se genera <b>al llegar el último resultado</b> de la ronda actual y se programa
+ *       como un solo lote (si el torneo la rechaza, no se crea ninguna de sus partidas).</li>
+ *   <li>Si hay número impar de equipos, descansa el peor clasificado que aún no haya tenido bye.</li>
+ * </ul>
+ *
+ * <h2>Complejidad del emparejamiento</h2>
+ * <p>Cada ronda ordena los equipos por (puntos, semilla) en O(n log n). Los libres se agrupan por puntos en
+ * un {@link TreeMap} de {@link TreeSet} (semillas): cada equipo toma al primer libre de su grupo, o de los
+ * siguientes, con el que no haya jugado. Los enfrentamientos previos se consultan en un {@link HashSet} de
+ * claves de pareja (O(1)); cada candidato descartado es un rival previo del equipo, así que a lo sumo se
+ * descartan tantos como rondas jugadas. En total O(n · rondas · log n), sin recorrer listas de libres.</p>
+ */
+public class LlaveSuiza extends Llave {
+
+    private final int rondas;
+    private int rondaActual;
+
+    /** Índice de semilla de cada equipo (posición en {@link #semillas}). */
+    private final Map<Equipo, Integer> indice;
+
+    /** Medios puntos por semilla. */
+    private final int[] puntos;
+
+    /** Semillas que ya tuvieron bye. */
+    private final boolean[] tuvoDescanso;
+
+    /** Parejas ya enfrentadas (clave = menor << 32 | mayor). */
+    private final Set<Long> enfrentados = new HashSet<>();
+
+    private Equipo campeon;
+
+    private LlaveSuiza(Torneo torneo, LocalDate fechaInicio, int diasEntreRondas,
+                       PoolArbitros arbitros, int rondas) {
+        super(torneo, fechaInicio, diasEntreRondas, arbitros);
+        if (rondas < 1) throw new IllegalArgumentException("rondas debe ser >= 1");
+        this.rondas = rondas;
+        int n = semillas.size();
+        this.indice = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) indice.put(semillas.get(i), i);
+        this.puntos = new int[n];
+        this.tuvoDescanso = new boolean[n];
+        generarRonda();
+    }
+
+    /**
+     * Crea una llave suiza con todos los equipos inscritos del torneo.
+     * Un valor típico de rondas es {@code ceil(log2(equipos))}.
+     * @throws IllegalStateException si faltan árbitros o el torneo rechaza la primera ronda (no crea ninguna)
+     */
+    public static LlaveSuiza crear(Torneo torneo, LocalDate fechaInicio, int diasEntreRondas,
+                                   PoolArbitros arbitros, int rondas) {
+        LlaveSuiza llave = new LlaveSuiza(torneo, fechaInicio, diasEntreRondas, arbitros, rondas);
+        llave.programarPlanificadas();
+        return llave;
+    }
+
+    /** @return ronda en curso (1..rondas). */
+    public int getRondaActual() { return rondaActual; }
+
+    /** @return número total de rondas. */
+    public int getRondas() { return rondas; }
+
+    /** @return medios puntos acumulados por el equipo. */
+    public int getPuntos(Equipo equipo) {
+        Integer i = indice.get(equipo);
+        if (i == null) throw new NoSuchElementException("El equipo no participa en la llave: " + equipo);
+        return puntos[i];
+    }
+
+    /** @return equipos ordenados por puntos (desc.) y semilla. */
+    public List<Equipo> getClasificacion() {
+        List<Equipo> lista = new ArrayList<>(semillas.size());
+        for (int i : ordenPorPuntos()) lista.add(semillas.get(i));
+        return lista;
+    }
+
+    @Override public boolean isTerminada() { return campeon != null; }
+
+    @Override public Equipo getCampeon() { return campeon; }
+
+    @Override protected boolean admiteEmpates() { return true; }
+
+    @Override
+    protected void avanzar(Partida partida, Equipo ganador) {
+        if (ganador == null) {
+            puntos[indice.get(partida.getEquipo1())] += 1;
+            puntos[indice.get(partida.getEquipo2())] += 1;
+        } else {
+            puntos[indice.get(ganador)] += 2;
+        }
+        if (!sinPendientes()) return;
+        if (rondaActual < rondas) {
+            generarRonda();
+        } else {
+            campeon = semillas.get(ordenPorPuntos()[0]);
+        }
+    }
+
+    // ------------------------
+    // Emparejamiento
+    // ------------------------
+
+    private void generarRonda() {
+        rondaActual++;
+        LocalDate fecha = fechaInicio.plusDays((long) (rondaActual - 1) * diasEntreRondas);
+        int[] orden = ordenPorPuntos();
+        int n = orden.length;
+
+        int descansa = -1;
+        if (n % 2 == 1) {
+            int pos = n - 1;
+            while (pos > 0 && tuvoDescanso[orden[pos]]) pos--;
+            descansa = orden[pos];
+            tuvoDescanso[descansa] = true;
+        }
+
+        // Libres por grupo de puntos (mayor primero) y, dentro del grupo, por semilla.
+        TreeMap<Integer, TreeSet<Integer>> libres = new TreeMap<>(Comparator.reverseOrder());
+        for (int i : orden) {
+            if (i != descansa) libres.computeIfAbsent(puntos[i], k -> new TreeSet<>()).add(i);
+        }
+        if (descansa >= 0) puntos[descansa] += 2;
+
+        while (!libres.isEmpty()) {
+            int a = quitar(libres, libres.firstKey(), libres.firstEntry().getValue().first());
+            int b = rivalInedito(libres, a);
+            if (b < 0) b = libres.firstEntry().getValue().first(); // sin rival inédito: se acepta la revancha
+            quitar(libres, puntos[b], b);
+
+            enfrentados.add(clave(a, b));
+            planificar(semillas.get(a), semillas.get(b), fecha, p -> { });
+        }
+    }
+
+    /** @return primer libre, por grupo y semilla, que aún no jugó contra {@code a}; -1 si no hay. */
+    private int rivalInedito(TreeMap<Integer, TreeSet<Integer>> libres, int a) {
+        for (TreeSet<Integer> grupo : libres.values()) {
+            for (int b : grupo) {
+                if (!enfrentados.contains(clave(a, b))) return b;
+            }
+        }
+        return -1;
+    }
+
+    /** Quita la semilla de su grupo (y el grupo, si queda vacío); devuelve la semilla. */
+    private static int quitar(TreeMap<Integer, TreeSet<Integer>> libres, int grupo, int semilla) {
+        TreeSet<Integer> g = libres.get(grupo);
+        g.remove(semilla);
+        if (g.isEmpty()) libres.remove(grupo);
+        return semilla;
+    }
+
+    /** @return semillas ordenadas por puntos (desc.) y luego por semilla (asc.). */
+    private int[] ordenPorPuntos() {
+        int n = semillas.size();
+        long[] claves = new long[n];
+        // Codifica (-puntos, semilla) en un long para ordenar primitivos sin comparadores.
+        for (int i = 0; i < n; i++) claves[i] = ((long) (Integer.MAX_VALUE - puntos[i]) << 32) | i;
+        Arrays.sort(claves);
+        int[] orden = new int[n];
+        for (int i = 0; i < n; i++) orden[i] = (int) claves[i];
+        return orden;
+    }
+
+    private static long clave(int a, int b) {
+        return a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+    }
+}
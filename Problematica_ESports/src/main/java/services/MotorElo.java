@@ -0,0 +1,212 @@
+package services;
+
+import models.Equipo;
+import models.Jugador;
+import models.Partida;
+import models.Torneo;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Motor de rating <b>Elo</b> por equipos que actualiza {@link Jugador#getRanking()}.
+ *
+ * <h2>Fórmula</h2>
+ * <ul>
+ *   <li>Rating del equipo = promedio del ranking de su plantilla ({@link #getRatingBase()} si está vacía).</li>
+ *   <li>Esperado: {@code E1 = 1 / (1 + 10^((R2 - R1) / 400))}; resultado {@code S1} = 1, 0.5 o 0.</li>
+ *   <li>Cada jugador del equipo 1 suma {@code K·(S1 - E1)}; los del equipo 2 restan lo mismo. Nunca baja de 0.</li>
+ * </ul>
+ *
+ * <h2>Modos</h2>
+ * <ul>
+ *   <li><b>Incremental</b> ({@link #aplicar(Partida)}): al registrar un resultado, redondea y escribe el
+ *       nuevo ranking de cada jugador de inmediato.</li>
+ *   <li><b>Reproducción</b> ({@link #reconstruir(Collection)}): recalcula todos los rankings desde el
+ *       historial completo de varios torneos (p. ej. tras cambiar K), partiendo del ranking inicial de cada
+ *       jugador ({@link Jugador#getRankingInicial()}). Trabaja sobre arreglos primitivos y
+ *       procesa en paralelo las partidas de un mismo día: la agenda no deja que un equipo juegue dos veces el
+ *       mismo día, así que no comparten equipos ni jugadores.</li>
+ * </ul>
+ *
+ * <h2>Notas</h2>
+ * <ul>
+ *   <li>Las partidas no guardan la plantilla con la que se jugaron: ambos modos usan la plantilla actual.</li>
+ *   <li>En reproducción el orden es (fecha, torneo, orden en el calendario) y los decimales se conservan
+ *       hasta el final; el modo incremental sigue el orden en que se registraron los resultados y redondea en
+ *       cada partida. Con las mismas plantillas y los resultados registrados en orden de fecha, la diferencia
+ *       es solo de redondeo: a lo sumo medio punto por partida jugada (en la práctica, unos pocos puntos).</li>
+ *   <li>Los cambios manuales de ranking ({@link Jugador#setRanking(int)}) de quien jugó alguna partida se
+ *       pierden al reconstruir: se parte del ranking inicial.</li>
+ * </ul>
+ */
+public class MotorElo {
+
+    /** Días con menos partidas que esto se procesan en secuencia (el paralelismo no compensa). */
+    private static final int UMBRAL_PARALELO = 512;
+
+    private final double k;
+    private final double ratingBase;
+
+    /** K = 32 y rating base 1500. */
+    public MotorElo() { this(32, 1500); }
+
+    /**
+     * @param k          factor K (> 0)
+     * @param ratingBase rating de los equipos sin jugadores
+     */
+    public MotorElo(double k, double ratingBase) {
+        if (!(k > 0)) throw new IllegalArgumentException("K debe ser > 0");
+        this.k = k;
+        this.ratingBase = ratingBase;
+    }
+
+    public double getK() { return k; }
+
+    public double getRatingBase() { return ratingBase; }
+
+    // ------------------------
+    // Modo incremental
+    // ------------------------
+
+    /**
+     * Actualiza el ranking de todos los jugadores de ambos equipos según el resultado de la partida.
+     *
+     * @throws IllegalStateException si la partida aún no tiene resultado
+     */
+    public void aplicar(Partida partida) {
+        if (!partida.tieneResultado()) throw new IllegalStateException("La partida no tiene resultado");
+        Equipo e1 = partida.getEquipo1(), e2 = partida.getEquipo2();
+        double delta = delta(promedio(e1), promedio(e2), puntaje(partida));
+        List<Jugador> p1 = e1.getJugadores();
+        List<Jugador> p2 = e2.getJugadores();
+        int d = (int) Math.round(delta);
+        for (Jugador j : p1) j.setRanking(Math.max(0, j.getRanking() + d));
+        for (Jugador j : p2) j.setRanking(Math.max(0, j.getRanking() - d));
+    }
+
+    /** Promedio O(1) desde los agregados del equipo. */
+    private double promedio(Equipo equipo) {
+        return equipo.getCantidadJugadores() == 0 ? ratingBase : equipo.getRankingPromedio();
+    }
+
+    // ------------------------
+    // Modo reproducción
+    // ------------------------
+
+    /**
+     * Recalcula desde su ranking inicial ({@link Jugador#getRankingInicial()}) el ranking de cada jugador que
+     * figure en alguna partida con resultado de los torneos dados, y lo escribe al final con
+     * {@link Jugador#setRanking(int)}.
+     *
+     * @param torneos torneos cuyo historial se reproduce
+     * @return cantidad de partidas reproducidas
+     */
+    public int reconstruir(Collection<Torneo> torneos) {
+        // 1) Historial con resultado, ordenado por fecha (estable: respeta torneo y orden de calendario).
+        List<Partida> historial = new ArrayList<>();
+        for (Torneo t : torneos) {
+            for (Partida p : t.getPartidas()) if (p.tieneResultado()) historial.add(p);
+        }
+        Partida[] orden = historial.toArray(new Partida[0]);
+        Arrays.parallelSort(orden, Comparator.comparing(Partida::getFecha));
+        int m = orden.length;
+
+        // 2) Índices densos: equipo → id, jugador → id; plantilla de cada equipo como int[].
+        Map<Equipo, Integer> idEquipo = new HashMap<>();
+        List<int[]> plantillas = new ArrayList<>();
+        Map<Jugador, Integer> idJugador = new IdentityHashMap<>();
+        List<Jugador> jugadores = new ArrayList<>();
+        int[] e1 = new int[m], e2 = new int[m];
+        double[] s1 = new double[m];
+        for (int i = 0; i < m; i++) {
+            e1[i] = indexar(orden[i].getEquipo1(), idEquipo, plantillas, idJugador, jugadores);
+            e2[i] = indexar(orden[i].getEquipo2(), idEquipo, plantillas, idJugador, jugadores);
+            s1[i] = puntaje(orden[i]);
+        }
+        int[][] plantilla = plantillas.toArray(new int[0][]);
+        double[] rating = new double[jugadores.size()];
+        for (int j = 0; j < rating.length; j++) rating[j] = jugadores.get(j).getRankingInicial();
+
+        // 3) Día por día. Con la agenda global de AppVM un equipo no juega dos veces el mismo día, así que las
+        //    partidas de un día son independientes y van en paralelo. Si se pasan torneos sin agenda común y
+        //    un equipo se repite en un día, ese día va en secuencia (en el orden del historial).
+        int[] diaEquipo = new int[plantilla.length];
+        Arrays.fill(diaEquipo, -1);
+        int inicio = 0, dia = 0;
+        while (inicio < m) {
+            int fin = inicio;
+            boolean independientes = true;
+            while (fin < m && orden[fin].getFecha().equals(orden[inicio].getFecha())) {
+                if (diaEquipo[e1[fin]] == dia || diaEquipo[e2[fin]] == dia) independientes = false;
+                diaEquipo[e1[fin]] = diaEquipo[e2[fin]] = dia;
+                fin++;
+            }
+            aplicarDia(inicio, fin, independientes && fin - inicio >= UMBRAL_PARALELO, e1, e2, s1, plantilla, rating);
+            inicio = fin;
+            dia++;
+        }
+
+        // 4) Escritura final.
+        for (int j = 0; j < rating.length; j++) {
+            jugadores.get(j).setRanking((int) Math.max(0, Math.round(rating[j])));
+        }
+        return m;
+    }
+
+    private void aplicarDia(int inicio, int fin, boolean paralelo, int[] e1, int[] e2, double[] s1,
+                            int[][] plantilla, double[] rating) {
+        IntStream indices = IntStream.range(inicio, fin);
+        if (paralelo) indices = indices.parallel();
+        indices.forEach(i -> {
+            int[] p1 = plantilla[e1[i]], p2 = plantilla[e2[i]];
+            double d = delta(promedio(p1, rating), promedio(p2, rating), s1[i]);
+            for (int j : p1) rating[j] = Math.max(0, rating[j] + d);
+            for (int j : p2) rating[j] = Math.max(0, rating[j] - d);
+        });
+    }
+
+    private double promedio(int[] plantilla, double[] rating) {
+        if (plantilla.length == 0) return ratingBase;
+        double suma = 0;
+        for (int j : plantilla) suma += rating[j];
+        return suma / plantilla.length;
+    }
+
+    private static int indexar(Equipo e, Map<Equipo, Integer> idEquipo, List<int[]> plantillas,
+                               Map<Jugador, Integer> idJugador, List<Jugador> jugadores) {
+        Integer id = idEquipo.get(e);
+        if (id != null) return id;
+        List<Jugador> roster = e.getJugadores();
+        int[] ids = new int[roster.size()];
+        for (int i = 0; i < ids.length; i++) {
+            Jugador j = roster.get(i);
+            Integer jid = idJugador.get(j);
+            if (jid == null) {
+                jid = jugadores.size();
+                idJugador.put(j, jid);
+                jugadores.add(j);
+            }
+            ids[i] = jid;
+        }
+        idEquipo.put(e, plantillas.size());
+        plantillas.add(ids);
+        return plantillas.size() - 1;
+    }
+
+    // ------------------------
+    // Fórmula
+    // ------------------------
+
+    /** @return variación para el equipo 1 (el equipo 2 recibe la opuesta). */
+    private double delta(double r1, double r2, double s1) {
+        double esperado = 1.0 / (1.0 + Math.pow(10, (r2 - r1) / 400.0));
+        return k * (s1 - esperado);
+    }
+
+    /** @return 1 si ganó el equipo 1, 0.5 si empató, 0 si perdió. */
+    private static double puntaje(Partida p) {
+        if (p.getMarcador1() == p.getMarcador2()) return 0.5;
+        return p.getMarcador1() > p.getMarcador2() ? 1 : 0;
+    }
+}
@@ -0,0 +1,683 @@
+package services;
+
+import models.Agenda;
+import models.Arbitro;
+import models.Equipo;
+import models.Partida;
+import models.Torneo;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Planificador de calendarios por restricciones: busca fechas para todas las partidas pendientes de un torneo
+ * (todos contra todos, una vuelta) dentro de una ventana de fechas.
+ *
+ * <h2>Restricciones</h2>
+ * <ul>
+ *   <li>Cada partida cae en un día de {@code [desde, hasta]}.</li>
+ *   <li>Como mucho {@code partidasPorDia} partidas por día, y nunca más que árbitros libres ese día.</li>
+ *   <li>Entre dos partidas de un mismo equipo pasan al menos {@code diasDescanso} días libres (0 = puede jugar
+ *       días seguidos, nunca dos veces el mismo día). Cuentan también las partidas que el equipo ya tiene, en
+ *       este torneo o en otros (agenda global).</li>
+ *   <li>Cada partida tiene un árbitro distinto de los demás de ese día y libre en la agenda.</li>
+ * </ul>
+ *
+ * <h2>Uso</h2>
+ * <pre>{@code
+ * PlanificadorCalendario plan = new PlanificadorCalendario(desde, hasta, 4, 1);
+ * List<Partida> creadas = plan.programar(torneo, arbitros, agendaGlobal);
+ * }</pre>
+ * En tres pasos (así lo usa {@code AppVM} en modo concurrente, para no bloquear el torneo mientras busca):
+ * {@link #plantear} (lee el torneo, con su cerrojo), {@link Problema#resolver()} (sin cerrojos) y
+ * {@link Torneo#programarCalendario(List)} (con los cerrojos, precedido de {@link #exigirPendientes} y
+ * {@link #exigirDescanso}).
+ *
+ * <h2>Notas de diseño</h2>
+ * <ul>
+ *   <li>Pendientes = pares de inscritos que todavía no tienen partida en el torneo: sirve para un calendario
+ *       nuevo y para completar uno armado a mano.</li>
+ *   <li>Punto de partida: las rondas del método del círculo (cada equipo juega una vez por ronda), en orden
+ *       al azar y repartidas a lo largo de la ventana; así las partidas de un equipo ya salen espaciadas.</li>
+ *   <li>La capacidad por día es una restricción dura (nunca se supera); el descanso se repara por búsqueda
+ *       local de <i>mínimos conflictos</i>: se toma al azar una partida en conflicto y se mueve al día libre
+ *       con menos conflictos, o se intercambia con una partida de otro día; los movimientos recientes quedan
+ *       prohibidos un tiempo (tabú) y un poco de ruido evita los estancamientos.</li>
+ *   <li>Costo por movimiento O(días + partidas de los dos equipos): las ventanas de descanso se evalúan con
+ *       sumas deslizantes sobre la ocupación equipo × día.</li>
+ *   <li>Paralelo: una búsqueda independiente por hilo ({@link ForkJoinPool}), con semillas distintas; la
+ *       primera que encuentra un calendario válido avisa a las demás y gana.</li>
+ *   <li>Antes de buscar se descartan los casos imposibles evidentes (capacidad total o días disponibles de un
+ *       equipo insuficientes), con un mensaje que dice qué falta.</li>
+ * </ul>
+ */
+public final class PlanificadorCalendario {
+
+    /** Tiempo máximo de búsqueda por defecto. */
+    public static final Duration TIEMPO_MAXIMO = Duration.ofSeconds(10);
+
+    /** Probabilidad de un movimiento al azar (ruido). */
+    private static final double RUIDO = 0.05;
+
+    /** Intercambios candidatos evaluados por movimiento. */
+    private static final int MUESTRA_INTERCAMBIOS = 16;
+
+    private final LocalDate desde;
+    private final LocalDate hasta;
+    private final int partidasPorDia;
+    private final int diasDescanso;
+    private final int hilos;
+    private final Duration tiempoMaximo;
+
+    /**
+     * Planificador con un hilo por procesador y {@link #TIEMPO_MAXIMO}.
+     * @see #PlanificadorCalendario(LocalDate, LocalDate, int, int, int, Duration)
+     */
+    public PlanificadorCalendario(LocalDate desde, LocalDate hasta, int partidasPorDia, int diasDescanso) {
+        this(desde, hasta, partidasPorDia, diasDescanso, Runtime.getRuntime().availableProcessors(), TIEMPO_MAXIMO);
+    }
+
+    /**
+     * @param desde          primer día disponible
+     * @param hasta          último día disponible (inclusive)
+     * @param partidasPorDia partidas máximas por día en el torneo (mínimo 1)
+     * @param diasDescanso   días libres mínimos entre dos partidas de un equipo (mínimo 0)
+     * @param hilos          búsquedas en paralelo (mínimo 1)
+     * @param tiempoMaximo   tiempo máximo de búsqueda
+     * @throws IllegalArgumentException si la ventana está invertida o algún parámetro está fuera de rango
+     */
+    public PlanificadorCalendario(LocalDate desde, LocalDate hasta, int partidasPorDia, int diasDescanso,
+                                  int hilos, Duration tiempoMaximo) {
+        this.desde = Objects.requireNonNull(desde, "desde");
+        this.hasta = Objects.requireNonNull(hasta, "hasta");
+        this.tiempoMaximo = Objects.requireNonNull(tiempoMaximo, "tiempoMaximo");
+        if (hasta.isBefore(desde)) throw new IllegalArgumentException("La fecha final es anterior a la inicial");
+        if (partidasPorDia < 1) throw new IllegalArgumentException("partidasPorDia debe ser >= 1");
+        if (diasDescanso < 0) throw new IllegalArgumentException("diasDescanso debe ser >= 0");
+        if (hilos < 1) throw new IllegalArgumentException("hilos debe ser >= 1");
+        this.partidasPorDia = partidasPorDia;
+        this.diasDescanso = diasDescanso;
+        this.hilos = hilos;
+    }
+
+    public LocalDate getDesde() { return desde; }
+    public LocalDate getHasta() { return hasta; }
+    public int getPartidasPorDia() { return partidasPorDia; }
+    public int getDiasDescanso() { return diasDescanso; }
+
+    // ------------------------
+    // Uso directo
+    // ------------------------
+
+    /**
+     * Planifica y programa de una vez las partidas pendientes del torneo (todas o ninguna).
+     *
+     * @param agenda agenda global a respetar además de la del torneo (puede ser null)
+     * @return partidas creadas, en orden cronológico
+     * @throws IllegalStateException si no hay calendario posible o no se encontró a tiempo
+     */
+    public List<Partida> programar(Torneo torneo, List<Arbitro> arbitros, Agenda agenda) {
+        return torneo.programarCalendario(plantear(torneo, arbitros, agenda).resolver());
+    }
+
+    /**
+     * Comprueba que ningún par del plan tenga ya partida en el torneo. Sirve para confirmar, con el cerrojo
+     * del torneo tomado, un plan buscado sin él: mientras tanto se pudo programar a mano alguno de esos
+     * pares, y {@link Torneo#programarCalendario(List)} no lo impediría si cae en otra fecha. O(partidas del
+     * torneo + citas).
+     *
+     * @throws IllegalStateException si algún par del plan ya tiene partida en el torneo
+     */
+    public void exigirPendientes(Torneo torneo, List<Agenda.Cita> citas) {
+        Map<Equipo, Set<Equipo>> rivales = new HashMap<>();
+        for (Agenda.Cita c : citas) {
+            rivales.computeIfAbsent(c.getEquipo1(), k -> new HashSet<>()).add(c.getEquipo2());
+            rivales.computeIfAbsent(c.getEquipo2(), k -> new HashSet<>()).add(c.getEquipo1());
+        }
+        for (Partida p : torneo.getPartidas()) {
+            Set<Equipo> r = rivales.get(p.getEquipo1());
+            if (r != null && r.contains(p.getEquipo2()))
+                throw new IllegalStateException("El par " + p.getEquipo1().getNombre() + " - "
+                        + p.getEquipo2().getNombre() + " ya tiene partida en el torneo (id " + p.getId() + ")");
+        }
+    }
+
+    /**
+     * Comprueba el descanso de los equipos del plan contra lo que ya tienen agendado. Sirve para confirmar,
+     * con los cerrojos tomados, un plan buscado sin ellos ({@link Torneo#programarCalendario(List)} ya
+     * comprueba las fechas ocupadas).
+     *
+     * @throws IllegalStateException si algún equipo ya no descansa lo suficiente
+     */
+    public void exigirDescanso(List<Agenda.Cita> citas, Agenda agenda) {
+        if (diasDescanso == 0 || agenda == null) return;
+        for (Agenda.Cita c : citas) {
+            for (Equipo e : new Equipo[]{c.getEquipo1(), c.getEquipo2()}) {
+                List<Partida> cerca = agenda.entre(c.getFecha().minusDays(diasDescanso),
+                        c.getFecha().plusDays(diasDescanso), Agenda.Filtro.todas().equipo(e));
+                if (!cerca.isEmpty())
+                    throw new IllegalStateException("El equipo " + e.getNombre() + " ya tiene partida el "
+                            + cerca.get(0).getFecha() + ", a menos de " + diasDescanso + " días de descanso del "
+                            + c.getFecha());
+            }
+        }
+    }
+
+    // ------------------------
+    // Planteo
+    // ------------------------
+
+    /**
+     * Toma una foto de lo que hace falta para buscar: partidas pendientes, días en que cada equipo no puede
+     * jugar y árbitros libres por día. Lee el torneo (en modo concurrente, con su cerrojo); la agenda se
+     * consulta sin modificarla.
+     *
+     * @param arbitros árbitros disponibles (no vacía, sin nulos)
+     * @param agenda   agenda global a respetar además de la del torneo (puede ser null)
+     * @throws IllegalArgumentException si no hay árbitros
+     * @throws IllegalStateException    si hay menos de 2 equipos inscritos o el calendario es imposible
+     */
+    public Problema plantear(Torneo torneo, List<Arbitro> arbitros, Agenda agenda) {
+        Objects.requireNonNull(torneo, "torneo");
+        Objects.requireNonNull(arbitros, "arbitros");
+        if (arbitros.isEmpty()) throw new IllegalArgumentException("Se requiere al menos un árbitro");
+        for (Arbitro a : arbitros) Objects.requireNonNull(a, "arbitro");
+        if (torneo.getEquipos().size() < 2)
+            throw new IllegalStateException("El torneo necesita al menos 2 equipos inscritos");
+        return new Problema(torneo, arbitros, agenda);
+    }
+
+    /**
+     * Foto de un torneo lista para buscar su calendario. {@link #resolver()} no lee el torneo, así que se
+     * puede llamar sin cerrojos.
+     */
+    public final class Problema {
+        final Equipo[] equipos;
+        /** Días de la ventana. */
+        final int dias;
+        /** Equipos de cada partida pendiente (índices en {@link #equipos}). */
+        final int[] local, visita;
+        /** Ronda de cada partida pendiente en el round-robin por el método del círculo. */
+        final int[] ronda;
+        final int rondas;
+        /** Partidas pendientes de cada equipo. */
+        final int[][] partidasDe;
+        /** Equipo × día: true si una partida ya agendada le impide jugar ese día. */
+        final boolean[] bloqueado;
+        /** Partidas que caben cada día. */
+        final int[] capacidad;
+        /** Árbitros libres de cada día. */
+        final Arbitro[][] libres;
+
+        private Problema(Torneo torneo, List<Arbitro> arbitros, Agenda agenda) {
+            List<Equipo> inscritos = new ArrayList<>(torneo.getEquipos());
+            inscritos.sort(Comparator.comparing(Equipo::getNombre, String.CASE_INSENSITIVE_ORDER));
+            equipos = inscritos.toArray(new Equipo[0]);
+            int n = equipos.length;
+            Map<Equipo, Integer> indice = new HashMap<>(n * 2);
+            for (int i = 0; i < n; i++) indice.put(equipos[i], i);
+            dias = Math.toIntExact(ChronoUnit.DAYS.between(desde, hasta) + 1);
+
+            // Partidas ya programadas en el torneo: pares cubiertos, días ocupados y árbitros ocupados.
+            Set<Long> jugados = new HashSet<>();
+            bloqueado = new boolean[n * dias];
+            Map<Arbitro, Set<LocalDate>> arbitroOcupado = new IdentityHashMap<>();
+            for (Partida p : torneo.getPartidas()) {
+                Integer a = indice.get(p.getEquipo1()), b = indice.get(p.getEquipo2());
+                if (a != null && b != null) jugados.add(par(Math.min(a, b), Math.max(a, b), n));
+                if (a != null) bloquear(a, p.getFecha());
+                if (b != null) bloquear(b, p.getFecha());
+                if (p.getArbitro() != null)
+                    arbitroOcupado.computeIfAbsent(p.getArbitro(), k -> new HashSet<>()).add(p.getFecha());
+            }
+            if (agenda != null) {
+                for (int i = 0; i < n; i++) {
+                    for (Partida p : agenda.entre(desde.minusDays(diasDescanso), hasta.plusDays(diasDescanso),
+                            Agenda.Filtro.todas().equipo(equipos[i]))) {
+                        bloquear(i, p.getFecha());
+                    }
+                }
+                for (Arbitro a : arbitros) {
+                    for (Partida p : agenda.entre(desde, hasta, Agenda.Filtro.todas().arbitro(a))) {
+                        arbitroOcupado.computeIfAbsent(a, k -> new HashSet<>()).add(p.getFecha());
+                    }
+                }
+            }
+
+            // Pendientes: pares sin partida, alternando local y visita.
+            int[] l = new int[n * (n - 1) / 2], v = new int[l.length];
+            int m = 0;
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    if (jugados.contains(par(i, j, n))) continue;
+                    boolean directo = ((i + j) & 1) == 0;
+                    l[m] = directo ? i : j;
+                    v[m] = directo ? j : i;
+                    m++;
+                }
+            }
+            local = Arrays.copyOf(l, m);
+            visita = Arrays.copyOf(v, m);
+            rondas = n % 2 == 0 ? n - 1 : n;
+            ronda = rondasDelCirculo(n, m);
+            int[] cuenta = new int[n];
+            for (int k = 0; k < m; k++) { cuenta[local[k]]++; cuenta[visita[k]]++; }
+            partidasDe = new int[n][];
+            for (int i = 0; i < n; i++) partidasDe[i] = new int[cuenta[i]];
+            Arrays.fill(cuenta, 0);
+            for (int k = 0; k < m; k++) {
+                partidasDe[local[k]][cuenta[local[k]]++] = k;
+                partidasDe[visita[k]][cuenta[visita[k]]++] = k;
+            }
+
+            // Capacidad y árbitros libres por día.
+            List<Arbitro> distintos = new ArrayList<>();
+            Set<Arbitro> vistos = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Arbitro a : arbitros) if (vistos.add(a)) distintos.add(a);
+            capacidad = new int[dias];
+            libres = new Arbitro[dias][];
+            long total = 0;
+            List<Arbitro> delDia = new ArrayList<>(distintos.size());
+            for (int d = 0; d < dias; d++) {
+                LocalDate fecha = desde.plusDays(d);
+                delDia.clear();
+                for (Arbitro a : distintos) {
+                    Set<LocalDate> ocupado = arbitroOcupado.get(a);
+                    if (ocupado == null || !ocupado.contains(fecha)) delDia.add(a);
+                }
+                libres[d] = delDia.toArray(new Arbitro[0]);
+                capacidad[d] = Math.min(partidasPorDia, libres[d].length);
+                total += capacidad[d];
+            }
+            exigirPosible(total);
+        }
+
+        /**
+         * Ronda de cada pendiente en el round-robin del método del círculo (el mismo de
+         * {@link Torneo#generarRoundRobin}): cada equipo juega una vez por ronda.
+         */
+        private int[] rondasDelCirculo(int n, int m) {
+            Map<Long, Integer> rondaDe = new HashMap<>(m * 2);
+            int slots = n % 2 == 0 ? n : n + 1;   // n impar: el último slot es el descanso
+            int[] rueda = new int[slots];
+            for (int i = 0; i < slots; i++) rueda[i] = i;
+            for (int k = 0; k < rondas; k++) {
+                for (int i = 0; i < slots / 2; i++) {
+                    int a = rueda[i], b = rueda[slots - 1 - i];
+                    if (a < n && b < n) rondaDe.put(par(Math.min(a, b), Math.max(a, b), n), k);
+                }
+                int ultimo = rueda[slots - 1];
+                System.arraycopy(rueda, 1, rueda, 2, slots - 2);
+                rueda[1] = ultimo;
+            }
+            int[] out = new int[m];
+            for (int k = 0; k < m; k++) {
+                out[k] = rondaDe.get(par(Math.min(local[k], visita[k]), Math.max(local[k], visita[k]), n));
+            }
+            return out;
+        }
+
+        /** Marca los días a menos de {@code diasDescanso} de una partida ya agendada del equipo. */
+        private void bloquear(int equipo, LocalDate fecha) {
+            long d = ChronoUnit.DAYS.between(desde, fecha);
+            long ini = Math.max(0, d - diasDescanso), fin = Math.min(dias - 1, d + diasDescanso);
+            for (long x = ini; x <= fin; x++) bloqueado[equipo * dias + (int) x] = true;
+        }
+
+        /** Descarta lo imposible sin buscar: capacidad total y días disponibles de cada equipo. */
+        private void exigirPosible(long capacidadTotal) {
+            if (capacidadTotal < local.length)
+                throw new IllegalStateException("Hay " + local.length + " partidas pendientes y entre " + desde
+                        + " y " + hasta + " solo caben " + capacidadTotal + " (partidas por día o árbitros libres)");
+            for (int e = 0; e < equipos.length; e++) {
+                int caben = 0;
+                for (int d = 0; d < dias; d++) {
+                    if (bloqueado[e * dias + d]) continue;
+                    caben++;
+                    d += diasDescanso;
+                }
+                if (caben < partidasDe[e].length)
+                    throw new IllegalStateException("El equipo " + equipos[e].getNombre() + " necesita "
+                            + partidasDe[e].length + " partidas y entre " + desde + " y " + hasta + " solo le caben "
+                            + caben + " con " + diasDescanso + " días de descanso");
+            }
+        }
+
+        /** @return partidas pendientes a planificar. */
+        public int getPartidas() { return local.length; }
+
+        /**
+         * Busca en paralelo un calendario que cumpla todas las restricciones.
+         *
+         * @return citas (fecha, equipos y árbitro) en orden cronológico; vacía si no hay pendientes
+         * @throws IllegalStateException si no se encontró un calendario en el tiempo máximo
+         */
+        public List<Agenda.Cita> resolver() {
+            if (local.length == 0) return List.of();
+            AtomicBoolean resuelto = new AtomicBoolean();
+            long limite = System.nanoTime() + tiempoMaximo.toNanos();
+            int[] dia;
+            if (hilos == 1) {
+                dia = new Busqueda(this, 1, resuelto, limite).ejecutar();
+            } else {
+                List<Callable<int[]>> tareas = new ArrayList<>(hilos);
+                for (int h = 0; h < hilos; h++) {
+                    long semilla = 1 + h;
+                    tareas.add(() -> new Busqueda(this, semilla, resuelto, limite).ejecutar());
+                }
+                ForkJoinPool pool = new ForkJoinPool(hilos);
+                try {
+                    dia = null;
+                    for (Future<int[]> f : pool.invokeAll(tareas)) {
+                        int[] r = f.get();
+                        if (r != null) { dia = r; break; }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Búsqueda de calendario interrumpida", e);
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Falló la búsqueda de calendario", e.getCause());
+                } finally {
+                    pool.shutdownNow();
+                }
+            }
+            if (dia == null)
+                throw new IllegalStateException("No se encontró un calendario para " + local.length + " partidas en "
+                        + tiempoMaximo.toSeconds() + " s: pruebe con más días, más partidas por día o menos descanso");
+            return citas(dia);
+        }
+
+        /** Arma las citas y reparte los árbitros de cada día, primero los menos usados en el plan. */
+        private List<Agenda.Cita> citas(int[] dia) {
+            List<List<Integer>> porDia = new ArrayList<>(dias);
+            for (int d = 0; d < dias; d++) porDia.add(new ArrayList<>());
+            for (int k = 0; k < dia.length; k++) porDia.get(dia[k]).add(k);
+            Map<Arbitro, Integer> usos = new IdentityHashMap<>();
+            List<Agenda.Cita> out = new ArrayList<>(dia.length);
+            for (int d = 0; d < dias; d++) {
+                List<Integer> partidas = porDia.get(d);
+                if (partidas.isEmpty()) continue;
+                Arbitro[] candidatos = libres[d].clone();
+                Arrays.sort(candidatos, Comparator.comparingInt(a -> usos.getOrDefault(a, 0)));  // estable
+                LocalDate fecha = desde.plusDays(d);
+                for (int i = 0; i < partidas.size(); i++) {
+                    int k = partidas.get(i);
+                    usos.merge(candidatos[i], 1, Integer::sum);
+                    out.add(new Agenda.Cita(fecha, equipos[local[k]], equipos[visita[k]], candidatos[i]));
+                }
+            }
+            return out;
+        }
+    }
+
+    private static long par(int i, int j, int n) { return (long) i * n + j; }
+
+    // ------------------------
+    // Búsqueda local
+    // ------------------------
+
+    /** Una búsqueda de mínimos conflictos con tabú (una por hilo, con su propio estado). */
+    private final class Busqueda {
+        private final Problema p;
+        private final SplittableRandom rnd;
+        private final AtomicBoolean resuelto;
+        private final long limite;
+        private final int dias, r;
+
+        private final int[] dia;
+        /** Equipo × día: partidas del plan. */
+        private final int[] ocupacion;
+        private final int[] carga;
+        /** Día al que la partida no puede volver hasta la iteración {@link #tabuHasta}. */
+        private final int[] tabuDia;
+        private final long[] tabuHasta;
+
+        /** Partidas a revisar: fuera de la pila, toda partida tiene costo 0. */
+        private final int[] pila;
+        private final boolean[] enPila;
+        private int tope;
+
+        Busqueda(Problema p, long semilla, AtomicBoolean resuelto, long limite) {
+            this.p = p;
+            this.rnd = new SplittableRandom(semilla);
+            this.resuelto = resuelto;
+            this.limite = limite;
+            this.dias = p.dias;
+            this.r = diasDescanso;
+            int m = p.local.length;
+            dia = new int[m];
+            ocupacion = new int[p.equipos.length * dias];
+            carga = new int[dias];
+            tabuDia = new int[m];
+            Arrays.fill(tabuDia, -1);
+            tabuHasta = new long[m];
+            pila = new int[m];
+            enPila = new boolean[m];
+        }
+
+        /** @return día de cada partida, o null si otra búsqueda ganó o se acabó el tiempo */
+        int[] ejecutar() {
+            inicial();
+            long iter = 0;
+            while (tope > 0) {
+                if ((++iter & 1023) == 0 && (resuelto.get() || System.nanoTime() > limite)) return null;
+                int i = rnd.nextInt(tope);
+                int m = pila[i];
+                pila[i] = pila[--tope];
+                enPila[m] = false;
+                int d0 = dia[m];
+                quitar(m);
+                int c0 = costo(m, d0);
+                if (c0 == 0) {
+                    poner(m, d0);
+                    continue;
+                }
+                mover(m, d0, c0, iter);
+            }
+            return resuelto.compareAndSet(false, true) ? dia : null;
+        }
+
+        /**
+         * Asignación inicial: las rondas, en un orden al azar, ocupan tramos consecutivos de la ventana; cada
+         * partida va al día de su tramo con lugar y menos conflictos (o al mejor de toda la ventana si el tramo
+         * está lleno).
+         */
+        private void inicial() {
+            int[] posicion = mezcla(p.rondas);
+            int m = dia.length;
+            List<List<Integer>> porRonda = new ArrayList<>(p.rondas);
+            for (int k = 0; k < p.rondas; k++) porRonda.add(new ArrayList<>());
+            for (int k = 0; k < m; k++) porRonda.get(posicion[p.ronda[k]]).add(k);
+            for (int pos = 0; pos < p.rondas; pos++) {
+                int ini = (int) ((long) pos * dias / p.rondas);
+                int fin = Math.max(ini, (int) ((long) (pos + 1) * dias / p.rondas) - 1);
+                for (int k : porRonda.get(pos)) {
+                    int d = mejorDiaEntre(k, ini, fin);
+                    if (d < 0) d = mejorDia(k, -1, 0);
+                    poner(k, d);
+                    pila[tope++] = k;
+                    enPila[k] = true;
+                }
+            }
+        }
+
+        /** @return permutación al azar de {@code 0..n-1} */
+        private int[] mezcla(int n) {
+            int[] orden = new int[n];
+            for (int i = 0; i < n; i++) orden[i] = i;
+            for (int i = n - 1; i > 0; i--) {
+                int j = rnd.nextInt(i + 1);
+                int t = orden[i]; orden[i] = orden[j]; orden[j] = t;
+            }
+            return orden;
+        }
+
+        /** @return el día de {@code [ini, fin]} con lugar y menos conflictos para {@code m}; -1 si no hay */
+        private int mejorDiaEntre(int m, int ini, int fin) {
+            int mejor = -1, mejorCosto = Integer.MAX_VALUE, empates = 0;
+            for (int d = ini; d <= fin; d++) {
+                if (carga[d] >= p.capacidad[d]) continue;
+                int c = costo(m, d);
+                if (c < mejorCosto) {
+                    mejor = d;
+                    mejorCosto = c;
+                    empates = 1;
+                } else if (c == mejorCosto && rnd.nextInt(++empates) == 0) {
+                    mejor = d;
+                }
+            }
+            return mejor;
+        }
+
+        /** Repara la partida {@code m} (ya quitada de {@code d0}, con costo {@code c0} allí). */
+        private void mover(int m, int d0, int c0, long iter) {
+            int destino;
+            int otra = -1;
+            if (rnd.nextDouble() < RUIDO) {
+                destino = diaAlAzarConLugar(d0);
+                if (destino < 0) destino = d0;
+            } else {
+                int libre = mejorDia(m, d0, iter);
+                int costoLibre = libre < 0 ? Integer.MAX_VALUE : costo(m, libre) - c0;
+                // Intercambios: pueden destrabar días llenos.
+                int mejorDelta = costoLibre, mejorOtra = -1;
+                int empates = 1;
+                for (int s = 0; s < MUESTRA_INTERCAMBIOS; s++) {
+                    int x = rnd.nextInt(dia.length);
+                    int dx = dia[x];
+                    if (x == m || dx == d0 || tabu(m, dx, iter)) continue;
+                    int delta = deltaIntercambio(m, d0, c0, x, dx);
+                    if (delta < mejorDelta) {
+                        mejorDelta = delta;
+                        mejorOtra = x;
+                        empates = 1;
+                    } else if (delta == mejorDelta && mejorOtra >= 0 && rnd.nextInt(++empates) == 0) {
+                        mejorOtra = x;
+                    }
+                }
+                if (mejorOtra >= 0) {
+                    otra = mejorOtra;
+                    destino = dia[otra];
+                } else {
+                    destino = libre >= 0 ? libre : d0;
+                }
+            }
+
+            if (otra >= 0) {
+                quitar(otra);
+                poner(otra, d0);
+                prohibir(otra, destino, iter);
+                revisarVecinas(otra, d0);
+            }
+            poner(m, destino);
+            if (destino != d0) prohibir(m, d0, iter);
+            revisarVecinas(m, destino);
+        }
+
+        /**
+         * @return el día con lugar (distinto de {@code excluir}) con menos conflictos para {@code m}, sin los
+         *         tabú salvo que no tengan conflictos; -1 si no hay
+         */
+        private int mejorDia(int m, int excluir, long iter) {
+            int a = p.local[m], b = p.visita[m];
+            int baseA = a * dias, baseB = b * dias;
+            // Ventanas [d - r, d + r] por suma deslizante.
+            int va = 0, vb = 0;
+            for (int x = 0; x <= Math.min(r, dias - 1); x++) { va += ocupacion[baseA + x]; vb += ocupacion[baseB + x]; }
+            int mejor = -1, mejorCosto = Integer.MAX_VALUE, empates = 0;
+            for (int d = 0; d < dias; d++) {
+                if (d > 0) {
+                    int entra = d + r, sale = d - r - 1;
+                    if (entra < dias) { va += ocupacion[baseA + entra]; vb += ocupacion[baseB + entra]; }
+                    if (sale >= 0) { va -= ocupacion[baseA + sale]; vb -= ocupacion[baseB + sale]; }
+                }
+                if (d == excluir || carga[d] >= p.capacidad[d]) continue;
+                int c = va + vb + (p.bloqueado[baseA + d] ? 1 : 0) + (p.bloqueado[baseB + d] ? 1 : 0);
+                if (c > 0 && iter > 0 && tabu(m, d, iter)) continue;
+                if (c < mejorCosto) {
+                    mejor = d;
+                    mejorCosto = c;
+                    empates = 1;
+                } else if (c == mejorCosto && rnd.nextInt(++empates) == 0) {
+                    mejor = d;
+                }
+            }
+            return mejor;
+        }
+
+        /** Cambio de costo si {@code m} (quitada de d0) va a dx y {@code x} pasa de dx a d0. */
+        private int deltaIntercambio(int m, int d0, int c0, int x, int dx) {
+            quitar(x);
+            int cxAntes = costo(x, dx);
+            int cm = costo(m, dx);
+            poner(m, dx);
+            int cx = costo(x, d0);
+            quitar(m);
+            poner(x, dx);
+            return cm + cx - c0 - cxAntes;
+        }
+
+        private int diaAlAzarConLugar(int excluir) {
+            int elegido = -1, vistos = 0;
+            for (int d = 0; d < dias; d++) {
+                if (d != excluir && carga[d] < p.capacidad[d] && rnd.nextInt(++vistos) == 0) elegido = d;
+            }
+            return elegido;
+        }
+
+        /** Conflictos de la partida {@code m} si estuviera en el día {@code d} (sin contarse a sí misma). */
+        private int costo(int m, int d) {
+            return costoEquipo(p.local[m], d) + costoEquipo(p.visita[m], d);
+        }
+
+        private int costoEquipo(int e, int d) {
+            int base = e * dias;
+            int c = p.bloqueado[base + d] ? 1 : 0;
+            for (int x = Math.max(0, d - r), fin = Math.min(dias - 1, d + r); x <= fin; x++) c += ocupacion[base + x];
+            return c;
+        }
+
+        /** Vuelve a revisar las partidas de los dos equipos de {@code m} que quedaron cerca de {@code d}. */
+        private void revisarVecinas(int m, int d) {
+            revisarVecinasDe(p.local[m], d);
+            revisarVecinasDe(p.visita[m], d);
+        }
+
+        private void revisarVecinasDe(int e, int d) {
+            for (int k : p.partidasDe[e]) {
+                if (!enPila[k] && Math.abs(dia[k] - d) <= r) {
+                    enPila[k] = true;
+                    pila[tope++] = k;
+                }
+            }
+        }
+
+        private boolean tabu(int m, int d, long iter) { return tabuDia[m] == d && iter < tabuHasta[m]; }
+
+        private void prohibir(int m, int d, long iter) {
+            tabuDia[m] = d;
+            tabuHasta[m] = iter + 8 + rnd.nextInt(8);
+        }
+
+        private void poner(int m, int d) {
+            dia[m] = d;
+            ocupacion[p.local[m] * dias + d]++;
+            ocupacion[p.visita[m] * dias + d]++;
+            carga[d]++;
+        }
+
+        private void quitar(int m) {
+            int d = dia[m];
+            ocupacion[p.local[m] * dias + d]--;
+            ocupacion[p.visita[m] * dias + d]--;
+            carga[d]--;
+        }
+    }
+}
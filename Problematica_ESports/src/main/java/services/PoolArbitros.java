@@ -0,0 +1,385 @@
+package services;
+
+import models.Agenda;
+import models.Arbitro;
+import models.Equipo;
+import models.Partida;
+import models.Torneo;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Pool de árbitros con asignación automática al <b>menos cargado</b>.
+ *
+ * <h2>Responsabilidades</h2>
+ * <ul>
+ *   <li>Registrar árbitros una sola vez (identidad por nombre + apellido, sin distinguir mayúsculas).</li>
+ *   <li>Contar la carga de cada árbitro por día y por semana (lunes a domingo), partiendo de su historial
+ *       {@link Arbitro#getPartidasArbitradas()}.</li>
+ *   <li>Elegir, para una fecha, el árbitro disponible con menos partidas en esa semana.</li>
+ *   <li>Repartir en bloque los árbitros de todas las partidas de una jornada.</li>
+ * </ul>
+ *
+ * <h2>Notas de diseño</h2>
+ * <ul>
+ *   <li>Por cada día consultado se mantiene un montículo ({@link PriorityQueue}) con los árbitros
+ *       <b>libres</b> ese día, ordenado por carga semanal y luego por carga total. Quien llega al tope del
+ *       día o de la semana no vuelve a entrar, así que elegir es sacar la cima: O(log n) amortizado, sin
+ *       apartar y reinsertar a los saturados.</li>
+ *   <li>Las entradas guardan una foto de la carga semanal y de la versión de su semana; cuando la carga
+ *       cambia se sube esa versión, se inserta una entrada nueva en los montículos de los días de esa semana
+ *       y la vieja se descarta al salir (borrado perezoso). Un cambio en otra semana no invalida nada.</li>
+ *   <li>Solo se conservan los montículos de los {@link #MAX_DIAS_EN_CACHE} días consultados más
+ *       recientemente; uno descartado se rehace desde los contadores si se vuelve a consultar.</li>
+ *   <li>Disponible = no supera {@link #getMaxPorDia()} ni {@link #getMaxPorSemana()} y, si hay agenda,
+ *       está libre en ella (cubre partidas asignadas fuera del pool). Un árbitro ocupado en la agenda sale
+ *       del montículo de ese día y vuelve con su próximo cambio de carga.</li>
+ *   <li>No es thread-safe (igual que {@link Torneo}); {@code AppVM} en modo concurrente le asigna un cerrojo propio.</li>
+ * </ul>
+ */
+public class PoolArbitros {
+
+    /** Carga acumulada de un árbitro. */
+    private static final class Carga {
+        final Arbitro arbitro;
+        final int orden;
+        final Map<LocalDate, Integer> porDia = new HashMap<>();
+        final Map<LocalDate, Integer> porSemana = new HashMap<>();
+        /** Lunes → cambios de carga en esa semana (marca las entradas viejas de los días de la semana). */
+        final Map<LocalDate, Integer> versionSemana = new HashMap<>();
+        int total;
+
+        Carga(Arbitro arbitro, int orden) { this.arbitro = arbitro; this.orden = orden; }
+
+        int dia(LocalDate fecha) { return porDia.getOrDefault(fecha, 0); }
+        int semana(LocalDate lunes) { return porSemana.getOrDefault(lunes, 0); }
+        int version(LocalDate lunes) { return versionSemana.getOrDefault(lunes, 0); }
+    }
+
+    /**
+     * Entrada inmutable de un montículo diario (foto de la carga al insertarse). Vale mientras no cambien la
+     * carga ni la versión de su semana; {@code total} solo desempata y puede quedar atrasado por cambios en
+     * otras semanas.
+     */
+    private static final class Entrada {
+        final Carga carga;
+        final int semana;
+        final int version;
+        final int total;
+
+        Entrada(Carga carga, LocalDate lunes) {
+            this.carga = carga;
+            this.semana = carga.semana(lunes);
+            this.version = carga.version(lunes);
+            this.total = carga.total;
+        }
+
+        boolean vigente(LocalDate lunes) {
+            return semana == carga.semana(lunes) && version == carga.version(lunes);
+        }
+    }
+
+    /** Montículos diarios que se conservan; el consultado hace más tiempo se descarta y se rehace si vuelve. */
+    static final int MAX_DIAS_EN_CACHE = 64;
+
+    private static final Comparator<Entrada> MENOS_CARGADO = Comparator
+            .comparingInt((Entrada e) -> e.semana)
+            .thenComparingInt(e -> e.total)
+            .thenComparingInt(e -> e.carga.orden);
+
+    private final Agenda agenda;
+    private final int maxPorDia;
+    private final int maxPorSemana;
+
+    private final Map<String, Carga> porNombre = new LinkedHashMap<>();
+    private final Map<Arbitro, Carga> cargas = new IdentityHashMap<>();
+    /**
+     * Árbitros libres de los días consultados hace menos tiempo (por debajo de los topes del día y de la
+     * semana), como mucho {@link #MAX_DIAS_EN_CACHE}.
+     */
+    private final Map<LocalDate, PriorityQueue<Entrada>> libresPorDia =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<LocalDate, PriorityQueue<Entrada>> eldest) {
+                    return size() > MAX_DIAS_EN_CACHE;
+                }
+            };
+
+    /** Pool sin agenda externa: una partida por día y sin tope semanal. */
+    public PoolArbitros() { this(null, 1, Integer.MAX_VALUE); }
+
+    /** Pool que además consulta una agenda (p. ej. la global) para saber si el árbitro está libre. */
+    public PoolArbitros(Agenda agenda) { this(agenda, 1, Integer.MAX_VALUE); }
+
+    /**
+     * @param agenda       agenda a consultar (puede ser null)
+     * @param maxPorDia    partidas máximas por árbitro y día (mínimo 1)
+     * @param maxPorSemana partidas máximas por árbitro y semana (mínimo 1)
+     */
+    public PoolArbitros(Agenda agenda, int maxPorDia, int maxPorSemana) {
+        if (maxPorDia < 1 || maxPorSemana < 1) throw new IllegalArgumentException("Los topes deben ser >= 1");
+        this.agenda = agenda;
+        this.maxPorDia = maxPorDia;
+        this.maxPorSemana = maxPorSemana;
+    }
+
+    public int getMaxPorDia() { return maxPorDia; }
+    public int getMaxPorSemana() { return maxPorSemana; }
+
+    // ------------------------
+    // Registro
+    // ------------------------
+
+    /**
+     * Registra un árbitro por nombre y apellido; si ya existe uno con la misma identidad lo retorna.
+     * @throws IllegalArgumentException si nombre o apellido son nulos o están en blanco
+     */
+    public Arbitro registrar(String nombre, String apellido) {
+        if (nombre == null || nombre.isBlank() || apellido == null || apellido.isBlank())
+            throw new IllegalArgumentException("Nombre y apellido del árbitro son obligatorios");
+        Carga c = porNombre.get(clave(nombre, apellido));
+        return c != null ? c.arbitro : agregar(new Arbitro(nombre, apellido)).arbitro;
+    }
+
+    /**
+     * Incorpora un árbitro ya creado. Su carga inicial se calcula a partir de su historial.
+     * @return el árbitro del pool con esa identidad (el existente si ya estaba)
+     */
+    public Arbitro registrar(Arbitro arbitro) {
+        Objects.requireNonNull(arbitro, "arbitro");
+        Carga c = cargas.get(arbitro);
+        if (c == null) c = porNombre.get(clave(arbitro.getNombre(), arbitro.getApellido()));
+        return c != null ? c.arbitro : agregar(arbitro).arbitro;
+    }
+
+    private Carga agregar(Arbitro arbitro) {
+        Carga c = new Carga(arbitro, porNombre.size());
+        for (Partida p : arbitro.getPartidasArbitradas()) sumar(c, p.getFecha());
+        porNombre.put(clave(arbitro.getNombre(), arbitro.getApellido()), c);
+        cargas.put(arbitro, c);
+        for (Map.Entry<LocalDate, PriorityQueue<Entrada>> e : libresPorDia.entrySet()) {
+            LocalDate fecha = e.getKey();
+            if (bajoTopes(c, fecha, lunes(fecha))) e.getValue().add(new Entrada(c, lunes(fecha)));
+        }
+        return c;
+    }
+
+    /** @return árbitros registrados (orden de alta). */
+    public List<Arbitro> getArbitros() {
+        List<Arbitro> lista = new ArrayList<>(porNombre.size());
+        for (Carga c : porNombre.values()) lista.add(c.arbitro);
+        return Collections.unmodifiableList(lista);
+    }
+
+    public int size() { return porNombre.size(); }
+
+    public boolean isEmpty() { return porNombre.isEmpty(); }
+
+    /** @return partidas del árbitro en ese día según el pool. */
+    public int getCargaDia(Arbitro arbitro, LocalDate fecha) {
+        Carga c = cargas.get(arbitro);
+        return c == null ? 0 : c.dia(fecha);
+    }
+
+    /** @return partidas del árbitro en la semana (lunes a domingo) que contiene la fecha. */
+    public int getCargaSemana(Arbitro arbitro, LocalDate fecha) {
+        Carga c = cargas.get(arbitro);
+        return c == null ? 0 : c.semana(lunes(fecha));
+    }
+
+    // ------------------------
+    // Asignación
+    // ------------------------
+
+    /**
+     * Devuelve el árbitro disponible menos cargado en la semana de {@code fecha}, <b>sin</b> registrar la
+     * carga (ver {@link #contabilizar(Partida)} y {@link #programar}).
+     *
+     * @throws IllegalStateException si ningún árbitro está disponible ese día
+     */
+    public Arbitro elegir(LocalDate fecha) {
+        Objects.requireNonNull(fecha, "fecha");
+        List<Carga> elegidos = tomarDisponibles(fecha, 1);
+        if (elegidos.isEmpty()) throw new IllegalStateException("No hay árbitros disponibles el " + fecha);
+        devolver(fecha, elegidos);
+        return elegidos.get(0).arbitro;
+    }
+
+    /**
+     * Devuelve {@code cantidad} árbitros distintos disponibles en la fecha, los menos cargados de la semana
+     * primero, <b>sin</b> registrar la carga (como {@link #elegir(LocalDate)}, para un lote de partidas del
+     * mismo día).
+     *
+     * @throws IllegalStateException si no hay tantos árbitros disponibles ese día
+     */
+    public List<Arbitro> elegir(LocalDate fecha, int cantidad) {
+        Objects.requireNonNull(fecha, "fecha");
+        List<Carga> elegidos = tomarDisponibles(fecha, cantidad);
+        devolver(fecha, elegidos);
+        if (elegidos.size() < cantidad)
+            throw new IllegalStateException("Solo hay " + elegidos.size() + " árbitros disponibles el " + fecha
+                    + " para " + cantidad + " partidas");
+        List<Arbitro> out = new ArrayList<>(cantidad);
+        for (Carga c : elegidos) out.add(c.arbitro);
+        return out;
+    }
+
+    /**
+     * Programa una partida en el torneo con el árbitro menos cargado y registra su carga.
+     *
+     * @throws IllegalStateException si no hay árbitro disponible o el torneo rechaza la partida
+     */
+    public Partida programar(Torneo torneo, LocalDate fecha, Equipo e1, Equipo e2) {
+        Objects.requireNonNull(torneo, "torneo");
+        Partida p = torneo.programarPartida(fecha, e1, e2, elegir(fecha));
+        contabilizar(p);
+        return p;
+    }
+
+    /**
+     * Modo jornada: reparte en bloque los árbitros de todas las partidas de un día. Se toman los
+     * {@code enfrentamientos.size()} árbitros disponibles menos cargados de la semana (uno distinto por
+     * partida), se valida el lote completo contra el torneo y solo entonces se programa.
+     *
+     * @param enfrentamientos pares {equipo1, equipo2}
+     * @return partidas creadas, en el mismo orden
+     * @throws IllegalStateException si no hay suficientes árbitros disponibles o el lote tiene conflictos
+     *                               (en ese caso no se programa ninguna)
+     */
+    public List<Partida> programarJornada(Torneo torneo, LocalDate fecha, List<Equipo[]> enfrentamientos) {
+        Objects.requireNonNull(torneo, "torneo");
+        Objects.requireNonNull(fecha, "fecha");
+        int m = enfrentamientos.size();
+        List<Carga> elegidos = tomarDisponibles(fecha, m);
+        devolver(fecha, elegidos);
+        if (elegidos.size() < m)
+            throw new IllegalStateException("Solo hay " + elegidos.size() + " árbitros disponibles el " + fecha
+                    + " para " + m + " partidas");
+
+        List<Agenda.Cita> citas = new ArrayList<>(m);
+        for (int i = 0; i < m; i++) {
+            Equipo[] par = enfrentamientos.get(i);
+            citas.add(new Agenda.Cita(fecha, par[0], par[1], elegidos.get(i).arbitro));
+        }
+        List<Agenda.Conflicto> conflictos = torneo.validarCalendario(citas);
+        if (!conflictos.isEmpty())
+            throw new IllegalStateException("Jornada inválida: " + conflictos.get(0));
+
+        List<Partida> creadas = new ArrayList<>(m);
+        for (Agenda.Cita c : citas) {
+            Partida p = torneo.programarPartida(c.getFecha(), c.getEquipo1(), c.getEquipo2(), c.getArbitro());
+            contabilizar(p);
+            creadas.add(p);
+        }
+        return creadas;
+    }
+
+    /**
+     * Suma al árbitro de la partida una unidad de carga en su día y semana. Úsalo para partidas cuyo árbitro
+     * se eligió fuera de {@link #programar} (si el árbitro no estaba en el pool, se incorpora).
+     */
+    public void contabilizar(Partida partida) {
+        Arbitro a = partida.getArbitro();
+        if (a == null) return;
+        Carga c = cargas.get(a);
+        if (c == null) {
+            registrar(a); // su historial ya incluye esta partida
+            return;
+        }
+        sumar(c, partida.getFecha());
+        reindexar(c, partida.getFecha());
+    }
+
+    /**
+     * Resta la carga que {@link #contabilizar} o {@link #programar} sumaron por la partida. Úsalo antes de
+     * cancelarla o de cambiarle la fecha (y vuelve a contabilizarla tras reprogramarla).
+     */
+    public void descontar(Partida partida) {
+        Arbitro a = partida.getArbitro();
+        Carga c = a == null ? null : cargas.get(a);
+        if (c == null || c.dia(partida.getFecha()) == 0) return;
+        LocalDate lunes = lunes(partida.getFecha());
+        c.porDia.computeIfPresent(partida.getFecha(), (k, v) -> v == 1 ? null : v - 1);
+        c.porSemana.computeIfPresent(lunes, (k, v) -> v == 1 ? null : v - 1);
+        c.total--;
+        reindexar(c, partida.getFecha()); // las entradas anteriores quedan viejas
+    }
+
+    // ------------------------
+    // Internos
+    // ------------------------
+
+    /**
+     * Saca del montículo del día hasta {@code cantidad} árbitros disponibles (los menos cargados primero).
+     * Los elegidos los reinserta {@link #devolver}; los ocupados en la agenda quedan fuera de ese día.
+     */
+    private List<Carga> tomarDisponibles(LocalDate fecha, int cantidad) {
+        LocalDate lunes = lunes(fecha);
+        PriorityQueue<Entrada> heap = libres(fecha);
+        List<Carga> elegidos = new ArrayList<>(cantidad);
+        Set<Carga> vistos = Collections.newSetFromMap(new IdentityHashMap<>());
+        while (elegidos.size() < cantidad && !heap.isEmpty()) {
+            Entrada e = heap.poll();
+            Carga c = e.carga;
+            if (!e.vigente(lunes) || !vistos.add(c)) continue; // vieja o duplicada
+            if (agenda == null || agenda.estaLibre(c.arbitro, fecha)) elegidos.add(c);
+        }
+        return elegidos;
+    }
+
+    private void devolver(LocalDate fecha, List<Carga> elegidos) {
+        LocalDate lunes = lunes(fecha);
+        PriorityQueue<Entrada> heap = libres(fecha);
+        for (Carga c : elegidos) heap.add(new Entrada(c, lunes));
+    }
+
+    /**
+     * Tras un cambio de carga en {@code fecha}, sube la versión de esa semana (las entradas de sus días
+     * quedan viejas) e inserta la foto nueva del árbitro en los montículos ya creados de los días de la semana
+     * en los que sigue bajo los topes. Las entradas de otras semanas siguen vigentes.
+     */
+    private void reindexar(Carga c, LocalDate fecha) {
+        LocalDate lunes = lunes(fecha);
+        c.versionSemana.merge(lunes, 1, Integer::sum);
+        for (int d = 0; d < 7; d++) {
+            LocalDate dia = lunes.plusDays(d);
+            PriorityQueue<Entrada> heap = libresPorDia.get(dia);
+            if (heap != null && bajoTopes(c, dia, lunes)) heap.add(new Entrada(c, lunes));
+        }
+    }
+
+    private boolean bajoTopes(Carga c, LocalDate fecha, LocalDate lunes) {
+        return c.dia(fecha) < maxPorDia && c.semana(lunes) < maxPorSemana;
+    }
+
+    private PriorityQueue<Entrada> libres(LocalDate fecha) {
+        PriorityQueue<Entrada> heap = libresPorDia.get(fecha);
+        if (heap == null) {
+            LocalDate lunes = lunes(fecha);
+            List<Entrada> todas = new ArrayList<>(cargas.size());
+            for (Carga c : porNombre.values()) {
+                if (bajoTopes(c, fecha, lunes)) todas.add(new Entrada(c, lunes));
+            }
+            heap = new PriorityQueue<>(Math.max(1, todas.size()), MENOS_CARGADO);
+            heap.addAll(todas);
+            libresPorDia.put(fecha, heap);
+        }
+        return heap;
+    }
+
+    private static void sumar(Carga c, LocalDate fecha) {
+        c.porDia.merge(fecha, 1, Integer::sum);
+        c.porSemana.merge(lunes(fecha), 1, Integer::sum);
+        c.total++;
+    }
+
+    private static LocalDate lunes(LocalDate fecha) {
+        return fecha.with(DayOfWeek.MONDAY);
+    }
+
+    private static String clave(String nombre, String apellido) {
+        return nombre.trim().toLowerCase(Locale.ROOT) + '\u0000' + apellido.trim().toLowerCase(Locale.ROOT);
+    }
+}
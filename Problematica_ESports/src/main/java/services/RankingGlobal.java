@@ -0,0 +1,285 @@
+package services;
+
+import models.Jugador;
+import models.ObservadorRanking;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tabla de clasificación global de jugadores, siempre ordenada por ranking (desc.).
+ *
+ * <h2>Responsabilidades</h2>
+ * <ul>
+ *   <li>Responder top-K, "¿en qué puesto está X?" y consultas por rango de ranking en O(log n)
+ *       (+ K elementos devueltos), sin recorrer las plantillas ni ordenar en cada consulta.</li>
+ *   <li>Actualizarse <b>en el lugar</b> cuando cambia {@link Jugador#setRanking(int)} (es un
+ *       {@link ObservadorRanking} de cada jugador incorporado).</li>
+ * </ul>
+ *
+ * <h2>Notas de diseño</h2>
+ * <ul>
+ *   <li>Árbol de estadísticos de orden: un <i>treap</i> con tamaño de subárbol en cada nodo.</li>
+ *   <li>Orden: ranking descendente; a igual ranking, orden de incorporación (el más antiguo primero).</li>
+ *   <li>Thread-safe: cada operación toma el monitor de la tabla (son O(log n), la sección crítica es corta).
+ *       Al recibir un aviso reubica al jugador según su ranking <i>vigente</i>, así los avisos que lleguen
+ *       desordenados desde varios hilos no dejan la tabla desactualizada.</li>
+ * </ul>
+ */
+public class RankingGlobal implements ObservadorRanking {
+
+    private static final class Nodo {
+        final Jugador jugador;
+        final long secuencia;
+        final int prioridad = ThreadLocalRandom.current().nextInt();
+        int ranking;
+        int tam = 1;
+        Nodo izq, der;
+
+        Nodo(Jugador jugador, long secuencia) {
+            this.jugador = jugador;
+            this.secuencia = secuencia;
+            this.ranking = jugador.getRanking();
+        }
+    }
+
+    private final Map<Jugador, Nodo> nodos = new IdentityHashMap<>();
+    private Nodo raiz;
+    private long secuencia;
+
+    // ------------------------
+    // Altas y bajas
+    // ------------------------
+
+    /**
+     * Incorpora un jugador (si no estaba) y empieza a observar su ranking.
+     * @return true si se incorporó; false si ya estaba
+     */
+    public synchronized boolean agregar(Jugador jugador) {
+        Objects.requireNonNull(jugador, "jugador");
+        if (nodos.containsKey(jugador)) return false;
+        Nodo n = new Nodo(jugador, secuencia++);
+        nodos.put(jugador, n);
+        raiz = insertar(raiz, n);
+        jugador.agregarObservador(this);
+        return true;
+    }
+
+    /**
+     * Quita un jugador de la tabla y deja de observarlo.
+     * @return true si estaba
+     */
+    public synchronized boolean quitar(Jugador jugador) {
+        Nodo n = nodos.remove(jugador);
+        if (n == null) return false;
+        raiz = borrar(raiz, n);
+        jugador.quitarObservador(this);
+        return true;
+    }
+
+    /**
+     * Rehace el orden de incorporación (el que decide los empates) según {@code orden}, que debe tener
+     * exactamente los jugadores de la tabla. Sirve para cargar una instantánea por equipos y dejar la tabla
+     * como estaba.
+     * @throws IllegalArgumentException si {@code orden} no coincide con los jugadores de la tabla
+     */
+    public synchronized void restaurarOrdenDeAlta(List<Jugador> orden) {
+        if (orden.size() != nodos.size()) throw new IllegalArgumentException("El orden no cubre la tabla");
+        for (Jugador j : orden) {
+            if (!nodos.containsKey(j)) throw new IllegalArgumentException("El jugador no está en la tabla: " + j);
+        }
+        raiz = null;
+        secuencia = 0;
+        for (Jugador j : orden) {
+            Nodo n = new Nodo(j, secuencia++);
+            nodos.put(j, n);
+            raiz = insertar(raiz, n);
+        }
+    }
+
+    @Override
+    public synchronized void rankingCambiado(Jugador jugador, int anterior, int nuevo) {
+        Nodo n = nodos.get(jugador);
+        int vigente = jugador.getRanking();
+        if (n == null || n.ranking == vigente) return;
+        raiz = borrar(raiz, n);
+        n.ranking = vigente;
+        n.izq = n.der = null;
+        n.tam = 1;
+        raiz = insertar(raiz, n);
+    }
+
+    // ------------------------
+    // Consultas
+    // ------------------------
+
+    /**
+     * @return jugadores de la tabla en orden de incorporación (el que decide los empates); sirve para
+     *         reconstruir la tabla idéntica, por ejemplo desde una instantánea
+     */
+    public synchronized List<Jugador> enOrdenDeAlta() {
+        Nodo[] orden = nodos.values().toArray(new Nodo[0]);
+        Arrays.sort(orden, Comparator.comparingLong((Nodo n) -> n.secuencia));
+        List<Jugador> out = new ArrayList<>(orden.length);
+        for (Nodo n : orden) out.add(n.jugador);
+        return out;
+    }
+
+    /** @return cantidad de jugadores en la tabla. */
+    public synchronized int size() { return tam(raiz); }
+
+    /** @return los {@code k} mejores jugadores, en orden. */
+    public synchronized List<Jugador> top(int k) {
+        List<Jugador> out = new ArrayList<>(Math.max(0, Math.min(k, size())));
+        recolectar(raiz, 0, k, out);
+        return out;
+    }
+
+    /**
+     * @return puesto del jugador (1 = primero)
+     * @throws NoSuchElementException si el jugador no está en la tabla
+     */
+    public synchronized int posicion(Jugador jugador) {
+        Nodo n = nodos.get(jugador);
+        if (n == null) throw new NoSuchElementException("El jugador no está en la tabla: " + jugador);
+        return antesDe(n.ranking, n.secuencia) + 1;
+    }
+
+    /**
+     * @param puesto puesto 1..size()
+     * @return jugador en ese puesto
+     * @throws IndexOutOfBoundsException si el puesto está fuera de rango
+     */
+    public synchronized Jugador enPosicion(int puesto) {
+        if (puesto < 1 || puesto > size()) throw new IndexOutOfBoundsException("Puesto fuera de rango: " + puesto);
+        int i = puesto - 1;
+        Nodo x = raiz;
+        while (true) {
+            int izq = tam(x.izq);
+            if (i < izq) x = x.izq;
+            else if (i == izq) return x.jugador;
+            else { i -= izq + 1; x = x.der; }
+        }
+    }
+
+    /** @return cantidad de jugadores con ranking en {@code [min, max]} (O(log n)). */
+    public synchronized int contarEnRango(int min, int max) {
+        if (min > max) return 0;
+        return antesDe(min, Long.MAX_VALUE) - antesDe(max, -1);
+    }
+
+    /**
+     * @return jugadores con ranking en {@code [min, max]}, de mayor a menor, hasta {@code limite}
+     */
+    public synchronized List<Jugador> enRango(int min, int max, int limite) {
+        if (min > max || limite <= 0) return new ArrayList<>();
+        int desde = antesDe(max, -1);
+        int cuantos = Math.min(limite, contarEnRango(min, max));
+        List<Jugador> out = new ArrayList<>(cuantos);
+        recolectar(raiz, desde, desde + cuantos, out);
+        return out;
+    }
+
+    // ------------------------
+    // Treap
+    // ------------------------
+
+    /** @return true si (r1, s1) va antes que (r2, s2): ranking mayor primero, luego secuencia menor. */
+    private static boolean antes(int r1, long s1, int r2, long s2) {
+        return r1 != r2 ? r1 > r2 : s1 < s2;
+    }
+
+    /** @return cuántos nodos van estrictamente antes de la clave (ranking, secuencia). */
+    private int antesDe(int ranking, long sec) {
+        int cuenta = 0;
+        Nodo x = raiz;
+        while (x != null) {
+            if (antes(x.ranking, x.secuencia, ranking, sec)) {
+                cuenta += tam(x.izq) + 1;
+                x = x.der;
+            } else {
+                x = x.izq;
+            }
+        }
+        return cuenta;
+    }
+
+    /** Agrega a {@code out} los nodos con índice en [desde, hasta) en orden, podando subárboles. */
+    private static void recolectar(Nodo x, int desde, int hasta, List<Jugador> out) {
+        recolectar(x, desde, 0, hasta, out);
+    }
+
+    private static int recolectar(Nodo x, int desde, int offset, int hasta, List<Jugador> out) {
+        if (x == null || offset >= hasta) return offset;
+        int izq = tam(x.izq);
+        if (offset + izq > desde) recolectar(x.izq, desde, offset, hasta, out);
+        int idx = offset + izq;
+        if (idx >= desde && idx < hasta) out.add(x.jugador);
+        if (idx + 1 < hasta) recolectar(x.der, desde, idx + 1, hasta, out);
+        return offset + x.tam;
+    }
+
+    /**
+     * Baja por la clave hasta el primer nodo de menor prioridad y solo ahí divide: el subárbol que se divide
+     * es pequeño en promedio (O(1) esperado), en vez de dividir el árbol entero desde la raíz.
+     */
+    private static Nodo insertar(Nodo t, Nodo n) {
+        if (t == null) return n;
+        if (n.prioridad > t.prioridad) {
+            Nodo[] partes = dividir(t, n.ranking, n.secuencia);
+            n.izq = partes[0];
+            n.der = partes[1];
+            actualizar(n);
+            return n;
+        }
+        if (antes(n.ranking, n.secuencia, t.ranking, t.secuencia)) t.izq = insertar(t.izq, n);
+        else t.der = insertar(t.der, n);
+        t.tam++;
+        return t;
+    }
+
+    private static Nodo borrar(Nodo t, Nodo n) {
+        if (t == null) return null;
+        if (t == n) return unir(t.izq, t.der);
+        if (antes(n.ranking, n.secuencia, t.ranking, t.secuencia)) t.izq = borrar(t.izq, n);
+        else t.der = borrar(t.der, n);
+        actualizar(t);
+        return t;
+    }
+
+    /** Divide en [claves antes de (ranking, sec)] y [el resto]. */
+    private static Nodo[] dividir(Nodo t, int ranking, long sec) {
+        if (t == null) return new Nodo[2];
+        if (antes(t.ranking, t.secuencia, ranking, sec)) {
+            Nodo[] d = dividir(t.der, ranking, sec);
+            t.der = d[0];
+            actualizar(t);
+            d[0] = t;
+            return d;
+        } else {
+            Nodo[] d = dividir(t.izq, ranking, sec);
+            t.izq = d[1];
+            actualizar(t);
+            d[1] = t;
+            return d;
+        }
+    }
+
+    private static Nodo unir(Nodo a, Nodo b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.prioridad > b.prioridad) {
+            a.der = unir(a.der, b);
+            actualizar(a);
+            return a;
+        } else {
+            b.izq = unir(a, b.izq);
+            actualizar(b);
+            return b;
+        }
+    }
+
+    private static void actualizar(Nodo x) { x.tam = 1 + tam(x.izq) + tam(x.der); }
+
+    private static int tam(Nodo x) { return x == null ? 0 : x.tam; }
+}
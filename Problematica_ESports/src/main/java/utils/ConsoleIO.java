@@ -6,6 +6,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 /**
@@ -20,6 +21,10 @@ import java.util.function.Function;
  *   boolean ok = io.promptYesNo("¿Confirmar?");
  *   LocalDate f = io.promptDate("Fecha de inicio (yyyy-MM-dd)", "yyyy-MM-dd");
  *   Equipo elegido = io.chooseFrom("Elige un equipo", equipos, Equipo::getNombre);
+ *   Equipo buscado = io.chooseBySearch("Buscar equipo", q -> vm.buscarEquipos(q, 20), Equipo::getNombre);
+ *   io.pagedTable(List.of("Equipo", "#Jugadores"), equipos.iterator(),
+ *           (e, celdas) -> { celdas[0] = e.getNombre(); celdas[1] = String.valueOf(e.getCantidadJugadores()); },
+ *           ConsoleIO.DEFAULT_PAGE_SIZE, true);
  */
 public class ConsoleIO {
 
@@ -33,6 +38,9 @@ public class ConsoleIO {
     public static final String ANSI_CYAN   = "\u001B[36m";
     public static final String ANSI_GRAY   = "\u001B[90m";
 
+    /** Filas por página sugeridas para {@link #pagedTable}. */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
     private final Scanner scanner;
     private final PrintStream out;
     private final boolean ansiEnabled;
@@ -240,14 +248,35 @@ public class ConsoleIO {
         return items.get(opt - 1);
     }
 
+    /**
+     * Selector para listas grandes: pide un texto, muestra las coincidencias de {@code search} y deja elegir
+     * una o volver a buscar (opción 0).
+     */
+    public <T> T chooseBySearch(String prompt, Function<String, List<T>> search, Function<T, String> labeler) {
+        while (true) {
+            String q = promptNonEmpty(prompt + " (nombre o parte)");
+            List<T> items = search.apply(q);
+            if (items.isEmpty()) {
+                warn("Sin coincidencias para \"" + q + "\".");
+                continue;
+            }
+            for (int i = 0; i < items.size(); i++) {
+                String label = labeler != null ? labeler.apply(items.get(i)) : String.valueOf(items.get(i));
+                println(color(String.format("  %d) %s", i + 1, label), ANSI_GRAY));
+            }
+            println(color("  0) Buscar de nuevo", ANSI_GRAY));
+            int opt = promptIntInRange("Seleccione una opción", 0, items.size());
+            if (opt > 0) return items.get(opt - 1);
+        }
+    }
+
     // ===== Tablas simples =====
 
-    /** Imprime una tabla simple con ancho ajustado automáticamente. */
+    /** Imprime una tabla simple con ancho ajustado automáticamente (necesita todas las filas de antemano). */
     public void table(List<String> headers, List<List<String>> rows) {
         if (headers == null || headers.isEmpty()) return;
         int cols = headers.size();
-        int[] w = new int[cols];
-        for (int c = 0; c < cols; c++) w[c] = Math.max(3, headers.get(c).length());
+        int[] w = headerWidths(headers);
         if (rows != null) {
             for (List<String> r : rows) {
                 for (int c = 0; c < cols && c < r.size(); c++) {
@@ -255,23 +284,95 @@ public class ConsoleIO {
                 }
             }
         }
-        // header
         StringBuilder sb = new StringBuilder();
-        for (int c = 0; c < cols; c++) {
-            sb.append(pad(headers.get(c), w[c])).append(c == cols - 1 ? "" : "  ");
-        }
-        println(ANSI_BOLD + sb + ANSI_RESET);
-        // rows
+        appendHeader(sb, headers, w);
         if (rows != null) {
             for (List<String> r : rows) {
-                sb.setLength(0);
                 for (int c = 0; c < cols; c++) {
                     String cell = c < r.size() ? String.valueOf(r.get(c)) : "";
-                    sb.append(pad(cell, w[c])).append(c == cols - 1 ? "" : "  ");
+                    appendCell(sb, cell, w[c], c == cols - 1);
                 }
-                println(sb.toString());
+                sb.append(System.lineSeparator());
             }
         }
+        out.print(sb);
+        out.flush();
+    }
+
+    /**
+     * Tabla por páginas para listados grandes: lee las filas de a una página por vez, sin materializar la
+     * lista completa.
+     *
+     * <ul>
+     *   <li>{@code row} llena las celdas de un elemento en un arreglo de {@code headers.size()} posiciones
+     *       (las que deje en null se imprimen vacías). Los arreglos de la página se reutilizan.</li>
+     *   <li>Los anchos se estiman con la primera página; si una página posterior trae celdas más largas, las
+     *       columnas se ensanchan desde esa página (las ya impresas no cambian).</li>
+     *   <li>Cada página se arma en un búfer y se escribe de una vez.</li>
+     *   <li>Con {@code askBetweenPages}, entre páginas se pregunta si seguir; responder {@code q} deja de leer
+     *       {@code items}.</li>
+     * </ul>
+     *
+     * @return filas impresas
+     * @throws IllegalArgumentException si {@code pageSize < 1}
+     */
+    public <T> int pagedTable(List<String> headers, Iterator<? extends T> items,
+                              BiConsumer<? super T, String[]> row, int pageSize, boolean askBetweenPages) {
+        if (pageSize < 1) throw new IllegalArgumentException("pageSize debe ser >= 1");
+        if (headers == null || headers.isEmpty()) return 0;
+        int cols = headers.size();
+        int[] w = headerWidths(headers);
+        String[][] page = new String[pageSize][cols];
+        StringBuilder sb = new StringBuilder();
+        int printed = 0;
+        boolean first = true;
+        while (first || items.hasNext()) {
+            int n = 0;
+            while (n < pageSize && items.hasNext()) {
+                String[] cells = page[n];
+                Arrays.fill(cells, null);
+                row.accept(items.next(), cells);
+                for (int c = 0; c < cols; c++) w[c] = Math.max(w[c], safe(cells[c]).length());
+                n++;
+            }
+            sb.setLength(0);
+            if (first) appendHeader(sb, headers, w);
+            for (int i = 0; i < n; i++) {
+                String[] cells = page[i];
+                for (int c = 0; c < cols; c++) appendCell(sb, safe(cells[c]), w[c], c == cols - 1);
+                sb.append(System.lineSeparator());
+            }
+            out.print(sb);
+            out.flush();
+            printed += n;
+            first = false;
+            if (askBetweenPages && items.hasNext()) {
+                String s = promptLine(color("Filas 1–" + printed + " · ENTER: siguiente página · q: terminar", ANSI_GRAY));
+                if (s.equalsIgnoreCase("q")) break;
+            }
+        }
+        return printed;
+    }
+
+    private static int[] headerWidths(List<String> headers) {
+        int[] w = new int[headers.size()];
+        for (int c = 0; c < w.length; c++) w[c] = Math.max(3, safe(headers.get(c)).length());
+        return w;
+    }
+
+    private void appendHeader(StringBuilder sb, List<String> headers, int[] w) {
+        if (ansiEnabled) sb.append(ANSI_BOLD);
+        for (int c = 0; c < w.length; c++) appendCell(sb, safe(headers.get(c)), w[c], c == w.length - 1);
+        if (ansiEnabled) sb.append(ANSI_RESET);
+        sb.append(System.lineSeparator());
+    }
+
+    /** Agrega la celda rellenada a {@code w} (sin crear cadenas intermedias). */
+    private static void appendCell(StringBuilder sb, String cell, int w, boolean last) {
+        sb.append(cell);
+        if (last) return;
+        for (int i = cell.length(); i < w; i++) sb.append(' ');
+        sb.append("  ");
     }
 
     // ===== Utilidades internas =====
@@ -284,12 +385,6 @@ public class ConsoleIO {
         return ansiEnabled ? (ansi + safe(s) + ANSI_RESET) : safe(s);
     }
 
-    private static String pad(String s, int w) {
-        String t = s == null ? "" : s;
-        if (t.length() >= w) return t;
-        return t + " ".repeat(w - t.length());
-    }
-
     private static String safe(String s) { return s == null ? "" : s; }
 
     private static String stripAnsi(String s) {
@@ -0,0 +1,232 @@
+package utils;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Índice de búsqueda por texto (nombre, alias) para los selectores: por prefijo y tolerante a errores de
+ * tipeo.
+ *
+ * <h2>Responsabilidades</h2>
+ * <ul>
+ *   <li>Indexar cada valor al darlo de alta ({@link #agregar(Object)}), sin reconstrucciones.</li>
+ *   <li>Devolver las mejores coincidencias de una consulta ({@link #buscar(String, int)}): primero las que
+ *       empiezan con lo tipeado (el texto completo o cualquiera de sus palabras), después las que difieren en
+ *       pocas letras.</li>
+ * </ul>
+ *
+ * <h2>Notas de diseño</h2>
+ * <ul>
+ *   <li>Los textos se comparan normalizados: minúsculas, sin tildes y con los espacios colapsados.</li>
+ *   <li><i>Trie</i> en arreglos paralelos (letra, primer hijo, hermano, entradas), sin un objeto por nodo.
+ *       Cada valor se inserta una vez por comienzo de palabra ({@code "systech cup"} y {@code "cup"}).</li>
+ *   <li>Prefijo: se baja por la consulta (O(largo)) y se recorre el subárbol a lo ancho, así salen primero
+ *       los textos más cortos; el recorrido termina al llegar al límite.</li>
+ *   <li>Errores de tipeo: recorrido en profundidad calculando una fila de la distancia de edición
+ *       (Damerau restringida) por nodo; una rama se poda en cuanto toda su fila supera el máximo
+ *       (1 error con 5 letras o menos, 2 si la consulta es más larga). El costo depende de los nodos
+ *       cercanos a la consulta, no de la cantidad de valores.</li>
+ *   <li>Sin bajas: los repositorios de la aplicación solo agregan.</li>
+ *   <li>Thread-safe: cada operación toma el monitor del índice.</li>
+ * </ul>
+ *
+ * @param <V> tipo de valor
+ */
+public final class IndiceBusqueda<V> {
+
+    /** Largo mínimo de consulta para buscar con errores de tipeo. */
+    static final int LARGO_MINIMO_APROXIMADO = 3;
+
+    private static final int CAPACIDAD_INICIAL = 64;
+    private static final int RAIZ = 0;
+    private static final int NINGUNO = 0;
+
+    private final Function<? super V, String> texto;
+    private final List<V> valores = new ArrayList<>();
+
+    // Nodos del trie (0 = raíz; en hijo/hermano/entrada, 0 = ninguno).
+    private char[] letra = new char[CAPACIDAD_INICIAL];
+    private int[] hijo = new int[CAPACIDAD_INICIAL];
+    private int[] hermano = new int[CAPACIDAD_INICIAL];
+    private int[] entrada = new int[CAPACIDAD_INICIAL];
+    private int nodos = 1;
+
+    // Entradas: valor que termina en un nodo, enlazadas por nodo (la 0 no se usa).
+    private int[] entradaValor = new int[CAPACIDAD_INICIAL];
+    private int[] entradaSiguiente = new int[CAPACIDAD_INICIAL];
+    private int entradas = 1;
+
+    /** @param texto texto por el que se busca cada valor (nombre, alias) */
+    public IndiceBusqueda(Function<? super V, String> texto) {
+        this.texto = Objects.requireNonNull(texto, "texto");
+    }
+
+    /** @return valores indexados */
+    public synchronized int size() { return valores.size(); }
+
+    // ------------------------
+    // Altas
+    // ------------------------
+
+    /** Indexa el valor por su texto (los textos vacíos se ignoran). */
+    public synchronized void agregar(V valor) {
+        String clave = normalizar(texto.apply(valor));
+        if (clave.isEmpty()) return;
+        int id = valores.size();
+        valores.add(valor);
+        for (int i = 0; i < clave.length(); i++) {
+            if (i > 0 && clave.charAt(i - 1) != ' ') continue;
+            int nodo = RAIZ;
+            for (int j = i; j < clave.length(); j++) nodo = hijoOCrear(nodo, clave.charAt(j));
+            if (entradas == entradaValor.length) {
+                entradaValor = Arrays.copyOf(entradaValor, entradas * 2);
+                entradaSiguiente = Arrays.copyOf(entradaSiguiente, entradas * 2);
+            }
+            entradaValor[entradas] = id;
+            entradaSiguiente[entradas] = entrada[nodo];
+            entrada[nodo] = entradas++;
+        }
+    }
+
+    private int hijoOCrear(int nodo, char c) {
+        int h = hijo(nodo, c);
+        if (h != NINGUNO) return h;
+        if (nodos == letra.length) {
+            int cap = nodos * 2;
+            letra = Arrays.copyOf(letra, cap);
+            hijo = Arrays.copyOf(hijo, cap);
+            hermano = Arrays.copyOf(hermano, cap);
+            entrada = Arrays.copyOf(entrada, cap);
+        }
+        h = nodos++;
+        letra[h] = c;
+        hermano[h] = hijo[nodo];
+        hijo[nodo] = h;
+        return h;
+    }
+
+    private int hijo(int nodo, char c) {
+        for (int h = hijo[nodo]; h != NINGUNO; h = hermano[h]) if (letra[h] == c) return h;
+        return NINGUNO;
+    }
+
+    // ------------------------
+    // Búsqueda
+    // ------------------------
+
+    /**
+     * Mejores coincidencias de la consulta: las que empiezan con ella (las más cortas primero), luego las
+     * aproximadas de menor distancia.
+     * @return hasta {@code limite} valores distintos (vacía si la consulta está vacía)
+     * @throws IllegalArgumentException si {@code limite < 1}
+     */
+    public synchronized List<V> buscar(String consulta, int limite) {
+        if (limite < 1) throw new IllegalArgumentException("limite debe ser >= 1");
+        String q = normalizar(consulta);
+        if (q.isEmpty()) return List.of();
+        List<V> out = new ArrayList<>(Math.min(limite, 16));
+        Set<Integer> vistos = new HashSet<>();
+        int nodo = RAIZ;
+        for (int i = 0; i < q.length(); i++) {
+            nodo = hijo(nodo, q.charAt(i));
+            if (nodo == NINGUNO) break;
+        }
+        if (nodo != NINGUNO) recolectar(nodo, limite, vistos, out);
+        if (out.size() < limite && q.length() >= LARGO_MINIMO_APROXIMADO) aproximadas(q, limite, vistos, out);
+        return out;
+    }
+
+    /** Agrega los valores del subárbol de {@code nodo}, a lo ancho, hasta completar {@code limite}. */
+    private void recolectar(int nodo, int limite, Set<Integer> vistos, List<V> out) {
+        int[] cola = new int[16];
+        int ini = 0, fin = 0;
+        cola[fin++] = nodo;
+        while (ini < fin && out.size() < limite) {
+            int n = cola[ini++];
+            for (int e = entrada[n]; e != NINGUNO && out.size() < limite; e = entradaSiguiente[e]) {
+                if (vistos.add(entradaValor[e])) out.add(valores.get(entradaValor[e]));
+            }
+            for (int h = hijo[n]; h != NINGUNO; h = hermano[h]) {
+                if (fin == cola.length) {
+                    // Compacta lo ya procesado antes de crecer.
+                    System.arraycopy(cola, ini, cola, 0, fin - ini);
+                    fin -= ini;
+                    ini = 0;
+                    if (fin == cola.length) cola = Arrays.copyOf(cola, cola.length * 2);
+                }
+                cola[fin++] = h;
+            }
+        }
+    }
+
+    private void aproximadas(String q, int limite, Set<Integer> vistos, List<V> out) {
+        int max = q.length() <= 5 ? 1 : 2;
+        int m = q.length();
+        int[][] filas = new int[m + max + 2][m + 1];
+        char[] camino = new char[m + max + 2];
+        for (int c = 0; c <= m; c++) filas[0][c] = c;
+        List<int[]> coincidencias = new ArrayList<>();   // {nodo, distancia, profundidad}
+        for (int h = hijo[RAIZ]; h != NINGUNO; h = hermano[h]) explorar(h, 1, q, max, filas, camino, coincidencias);
+        coincidencias.sort(Comparator.<int[]>comparingInt(x -> x[1]).thenComparingInt(x -> x[2]));
+        for (int[] x : coincidencias) {
+            if (out.size() == limite) break;
+            recolectar(x[0], limite, vistos, out);
+        }
+    }
+
+    /**
+     * Calcula la fila de {@code nodo} (profundidad {@code k}); anota el nodo si su prefijo está a
+     * {@code max} o menos de la consulta y sigue bajando mientras alguna celda no supere {@code max}.
+     */
+    private void explorar(int nodo, int k, String q, int max, int[][] filas, char[] camino, List<int[]> coincidencias) {
+        int m = q.length();
+        char ch = letra[nodo];
+        camino[k] = ch;
+        int[] ant = filas[k - 1];
+        int[] fila = filas[k];
+        fila[0] = k;
+        int minFila = k;
+        for (int c = 1; c <= m; c++) {
+            char qc = q.charAt(c - 1);
+            int v = Math.min(Math.min(ant[c] + 1, fila[c - 1] + 1), ant[c - 1] + (qc == ch ? 0 : 1));
+            if (k > 1 && c > 1 && qc == camino[k - 1] && q.charAt(c - 2) == ch) {
+                v = Math.min(v, filas[k - 2][c - 2] + 1);                 // letras transpuestas
+            }
+            fila[c] = v;
+            if (v < minFila) minFila = v;
+        }
+        if (fila[m] <= max) coincidencias.add(new int[]{nodo, fila[m], k});
+        if (minFila > max || k + 1 >= filas.length) return;
+        for (int h = hijo[nodo]; h != NINGUNO; h = hermano[h]) explorar(h, k + 1, q, max, filas, camino, coincidencias);
+    }
+
+    // ------------------------
+    // Texto
+    // ------------------------
+
+    /** @return el texto en minúsculas, sin tildes, sin espacios en los extremos y con los internos colapsados */
+    public static String normalizar(String s) {
+        if (s == null) return "";
+        String t = esAscii(s) ? s : Normalizer.normalize(s, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(t.length());
+        boolean espacio = false;
+        for (int i = 0; i < t.length(); i++) {
+            char c = t.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) continue;
+            if (Character.isWhitespace(c)) {
+                espacio = sb.length() > 0;
+                continue;
+            }
+            if (espacio) sb.append(' ');
+            espacio = false;
+            sb.append(Character.toLowerCase(c));
+        }
+        return sb.toString();
+    }
+
+    private static boolean esAscii(String s) {
+        for (int i = 0; i < s.length(); i++) if (s.charAt(i) >= 0x80) return false;
+        return true;
+    }
+}
@@ -0,0 +1,235 @@
+package utils;
+
+import java.util.*;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Tabla de símbolos indexada por <b>nombre</b>, insensible a mayúsculas y a espacios en los extremos.
+ *
+ * <h2>Responsabilidades</h2>
+ * <ul>
+ *   <li>Reemplazar el patrón {@code map.get(nombre.toLowerCase().trim())}: busca y compara el nombre
+ *       tal como llega, <b>sin crear cadenas intermedias</b>.</li>
+ *   <li>Conservar el orden de inserción para listados y selectores.</li>
+ * </ul>
+ *
+ * <h2>Notas de diseño</h2>
+ * <ul>
+ *   <li>Direccionamiento abierto (sondeo lineal) sobre un arreglo de índices; las entradas viven en
+ *       arreglos densos en orden de alta, con el hash de cada clave guardado para no recalcularlo.</li>
+ *   <li>La igualdad es la de {@link String#equalsIgnoreCase(String)} sobre el nombre recortado
+ *       ({@link #iguales(String, String)}); {@link #hash(String)} es coherente con ella.</li>
+ *   <li>Sin bajas: los repositorios de la aplicación solo agregan.</li>
+ *   <li>{@link #TablaNombres()} no es thread-safe. {@link #concurrente()} crea una tabla para varios hilos:
+ *       las búsquedas son lecturas optimistas de un {@link StampedLock} (sin bloqueo ni escrituras
+ *       compartidas mientras no haya altas en curso) y las altas toman el cerrojo de escritura.</li>
+ * </ul>
+ *
+ * @param <V> tipo de valor
+ */
+public final class TablaNombres<V> {
+
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /** Posición de la entrada + 1 (0 = libre). Su largo es siempre potencia de 2. */
+    private int[] indices = new int[CAPACIDAD_INICIAL];
+    private String[] claves = new String[CAPACIDAD_INICIAL / 2];
+    private int[] hashes = new int[CAPACIDAD_INICIAL / 2];
+    private Object[] valores = new Object[CAPACIDAD_INICIAL / 2];
+    private volatile int tam;
+
+    /** Cerrojo del modo concurrente (null = tabla de un solo hilo). */
+    private final StampedLock cerrojo;
+
+    /** Tabla para uso desde un solo hilo. */
+    public TablaNombres() { this(null); }
+
+    private TablaNombres(StampedLock cerrojo) { this.cerrojo = cerrojo; }
+
+    /** @return tabla segura para lecturas y altas desde varios hilos */
+    public static <V> TablaNombres<V> concurrente() { return new TablaNombres<>(new StampedLock()); }
+
+    /** Vista inmutable de los valores en orden de alta (refleja altas posteriores). */
+    private final List<V> vistaValores = new AbstractList<>() {
+        @Override public V get(int i) {
+            Objects.checkIndex(i, tam);
+            return valor(i);
+        }
+        @Override public int size() { return tam; }
+    };
+
+    // ------------------------
+    // Consultas
+    // ------------------------
+
+    /** @return valor asociado al nombre (ignorando mayúsculas y espacios en los extremos) o null */
+    public V get(String nombre) {
+        if (nombre == null) return null;
+        int h = hash(nombre);
+        if (cerrojo == null) return leer(nombre, h);
+        long sello = cerrojo.tryOptimisticRead();
+        if (sello != 0) {
+            try {
+                V v = leer(nombre, h);
+                if (cerrojo.validate(sello)) return v;
+            } catch (RuntimeException lecturaInconsistente) {
+                // un alta concurrente cambió los arreglos a mitad de la lectura: se repite con cerrojo
+            }
+        }
+        sello = cerrojo.readLock();
+        try {
+            return leer(nombre, h);
+        } finally {
+            cerrojo.unlockRead(sello);
+        }
+    }
+
+    /** @return true si existe una entrada para el nombre */
+    public boolean contiene(String nombre) {
+        return get(nombre) != null;
+    }
+
+    /** @return cantidad de entradas */
+    public int size() { return tam; }
+
+    /** @return true si no hay entradas */
+    public boolean isEmpty() { return tam == 0; }
+
+    /**
+     * @return vista inmutable de los valores en orden de inserción (en modo concurrente, una copia
+     *         tomada en ese instante)
+     */
+    public List<V> values() {
+        if (cerrojo == null) return vistaValores;
+        long sello = cerrojo.readLock();
+        try {
+            return List.copyOf(vistaValores);
+        } finally {
+            cerrojo.unlockRead(sello);
+        }
+    }
+
+    // ------------------------
+    // Altas
+    // ------------------------
+
+    /**
+     * Asocia el valor al nombre si no existía una entrada (atómico en modo concurrente).
+     * @return el valor ya registrado para ese nombre, o null si se insertó
+     * @throws IllegalArgumentException si el nombre es nulo o vacío
+     */
+    public V putIfAbsent(String nombre, V valor) {
+        if (nombre == null || nombre.isBlank()) throw new IllegalArgumentException("Nombre vacío");
+        Objects.requireNonNull(valor, "valor");
+        if (cerrojo == null) return insertar(nombre, valor);
+        long sello = cerrojo.writeLock();
+        try {
+            return insertar(nombre, valor);
+        } finally {
+            cerrojo.unlockWrite(sello);
+        }
+    }
+
+    private V insertar(String nombre, V valor) {
+        int h = hash(nombre);
+        int i = buscar(nombre, h);
+        if (i >= 0) return valor(i);
+        if (tam == claves.length) crecer();
+        claves[tam] = nombre;
+        hashes[tam] = h;
+        valores[tam] = valor;
+        ubicar(h, tam);
+        tam++;
+        return null;
+    }
+
+    // ------------------------
+    // Hash e igualdad sin asignaciones
+    // ------------------------
+
+    /**
+     * Hash del nombre ignorando mayúsculas y espacios en los extremos; dos nombres
+     * {@linkplain #iguales(String, String) iguales} tienen el mismo hash.
+     */
+    public static int hash(String s) {
+        int ini = inicio(s), fin = fin(s);
+        int h = 0;
+        for (int i = ini; i < fin; ) {
+            int cp = s.codePointAt(i);
+            h = 31 * h + Character.toLowerCase(Character.toUpperCase(cp));
+            i += Character.charCount(cp);
+        }
+        return h;
+    }
+
+    /** @return true si los nombres coinciden ignorando mayúsculas y espacios en los extremos */
+    public static boolean iguales(String a, String b) {
+        int ia = inicio(a), la = fin(a) - ia;
+        int ib = inicio(b), lb = fin(b) - ib;
+        return la == lb && a.regionMatches(true, ia, b, ib, la);
+    }
+
+    /** Mismo criterio de recorte que {@link String#trim()}. */
+    private static int inicio(String s) {
+        int i = 0;
+        while (i < s.length() && s.charAt(i) <= ' ') i++;
+        return i;
+    }
+
+    private static int fin(String s) {
+        int f = s.length();
+        while (f > 0 && s.charAt(f - 1) <= ' ') f--;
+        return Math.max(f, inicio(s));
+    }
+
+    // ------------------------
+    // Interno
+    // ------------------------
+
+    @SuppressWarnings("unchecked")
+    private V valor(int i) { return (V) valores[i]; }
+
+    private V leer(String nombre, int h) {
+        int i = buscar(nombre, h);
+        return i < 0 ? null : valor(i);
+    }
+
+    /**
+     * @return posición de la entrada o -1. Lee cada arreglo una sola vez: en una lectura optimista el
+     *         índice nunca está más de medio lleno, así que el sondeo siempre termina.
+     */
+    private int buscar(String nombre, int h) {
+        int[] idx = indices;
+        int[] hs = hashes;
+        String[] cs = claves;
+        int mascara = idx.length - 1;
+        for (int s = mezclar(h) & mascara; ; s = (s + 1) & mascara) {
+            int e = idx[s] - 1;
+            if (e < 0) return -1;
+            if (hs[e] == h && iguales(cs[e], nombre)) return e;
+        }
+    }
+
+    private void ubicar(int h, int entrada) {
+        int mascara = indices.length - 1;
+        int s = mezclar(h) & mascara;
+        while (indices[s] != 0) s = (s + 1) & mascara;
+        indices[s] = entrada + 1;
+    }
+
+    /** Duplica las entradas y el índice (factor de carga ≤ 1/2). */
+    private void crecer() {
+        int n = claves.length * 2;
+        claves = Arrays.copyOf(claves, n);
+        hashes = Arrays.copyOf(hashes, n);
+        valores = Arrays.copyOf(valores, n);
+        indices = new int[n * 2];
+        for (int e = 0; e < tam; e++) ubicar(hashes[e], e);
+    }
+
+    /** Dispersa los bits altos para que nombres parecidos no se agrupen. */
+    private static int mezclar(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
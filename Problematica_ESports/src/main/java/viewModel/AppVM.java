@@ -1,10 +1,29 @@
 package viewModel;
 
+import metricas.Medidor;
+import metricas.Metricas;
 import models.*;
+import services.Llave;
+import services.LlaveEliminacion;
+import services.LlaveSuiza;
+import services.MotorElo;
+import services.PlanificadorCalendario;
+import services.PoolArbitros;
+import services.RankingGlobal;
 import utils.ConsoleIO;
+import utils.IndiceBusqueda;
+import utils.TablaNombres;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -29,8 +48,10 @@ import java.util.stream.Collectors;
  * </ul>
  *
  * <h2>Persistencia</h2>
- * <p>Este VM usa <b>almacenamiento en memoria</b> (Map/List). Para BD, reemplaza estas colecciones
- * por repositorios/DAOs manteniendo las mismas firmas públicas.</p>
+ * <p>Este VM usa <b>almacenamiento en memoria</b> (Map/List). Con {@link #activarPersistencia(Path, int)} cada
+ * mutación de la API se anota además en un diario binario de solo-anexar (fsync por lotes) y cada cierto
+ * número de eventos se guarda una instantánea completa; al reiniciar se carga la instantánea y se reproduce
+ * solo la cola del diario (ver {@link persistencia.Diario} y {@link persistencia.Instantanea}).</p>
  *
  * <h2>Ejemplo mínimo (programático) en {@code main}</h2>
  * <pre>{@code
@@ -38,7 +59,7 @@ import java.util.stream.Collectors;
  * AppVM vm = new AppVM(io);
  *
  * // Cat/Juego/Torneo
- * Categoria moba = new Categoria("MOBA");
+ * Categoria moba = vm.crearCategoria("MOBA", null);
  * vm.crearJuego("League of Legends", moba);
  * vm.crearTorneo("SYSTECH Cup", "FIA", LocalDate.now(), "League of Legends");
  *
@@ -62,9 +83,35 @@ import java.util.stream.Collectors;
  *
  * <h2>Notas</h2>
  * <ul>
- *   <li><b>Thread-safety:</b> no es seguro para concurrencia; sincroniza externamente si lo usas en multihilo.</li>
- *   <li>Unicidad de nombres: se normaliza por <i>lowercase+trim</i> para claves internas.</li>
+ *   <li><b>Thread-safety:</b> {@link #AppVM(ConsoleIO)} no es seguro para concurrencia. Con
+ *       {@link #AppVM(ConsoleIO, boolean) AppVM(io, true)} (modo concurrente) la API programática se puede usar
+ *       desde varios hilos; ver "Concurrencia".</li>
+ *   <li>Unicidad de nombres: insensible a mayúsculas y a espacios en los extremos ({@link TablaNombres},
+ *       sin crear copias normalizadas del nombre en cada búsqueda).</li>
  *   <li>Excepciones: {@link IllegalArgumentException} para datos inválidos; {@link NoSuchElementException} para “no existe”.</li>
+ *   <li>Métricas: cada operación de la API cuenta llamadas, errores por tipo y latencias sin reservar memoria
+ *       ({@link #getMetricas()}).</li>
+ * </ul>
+ *
+ * <h2>Concurrencia (modo concurrente)</h2>
+ * <ul>
+ *   <li>Repos {@link TablaNombres#concurrente()}: búsquedas sin bloqueo y altas atómicas (dos hilos que crean
+ *       el mismo nombre: uno gana y el otro recibe el error de duplicado).</li>
+ *   <li>Cerrojo por entidad: cada {@link Torneo} y cada {@link Equipo} tiene su propio {@link ReentrantLock},
+ *       así que las operaciones sobre torneos distintos con equipos distintos no compiten entre sí.</li>
+ *   <li>Orden fijo para evitar interbloqueos: torneo → equipos (por nombre) → pool de árbitros. Las operaciones
+ *       que asignan o liberan árbitros toman además el cerrojo del pool, porque los árbitros se comparten
+ *       entre torneos; esa sección crítica es solo la programación en sí.</li>
+ *   <li>Los cerrojos se toman en un bucle, no anidados: una operación puede abarcar miles de equipos (un round
+ *       robin, un calendario) sin que la pila crezca con los datos.</li>
+ *   <li>Cerrojo global de lectura/escritura: cada operación toma la lectura (no compiten entre sí); las que
+ *       abarcan todo el VM ({@link #recalcularRankings()}) toman la escritura en vez de bloquear cada
+ *       entidad.</li>
+ *   <li>La agenda global es concurrente ({@link Agenda#global(boolean)}); comprobar y reservar es atómico porque se hace con
+ *       los cerrojos de los equipos (y del pool, para el árbitro) tomados.</li>
+ *   <li>{@link Equipo} y {@link Jugador} mantienen la relación bidireccional con sus propios monitores y
+ *       {@link RankingGlobal} es thread-safe, así que altas de jugadores y cambios de ranking no requieren más.</li>
+ *   <li>El menú de consola es de un solo hilo en ambos modos.</li>
  * </ul>
  */
 public class AppVM {
@@ -73,22 +120,200 @@ public class AppVM {
     // Estado en memoria (mock repos)
     // ==========================
 
+    /** Con más opciones que estas, los selectores del menú buscan por texto en vez de listar todo. */
+    private static final int MAX_OPCIONES_LISTA = 20;
+
     /** I/O de consola para interacciones y mensajes. */
     private final ConsoleIO io;
 
-    /** Repos de trabajo en memoria (clave: nombre normalizado). */
-    private final Map<String, Equipo> equipos   = new LinkedHashMap<>();
-    private final Map<String, Torneo> torneos   = new LinkedHashMap<>();
-    private final Map<String, Juego>  juegos    = new LinkedHashMap<>();
+    /** true = API programática segura para varios hilos (ver "Concurrencia"). */
+    private final boolean concurrente;
+
+    /** Repos de trabajo en memoria (clave: nombre, sin distinguir mayúsculas ni espacios en los extremos). */
+    private final TablaNombres<Equipo> equipos;
+    private final TablaNombres<Torneo> torneos;
+
+    /** Juegos y categorías: una instancia compartida por nombre. */
+    private final Catalogo catalogo;
+
+    /** Agenda global compartida por todos los torneos (dobles reservas entre torneos y consultas por fecha). */
+    private final Agenda agenda;
+
+    /** Historial cara a cara de todos los torneos (lo actualiza cada torneo al registrar un resultado). */
+    private final Enfrentamientos enfrentamientos;
+
+    /** Lectura: cualquier operación con cerrojos; escritura: operaciones sobre todo el VM (modo concurrente). */
+    private final ReentrantReadWriteLock cerrojoGlobal = new ReentrantReadWriteLock();
+
+    /** Cerrojo de cada torneo, equipo y del pool de árbitros; se crea al primer uso (no hay bajas). */
+    private final Map<Object, ReentrantLock> cerrojos = new ConcurrentHashMap<>();
+
+    /** Árbitros registrados; asigna automáticamente el menos cargado. */
+    private final PoolArbitros arbitros;
+
+    /** Llave en curso (o la última terminada) de cada torneo; se lee y se cambia con el cerrojo del torneo. */
+    private final Map<Torneo, Llave> llaves = new ConcurrentHashMap<>();
+
+    /** Motor de rating que actualiza el ranking de los jugadores al registrar resultados. */
+    private final MotorElo elo = new MotorElo();
+
+    /** Clasificación global de jugadores por ranking (se actualiza sola con {@link Jugador#setRanking}). */
+    private final RankingGlobal ranking = new RankingGlobal();
+
+    /** Búsqueda por prefijo / con errores de tipeo para los selectores (se actualizan en cada alta). */
+    private final IndiceBusqueda<Equipo> busquedaEquipos = new IndiceBusqueda<>(Equipo::getNombre);
+    private final IndiceBusqueda<Torneo> busquedaTorneos = new IndiceBusqueda<>(Torneo::getNombre);
+    private final IndiceBusqueda<Jugador> busquedaJugadores = new IndiceBusqueda<>(Jugador::getAlias);
+
+    /** Diario + instantáneas; {@link PersistenciaVM#INACTIVA} mientras no se active. */
+    private volatile PersistenciaVM persistencia = PersistenciaVM.INACTIVA;
+
+    /** Llamadas, errores y latencias de cada operación de la API (ver {@link #getMetricas()}). */
+    private final Metricas metricas = new Metricas();
+    private final Medidor opCrearEquipo = metricas.medidor("crearEquipo");
+    private final Medidor opAgregarJugador = metricas.medidor("agregarJugadorAEquipo");
+    private final Medidor opCrearEquipos = metricas.medidor("crearEquipos");
+    private final Medidor opAgregarJugadores = metricas.medidor("agregarJugadores");
+    private final Medidor opInscribirEquipos = metricas.medidor("inscribirEquipos");
+    private final Medidor opCrearJuego = metricas.medidor("crearJuego");
+    private final Medidor opCrearTorneo = metricas.medidor("crearTorneo");
+    private final Medidor opInscribirEquipo = metricas.medidor("inscribirEquipoEnTorneo");
+    private final Medidor opProgramarPartida = metricas.medidor("programarPartida");
+    private final Medidor opProgramarJornada = metricas.medidor("programarJornada");
+    private final Medidor opGenerarRoundRobin = metricas.medidor("generarCalendarioRoundRobin");
+    private final Medidor opPlanificarCalendario = metricas.medidor("planificarCalendario");
+    private final Medidor opValidarCalendario = metricas.medidor("validarCalendario");
+    private final Medidor opRegistrarResultado = metricas.medidor("registrarResultado");
+    private final Medidor opCrearLlave = metricas.medidor("crearLlave");
+    private final Medidor opProgramarLlave = metricas.medidor("programarLlave");
+    private final Medidor opGetLlave = metricas.medidor("getLlave");
+    private final Medidor opGetPartida = metricas.medidor("getPartida");
+    private final Medidor opGetPartidas = metricas.medidor("getPartidas");
+    private final Medidor opRecorrerPartidas = metricas.medidor("recorrerPartidas");
+    private final Medidor opCancelarPartida = metricas.medidor("cancelarPartida");
+    private final Medidor opReprogramarPartida = metricas.medidor("reprogramarPartida");
+    private final Medidor opCrearArbitro = metricas.medidor("crearArbitro");
+    private final Medidor opRecalcularRankings = metricas.medidor("recalcularRankings");
+    private final Medidor opTopJugadores = metricas.medidor("getTopJugadores");
+    private final Medidor opPosicionJugador = metricas.medidor("getPosicionJugador");
+    private final Medidor opJugadoresEnRango = metricas.medidor("getJugadoresEnRango");
+    private final Medidor opGuardarInstantanea = metricas.medidor("guardarInstantanea");
+    private final Medidor opBuscarEquipos = metricas.medidor("buscarEquipos");
+    private final Medidor opBuscarTorneos = metricas.medidor("buscarTorneos");
+    private final Medidor opBuscarJugadores = metricas.medidor("buscarJugadores");
+    private final Medidor opCaraACara = metricas.medidor("getCaraACara");
+    private final Medidor opRivales = metricas.medidor("getRivales");
+    private final Medidor opClasificacion = metricas.medidor("getClasificacion");
+    private final Medidor opPartidasEntre = metricas.medidor("getPartidasEntre");
+    private final Medidor opCantidadInscritos = metricas.medidor("getCantidadInscritos");
+    private final Medidor opCantidadPartidas = metricas.medidor("getCantidadPartidas");
 
     /**
      * Crea el VM con una instancia de {@link ConsoleIO}.
      * @param io proveedor de entrada/salida para mensajes y menús.
      */
     public AppVM(ConsoleIO io) {
+        this(io, false);
+    }
+
+    /**
+     * Crea el VM indicando si su API programática se usará desde varios hilos.
+     * @param io proveedor de entrada/salida para mensajes y menús.
+     * @param concurrente true para el modo concurrente (repos concurrentes y cerrojo por torneo/equipo)
+     */
+    public AppVM(ConsoleIO io, boolean concurrente) {
         this.io = Objects.requireNonNull(io, "io");
+        this.concurrente = concurrente;
+        this.equipos = concurrente ? TablaNombres.concurrente() : new TablaNombres<>();
+        this.torneos = concurrente ? TablaNombres.concurrente() : new TablaNombres<>();
+        this.catalogo = concurrente ? Catalogo.concurrente() : new Catalogo();
+        this.agenda = Agenda.global(concurrente);
+        this.enfrentamientos = concurrente ? Enfrentamientos.concurrente() : new Enfrentamientos();
+        this.arbitros = new PoolArbitros(agenda);
     }
 
+    /** @return true si el VM se creó en modo concurrente. */
+    public boolean isConcurrente() { return concurrente; }
+
+    /**
+     * Métricas de las operaciones de la API: llamadas, errores por tipo de excepción y latencias (p50, p90,
+     * p99, máx). Se consultan con {@link Metricas#texto()} o se publican con {@link Metricas#registrarJmx}.
+     */
+    public Metricas getMetricas() { return metricas; }
+
+    /** Elemento rechazado de una operación en lote: posición (base 0) dentro del lote y motivo. */
+    public static final class Rechazo {
+        private final int indice;
+        private final String motivo;
+
+        public Rechazo(int indice, String motivo) {
+            this.indice = indice;
+            this.motivo = motivo;
+        }
+
+        /** @return posición (base 0) del elemento rechazado en el lote. */
+        public int getIndice() { return indice; }
+        public String getMotivo() { return motivo; }
+
+        @Override public String toString() { return "#" + indice + ": " + motivo; }
+    }
+
+    // ==========================
+    // Persistencia
+    // ==========================
+
+    /**
+     * Reconstruye el estado desde {@code directorio} (instantánea + cola del diario) y, desde ese momento,
+     * anota cada mutación de la API en el diario. Se guarda una instantánea automática cada
+     * {@code cadaEventos} eventos (y al activar, si la cola reproducida ya los superaba).
+     *
+     * <p>Llamar con el VM recién creado, antes de compartirlo entre hilos.</p>
+     *
+     * @param directorio  carpeta de datos (se crea si no existe)
+     * @param cadaEventos eventos entre instantáneas automáticas (&gt;= 1)
+     * @throws IllegalStateException si la persistencia ya está activa o el VM ya tiene datos
+     * @throws IOException si los datos guardados no se pueden leer o están corruptos
+     */
+    public void activarPersistencia(Path directorio, int cadaEventos) throws IOException {
+        Objects.requireNonNull(directorio, "directorio");
+        if (persistencia.isActiva()) throw new IllegalStateException("La persistencia ya está activa");
+        if (!equipos.isEmpty() || !torneos.isEmpty() || !catalogo.sinJuegos() || !arbitros.isEmpty())
+            throw new IllegalStateException("La persistencia se activa sobre un VM vacío");
+        PersistenciaVM p = PersistenciaVM.abrir(this, arbitros, ranking, directorio, cadaEventos, concurrente);
+        persistencia = p;
+        if (p.getEventosSinInstantanea() >= cadaEventos) p.guardarInstantanea();
+        metricas.reiniciar(); // la reproducción pasó por la API: las métricas cuentan desde aquí
+    }
+
+    /**
+     * Guarda ya una instantánea del estado y descarta el diario anterior a ella (en modo concurrente espera a
+     * que terminen las mutaciones en curso y frena las nuevas mientras escribe).
+     * @throws IllegalStateException si la persistencia no está activa
+     */
+    public void guardarInstantanea() throws IOException {
+        long t0 = Medidor.inicio();
+        try {
+            PersistenciaVM p = persistencia;
+            if (!p.isActiva()) throw new IllegalStateException("La persistencia no está activa");
+            p.guardarInstantanea();
+        } catch (IOException | RuntimeException e) {
+            opGuardarInstantanea.fallo(e);
+            throw e;
+        } finally {
+            opGuardarInstantanea.registrar(t0);
+        }
+    }
+
+    /** Fuerza a disco lo anotado y cierra el diario; el VM sigue funcionando solo en memoria. */
+    public void cerrarPersistencia() throws IOException {
+        PersistenciaVM p = persistencia;
+        persistencia = PersistenciaVM.INACTIVA;
+        p.close();
+    }
+
+    /** @return true si las mutaciones se están anotando en disco. */
+    public boolean isPersistente() { return persistencia.isActiva(); }
+
     // ==========================
     // API programática (para main/tests)
     // ==========================
@@ -100,13 +325,23 @@ public class AppVM {
      * @throws IllegalArgumentException si el nombre está vacío o ya existe
      */
     public Equipo crearEquipo(String nombre) {
-        assertNonBlank(nombre, "nombre de equipo");
-        if (equipos.containsKey(key(nombre))) {
-            throw new IllegalArgumentException("Ya existe un equipo con ese nombre: " + nombre);
+        long t0 = Medidor.inicio();
+        try {
+            assertNonBlank(nombre, "nombre de equipo");
+            Equipo e = new Equipo(nombre);
+            return persistencia.mutar(() -> persistencia.enOrden(() -> {
+                if (equipos.putIfAbsent(e.getNombre(), e) != null) {
+                    throw new IllegalArgumentException("Ya existe un equipo con ese nombre: " + nombre);
+                }
+                busquedaEquipos.agregar(e);
+                persistencia.equipo(e);
+                return e;
+            }));
+        } catch (RuntimeException e) {
+            throw opCrearEquipo.fallo(e);
+        } finally {
+            opCrearEquipo.registrar(t0);
         }
-        Equipo e = new Equipo(nombre);
-        equipos.put(key(nombre), e);
-        return e;
     }
 
     /**
@@ -120,35 +355,176 @@ public class AppVM {
      * @throws IllegalStateException si el jugador ya pertenece a otro equipo (regla de dominio)
      */
     public Jugador agregarJugadorAEquipo(String equipoNombre, String nombre, String alias, int ranking) {
-        Equipo e = getEquipoOrThrow(equipoNombre);
-        Jugador j = new Jugador(nombre, alias, ranking);
-        e.addJugador(j);
-        return j;
+        long t0 = Medidor.inicio();
+        try {
+            Equipo e = getEquipoOrThrow(equipoNombre);
+            Jugador j = new Jugador(nombre, alias, ranking);
+            return persistencia.mutar(() -> conCerrojos(null, List.of(e), false, () -> {
+                e.addJugador(j);
+                // Alta en la clasificación y en el diario sin intercalarse: el orden de alta decide los empates.
+                return persistencia.enOrden(() -> {
+                    this.ranking.agregar(j);
+                    busquedaJugadores.agregar(j);
+                    persistencia.jugador(e, j);
+                    return j;
+                });
+            }));
+        } catch (RuntimeException e) {
+            throw opAgregarJugador.fallo(e);
+        } finally {
+            opAgregarJugador.registrar(t0);
+        }
+    }
+
+    // ------- Operaciones en lote (importaciones) -------
+    // Un solo paso por la barrera de persistencia y por los cerrojos para todo el lote; los elementos
+    // inválidos se rechazan uno a uno sin cortar el resto.
+
+    /**
+     * Crea y registra varios equipos de una vez.
+     * @param nombres nombres de los equipos
+     * @return rechazados (nombre vacío o ya existente); vacía si se crearon todos
+     */
+    public List<Rechazo> crearEquipos(List<String> nombres) {
+        long t0 = Medidor.inicio();
+        try {
+            Objects.requireNonNull(nombres, "nombres");
+            List<Rechazo> rechazos = new ArrayList<>();
+            persistencia.mutar(() -> persistencia.enOrden(() -> {
+                for (int i = 0; i < nombres.size(); i++) {
+                    String nombre = nombres.get(i);
+                    if (nombre == null || nombre.isBlank()) {
+                        rechazos.add(new Rechazo(i, "Falta nombre de equipo"));
+                        continue;
+                    }
+                    Equipo e = new Equipo(nombre);
+                    if (equipos.putIfAbsent(e.getNombre(), e) != null) {
+                        rechazos.add(new Rechazo(i, "Ya existe un equipo con ese nombre: " + nombre));
+                        continue;
+                    }
+                    busquedaEquipos.agregar(e);
+                    persistencia.equipo(e);
+                }
+                return null;
+            }));
+            return rechazos;
+        } catch (RuntimeException e) {
+            throw opCrearEquipos.fallo(e);
+        } finally {
+            opCrearEquipos.registrar(t0);
+        }
+    }
+
+    /**
+     * Agrega varios jugadores nuevos a un mismo equipo (buscando el equipo y tomando su cerrojo una sola vez).
+     * @param equipoNombre nombre del equipo
+     * @param jugadores jugadores a agregar, en orden
+     * @return rechazados (nulos o que ya tienen equipo); vacía si se agregaron todos
+     * @throws NoSuchElementException si el equipo no existe
+     */
+    public List<Rechazo> agregarJugadores(String equipoNombre, List<Jugador> jugadores) {
+        long t0 = Medidor.inicio();
+        try {
+            Equipo e = getEquipoOrThrow(equipoNombre);
+            Objects.requireNonNull(jugadores, "jugadores");
+            List<Rechazo> rechazos = new ArrayList<>();
+            persistencia.mutar(() -> conCerrojos(null, List.of(e), false, () -> persistencia.enOrden(() -> {
+                for (int i = 0; i < jugadores.size(); i++) {
+                    Jugador j = jugadores.get(i);
+                    if (j == null) {
+                        rechazos.add(new Rechazo(i, "Jugador null"));
+                    } else if (j.getEquipo() == e) {
+                        rechazos.add(new Rechazo(i, "El jugador ya está en el equipo"));
+                    } else if (j.getEquipo() != null) {
+                        rechazos.add(new Rechazo(i, "El jugador ya pertenece a otro equipo"));
+                    } else {
+                        e.addJugador(j);
+                        ranking.agregar(j);
+                        busquedaJugadores.agregar(j);
+                        persistencia.jugador(e, j);
+                    }
+                }
+                return null;
+            })));
+            return rechazos;
+        } catch (RuntimeException e) {
+            throw opAgregarJugadores.fallo(e);
+        } finally {
+            opAgregarJugadores.registrar(t0);
+        }
+    }
+
+    /**
+     * Inscribe varios equipos en un torneo con una sola toma del cerrojo del torneo. Los que ya estaban
+     * inscritos se ignoran.
+     * @return rechazados (equipos que no existen); vacía si todos quedaron inscritos
+     * @throws NoSuchElementException si el torneo no existe
+     */
+    public List<Rechazo> inscribirEquipos(String torneoNombre, List<String> equiposNombres) {
+        long t0 = Medidor.inicio();
+        try {
+            Torneo t = getTorneoOrThrow(torneoNombre);
+            Objects.requireNonNull(equiposNombres, "equiposNombres");
+            List<Rechazo> rechazos = new ArrayList<>();
+            persistencia.mutar(() -> conCerrojos(t, () -> {
+                for (int i = 0; i < equiposNombres.size(); i++) {
+                    String nombre = equiposNombres.get(i);
+                    Equipo e = nombre == null ? null : equipos.get(nombre);
+                    if (e == null) {
+                        rechazos.add(new Rechazo(i, "No existe el equipo: " + nombre));
+                    } else if (t.agregarEquipo(e)) {
+                        persistencia.inscripcion(t, e);
+                    }
+                }
+                return null;
+            }));
+            return rechazos;
+        } catch (RuntimeException e) {
+            throw opInscribirEquipos.fallo(e);
+        } finally {
+            opInscribirEquipos.registrar(t0);
+        }
     }
 
     /**
-     * Crea una categoría simple (entidad ligera sin catálogo).
+     * Devuelve la categoría del catálogo con ese nombre o, si no existe, una nueva <b>sin registrar</b>. Las
+     * categorías existen solo a través de sus juegos: entran al catálogo (y al diario) con el primer
+     * {@link #crearJuego} que las usa, así que esta llamada no cambia el estado.
+     * @param descripcion descripción si es nueva (opcional); se ignora si la categoría ya existe
+     * @return instancia canónica si ya existe; si no, la que {@link #crearJuego} registrará
+     * @throws IllegalArgumentException si el nombre está vacío
      */
     public Categoria crearCategoria(String nombre, String descripcion) {
-        return new Categoria(nombre, descripcion);
+        Categoria c = catalogo.getCategoria(nombre);
+        return c != null ? c : new Categoria(nombre, descripcion);
     }
 
     /**
      * Registra un juego (si ya existe con el mismo nombre, lo retorna).
      * @param nombre nombre del juego
-     * @param categoria categoría (no nula)
-     * @return juego existente o nuevo
+     * @param categoria categoría (no nula); se usa la instancia del catálogo con su nombre
+     * @return juego existente o nuevo (instancia canónica)
      * @throws IllegalArgumentException si el nombre está vacío
      */
     public Juego crearJuego(String nombre, Categoria categoria) {
-        assertNonBlank(nombre, "nombre de juego");
-        Objects.requireNonNull(categoria, "categoria");
-        if (juegos.containsKey(key(nombre))) {
-            return juegos.get(key(nombre));
+        long t0 = Medidor.inicio();
+        try {
+            assertNonBlank(nombre, "nombre de juego");
+            Objects.requireNonNull(categoria, "categoria");
+            Juego existente = catalogo.getJuego(nombre);
+            if (existente != null) return existente;
+            return persistencia.mutar(() -> persistencia.enOrden(() -> {
+                // La categoría entra al catálogo solo si el juego se agrega (y se anota con él).
+                Juego j = catalogo.agregar(nombre, categoria);
+                if (j == null) return catalogo.getJuego(nombre);
+                persistencia.juego(j);
+                return j;
+            }));
+        } catch (RuntimeException e) {
+            throw opCrearJuego.fallo(e);
+        } finally {
+            opCrearJuego.registrar(t0);
         }
-        Juego j = new Juego(nombre, categoria);
-        juegos.put(key(nombre), j);
-        return j;
     }
 
     /**
@@ -161,16 +537,29 @@ public class AppVM {
      * @throws NoSuchElementException si el juego no existe
      */
     public Torneo crearTorneo(String nombre, String organizador, LocalDate fechaInicio, String juegoNombre) {
-        assertNonBlank(nombre, "nombre de torneo");
-        assertNonBlank(organizador, "organizador");
-        Objects.requireNonNull(fechaInicio, "fechaInicio");
-        Juego juego = getJuegoOrThrow(juegoNombre);
-        if (torneos.containsKey(key(nombre))) {
-            throw new IllegalArgumentException("Ya existe un torneo con ese nombre: " + nombre);
-        }
-        Torneo t = new Torneo(nombre, organizador, fechaInicio, juego);
-        torneos.put(key(nombre), t);
-        return t;
+        long t0 = Medidor.inicio();
+        try {
+            assertNonBlank(nombre, "nombre de torneo");
+            assertNonBlank(organizador, "organizador");
+            Objects.requireNonNull(fechaInicio, "fechaInicio");
+            Juego juego = getJuegoOrThrow(juegoNombre);
+            if (torneos.contiene(nombre)) {
+                throw new IllegalArgumentException("Ya existe un torneo con ese nombre: " + nombre);
+            }
+            Torneo t = new Torneo(nombre, organizador, fechaInicio, juego, agenda, enfrentamientos);
+            return persistencia.mutar(() -> persistencia.enOrden(() -> {
+                if (torneos.putIfAbsent(nombre, t) != null) {
+                    throw new IllegalArgumentException("Ya existe un torneo con ese nombre: " + nombre);
+                }
+                busquedaTorneos.agregar(t);
+                persistencia.torneo(t);
+                return t;
+            }));
+        } catch (RuntimeException e) {
+            throw opCrearTorneo.fallo(e);
+        } finally {
+            opCrearTorneo.registrar(t0);
+        }
     }
 
     /**
@@ -181,14 +570,26 @@ public class AppVM {
      * @throws NoSuchElementException si torneo o equipo no existen
      */
     public boolean inscribirEquipoEnTorneo(String torneoNombre, String equipoNombre) {
-        Torneo t = getTorneoOrThrow(torneoNombre);
-        Equipo e = getEquipoOrThrow(equipoNombre);
-        return t.agregarEquipo(e);
+        long t0 = Medidor.inicio();
+        try {
+            Torneo t = getTorneoOrThrow(torneoNombre);
+            Equipo e = getEquipoOrThrow(equipoNombre);
+            return persistencia.mutar(() -> conCerrojos(t, () -> {
+                boolean nuevo = t.agregarEquipo(e);
+                if (nuevo) persistencia.inscripcion(t, e);
+                return nuevo;
+            }));
+        } catch (RuntimeException e) {
+            throw opInscribirEquipo.fallo(e);
+        } finally {
+            opInscribirEquipo.registrar(t0);
+        }
     }
 
     /**
      * Programa una partida en un torneo (ambos equipos deben estar inscritos y ser distintos).
-     * El <b>árbitro es obligatorio</b>. El <b>juego</b> se toma del Torneo.
+     * El <b>árbitro es obligatorio</b> y se usa el del pool con su nombre y apellido (si no estaba, se
+     * incorpora). El <b>juego</b> se toma del Torneo.
      *
      * <p><b>Ejemplo:</b></p>
      * <pre>{@code
@@ -197,23 +598,854 @@ public class AppVM {
      * }</pre>
      *
      * @throws NoSuchElementException si torneo/equipos no existen
-     * @throws IllegalStateException si algún equipo no está inscrito
+     * @throws IllegalStateException si algún equipo no está inscrito o si un equipo/árbitro ya juega ese día
      * @throws IllegalArgumentException si los equipos son iguales o la fecha es nula
      */
     public Partida programarPartida(
             String torneoNombre, LocalDate fecha, String equipo1, String equipo2, Arbitro arbitro) {
+        long t0 = Medidor.inicio();
+        try {
+            Torneo t = getTorneoOrThrow(torneoNombre);
+            Objects.requireNonNull(fecha, "fecha");
+            Equipo e1 = getEquipoOrThrow(equipo1);
+            Equipo e2 = getEquipoOrThrow(equipo2);
+            Objects.requireNonNull(arbitro, "arbitro");
+            return persistencia.mutar(() -> conCerrojos(t, List.of(e1, e2), true, () -> {
+                Partida p = t.programarPartida(fecha, e1, e2, delPool(arbitro));
+                arbitros.contabilizar(p);
+                persistencia.partida(p);
+                return p;
+            }));
+        } catch (RuntimeException e) {
+            throw opProgramarPartida.fallo(e);
+        } finally {
+            opProgramarPartida.registrar(t0);
+        }
+    }
+
+    /**
+     * Programa una partida asignando automáticamente el árbitro registrado <b>menos cargado</b> esa semana
+     * que esté libre ese día (ver {@link PoolArbitros}).
+     *
+     * <p><b>Ejemplo:</b></p>
+     * <pre>{@code
+     * vm.crearArbitro("Carla", "Gómez");
+     * vm.programarPartida("SYSTECH Cup", LocalDate.parse("2025-10-01"), "Fox", "Raptors");
+     * }</pre>
+     *
+     * @throws NoSuchElementException si torneo/equipos no existen
+     * @throws IllegalStateException si no hay árbitro disponible, algún equipo no está inscrito o ya juega ese día
+     */
+    public Partida programarPartida(String torneoNombre, LocalDate fecha, String equipo1, String equipo2) {
+        long t0 = Medidor.inicio();
+        try {
+            Torneo t = getTorneoOrThrow(torneoNombre);
+            Objects.requireNonNull(fecha, "fecha");
+            Equipo e1 = getEquipoOrThrow(equipo1);
+            Equipo e2 = getEquipoOrThrow(equipo2);
+            return persistencia.mutar(() -> conCerrojos(t, List.of(e1, e2), true, () -> {
+                Partida p = arbitros.programar(t, fecha, e1, e2);
+                persistencia.partida(p);
+                return p;
+            }));
+        } catch (RuntimeException e) {
+            throw opProgramarPartida.fallo(e);
+        } finally {
+            opProgramarPartida.registrar(t0);
+        }
+    }
+
+    /**
+     * Programa todas las partidas de una jornada repartiendo los árbitros en bloque: cada partida recibe un
+     * árbitro distinto, empezando por los menos cargados de la semana. Si falta algún árbitro o hay
+     * conflictos no se programa ninguna.
+     *
+     * @param enfrentamientos pares {@code [equipo1, equipo2]} por nombre
+     * @return partidas creadas, en el mismo orden
+     * @throws NoSuchElementException si torneo/equipos no existen
+     * @throws IllegalStateException si no hay suficientes árbitros disponibles o la jornada tiene conflictos
+     */
+    public List<Partida> programarJornada(String torneoNombre, LocalDate fecha, List<String[]> enfrentamientos) {
+        long t0 = Medidor.inicio();
+        try {
+            Torneo t = getTorneoOrThrow(torneoNombre);
+            Objects.requireNonNull(fecha, "fecha");
+            List<Equipo[]> pares = new ArrayList<>(enfrentamientos.size());
+            List<Equipo> involucrados = new ArrayList<>(2 * enfrentamientos.size());
+            for (String[] par : enfrentamientos) {
+                Equipo[] e = {getEquipoOrThrow(par[0]), getEquipoOrThrow(par[1])};
+                pares.add(e);
+                involucrados.add(e[0]);
+                involucrados.add(e[1]);
+            }
+            return persistencia.mutar(() -> conCerrojos(t, involucrados, true, () -> {
+                List<Partida> creadas = arbitros.programarJornada(t, fecha, pares);
+                persistencia.partidas(creadas);
+                return creadas;
+            }));
+        } catch (RuntimeException e) {
+            throw opProgramarJornada.fallo(e);
+        } finally {
+            opProgramarJornada.registrar(t0);
+        }
+    }
+
+    /**
+     * Genera el calendario round-robin completo (todos contra todos) de un torneo en una sola llamada.
+     * Ver {@link Torneo#generarRoundRobin(LocalDate, List)} para la distribución en fechas. Los árbitros se
+     * toman del pool por nombre y apellido, como en {@link #programarPartida(String, LocalDate, String, String, Arbitro)}.
+     *
+     * <p><b>Ejemplo:</b></p>
+     * <pre>{@code
+     * List<Arbitro> arbitros = List.of(vm.crearArbitro("Carla", "Gómez"), vm.crearArbitro("Luis", "Paz"));
+     * vm.generarCalendarioRoundRobin("SYSTECH Cup", LocalDate.parse("2025-10-01"), arbitros);
+     * }</pre>
+     *
+     * @return partidas creadas
+     * @throws NoSuchElementException si el torneo no existe
+     * @throws IllegalStateException si hay menos de 2 equipos inscritos
+     * @throws IllegalArgumentException si no se indican árbitros
+     */
+    public List<Partida> generarCalendarioRoundRobin(String torneoNombre, LocalDate primeraFecha, List<Arbitro> arbitros) {
+        long t0 = Medidor.inicio();
+        try {
+            Torneo t = getTorneoOrThrow(torneoNombre);
+            // Los inscritos se leen con el cerrojo del torneo tomado, para bloquear exactamente esos equipos.
+            return persistencia.mutar(() -> conCerrojos(t, () -> conCerrojos(null, t.getEquipos(), true, () -> {
+                List<Partida> creadas = t.generarRoundRobin(primeraFecha, delPool(arbitros));
+                for (Partida p : creadas) this.arbitros.contabilizar(p);
+                persistencia.partidas(creadas);
+                return creadas;
+            })));
+        } catch (RuntimeException e) {
+            throw opGenerarRoundRobin.fallo(e);
+        } finally {
+            opGenerarRoundRobin.registrar(t0);
+        }
+    }
+
+    /**
+     * Busca y programa un calendario para todas las partidas pendientes del torneo (todos contra todos, una
+     * vuelta; los pares que ya tienen partida se omiten) respetando la ventana de fechas, el cupo diario, el
+     * descanso de los equipos (también frente a sus partidas en otros torneos) y los árbitros libres. Ver
+     * {@link PlanificadorCalendario}.
+     *
+     * <p>La búsqueda corre en paralelo y <b>sin</b> cerrojos (en modo concurrente, el torneo sigue atendiendo
+     * mientras tanto). El resultado se programa de forma atómica: con los cerrojos tomados se vuelve a
+     * validar completo (incluido que cada par siga sin partida) y se crean todas las partidas o ninguna.</p>
+     *
+     * <p><b>Ejemplo:</b></p>
+     * <pre>{@code
+     * vm.planificarCalendario("SYSTECH Cup", LocalDate.parse("2025-10-01"), LocalDate.parse("2025-12-20"),
+     *         8, 1, vm.getArbitros());
+     * }</pre>
+     *
+     * @param partidasPorDia partidas máximas por día (mínimo 1)
+     * @param diasDescanso   días libres mínimos entre dos partidas de un equipo (mínimo 0)
+     * @return partidas creadas, en orden cronológico
+     * @throws NoSuchElementException si el torneo no existe
+     * @throws IllegalArgumentException si los parámetros son inválidos o no hay árbitros
+     * @throws IllegalStateException si no hay calendario posible, no se encontró a tiempo o la agenda cambió
+     *                               durante la búsqueda y el plan dejó de ser válido
+     */
+    public List<Partida> planificarCalendario(String torneoNombre, LocalDate desde, LocalDate hasta,
+                                              int partidasPorDia, int diasDescanso, List<Arbitro> arbitros) {
+        long t0 = Medidor.inicio();
+        try {
+            Torneo t = getTorneoOrThrow(torneoNombre);
+            PlanificadorCalendario plan = new PlanificadorCalendario(desde, hasta, partidasPorDia, diasDescanso);
+            List<Arbitro> delPool = persistencia.mutar(() -> conCerrojos(null, List.of(), true, () -> delPool(arbitros)));
+            PlanificadorCalendario.Problema problema = conCerrojos(t, () -> plan.plantear(t, delPool, agenda));
+            List<Agenda.Cita> citas = problema.resolver();
+            Set<Equipo> involucrados = new HashSet<>();
+            for (Agenda.Cita c : citas) {
+                involucrados.add(c.getEquipo1());
+                involucrados.add(c.getEquipo2());
+            }
+            return persistencia.mutar(() -> conCerrojos(t, involucrados, true, () -> {
+                plan.exigirPendientes(t, citas);
+                plan.exigirDescanso(citas, agenda);
+                List<Partida> creadas = t.programarCalendario(citas);
+                for (Partida p : creadas) this.arbitros.contabilizar(p);
+                persistencia.partidas(creadas);
+                return creadas;
+            }));
+        } catch (RuntimeException e) {
+            throw opPlanificarCalendario.fallo(e);
+        } finally {
+            opPlanificarCalendario.registrar(t0);
+        }
+    }
+
+    /**
+     * Arma una llave de eliminación simple o doble con los inscritos del torneo (sembrados por ranking
+     * promedio, ver {@link LlaveEliminacion}) y programa su primera ronda como un solo lote. Los árbitros
+     * salen del pool: uno distinto por partida de cada día, los menos cargados de la semana primero.
+     *
+     * <p>Los resultados de sus partidas se registran con {@link #registrarResultado(Partida, int, int)}, que
+     * además programa las partidas que cada resultado habilita. Las partidas y resultados se anotan en el
+     * diario como cualquier otra; la llave en sí vive en memoria y no se recupera al reiniciar.</p>
+     *
+     * <p><b>Ejemplo:</b></p>
+     * <pre>{@code
+     * Llave llave = vm.crearLlaveEliminacion("SYSTECH Cup", LocalDate.parse("2025-10-01"), 1, false);
+     * Partida p = llave.getPendientes().get(0);
+     * vm.registrarResultado(p, 2, 1);
+     * }</pre>
+     *
+     * @param diasEntreRondas días mínimos entre dos partidas de un mismo equipo (mínimo 1)
+     * @return la llave (solo para consultarla: sus resultados se registran a través del VM)
+     * @throws NoSuchElementException si el torneo no existe
+     * @throws IllegalArgumentException si {@code diasEntreRondas < 1}
+     * @throws IllegalStateException si el torneo ya tiene una llave en curso, tiene menos de 2 inscritos,
+     *                               faltan árbitros o la ronda tiene conflictos (no se crea ninguna partida)
+     */
+    public Llave crearLlaveEliminacion(String torneoNombre, LocalDate fechaInicio, int diasEntreRondas, boolean doble) {
+        long t0 = Medidor.inicio();
+        try {
+            return crearLlave(torneoNombre, t -> doble
+                    ? LlaveEliminacion.doble(t, fechaInicio, diasEntreRondas, arbitros)
+                    : LlaveEliminacion.simple(t, fechaInicio, diasEntreRondas, arbitros));
+        } catch (RuntimeException e) {
+            throw opCrearLlave.fallo(e);
+        } finally {
+            opCrearLlave.registrar(t0);
+        }
+    }
+
+    /**
+     * Arma una llave suiza de {@code rondas} rondas con los inscritos del torneo (ver {@link LlaveSuiza}) y
+     * programa su primera ronda. Igual que {@link #crearLlaveEliminacion}: cada ronda se programa como un
+     * lote al llegar el último resultado de la anterior.
+     *
+     * @throws NoSuchElementException si el torneo no existe
+     * @throws IllegalArgumentException si {@code diasEntreRondas < 1} o {@code rondas < 1}
+     * @throws IllegalStateException en los mismos casos que {@link #crearLlaveEliminacion}
+     */
+    public Llave crearLlaveSuiza(String torneoNombre, LocalDate fechaInicio, int diasEntreRondas, int rondas) {
+        long t0 = Medidor.inicio();
+        try {
+            return crearLlave(torneoNombre, t -> LlaveSuiza.crear(t, fechaInicio, diasEntreRondas, arbitros, rondas));
+        } catch (RuntimeException e) {
+            throw opCrearLlave.fallo(e);
+        } finally {
+            opCrearLlave.registrar(t0);
+        }
+    }
+
+    /**
+     * Vuelve a intentar programar las partidas que la llave del torneo ya decidió y quedaron sin programar
+     * (p. ej. porque al registrar un resultado faltaban árbitros libres ese día).
+     *
+     * @return partidas creadas (vacía si no había ninguna pendiente de programar)
+     * @throws NoSuchElementException si el torneo no existe o no tiene llave
+     * @throws IllegalStateException si faltan árbitros o el lote sigue teniendo conflictos (no crea ninguna)
+     */
+    public List<Partida> programarLlave(String torneoNombre) {
+        long t0 = Medidor.inicio();
+        try {
+            Torneo t = getTorneoOrThrow(torneoNombre);
+            return persistencia.mutar(() -> conCerrojos(t, () -> {
+                Llave llave = llaves.get(t);
+                if (llave == null) throw new NoSuchElementException("El torneo " + t.getNombre() + " no tiene llave");
+                return conCerrojos(null, t.getEquipos(), true, () -> {
+                    List<Partida> creadas = llave.programarPlanificadas();
+                    persistencia.partidas(creadas);
+                    return creadas;
+                });
+            }));
+        } catch (RuntimeException e) {
+            throw opProgramarLlave.fallo(e);
+        } finally {
+            opProgramarLlave.registrar(t0);
+        }
+    }
+
+    /**
+     * @return la llave en curso (o la última terminada) del torneo, o null si no tiene
+     * @throws NoSuchElementException si el torneo no existe
+     */
+    public Llave getLlave(String torneoNombre) {
+        long t0 = Medidor.inicio();
+        try {
+            Torneo t = getTorneoOrThrow(torneoNombre);
+            return conCerrojos(t, () -> llaves.get(t));
+        } catch (RuntimeException e) {
+            throw opGetLlave.fallo(e);
+        } finally {
+            opGetLlave.registrar(t0);
+        }
+    }
+
+    /**
+     * Crea la llave con los cerrojos del torneo, de todos sus inscritos (la llave programa partidas entre
+     * cualquiera de ellos) y del pool, y anota su primera ronda.
+     */
+    private Llave crearLlave(String torneoNombre, Function<Torneo, Llave> fabrica) {
         Torneo t = getTorneoOrThrow(torneoNombre);
-        Objects.requireNonNull(fecha, "fecha");
-        Equipo e1 = getEquipoOrThrow(equipo1);
-        Equipo e2 = getEquipoOrThrow(equipo2);
-        return t.programarPartida(fecha, e1, e2, Objects.requireNonNull(arbitro, "arbitro"));
+        return persistencia.mutar(() -> conCerrojos(t, () -> conCerrojos(null, t.getEquipos(), true, () -> {
+            Llave actual = llaves.get(t);
+            if (actual != null && !actual.isTerminada())
+                throw new IllegalStateException("El torneo " + t.getNombre() + " ya tiene una llave en curso");
+            Llave llave = fabrica.apply(t);
+            persistencia.partidas(llave.getPendientes());
+            llaves.put(t, llave);
+            return llave;
+        })));
+    }
+
+    /**
+     * Registra el resultado de una partida y actualiza <b>de inmediato</b> el ranking (Elo) de todos los
+     * jugadores de ambos equipos. Si la partida es de la llave del torneo ({@link #crearLlaveEliminacion},
+     * {@link #crearLlaveSuiza}), la llave avanza y se programan las partidas que el resultado habilita.
+     *
+     * <p><b>Ejemplo:</b></p>
+     * <pre>{@code
+     * Partida p = vm.programarPartida("SYSTECH Cup", fecha, "Fox", "Raptors");
+     * vm.registrarResultado(p, 2, 1); // gana Fox
+     * }</pre>
+     *
+     * @throws NoSuchElementException si la partida no pertenece a un torneo registrado
+     * @throws IllegalArgumentException si algún marcador es negativo, o es un empate en una llave de
+     *                                  eliminación (no se registra nada)
+     * @throws IllegalStateException si la partida ya tenía resultado, o si la llave no pudo programar las
+     *                               partidas siguientes (el resultado queda registrado; ver
+     *                               {@link #programarLlave(String)})
+     */
+    public void registrarResultado(Partida partida, int marcador1, int marcador2) {
+        long t0 = Medidor.inicio();
+        try {
+            Objects.requireNonNull(partida, "partida");
+            Torneo t = getTorneoOrThrow(partida.getTorneo().getNombre());
+            if (t != partida.getTorneo()) throw new NoSuchElementException("No existe el torneo: " + t.getNombre());
+            persistencia.mutar(() -> conCerrojos(t, () -> {
+                Llave llave = llaves.get(t);
+                if (llave != null && llave.esPendiente(partida)) {
+                    // La llave puede programar partidas entre cualquier par de inscritos.
+                    return conCerrojos(null, t.getEquipos(), true, () -> {
+                        llave.validarResultado(partida, marcador1, marcador2);
+                        resultado(t, partida, marcador1, marcador2);
+                        persistencia.partidas(llave.registrarResultado(partida));
+                        return null;
+                    });
+                }
+                return conCerrojos(null, List.of(partida.getEquipo1(), partida.getEquipo2()), false, () -> {
+                    resultado(t, partida, marcador1, marcador2);
+                    return null;
+                });
+            }));
+        } catch (RuntimeException e) {
+            throw opRegistrarResultado.fallo(e);
+        } finally {
+            opRegistrarResultado.registrar(t0);
+        }
+    }
+
+    /** Registra el resultado en el torneo, aplica el Elo y lo anota. Requiere los cerrojos de la partida. */
+    private void resultado(Torneo t, Partida partida, int marcador1, int marcador2) {
+        t.registrarResultado(partida, marcador1, marcador2);
+        elo.aplicar(partida);
+        persistencia.resultado(partida);
+    }
+
+    /**
+     * Busca una partida por su id dentro del torneo (O(1)).
+     * @return la partida, o null si no existe o fue cancelada
+     * @throws NoSuchElementException si el torneo no existe
+     */
+    public Partida getPartida(String torneoNombre, int id) {
+        long t0 = Medidor.inicio();
+        try {
+            Torneo t = getTorneoOrThrow(torneoNombre);
+            return conCerrojos(t, () -> t.getPartida(id));
+        } catch (RuntimeException e) {
+            throw opGetPartida.fallo(e);
+        } finally {
+            opGetPartida.registrar(t0);
+        }
+    }
+
+    /**
+     * Cancela por id una partida sin resultado y libera la carga de su árbitro en el pool.
+     * @return true si existía y se canceló
+     * @throws NoSuchElementException si el torneo no existe
+     * @throws IllegalStateException si la partida ya tiene resultado o la llave del torneo espera su resultado
+     */
+    public boolean cancelarPartida(String torneoNombre, int id) {
+        long t0 = Medidor.inicio();
+        try {
+            Torneo t = getTorneoOrThrow(torneoNombre);
+            return persistencia.mutar(() -> conCerrojos(t, () -> {
+                Partida p = t.getPartida(id);
+                if (p == null) return false;
+                exigirFueraDeLlave(t, p);
+                return conCerrojos(null, List.of(p.getEquipo1(), p.getEquipo2()), true, () -> {
+                    if (!t.cancelarPartida(id)) return false;
+                    arbitros.descontar(p);
+                    persistencia.cancelacion(t, id);
+                    return true;
+                });
+            }));
+        } catch (RuntimeException e) {
+            throw opCancelarPartida.fallo(e);
+        } finally {
+            opCancelarPartida.registrar(t0);
+        }
+    }
+
+    /**
+     * Cambia la fecha de una partida conservando su id, equipos y árbitro (que deben estar libres ese día).
+     * @return la partida reprogramada
+     * @throws NoSuchElementException si el torneo o la partida no existen
+     * @throws IllegalStateException si la partida ya tiene resultado, la llave del torneo espera su resultado
+     *                               (la llave fija el espaciado entre rondas) o hay conflicto de agenda
+     */
+    public Partida reprogramarPartida(String torneoNombre, int id, LocalDate nuevaFecha) {
+        long t0 = Medidor.inicio();
+        try {
+            Torneo t = getTorneoOrThrow(torneoNombre);
+            return persistencia.mutar(() -> conCerrojos(t, () -> {
+                Partida p = t.getPartida(id);
+                if (p == null) throw new NoSuchElementException("No existe la partida " + id + " en el torneo " + torneoNombre);
+                exigirFueraDeLlave(t, p);
+                return conCerrojos(null, List.of(p.getEquipo1(), p.getEquipo2()), true, () -> {
+                    arbitros.descontar(p);
+                    try {
+                        t.reprogramarPartida(id, nuevaFecha);
+                    } finally {
+                        arbitros.contabilizar(p); // en la fecha nueva, o de vuelta en la original si falló
+                    }
+                    persistencia.reprogramacion(p);
+                    return p;
+                });
+            }));
+        } catch (RuntimeException e) {
+            throw opReprogramarPartida.fallo(e);
+        } finally {
+            opReprogramarPartida.registrar(t0);
+        }
+    }
+
+    /**
+     * Las partidas que la llave del torneo aún espera no se cancelan ni se mueven a mano: la llave no podría
+     * terminar. Requiere el cerrojo del torneo.
+     */
+    private void exigirFueraDeLlave(Torneo t, Partida partida) {
+        Llave llave = llaves.get(t);
+        if (llave != null && llave.esPendiente(partida))
+            throw new IllegalStateException("La partida " + partida.getId() + " pertenece a la llave en curso del torneo "
+                    + t.getNombre());
+    }
+
+    /**
+     * Reconstruye el ranking de todos los jugadores reproduciendo en paralelo el historial completo de
+     * resultados de todos los torneos (útil si cambia la fórmula de rating).
+     *
+     * @return cantidad de partidas reproducidas
+     */
+    public int recalcularRankings() {
+        long t0 = Medidor.inicio();
+        try {
+            // Es la única operación global: toma el cerrojo global de escritura en vez de cada torneo y equipo.
+            return persistencia.mutar(() -> conTodo(() -> {
+                List<Torneo> todos = new ArrayList<>(torneos.values());
+                todos.sort(Comparator.comparing(Torneo::getNombre, String.CASE_INSENSITIVE_ORDER));
+                int reproducidas = elo.reconstruir(todos);
+                persistencia.recalculo();
+                return reproducidas;
+            }));
+        } catch (RuntimeException e) {
+            throw opRecalcularRankings.fallo(e);
+        } finally {
+            opRecalcularRankings.registrar(t0);
+        }
+    }
+
+    /**
+     * Top-K de la clasificación global de jugadores (O(log n + K), sin ordenar).
+     * @param k cantidad máxima de jugadores
+     * @return jugadores de mayor a menor ranking
+     */
+    public List<Jugador> getTopJugadores(int k) {
+        long t0 = Medidor.inicio();
+        try {
+            return ranking.top(k);
+        } catch (RuntimeException e) {
+            throw opTopJugadores.fallo(e);
+        } finally {
+            opTopJugadores.registrar(t0);
+        }
     }
 
     /**
-     * Crea un árbitro (identidad simple).
+     * Puesto de un jugador en la clasificación global (1 = primero), en O(log n).
+     * @throws NoSuchElementException si el jugador no fue registrado con {@link #agregarJugadorAEquipo}
+     */
+    public int getPosicionJugador(Jugador jugador) {
+        long t0 = Medidor.inicio();
+        try {
+            return ranking.posicion(Objects.requireNonNull(jugador, "jugador"));
+        } catch (RuntimeException e) {
+            throw opPosicionJugador.fallo(e);
+        } finally {
+            opPosicionJugador.registrar(t0);
+        }
+    }
+
+    /**
+     * Jugadores con ranking dentro de {@code [min, max]}, de mayor a menor.
+     * @param limite cantidad máxima a devolver
+     */
+    public List<Jugador> getJugadoresEnRango(int min, int max, int limite) {
+        long t0 = Medidor.inicio();
+        try {
+            return ranking.enRango(min, max, limite);
+        } catch (RuntimeException e) {
+            throw opJugadoresEnRango.fallo(e);
+        } finally {
+            opJugadoresEnRango.registrar(t0);
+        }
+    }
+
+    // ------- Cara a cara -------
+
+    /**
+     * Balance de un equipo contra otro sumando todos los torneos, en O(1): partidas jugadas, ganadas,
+     * empatadas, perdidas y tantos a favor / en contra.
+     * @throws NoSuchElementException si algún equipo no existe
+     */
+    public Enfrentamientos.Balance getCaraACara(String equipo, String rival) {
+        long t0 = Medidor.inicio();
+        try {
+            Equipo e = getEquipoOrThrow(equipo), r = getEquipoOrThrow(rival);
+            return conCerrojos(null, List.of(e, r), false, () -> enfrentamientos.entre(e, r));
+        } catch (RuntimeException e) {
+            throw opCaraACara.fallo(e);
+        } finally {
+            opCaraACara.registrar(t0);
+        }
+    }
+
+    /**
+     * Como {@link #getCaraACara(String, String)}, solo con las partidas de un torneo.
+     * @throws NoSuchElementException si el torneo o algún equipo no existen
+     */
+    public Enfrentamientos.Balance getCaraACara(String torneoNombre, String equipo, String rival) {
+        long t0 = Medidor.inicio();
+        try {
+            Torneo t = getTorneoOrThrow(torneoNombre);
+            Equipo e = getEquipoOrThrow(equipo), r = getEquipoOrThrow(rival);
+            return conCerrojos(t, () -> t.getCaraACara(e, r));
+        } catch (RuntimeException e) {
+            throw opCaraACara.fallo(e);
+        } finally {
+            opCaraACara.registrar(t0);
+        }
+    }
+
+    /**
+     * Balance del equipo contra cada rival que enfrentó en cualquier torneo, de más a menos partidas.
+     * @throws NoSuchElementException si el equipo no existe
+     */
+    public List<Enfrentamientos.Balance> getRivales(String equipo) {
+        long t0 = Medidor.inicio();
+        try {
+            Equipo e = getEquipoOrThrow(equipo);
+            return conCerrojos(null, List.of(e), false, () -> enfrentamientos.rivales(e));
+        } catch (RuntimeException e) {
+            throw opRivales.fallo(e);
+        } finally {
+            opRivales.registrar(t0);
+        }
+    }
+
+    /**
+     * Como {@link #getRivales(String)}, solo con las partidas de un torneo.
+     * @throws NoSuchElementException si el torneo o el equipo no existen
+     */
+    public List<Enfrentamientos.Balance> getRivales(String torneoNombre, String equipo) {
+        long t0 = Medidor.inicio();
+        try {
+            Torneo t = getTorneoOrThrow(torneoNombre);
+            Equipo e = getEquipoOrThrow(equipo);
+            return conCerrojos(t, () -> t.getRivales(e));
+        } catch (RuntimeException e) {
+            throw opRivales.fallo(e);
+        } finally {
+            opRivales.registrar(t0);
+        }
+    }
+
+    // ------- Búsqueda (selectores) -------
+
+    /**
+     * Equipos cuyo nombre (o alguna de sus palabras) empieza con la consulta; si no alcanzan, los que se le
+     * parecen con 1-2 letras de diferencia. Sin distinguir mayúsculas ni tildes.
+     * @param limite cantidad máxima a devolver (>= 1)
+     */
+    public List<Equipo> buscarEquipos(String consulta, int limite) {
+        long t0 = Medidor.inicio();
+        try {
+            return busquedaEquipos.buscar(consulta, limite);
+        } catch (RuntimeException e) {
+            throw opBuscarEquipos.fallo(e);
+        } finally {
+            opBuscarEquipos.registrar(t0);
+        }
+    }
+
+    /** Como {@link #buscarEquipos(String, int)}, por nombre de torneo. */
+    public List<Torneo> buscarTorneos(String consulta, int limite) {
+        long t0 = Medidor.inicio();
+        try {
+            return busquedaTorneos.buscar(consulta, limite);
+        } catch (RuntimeException e) {
+            throw opBuscarTorneos.fallo(e);
+        } finally {
+            opBuscarTorneos.registrar(t0);
+        }
+    }
+
+    /** Como {@link #buscarEquipos(String, int)}, por alias de jugador. */
+    public List<Jugador> buscarJugadores(String consulta, int limite) {
+        long t0 = Medidor.inicio();
+        try {
+            return busquedaJugadores.buscar(consulta, limite);
+        } catch (RuntimeException e) {
+            throw opBuscarJugadores.fallo(e);
+        } finally {
+            opBuscarJugadores.registrar(t0);
+        }
+    }
+
+    /**
+     * Valida en bloque un calendario importado para un torneo, sin programarlo: inscripción de los equipos
+     * y dobles reservas de equipos/árbitros contra el torneo, contra los demás torneos y dentro del lote.
+     *
+     * @return conflictos encontrados (vacía si el calendario es válido)
+     * @throws NoSuchElementException si el torneo no existe
+     */
+    public List<Agenda.Conflicto> validarCalendario(String torneoNombre, List<Agenda.Cita> citas) {
+        long t0 = Medidor.inicio();
+        try {
+            Torneo t = getTorneoOrThrow(torneoNombre);
+            Objects.requireNonNull(citas, "citas");
+            return conCerrojos(t, () -> t.validarCalendario(citas));
+        } catch (RuntimeException e) {
+            throw opValidarCalendario.fallo(e);
+        } finally {
+            opValidarCalendario.registrar(t0);
+        }
+    }
+
+    /**
+     * Registra un árbitro en el pool (identidad por nombre + apellido). Si ya existe, retorna el mismo.
+     * @throws IllegalArgumentException si nombre o apellido están vacíos
      */
     public Arbitro crearArbitro(String nombre, String apellido) {
-        return new Arbitro(nombre, apellido);
+        long t0 = Medidor.inicio();
+        try {
+            return persistencia.mutar(() -> conCerrojos(null, List.of(), true, () -> {
+                int antes = arbitros.size();
+                Arbitro a = arbitros.registrar(nombre, apellido);
+                if (arbitros.size() > antes) persistencia.arbitro(a);
+                return a;
+            }));
+        } catch (RuntimeException e) {
+            throw opCrearArbitro.fallo(e);
+        } finally {
+            opCrearArbitro.registrar(t0);
+        }
+    }
+
+    /**
+     * Árbitro del pool con el nombre y apellido de {@code arbitro}; si no había, incorpora esa instancia y
+     * anota el alta. Así una partida usa el mismo árbitro que al reproducirla desde el diario, que lo
+     * resuelve por nombre y apellido. Requiere el cerrojo del pool.
+     */
+    private Arbitro delPool(Arbitro arbitro) {
+        Objects.requireNonNull(arbitro, "arbitro");
+        int antes = arbitros.size();
+        Arbitro a = arbitros.registrar(arbitro);
+        if (arbitros.size() > antes) persistencia.arbitro(a);
+        return a;
+    }
+
+    /** @return los árbitros del pool para cada uno de la lista (ver {@link #delPool(Arbitro)}), en orden */
+    private List<Arbitro> delPool(List<Arbitro> lista) {
+        if (lista == null) return null;
+        List<Arbitro> out = new ArrayList<>(lista.size());
+        for (Arbitro a : lista) out.add(delPool(a));
+        return out;
+    }
+
+    /** @return árbitros registrados (orden de alta). */
+    public List<Arbitro> getArbitros() {
+        return conCerrojos(null, List.of(), true, () -> List.copyOf(arbitros.getArbitros()));
+    }
+
+    /** @return equipos registrados (orden de alta; en modo concurrente, una copia del momento). */
+    public List<Equipo> getEquipos() { return equipos.values(); }
+
+    /** @return torneos registrados (orden de alta; en modo concurrente, una copia del momento). */
+    public List<Torneo> getTorneos() { return torneos.values(); }
+
+    /** @return juegos registrados (orden de alta; en modo concurrente, una copia del momento). */
+    public List<Juego> getJuegos() { return catalogo.getJuegos(); }
+
+    /** @return categorías de los juegos registrados (orden de alta; en modo concurrente, una copia del momento). */
+    public List<Categoria> getCategorias() { return catalogo.getCategorias(); }
+
+    /**
+     * @return copia de las partidas del torneo en orden de programación
+     * @throws NoSuchElementException si el torneo no existe
+     */
+    public List<Partida> getPartidas(String torneoNombre) {
+        long t0 = Medidor.inicio();
+        try {
+            Torneo t = getTorneoOrThrow(torneoNombre);
+            return conCerrojos(t, () -> List.copyOf(t.getPartidas()));
+        } catch (RuntimeException e) {
+            throw opGetPartidas.fallo(e);
+        } finally {
+            opGetPartidas.registrar(t0);
+        }
+    }
+
+    /**
+     * Partidas de todos los torneos con fecha en {@code [desde, hasta]}, en orden cronológico (y por torneo e
+     * id dentro de un mismo día).
+     *
+     * <p>Sale del índice por fecha de la agenda global, no de recorrer cada torneo: el costo depende de las
+     * partidas del rango (O(log n + k)). En modo concurrente se lee sin cerrojos; una partida que se programa
+     * o cancela durante la consulta puede aparecer o no.</p>
+     *
+     * @param filtro criterios opcionales ({@link #filtroPartidas(String, String, String)} o
+     *               {@link Agenda.Filtro#todas()}; el árbitro se agrega con {@link Agenda.Filtro#arbitro(Arbitro)})
+     * @throws NullPointerException si alguna fecha o el filtro son nulos
+     */
+    public List<Partida> getPartidasEntre(LocalDate desde, LocalDate hasta, Agenda.Filtro filtro) {
+        long t0 = Medidor.inicio();
+        try {
+            return agenda.entre(desde, hasta, filtro);
+        } catch (RuntimeException e) {
+            throw opPartidasEntre.fallo(e);
+        } finally {
+            opPartidasEntre.registrar(t0);
+        }
+    }
+
+    /**
+     * Página de {@link #getPartidasEntre(LocalDate, LocalDate, Agenda.Filtro)}: como mucho {@code maximo}
+     * partidas, saltando las primeras {@code saltar} del día {@code desde} (ver
+     * {@link Agenda#entre(LocalDate, LocalDate, Agenda.Filtro, int, int)}). Para seguir, se vuelve a pedir
+     * desde la fecha de la última partida, saltando las de ese día ya recibidas.
+     * @throws IllegalArgumentException si {@code saltar} o {@code maximo} son negativos
+     */
+    public List<Partida> getPartidasEntre(LocalDate desde, LocalDate hasta, Agenda.Filtro filtro, int saltar, int maximo) {
+        long t0 = Medidor.inicio();
+        try {
+            return agenda.entre(desde, hasta, filtro, saltar, maximo);
+        } catch (RuntimeException e) {
+            throw opPartidasEntre.fallo(e);
+        } finally {
+            opPartidasEntre.registrar(t0);
+        }
+    }
+
+    /**
+     * Arma un filtro para {@link #getPartidasEntre} a partir de nombres; los nulos o en blanco no filtran.
+     * @param categoriaNombre se compara con la categoría de cada juego, sin distinguir mayúsculas
+     * @throws NoSuchElementException si el juego o el equipo no existen
+     */
+    public Agenda.Filtro filtroPartidas(String juegoNombre, String categoriaNombre, String equipoNombre) {
+        Agenda.Filtro f = Agenda.Filtro.todas();
+        if (juegoNombre != null && !juegoNombre.isBlank()) f = f.juego(getJuegoOrThrow(juegoNombre));
+        if (categoriaNombre != null && !categoriaNombre.isBlank()) f = f.categoria(categoriaNombre);
+        if (equipoNombre != null && !equipoNombre.isBlank()) f = f.equipo(getEquipoOrThrow(equipoNombre));
+        return f;
+    }
+
+    /**
+     * Tabla de posiciones del torneo: puntos, partidas ganadas, empatadas y perdidas y diferencia de tantos de
+     * cada inscrito, ya ordenada. La mantiene el torneo con cada resultado, así que no recorre las partidas.
+     * @return foto inmutable (se puede leer sin cerrojos)
+     * @throws NoSuchElementException si el torneo no existe
+     */
+    public List<Clasificacion.Posicion> getClasificacion(String torneoNombre) {
+        long t0 = Medidor.inicio();
+        try {
+            Torneo t = getTorneoOrThrow(torneoNombre);
+            return conCerrojos(t, t::getClasificacion);
+        } catch (RuntimeException e) {
+            throw opClasificacion.fallo(e);
+        } finally {
+            opClasificacion.registrar(t0);
+        }
+    }
+
+    /**
+     * Recorre un bloque del calendario sin copiarlo: visita, en orden de id, las partidas vigentes con id en
+     * {@code [desdeId, desdeId + maximo)}. La visita corre con el torneo bloqueado (en modo concurrente): debe
+     * copiar lo que necesite y volver enseguida, sin hacer E/S.
+     *
+     * <p>Para recorrer todo el calendario en memoria constante, repetir con el id devuelto hasta que no
+     * avance.</p>
+     *
+     * @return id desde el que seguir (igual a {@code desdeId} si ya no quedan ids)
+     * @throws NoSuchElementException si el torneo no existe
+     */
+    public int recorrerPartidas(String torneoNombre, int desdeId, int maximo, Consumer<Partida> visita) {
+        long t0 = Medidor.inicio();
+        try {
+            Torneo t = getTorneoOrThrow(torneoNombre);
+            Objects.requireNonNull(visita, "visita");
+            return conCerrojos(t, () -> {
+                int desde = Math.max(1, desdeId);
+                int hasta = (int) Math.min((long) desde + Math.max(0, maximo) - 1, t.getUltimoId());
+                for (int id = desde; id <= hasta; id++) {
+                    Partida p = t.getPartida(id);
+                    if (p != null) visita.accept(p);
+                }
+                return Math.max(desde, hasta + 1);
+            });
+        } catch (RuntimeException e) {
+            throw opRecorrerPartidas.fallo(e);
+        } finally {
+            opRecorrerPartidas.registrar(t0);
+        }
+    }
+
+    /**
+     * @return cantidad de equipos inscritos en el torneo
+     * @throws NoSuchElementException si el torneo no existe
+     */
+    public int getCantidadInscritos(String torneoNombre) {
+        long t0 = Medidor.inicio();
+        try {
+            Torneo t = getTorneoOrThrow(torneoNombre);
+            return conCerrojos(t, () -> t.getEquipos().size());
+        } catch (RuntimeException e) {
+            throw opCantidadInscritos.fallo(e);
+        } finally {
+            opCantidadInscritos.registrar(t0);
+        }
+    }
+
+    /**
+     * @return cantidad de partidas programadas en el torneo (sin las canceladas)
+     * @throws NoSuchElementException si el torneo no existe
+     */
+    public int getCantidadPartidas(String torneoNombre) {
+        long t0 = Medidor.inicio();
+        try {
+            Torneo t = getTorneoOrThrow(torneoNombre);
+            return conCerrojos(t, t::getCantidadPartidas);
+        } catch (RuntimeException e) {
+            throw opCantidadPartidas.fallo(e);
+        } finally {
+            opCantidadPartidas.registrar(t0);
+        }
     }
 
     // ==========================
@@ -242,10 +1474,15 @@ public class AppVM {
             io.println("5) Inscribir equipo en torneo");
             io.println("6) Programar partida");
             io.println("7) Resumen (listar)");
+            io.println("8) Generar calendario round-robin");
+            io.println("9) Registrar árbitro");
+            io.println("10) Registrar resultado");
+            io.println("11) Ranking de jugadores");
+            io.println("12) Planificar calendario (ventana, cupo diario y descanso)");
             io.println("0) Salir");
             io.divider();
 
-            int op = io.promptIntInRange("Seleccione una opción", 0, 7);
+            int op = io.promptIntInRange("Seleccione una opción", 0, 12);
             switch (op) {
                 case 0: io.success("¡Hasta luego!"); return;
                 case 1: flujoCrearEquipo(); break;
@@ -255,6 +1492,11 @@ public class AppVM {
                 case 5: flujoInscribirEquipo(); break;
                 case 6: flujoProgramarPartida(); break;
                 case 7: flujoResumen(); break;
+                case 8: flujoRoundRobin(); break;
+                case 9: flujoRegistrarArbitro(); break;
+                case 10: flujoRegistrarResultado(); break;
+                case 11: flujoRankingJugadores(); break;
+                case 12: flujoPlanificarCalendario(); break;
             }
             io.pause();
         }
@@ -298,7 +1540,7 @@ public class AppVM {
 
     private void flujoCrearTorneo() {
         io.banner("Crear torneo");
-        if (juegos.isEmpty()) {
+        if (catalogo.sinJuegos()) {
             io.warn("No hay juegos registrados. Cree un juego primero.");
             return;
         }
@@ -339,44 +1581,135 @@ public class AppVM {
         Equipo e2 = io.chooseFrom("Elige equipo 2", candidatos, Equipo::getNombre);
 
         LocalDate fecha = io.promptDate("Fecha (yyyy-MM-dd)", "yyyy-MM-dd");
-        String arbNom   = io.promptNonEmpty("Nombre del árbitro");
-        String arbApe   = io.promptNonEmpty("Apellido del árbitro");
-        Arbitro arbitro = crearArbitro(arbNom, arbApe);
+        if (arbitros.isEmpty()) {
+            io.warn("No hay árbitros registrados; registre uno para continuar.");
+            flujoRegistrarArbitro();
+        }
 
         try {
-            Partida p = programarPartida(t.getNombre(), fecha, e1.getNombre(), e2.getNombre(), arbitro);
+            // El árbitro lo asigna el pool (menos cargado y libre ese día).
+            Partida p = programarPartida(t.getNombre(), fecha, e1.getNombre(), e2.getNombre());
             io.success("Partida creada: " + p);
         } catch (Exception ex) { io.error(ex.getMessage()); }
     }
 
+    private void flujoRegistrarArbitro() {
+        io.banner("Registrar árbitro");
+        String arbNom = io.promptNonEmpty("Nombre del árbitro");
+        String arbApe = io.promptNonEmpty("Apellido del árbitro");
+        try {
+            Arbitro a = crearArbitro(arbNom, arbApe);
+            io.success("Árbitro disponible: " + a + " (" + arbitros.size() + " en total)");
+        } catch (Exception ex) { io.error(ex.getMessage()); }
+    }
+
+    private void flujoRoundRobin() {
+        io.banner("Calendario round-robin");
+        Torneo t = elegirTorneo();
+        if (t == null) return;
+        if (t.getEquipos().size() < 2) {
+            io.warn("El torneo necesita al menos 2 equipos inscritos.");
+            return;
+        }
+        if (arbitros.isEmpty()) {
+            io.warn("No hay árbitros registrados. Registre al menos uno primero.");
+            return;
+        }
+        LocalDate fecha = io.promptDate("Fecha de la primera ronda (yyyy-MM-dd)", "yyyy-MM-dd");
+
+        try {
+            List<Partida> creadas = generarCalendarioRoundRobin(t.getNombre(), fecha, getArbitros());
+            io.success("Calendario generado: " + creadas.size() + " partidas");
+        } catch (Exception ex) { io.error(ex.getMessage()); }
+    }
+
+    private void flujoPlanificarCalendario() {
+        io.banner("Planificar calendario");
+        Torneo t = elegirTorneo();
+        if (t == null) return;
+        if (t.getEquipos().size() < 2) {
+            io.warn("El torneo necesita al menos 2 equipos inscritos.");
+            return;
+        }
+        if (arbitros.isEmpty()) {
+            io.warn("No hay árbitros registrados. Registre al menos uno primero.");
+            return;
+        }
+        LocalDate desde = io.promptDate("Primer día disponible (yyyy-MM-dd)", "yyyy-MM-dd");
+        LocalDate hasta = io.promptDate("Último día disponible (yyyy-MM-dd)", "yyyy-MM-dd");
+        int porDia = io.promptIntInRange("Partidas máximas por día", 1, 1000);
+        int descanso = io.promptIntInRange("Días de descanso entre partidas de un equipo", 0, 365);
+
+        try {
+            io.info("Buscando calendario...");
+            List<Partida> creadas = planificarCalendario(t.getNombre(), desde, hasta, porDia, descanso, getArbitros());
+            io.success("Calendario programado: " + creadas.size() + " partidas");
+        } catch (Exception ex) { io.error(ex.getMessage()); }
+    }
+
+    private void flujoRegistrarResultado() {
+        io.banner("Registrar resultado");
+        Torneo t = elegirTorneo();
+        if (t == null) return;
+        List<Partida> pendientes = t.getPartidas().stream()
+                .filter(p -> !p.tieneResultado()).collect(Collectors.toList());
+        if (pendientes.isEmpty()) {
+            io.warn("El torneo no tiene partidas pendientes de resultado.");
+            return;
+        }
+        Partida p = io.chooseFrom("Elige la partida", pendientes,
+                x -> "#" + x.getId() + " " + x.getFecha() + " " + x.getEquipo1().getNombre() + " vs " + x.getEquipo2().getNombre());
+        int m1 = io.promptIntInRange("Marcador de " + p.getEquipo1().getNombre(), 0, 1000);
+        int m2 = io.promptIntInRange("Marcador de " + p.getEquipo2().getNombre(), 0, 1000);
+        try {
+            registrarResultado(p, m1, m2);
+            io.success("Resultado registrado: " + p);
+        } catch (Exception ex) { io.error(ex.getMessage()); }
+    }
+
+    private void flujoRankingJugadores() {
+        io.banner("Ranking de jugadores");
+        if (ranking.size() == 0) {
+            io.warn("No hay jugadores registrados.");
+            return;
+        }
+        int k = io.promptIntInRange("¿Cuántos mostrar?", 1, 100);
+        List<Jugador> top = getTopJugadores(k);
+        List<List<String>> filas = new ArrayList<>(top.size());
+        for (int i = 0; i < top.size(); i++) {
+            Jugador j = top.get(i);
+            filas.add(List.of(String.valueOf(i + 1), j.getAlias(),
+                    j.getEquipo() != null ? j.getEquipo().getNombre() : "-", String.valueOf(j.getRanking())));
+        }
+        io.table(List.of("#", "Alias", "Equipo", "Ranking"), filas);
+    }
+
     private void flujoResumen() {
         io.banner("Resumen");
         // Juegos
         io.println(ConsoleIO.ANSI_BOLD + "Juegos" + ConsoleIO.ANSI_RESET);
-        io.table(List.of("Juego", "Categoría"),
-                juegos.values().stream()
-                        .map(j -> List.of(j.getNombre(), j.getCategoria().toString()))
-                        .collect(Collectors.toList()));
+        io.pagedTable(List.of("Juego", "Categoría"), catalogo.getJuegos().iterator(), (j, celdas) -> {
+            celdas[0] = j.getNombre();
+            celdas[1] = j.getCategoria().toString();
+        }, ConsoleIO.DEFAULT_PAGE_SIZE, true);
 
         io.divider();
         // Equipos
         io.println(ConsoleIO.ANSI_BOLD + "Equipos" + ConsoleIO.ANSI_RESET);
-        io.table(List.of("Equipo", "#Jugadores"),
-                equipos.values().stream()
-                        .map(e -> List.of(e.getNombre(), String.valueOf(e.getJugadores().size())))
-                        .collect(Collectors.toList()));
+        io.pagedTable(List.of("Equipo", "#Jugadores"), equipos.values().iterator(), (e, celdas) -> {
+            celdas[0] = e.getNombre();
+            celdas[1] = String.valueOf(e.getCantidadJugadores());
+        }, ConsoleIO.DEFAULT_PAGE_SIZE, true);
 
         io.divider();
         // Torneos
         io.println(ConsoleIO.ANSI_BOLD + "Torneos" + ConsoleIO.ANSI_RESET);
-        io.table(List.of("Torneo", "Juego", "Equipos", "Partidas"),
-                torneos.values().stream()
-                        .map(t -> List.of(
-                                t.getNombre(),
-                                t.getJuego().getNombre(),
-                                String.valueOf(t.getEquipos().size()),
-                                String.valueOf(t.getPartidas().size())
-                        )).collect(Collectors.toList()));
+        io.pagedTable(List.of("Torneo", "Juego", "Equipos", "Partidas"), torneos.values().iterator(), (t, celdas) -> {
+            celdas[0] = t.getNombre();
+            celdas[1] = t.getJuego().getNombre();
+            celdas[2] = String.valueOf(t.getEquipos().size());
+            celdas[3] = String.valueOf(t.getCantidadPartidas());
+        }, ConsoleIO.DEFAULT_PAGE_SIZE, true);
     }
 
     // ==========================
@@ -385,21 +1718,21 @@ public class AppVM {
 
     /** Obtiene un equipo por nombre o lanza excepción si no existe. */
     private Equipo getEquipoOrThrow(String nombre) {
-        Equipo e = equipos.get(key(nombre));
+        Equipo e = equipos.get(nombre);
         if (e == null) throw new NoSuchElementException("No existe el equipo: " + nombre);
         return e;
     }
 
     /** Obtiene un torneo por nombre o lanza excepción si no existe. */
     private Torneo getTorneoOrThrow(String nombre) {
-        Torneo t = torneos.get(key(nombre));
+        Torneo t = torneos.get(nombre);
         if (t == null) throw new NoSuchElementException("No existe el torneo: " + nombre);
         return t;
     }
 
     /** Obtiene un juego por nombre o lanza excepción si no existe. */
     private Juego getJuegoOrThrow(String nombre) {
-        Juego j = juegos.get(key(nombre));
+        Juego j = catalogo.getJuego(nombre);
         if (j == null) throw new NoSuchElementException("No existe el juego: " + nombre);
         return j;
     }
@@ -407,27 +1740,77 @@ public class AppVM {
     /** Selector UI: equipo. */
     private Equipo elegirEquipo() {
         if (equipos.isEmpty()) { io.warn("No hay equipos registrados."); return null; }
-        return io.chooseFrom("Elige un equipo", new ArrayList<>(equipos.values()), Equipo::getNombre);
+        if (equipos.size() <= MAX_OPCIONES_LISTA) return io.chooseFrom("Elige un equipo", equipos.values(), Equipo::getNombre);
+        return io.chooseBySearch("Buscar equipo", q -> buscarEquipos(q, MAX_OPCIONES_LISTA), Equipo::getNombre);
     }
 
     /** Selector UI: torneo. */
     private Torneo elegirTorneo() {
         if (torneos.isEmpty()) { io.warn("No hay torneos registrados."); return null; }
-        return io.chooseFrom("Elige un torneo", new ArrayList<>(torneos.values()), Torneo::getNombre);
+        if (torneos.size() <= MAX_OPCIONES_LISTA) return io.chooseFrom("Elige un torneo", torneos.values(), Torneo::getNombre);
+        return io.chooseBySearch("Buscar torneo", q -> buscarTorneos(q, MAX_OPCIONES_LISTA), Torneo::getNombre);
     }
 
     /** Selector UI: juego. */
     private Juego elegirJuego() {
-        if (juegos.isEmpty()) { io.warn("No hay juegos registrados."); return null; }
-        return io.chooseFrom("Elige un juego", new ArrayList<>(juegos.values()), Juego::getNombre);
+        if (catalogo.sinJuegos()) { io.warn("No hay juegos registrados."); return null; }
+        return io.chooseFrom("Elige un juego", catalogo.getJuegos(), Juego::getNombre);
     }
 
     // ==========================
-    // Utilidades
+    // Cerrojos (modo concurrente)
     // ==========================
 
-    /** Normaliza claves de nombre: lowercase + trim. */
-    private static String key(String s) { return s.toLowerCase(Locale.ROOT).trim(); }
+    /** Ejecuta la acción con el cerrojo del torneo tomado (en modo concurrente). */
+    private <R> R conCerrojos(Torneo torneo, Supplier<R> accion) {
+        return conCerrojos(torneo, List.of(), false, accion);
+    }
+
+    /**
+     * Ejecuta la acción con la lectura del cerrojo global y los cerrojos tomados en el orden global: torneo →
+     * equipos (por nombre, sin repetir) → pool de árbitros. Sin modo concurrente ejecuta la acción directamente.
+     *
+     * @param torneo  torneo a bloquear (null = ninguno, p. ej. porque quien llama ya lo tiene)
+     * @param equipos equipos a bloquear
+     * @param pool    true si la acción asigna, libera o consulta árbitros
+     */
+    private <R> R conCerrojos(Torneo torneo, Collection<Equipo> equipos, boolean pool, Supplier<R> accion) {
+        if (!concurrente) return accion.get();
+        TreeSet<Equipo> ordenados = new TreeSet<>(Comparator.comparing(Equipo::getNombre, String.CASE_INSENSITIVE_ORDER));
+        ordenados.addAll(equipos);
+        ReentrantLock[] tomados = new ReentrantLock[(torneo != null ? 1 : 0) + ordenados.size() + (pool ? 1 : 0)];
+        int n = 0;
+        cerrojoGlobal.readLock().lock();
+        try {
+            if (torneo != null) (tomados[n++] = cerrojo(torneo)).lock();
+            for (Equipo e : ordenados) (tomados[n++] = cerrojo(e)).lock();
+            if (pool) (tomados[n++] = cerrojo(arbitros)).lock();
+            return accion.get();
+        } finally {
+            while (n > 0) tomados[--n].unlock();
+            cerrojoGlobal.readLock().unlock();
+        }
+    }
+
+    /** Ejecuta la acción con la escritura del cerrojo global: ninguna otra operación con cerrojos en curso. */
+    private <R> R conTodo(Supplier<R> accion) {
+        if (!concurrente) return accion.get();
+        cerrojoGlobal.writeLock().lock();
+        try {
+            return accion.get();
+        } finally {
+            cerrojoGlobal.writeLock().unlock();
+        }
+    }
+
+    /** @return cerrojo de un torneo, un equipo o el pool de árbitros (para la instantánea, que los lee). */
+    ReentrantLock cerrojo(Object entidad) {
+        return cerrojos.computeIfAbsent(entidad, k -> new ReentrantLock());
+    }
+
+    // ==========================
+    // Utilidades
+    // ==========================
 
     /** Valida texto no vacío. */
     private static void assertNonBlank(String s, String campo) {
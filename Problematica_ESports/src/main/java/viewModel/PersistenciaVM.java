@@ -0,0 +1,627 @@
+package viewModel;
+
+import models.*;
+import persistencia.Diario;
+import persistencia.Instantanea;
+import services.PoolArbitros;
+import services.RankingGlobal;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Persistencia del estado de {@link AppVM}: cada mutación de la API programática se anota como un evento en
+ * un {@link Diario} y cada cierto número de eventos se guarda una {@link Instantanea} completa.
+ *
+ * <h2>Responsabilidades</h2>
+ * <ul>
+ *   <li>Codificar los eventos (altas, inscripciones, partidas, resultados, cancelaciones, reprogramaciones y
+ *       recálculos) en formato binario compacto y anotarlos.</li>
+ *   <li>Escribir y leer la instantánea: juegos, árbitros, equipos con sus jugadores y torneos con sus
+ *       inscritos y partidas. Cada texto se guarda una vez y cada entidad también: las referencias van como
+ *       índices y las partidas son registros de ancho fijo que se leen del archivo mapeado.</li>
+ *   <li>Al arrancar: cargar la instantánea y reproducir solo la cola del diario posterior a ella.</li>
+ * </ul>
+ *
+ * <h2>Notas de diseño</h2>
+ * <ul>
+ *   <li>Los eventos se reproducen llamando a la misma API pública de {@link AppVM} (con la persistencia aún
+ *       sin activar, así no se vuelven a anotar). Las partidas llevan su árbitro y su id, así que el resultado
+ *       no depende de la asignación automática del pool y el id se verifica al reproducir. El árbitro se
+ *       anota por nombre y apellido y se resuelve en el pool; {@link AppVM} hace lo mismo antes de programar,
+ *       así que en vivo y al reproducir se usa la misma instancia.</li>
+ *   <li>Orden del diario = orden real de aplicación: cada evento se anota con los cerrojos de la operación
+ *       tomados, y las altas (que solo publican en los repos) ponen en el repo y anotan bajo el monitor del
+ *       diario, así nadie puede anotar un uso de la entidad antes que su alta.</li>
+ *   <li>En modo concurrente, una barrera de lectura/escritura separa mutaciones (lectura, no compiten entre
+ *       sí) de la instantánea (escritura, ve un estado sin operaciones a medias).</li>
+ *   <li>La instantánea restaura rankings actuales (y los iniciales, semilla de
+ *       {@link AppVM#recalcularRankings()}) y resultados sin volver a aplicar Elo; el diario posterior sí lo
+ *       aplica al reproducir los resultados.</li>
+ *   <li>Solo se registra lo que pasa por {@link AppVM}; cambios hechos directamente sobre los modelos no
+ *       quedan en el diario. Las llaves de {@link AppVM} anotan sus partidas y resultados como eventos
+ *       normales; la llave en sí (quién espera rival) no se guarda y no se recupera al reiniciar.</li>
+ * </ul>
+ */
+final class PersistenciaVM implements AutoCloseable {
+
+    /** Sin persistencia: las operaciones se ejecutan tal cual y no se anota nada. */
+    static final PersistenciaVM INACTIVA = new PersistenciaVM();
+
+    /** Registros por fsync del diario. */
+    static final int LOTE_FSYNC = 512;
+
+    /** Máximo de milisegundos entre fsync con registros pendientes. */
+    static final long INTERVALO_FSYNC_MS = 20;
+
+    // Tipos de evento del diario.
+    private static final byte JUEGO = 1;
+    private static final byte EQUIPO = 2;
+    private static final byte JUGADOR = 3;
+    private static final byte TORNEO = 4;
+    private static final byte INSCRIPCION = 5;
+    private static final byte ARBITRO = 6;
+    private static final byte PARTIDA = 7;
+    private static final byte RESULTADO = 8;
+    private static final byte CANCELACION = 9;
+    private static final byte REPROGRAMACION = 10;
+    private static final byte RECALCULO = 11;
+
+    private final AppVM vm;
+    private final PoolArbitros pool;
+    private final RankingGlobal ranking;
+    private final Path directorio;
+    private final int cadaEventos;
+    private final Diario diario;
+    private final ReentrantReadWriteLock barrera;
+
+    private final AtomicLong eventosSinInstantanea = new AtomicLong();
+    private final AtomicBoolean guardando = new AtomicBoolean();
+
+    private PersistenciaVM() {
+        this.vm = null;
+        this.pool = null;
+        this.ranking = null;
+        this.directorio = null;
+        this.cadaEventos = Integer.MAX_VALUE;
+        this.diario = null;
+        this.barrera = null;
+    }
+
+    private PersistenciaVM(AppVM vm, PoolArbitros pool, RankingGlobal ranking, Path directorio, int cadaEventos,
+                           long siguiente, boolean concurrente) throws IOException {
+        this.vm = vm;
+        this.pool = pool;
+        this.ranking = ranking;
+        this.directorio = directorio;
+        this.cadaEventos = cadaEventos;
+        this.barrera = concurrente ? new ReentrantReadWriteLock() : null;
+        this.diario = new Diario(directorio, siguiente, LOTE_FSYNC, INTERVALO_FSYNC_MS);
+    }
+
+    /**
+     * Reconstruye el estado del VM (vacío) desde el directorio y deja el diario abierto para anotar.
+     *
+     * @param cadaEventos eventos entre instantáneas automáticas
+     * @throws IOException si la instantánea o el diario no se pueden leer o no son coherentes con el estado
+     */
+    static PersistenciaVM abrir(AppVM vm, PoolArbitros pool, RankingGlobal ranking, Path directorio, int cadaEventos,
+                                boolean concurrente) throws IOException {
+        if (cadaEventos < 1) throw new IllegalArgumentException("cadaEventos debe ser >= 1");
+        Lectura lectura = new Lectura(vm, pool, ranking);
+        long base = Instantanea.cargar(directorio, lectura::leerInstantanea);
+        long ultima = Diario.reproducir(directorio, base, lectura::leerEvento);
+        PersistenciaVM p = new PersistenciaVM(vm, pool, ranking, directorio, cadaEventos, ultima + 1, concurrente);
+        p.eventosSinInstantanea.set(ultima - base);
+        return p;
+    }
+
+    boolean isActiva() { return diario != null; }
+
+    /** @return eventos anotados (o reproducidos del diario) desde la última instantánea. */
+    long getEventosSinInstantanea() { return eventosSinInstantanea.get(); }
+
+    // ------------------------
+    // Ejecución de mutaciones
+    // ------------------------
+
+    /**
+     * Ejecuta una mutación de la API (en modo concurrente, con la barrera de lectura tomada) y, si ya se
+     * acumularon bastantes eventos, guarda una instantánea al terminar.
+     */
+    <R> R mutar(Supplier<R> accion) {
+        if (diario == null) return accion.get();
+        R r;
+        if (barrera == null) {
+            r = accion.get();
+        } else {
+            barrera.readLock().lock();
+            try {
+                r = accion.get();
+            } finally {
+                barrera.readLock().unlock();
+            }
+        }
+        if (eventosSinInstantanea.get() >= cadaEventos) instantaneaAutomatica();
+        return r;
+    }
+
+    /** Ejecuta un alta (poner en el repo + anotar) sin que otra anotación se intercale. */
+    <R> R enOrden(Supplier<R> alta) {
+        if (diario == null) return alta.get();
+        synchronized (diario) {
+            return alta.get();
+        }
+    }
+
+    private void instantaneaAutomatica() {
+        if (barrera != null && barrera.getReadHoldCount() > 0) return;
+        if (!guardando.compareAndSet(false, true)) return;
+        try {
+            if (eventosSinInstantanea.get() >= cadaEventos) guardarInstantanea();
+        } catch (IOException e) {
+            throw new UncheckedIOException("La operación se aplicó, pero no se pudo guardar la instantánea", e);
+        } finally {
+            guardando.set(false);
+        }
+    }
+
+    /** Guarda una instantánea del estado actual y descarta el diario que ya incluye. */
+    void guardarInstantanea() throws IOException {
+        if (barrera != null) barrera.writeLock().lock();
+        try {
+            synchronized (diario) {
+                long hasta = diario.getSiguienteSecuencia() - 1;
+                Instantanea.guardar(directorio, hasta, this::escribirInstantanea);
+                diario.rotar(hasta);
+                eventosSinInstantanea.set(0);
+            }
+        } finally {
+            if (barrera != null) barrera.writeLock().unlock();
+        }
+    }
+
+    /** Cierra el diario (forzando a disco lo pendiente), esperando a que terminen las mutaciones en curso. */
+    @Override
+    public void close() throws IOException {
+        if (diario == null) return;
+        if (barrera != null) barrera.writeLock().lock();
+        try {
+            diario.close();
+        } finally {
+            if (barrera != null) barrera.writeLock().unlock();
+        }
+    }
+
+    // ------------------------
+    // Eventos
+    // ------------------------
+
+    void juego(Juego j) {
+        anotar(JUEGO, d -> {
+            d.writeUTF(j.getNombre());
+            d.writeUTF(j.getCategoria().getNombre());
+            escribirOpcional(d, j.getCategoria().getDescripcion());
+        });
+    }
+
+    void equipo(Equipo e) {
+        anotar(EQUIPO, d -> d.writeUTF(e.getNombre()));
+    }
+
+    void jugador(Equipo e, Jugador j) {
+        anotar(JUGADOR, d -> {
+            d.writeUTF(e.getNombre());
+            d.writeUTF(j.getNombre());
+            d.writeUTF(j.getAlias());
+            d.writeInt(j.getRanking());
+        });
+    }
+
+    void torneo(Torneo t) {
+        anotar(TORNEO, d -> {
+            d.writeUTF(t.getNombre());
+            d.writeUTF(t.getOrganizador());
+            d.writeLong(t.getFechaInicio().toEpochDay());
+            d.writeUTF(t.getJuego().getNombre());
+        });
+    }
+
+    void inscripcion(Torneo t, Equipo e) {
+        anotar(INSCRIPCION, d -> {
+            d.writeUTF(t.getNombre());
+            d.writeUTF(e.getNombre());
+        });
+    }
+
+    void arbitro(Arbitro a) {
+        anotar(ARBITRO, d -> {
+            d.writeUTF(a.getNombre());
+            d.writeUTF(a.getApellido());
+        });
+    }
+
+    void partida(Partida p) {
+        anotar(PARTIDA, d -> {
+            d.writeUTF(p.getTorneo().getNombre());
+            d.writeInt(p.getId());
+            d.writeLong(p.getFecha().toEpochDay());
+            d.writeUTF(p.getEquipo1().getNombre());
+            d.writeUTF(p.getEquipo2().getNombre());
+            d.writeUTF(p.getArbitro().getNombre());
+            d.writeUTF(p.getArbitro().getApellido());
+        });
+    }
+
+    void partidas(List<Partida> creadas) {
+        if (diario == null) return;
+        for (Partida p : creadas) partida(p);
+    }
+
+    void resultado(Partida p) {
+        anotar(RESULTADO, d -> {
+            d.writeUTF(p.getTorneo().getNombre());
+            d.writeInt(p.getId());
+            d.writeInt(p.getMarcador1());
+            d.writeInt(p.getMarcador2());
+        });
+    }
+
+    void cancelacion(Torneo t, int id) {
+        anotar(CANCELACION, d -> {
+            d.writeUTF(t.getNombre());
+            d.writeInt(id);
+        });
+    }
+
+    void reprogramacion(Partida p) {
+        anotar(REPROGRAMACION, d -> {
+            d.writeUTF(p.getTorneo().getNombre());
+            d.writeInt(p.getId());
+            d.writeLong(p.getFecha().toEpochDay());
+        });
+    }
+
+    void recalculo() {
+        anotar(RECALCULO, d -> { });
+    }
+
+    private void anotar(byte tipo, Diario.Escritor escritor) {
+        if (diario == null) return;
+        diario.anotar(tipo, escritor);
+        eventosSinInstantanea.incrementAndGet();
+    }
+
+    // ------------------------
+    // Instantánea: escritura
+    // ------------------------
+
+    /*
+     * Contenido de la instantánea (ver Instantanea): tabla de textos y luego secciones de registros de ancho
+     * fijo que se referencian por índice.
+     *
+     *   juegos:     [n] × (nombre, categoría, descripción)            índices de texto
+     *   árbitros:   [n, delPool] × (nombre, apellido)                 los primeros delPool están en el pool
+     *   equipos:    [n] × (nombre)
+     *   jugadores:  [n] × (equipo, nombre, alias, rankingInicial, ranking)   en orden de alta en la clasificación
+     *   torneos:    [n] × (nombre, organizador, díaInicio, juego, [k] × equipo, últimoId,
+     *                      díaMin, díaMax, [m] × partida)
+     *   partida:    (id, día, equipo1, equipo2, árbitro, marcador1, marcador2)   7 × int = 28 bytes
+     */
+
+    private void escribirInstantanea(DataOutputStream out) throws IOException {
+        Instantanea.Textos textos = new Instantanea.Textos();
+        List<Juego> juegos = vm.getJuegos();
+        List<Equipo> equipos = vm.getEquipos();
+        List<Torneo> torneos = vm.getTorneos();
+        List<Jugador> jugadores = new ArrayList<>(ranking.enOrdenDeAlta());
+        List<Arbitro> arbitros;
+        ReentrantLock cerrojoPool = vm.cerrojo(pool);
+        cerrojoPool.lock();
+        try {
+            arbitros = new ArrayList<>(pool.getArbitros());
+        } finally {
+            cerrojoPool.unlock();
+        }
+        int delPool = arbitros.size();
+
+        // 1) Índices de entidades y tabla de textos.
+        Map<Juego, Integer> idJuego = new IdentityHashMap<>(juegos.size() * 2);
+        for (Juego j : juegos) {
+            idJuego.put(j, idJuego.size());
+            textos.indice(j.getNombre());
+            textos.indice(j.getCategoria().getNombre());
+            textos.indice(j.getCategoria().getDescripcion());
+        }
+        Map<Equipo, Integer> idEquipo = new IdentityHashMap<>(equipos.size() * 2);
+        for (Equipo e : equipos) {
+            idEquipo.put(e, idEquipo.size());
+            textos.indice(e.getNombre());
+        }
+        jugadores.removeIf(j -> j.getEquipo() == null || !idEquipo.containsKey(j.getEquipo()));
+        for (Jugador j : jugadores) {
+            textos.indice(j.getNombre());
+            textos.indice(j.getAlias());
+        }
+        Map<Arbitro, Integer> idArbitro = new IdentityHashMap<>(arbitros.size() * 2);
+        for (Arbitro a : arbitros) idArbitro.put(a, idArbitro.size());
+        for (Torneo t : torneos) {
+            textos.indice(t.getNombre());
+            textos.indice(t.getOrganizador());
+            ReentrantLock cerrojo = vm.cerrojo(t);
+            cerrojo.lock();
+            try {
+                for (Partida p : t.getPartidas()) {
+                    // Árbitros que no pasaron por el pool van al final de la tabla.
+                    if (idArbitro.putIfAbsent(p.getArbitro(), arbitros.size()) == null) arbitros.add(p.getArbitro());
+                }
+            } finally {
+                cerrojo.unlock();
+            }
+        }
+        for (Arbitro a : arbitros) {
+            textos.indice(a.getNombre());
+            textos.indice(a.getApellido());
+        }
+        textos.escribir(out);
+
+        // 2) Secciones.
+        out.writeInt(juegos.size());
+        for (Juego j : juegos) {
+            out.writeInt(textos.existente(j.getNombre()));
+            out.writeInt(textos.existente(j.getCategoria().getNombre()));
+            out.writeInt(textos.existente(j.getCategoria().getDescripcion()));
+        }
+
+        out.writeInt(arbitros.size());
+        out.writeInt(delPool);
+        for (Arbitro a : arbitros) {
+            out.writeInt(textos.existente(a.getNombre()));
+            out.writeInt(textos.existente(a.getApellido()));
+        }
+
+        out.writeInt(equipos.size());
+        for (Equipo e : equipos) out.writeInt(textos.existente(e.getNombre()));
+
+        out.writeInt(jugadores.size());
+        for (Jugador j : jugadores) {
+            out.writeInt(idEquipo.get(j.getEquipo()));
+            out.writeInt(textos.existente(j.getNombre()));
+            out.writeInt(textos.existente(j.getAlias()));
+            out.writeInt(j.getRankingInicial());
+            out.writeInt(j.getRanking());
+        }
+
+        out.writeInt(torneos.size());
+        for (Torneo t : torneos) {
+            ReentrantLock cerrojo = vm.cerrojo(t);
+            cerrojo.lock();
+            try {
+                out.writeInt(textos.existente(t.getNombre()));
+                out.writeInt(textos.existente(t.getOrganizador()));
+                out.writeInt(Math.toIntExact(t.getFechaInicio().toEpochDay()));
+                out.writeInt(idJuego.get(t.getJuego()));
+                Set<Equipo> inscritos = t.getEquipos();
+                out.writeInt(inscritos.size());
+                for (Equipo e : inscritos) out.writeInt(idEquipo.get(e));
+                out.writeInt(t.getUltimoId());
+
+                List<Partida> partidas = t.getPartidas();
+                int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+                for (Partida p : partidas) {
+                    int dia = Math.toIntExact(p.getFecha().toEpochDay());
+                    min = Math.min(min, dia);
+                    max = Math.max(max, dia);
+                }
+                out.writeInt(min);
+                out.writeInt(max);
+                out.writeInt(partidas.size());
+                for (Partida p : partidas) {
+                    out.writeInt(p.getId());
+                    out.writeInt((int) p.getFecha().toEpochDay());
+                    out.writeInt(idEquipo.get(p.getEquipo1()));
+                    out.writeInt(idEquipo.get(p.getEquipo2()));
+                    out.writeInt(idArbitro.get(p.getArbitro()));
+                    out.writeInt(p.tieneResultado() ? p.getMarcador1() : -1);
+                    out.writeInt(p.tieneResultado() ? p.getMarcador2() : -1);
+                }
+            } finally {
+                cerrojo.unlock();
+            }
+        }
+    }
+
+    private static void escribirOpcional(DataOutput d, String s) throws IOException {
+        d.writeBoolean(s != null);
+        if (s != null) d.writeUTF(s);
+    }
+
+    private static String leerOpcional(DataInput d) throws IOException {
+        return d.readBoolean() ? d.readUTF() : null;
+    }
+
+    // ------------------------
+    // Lectura (instantánea + diario)
+    // ------------------------
+
+    /** Aplica la instantánea y los eventos sobre un VM todavía sin persistencia activa. */
+    private static final class Lectura {
+        private final AppVM vm;
+        private final PoolArbitros pool;
+        private final RankingGlobal ranking;
+
+        Lectura(AppVM vm, PoolArbitros pool, RankingGlobal ranking) {
+            this.vm = vm;
+            this.pool = pool;
+            this.ranking = ranking;
+        }
+
+        void leerInstantanea(ByteBuffer in) throws IOException {
+            try {
+                String[] textos = Instantanea.Textos.leer(in);
+
+                Juego[] juegos = new Juego[in.getInt()];
+                for (int i = 0; i < juegos.length; i++) {
+                    String nombre = textos[in.getInt()];
+                    String categoria = textos[in.getInt()];
+                    int descripcion = in.getInt();
+                    juegos[i] = vm.crearJuego(nombre,
+                            vm.crearCategoria(categoria, descripcion >= 0 ? textos[descripcion] : null));
+                }
+
+                Arbitro[] arbitros = new Arbitro[in.getInt()];
+                int delPool = in.getInt();
+                for (int i = 0; i < arbitros.length; i++) {
+                    String nombre = textos[in.getInt()], apellido = textos[in.getInt()];
+                    arbitros[i] = i < delPool ? vm.crearArbitro(nombre, apellido) : new Arbitro(nombre, apellido);
+                }
+
+                Equipo[] equipos = new Equipo[in.getInt()];
+                for (int i = 0; i < equipos.length; i++) equipos[i] = vm.crearEquipo(textos[in.getInt()]);
+                // Una llamada por equipo; el orden de alta (desempate de la clasificación) se repone al final.
+                int cantidadJugadores = in.getInt();
+                List<Jugador> enOrdenDeAlta = new ArrayList<>(cantidadJugadores);
+                List<List<Jugador>> plantillas = new ArrayList<>(Collections.nCopies(equipos.length, null));
+                for (int k = 0; k < cantidadJugadores; k++) {
+                    int equipo = in.getInt();
+                    Jugador j = new Jugador(textos[in.getInt()], textos[in.getInt()], in.getInt(), in.getInt());
+                    List<Jugador> plantilla = plantillas.get(equipo);
+                    if (plantilla == null) plantillas.set(equipo, plantilla = new ArrayList<>());
+                    plantilla.add(j);
+                    enOrdenDeAlta.add(j);
+                }
+                for (int i = 0; i < equipos.length; i++) {
+                    List<Jugador> plantilla = plantillas.get(i);
+                    if (plantilla == null) continue;
+                    List<AppVM.Rechazo> rechazo = vm.agregarJugadores(equipos[i].getNombre(), plantilla);
+                    if (!rechazo.isEmpty()) {
+                        throw new IOException("Jugador inválido en la instantánea: " + rechazo.get(0).getMotivo());
+                    }
+                }
+                ranking.restaurarOrdenDeAlta(enOrdenDeAlta);
+
+                for (int n = in.getInt(); n > 0; n--) {
+                    String nombre = textos[in.getInt()];
+                    String organizador = textos[in.getInt()];
+                    LocalDate inicio = LocalDate.ofEpochDay(in.getInt());
+                    Torneo t = vm.crearTorneo(nombre, organizador, inicio, juegos[in.getInt()].getNombre());
+                    for (int k = in.getInt(); k > 0; k--) t.agregarEquipo(equipos[in.getInt()]);
+                    int ultimoId = in.getInt();
+                    Fechas fechas = new Fechas(in.getInt(), in.getInt());
+                    for (int k = in.getInt(); k > 0; k--) {
+                        int id = in.getInt();
+                        LocalDate fecha = fechas.de(in.getInt());
+                        Equipo e1 = equipos[in.getInt()], e2 = equipos[in.getInt()];
+                        int arb = in.getInt();
+                        int m1 = in.getInt(), m2 = in.getInt();
+                        Partida p = t.restaurarPartida(id, fecha, e1, e2, arbitros[arb]);
+                        if (m1 >= 0) t.registrarResultado(p, m1, m2);
+                        if (arb < delPool) pool.contabilizar(p);
+                    }
+                    t.restaurarUltimoId(ultimoId);
+                }
+            } catch (RuntimeException e) {
+                throw new IOException("Instantánea incoherente: " + e.getMessage(), e);
+            }
+        }
+
+        void leerEvento(long sec, byte tipo, DataInput d) throws IOException {
+            try {
+                switch (tipo) {
+                    case JUEGO: {
+                        String nombre = d.readUTF();
+                        vm.crearJuego(nombre, vm.crearCategoria(d.readUTF(), leerOpcional(d)));
+                        break;
+                    }
+                    case EQUIPO:
+                        vm.crearEquipo(d.readUTF());
+                        break;
+                    case JUGADOR:
+                        vm.agregarJugadorAEquipo(d.readUTF(), d.readUTF(), d.readUTF(), d.readInt());
+                        break;
+                    case TORNEO:
+                        vm.crearTorneo(d.readUTF(), d.readUTF(), LocalDate.ofEpochDay(d.readLong()), d.readUTF());
+                        break;
+                    case INSCRIPCION:
+                        vm.inscribirEquipoEnTorneo(d.readUTF(), d.readUTF());
+                        break;
+                    case ARBITRO:
+                        vm.crearArbitro(d.readUTF(), d.readUTF());
+                        break;
+                    case PARTIDA: {
+                        String torneo = d.readUTF();
+                        int id = d.readInt();
+                        LocalDate fecha = LocalDate.ofEpochDay(d.readLong());
+                        String e1 = d.readUTF(), e2 = d.readUTF();
+                        Arbitro a = vm.crearArbitro(d.readUTF(), d.readUTF());
+                        Partida p = vm.programarPartida(torneo, fecha, e1, e2, a);
+                        if (p.getId() != id)
+                            throw new IllegalStateException("la partida " + id + " se reprodujo con id " + p.getId());
+                        break;
+                    }
+                    case RESULTADO: {
+                        String torneo = d.readUTF();
+                        int id = d.readInt();
+                        vm.registrarResultado(partida(torneo, id), d.readInt(), d.readInt());
+                        break;
+                    }
+                    case CANCELACION: {
+                        String torneo = d.readUTF();
+                        int id = d.readInt();
+                        if (!vm.cancelarPartida(torneo, id))
+                            throw new IllegalStateException("no existe la partida " + id + " en " + torneo);
+                        break;
+                    }
+                    case REPROGRAMACION:
+                        vm.reprogramarPartida(d.readUTF(), d.readInt(), LocalDate.ofEpochDay(d.readLong()));
+                        break;
+                    case RECALCULO:
+                        vm.recalcularRankings();
+                        break;
+                    default:
+                        throw new IOException("Tipo de evento desconocido " + tipo + " en el registro " + sec);
+                }
+            } catch (RuntimeException e) {
+                throw new IOException("No se pudo reproducir el registro " + sec + " del diario: " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * Fechas de las partidas de un torneo compartidas por día: una sola instancia de {@link LocalDate}
+         * por fecha (menos objetos al cargar y en la agenda). Sin caché si el rango de días es enorme.
+         */
+        private static final class Fechas {
+            private static final int MAX_DIAS = 1 << 16;
+            private final int min;
+            private final LocalDate[] cache;
+
+            Fechas(int min, int max) {
+                this.min = min;
+                long dias = (long) max - min + 1;
+                this.cache = dias > 0 && dias <= MAX_DIAS ? new LocalDate[(int) dias] : null;
+            }
+
+            LocalDate de(int dia) {
+                int i = dia - min;
+                if (cache == null || i < 0 || i >= cache.length) return LocalDate.ofEpochDay(dia);
+                LocalDate f = cache[i];
+                if (f == null) cache[i] = f = LocalDate.ofEpochDay(dia);
+                return f;
+            }
+        }
+
+        private Partida partida(String torneo, int id) {
+            Partida p = vm.getPartida(torneo, id);
+            if (p == null) throw new NoSuchElementException("No existe la partida " + id + " en " + torneo);
+            return p;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package api;
+
+import models.Partida;
+import org.junit.jupiter.api.Test;
+import utils.ConsoleIO;
+import viewModel.AppVM;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ServidorApiTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2025, 3, 3);
+    private static final String TORNEO = "Copa API";
+
+    private final HttpClient cliente = HttpClient.newHttpClient();
+
+    /** Torneo de 8 equipos con 4 partidas por día durante 10 días; la 5 y la 6 están canceladas. */
+    private static AppVM vmConCalendario() {
+        AppVM vm = new AppVM(new ConsoleIO(InputStream.nullInputStream(),
+                new PrintStream(OutputStream.nullOutputStream()), false), true);
+        vm.crearJuego("Juego", vm.crearCategoria("General", null));
+        vm.crearTorneo(TORNEO, "Org", INICIO, "Juego");
+        for (int i = 0; i < 8; i++) {
+            vm.crearEquipo("E" + i);
+            vm.inscribirEquipoEnTorneo(TORNEO, "E" + i);
+        }
+        for (int k = 0; k < 4; k++) vm.crearArbitro("Árbitro", String.valueOf(k));
+        for (int d = 0; d < 10; d++) {
+            for (int k = 0; k < 4; k++) {
+                vm.programarPartida(TORNEO, INICIO.plusDays(d), "E" + (2 * k + d) % 8, "E" + (2 * k + 1 + d) % 8);
+            }
+        }
+        vm.cancelarPartida(TORNEO, 5);
+        vm.cancelarPartida(TORNEO, 6);
+        return vm;
+    }
+
+    private Map<String, Object> get(ServidorApi api, String ruta) throws IOException, InterruptedException {
+        HttpResponse<String> r = cliente.send(HttpRequest.newBuilder(
+                URI.create("http://localhost:" + api.getPuerto() + ruta)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, r.statusCode(), r.body());
+        return Json.leerObjeto(r.body());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Long> ids(Map<String, Object> pagina) {
+        List<Long> out = new ArrayList<>();
+        for (Object p : (List<Object>) pagina.get("partidas")) out.add((Long) ((Map<String, Object>) p).get("id"));
+        return out;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void partidasDelTorneoPorPaginas() throws Exception {
+        AppVM vm = vmConCalendario();
+        List<Long> esperados = new ArrayList<>();
+        for (Partida p : vm.getPartidas(TORNEO)) esperados.add((long) p.getId());
+
+        try (ServidorApi api = new ServidorApi(vm, new InetSocketAddress(0))) {
+            api.iniciar();
+            List<Long> vistos = new ArrayList<>();
+            String ruta = "/torneos/Copa%20API/partidas?limite=7";
+            int paginas = 0;
+            while (ruta != null) {
+                Map<String, Object> pagina = get(api, ruta);
+                vistos.addAll(ids(pagina));
+                Map<String, Object> siguiente = (Map<String, Object>) pagina.get("siguiente");
+                ruta = siguiente == null ? null : "/torneos/Copa%20API/partidas?limite=7&desde=" + siguiente.get("desde");
+                paginas++;
+            }
+            assertEquals(esperados, vistos);
+            assertEquals(6, paginas); // 40 ids en bloques de 7
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void partidasEntreFechasPorPaginas() throws Exception {
+        AppVM vm = vmConCalendario();
+        List<Long> esperados = new ArrayList<>();
+        for (Partida p : vm.getPartidasEntre(INICIO, INICIO.plusDays(9), vm.filtroPartidas(null, null, null))) {
+            esperados.add((long) p.getId());
+        }
+
+        try (ServidorApi api = new ServidorApi(vm, new InetSocketAddress(0))) {
+            api.iniciar();
+            List<Long> vistos = new ArrayList<>();
+            String consulta = "desde=" + INICIO;
+            while (consulta != null) {
+                Map<String, Object> pagina = get(api, "/partidas?hasta=" + INICIO.plusDays(9) + "&limite=3&" + consulta);
+                vistos.addAll(ids(pagina));
+                Map<String, Object> s = (Map<String, Object>) pagina.get("siguiente");
+                consulta = s == null ? null : "desde=" + s.get("desde") + "&saltar=" + s.get("saltar");
+            }
+            assertEquals(esperados, vistos);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void limiteYTopTienenTope() throws Exception {
+        AppVM vm = vmConCalendario();
+        try (ServidorApi api = new ServidorApi(vm, new InetSocketAddress(0))) {
+            api.iniciar();
+            Map<String, Object> pagina = get(api, "/partidas?desde=" + INICIO + "&hasta=" + INICIO.plusDays(9)
+                    + "&limite=" + (ServidorApi.MAX_PAGINA * 10));
+            assertEquals(38, ids(pagina).size());
+            assertNull(pagina.get("siguiente"));
+
+            HttpResponse<String> r = cliente.send(HttpRequest.newBuilder(URI.create("http://localhost:"
+                    + api.getPuerto() + "/ranking?top=" + Integer.MAX_VALUE)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, r.statusCode());
+        }
+    }
+}
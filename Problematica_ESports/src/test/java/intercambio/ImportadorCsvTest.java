@@ -0,0 +1,97 @@
+package intercambio;
+
+import models.Equipo;
+import models.Jugador;
+import org.junit.jupiter.api.Test;
+import utils.ConsoleIO;
+import viewModel.AppVM;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ImportadorCsvTest {
+
+    private static AppVM vmMudo() {
+        return new AppVM(new ConsoleIO(InputStream.nullInputStream(), new PrintStream(OutputStream.nullOutputStream()), false));
+    }
+
+    private static LectorCsv lector(String csv) {
+        return new LectorCsv(Channels.newChannel(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static List<String> errores(ImportadorCsv.Reporte r) {
+        return r.getDetalleErrores().stream().map(ImportadorCsv.ErrorFila::toString).toList();
+    }
+
+    /**
+     * Lotes de 2: los rechazos del VM llegan al aplicar cada lote (después de los errores de forma leídos
+     * mientras tanto) y cada uno conserva la línea de su fila.
+     */
+    @Test
+    void equiposRechazadosPorFilaEnVariosLotes() throws IOException {
+        AppVM vm = vmMudo();
+        vm.crearEquipo("Fox");
+        String csv = """
+                nombre
+                Fox
+                Owls
+                "Ra,x",y
+
+                Owls
+                "Mal"x
+                Lynx
+                fox
+                """;
+        ImportadorCsv.Reporte r = new ImportadorCsv(vm, 2).importarEquipos(lector(csv));
+
+        assertEquals(7, r.getFilas());
+        assertEquals(2, r.getImportadas());
+        assertEquals(5, r.getErrores());
+        assertEquals(List.of(
+                "Línea 2: Ya existe un equipo con ese nombre: Fox",
+                "Línea 4: Se esperaban 1 columnas y hay 2",
+                "Línea 7: Texto después de las comillas de cierre",
+                "Línea 6: Ya existe un equipo con ese nombre: Owls",
+                "Línea 9: Ya existe un equipo con ese nombre: fox"), errores(r));
+        assertEquals(List.of("Fox", "Owls", "Lynx"), vm.getEquipos().stream().map(Equipo::getNombre).toList());
+    }
+
+    /** Filas de varias líneas desplazan la numeración; un equipo inexistente rechaza solo su grupo del lote. */
+    @Test
+    void jugadoresConLineasDeRegistrosMultilinea() throws IOException {
+        AppVM vm = vmMudo();
+        vm.crearEquipo("Fox");
+        vm.crearEquipo("Raptors");
+        String csv = "\uFEFFequipo,nombre,alias,ranking\r\n"
+                + "Fox,Ana,ana,1500\r\n"
+                + "Fox,\"Bea\r\nBravo\",bea,x\r\n"
+                + "Nadie,Carl,carl,1200\r\n"
+                + "Raptors,Dan,dan,1300\r\n"
+                + "Raptors,Eva,eva\r\n"
+                + "\"Nadie\",Gus,gus,1\r\n"
+                + "Fox,\"Ivo\r\nIván\",ivo,1100\r\n"
+                + "Fox,Juan,juan,-5\r\n";
+        ImportadorCsv.Reporte r = new ImportadorCsv(vm, 2).importarJugadores(lector(csv));
+
+        assertEquals(8, r.getFilas());
+        assertEquals(3, r.getImportadas());
+        assertEquals(List.of(
+                "Línea 3: Ranking inválido: Número inválido: x",
+                "Línea 5: No existe el equipo: Nadie",
+                "Línea 7: Se esperaban 4 columnas y hay 3",
+                "Línea 8: No existe el equipo: Nadie",
+                "Línea 11: Ranking negativo: -5"), errores(r));
+        assertEquals(List.of("ana", "ivo"),
+                vm.buscarEquipos("Fox", 1).get(0).getJugadores().stream().map(Jugador::getAlias).toList());
+        assertEquals(List.of("dan"),
+                vm.buscarEquipos("Raptors", 1).get(0).getJugadores().stream().map(Jugador::getAlias).toList());
+    }
+}
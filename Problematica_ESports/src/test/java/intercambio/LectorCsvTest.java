@@ -0,0 +1,149 @@
+package intercambio;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LectorCsvTest {
+
+    private static LectorCsv lector(String csv) {
+        return new LectorCsv(Channels.newChannel(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    /** Entrega un byte por lectura: corta los caracteres UTF-8 de varios bytes entre dos lecturas del canal. */
+    private static LectorCsv goteo(String csv) {
+        InputStream bytes = new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+        return new LectorCsv(Channels.newChannel(new InputStream() {
+            @Override public int read() throws IOException { return bytes.read(); }
+            @Override public int read(byte[] b, int off, int len) throws IOException {
+                return bytes.read(b, off, Math.min(len, 1));
+            }
+        }));
+    }
+
+    /** Cada registro como {@code "línea: campo|campo|... [error]"}. */
+    private static List<String> registros(LectorCsv csv) throws IOException {
+        List<String> out = new ArrayList<>();
+        while (csv.siguiente()) {
+            StringBuilder sb = new StringBuilder().append(csv.getLinea()).append(": ");
+            for (int i = 0; i < csv.getCantidadCampos(); i++) sb.append(i > 0 ? "|" : "").append(csv.campo(i));
+            if (csv.getError() != null) sb.append(" [").append(csv.getError()).append(']');
+            out.add(sb.toString());
+        }
+        return out;
+    }
+
+    @Test
+    void separadoresYSaltosDeLineaEntreComillas() throws IOException {
+        assertEquals(List.of("1: a|b,c|d\ne", "3: x|y"), registros(lector("a,\"b,c\",\"d\ne\"\nx,y\n")));
+    }
+
+    @Test
+    void comillasDoblesEscapadas() throws IOException {
+        try (LectorCsv csv = lector("\"di \"\"hola\"\"\",\"\"\"\",\"\",x\n")) {
+            assertTrue(csv.siguiente());
+            assertEquals(4, csv.getCantidadCampos());
+            assertEquals("di \"hola\"", csv.campo(0));
+            assertEquals("\"", csv.campo(1));
+            assertTrue(csv.estaVacio(2));
+            assertEquals("x", csv.campo(3));
+            assertNull(csv.getError());
+            assertFalse(csv.siguiente());
+        }
+    }
+
+    /** El {@code \r} de fin de línea no queda en el último campo; dentro de comillas se conserva. */
+    @Test
+    void finDeLineaWindows() throws IOException {
+        try (LectorCsv csv = lector("a,b\r\nc,d\r\n\"x\r\ny\",z\r\n")) {
+            assertTrue(csv.siguiente());
+            assertTrue(csv.coincide(1, "b"));
+            assertTrue(csv.siguiente());
+            assertEquals(2, csv.getLinea());
+            assertEquals("d", csv.campo(1));
+            assertTrue(csv.siguiente());
+            assertEquals(3, csv.getLinea());
+            assertEquals("x\r\ny", csv.campo(0));
+            assertEquals("z", csv.campo(1));
+            assertFalse(csv.siguiente());
+        }
+    }
+
+    @Test
+    void marcaBomInicialSeIgnora() throws IOException {
+        try (LectorCsv csv = lector("\uFEFFnombre,ranking\nFox,\uFEFF1\n")) {
+            assertTrue(csv.siguiente());
+            assertTrue(csv.coincide(0, "nombre"));
+            assertEquals("nombre", csv.campo(0));
+            // Solo la del comienzo del archivo: más adelante es un carácter más del campo.
+            assertTrue(csv.siguiente());
+            assertEquals("\uFEFF1", csv.campo(1));
+        }
+    }
+
+    /** El error marca solo su registro; el siguiente se lee normalmente. */
+    @Test
+    void textoDespuesDeLasComillasDeCierre() throws IOException {
+        assertEquals(List.of("1: ab|d [Texto después de las comillas de cierre]", "2: ok|1"),
+                registros(lector("\"a\"b,d\nok,1\n")));
+    }
+
+    @Test
+    void comillasSinCerrarAlFinalDelArchivo() throws IOException {
+        assertEquals(List.of("1: a|1", "2: b,2\nc [Comillas sin cerrar]"), registros(lector("a,1\n\"b,2\nc")));
+    }
+
+    @Test
+    void lineasVaciasSeSaltanYCuentan() throws IOException {
+        try (LectorCsv csv = lector("\n\na\n\r\n\nb\n\n")) {
+            assertEquals(List.of("3: a", "6: b"), registros(csv));
+            assertEquals(2, csv.getRegistros());
+        }
+    }
+
+    @Test
+    void ultimoRegistroSinSaltoDeLinea() throws IOException {
+        assertEquals(List.of("1: a|b", "2: c|"), registros(lector("a,b\nc,")));
+    }
+
+    /** getLinea() es la línea donde empieza el registro; los siguientes cuentan las líneas del anterior. */
+    @Test
+    void lineaDeRegistrosDeVariasLineas() throws IOException {
+        assertEquals(List.of("1: uno\ndos\ntres|x", "4: sig", "6: \"|fin"),
+                registros(lector("\"uno\ndos\ntres\",x\nsig\n\n\"\"\"\",\"\nfin\"\n")));
+    }
+
+    @Test
+    void caracteresPartidosEntreLecturasDelCanal() throws IOException {
+        assertEquals(List.of("1: ñandú|€|🎮", "2: \"Ñ\"|x"),
+                registros(goteo("\uFEFFñandú,€,🎮\n\"\"\"Ñ\"\"\",x\r\n")));
+    }
+
+    /** Registros que cruzan el límite del búfer de 64 KiB, con caracteres de dos bytes en el borde. */
+    @Test
+    void registrosMayoresQueElBufer() throws IOException {
+        String largo = "ñ".repeat(50_000);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 4; i++) sb.append(i).append(",\"").append(largo).append("\n\"\n");
+        try (LectorCsv csv = lector(sb.toString())) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(csv.siguiente());
+                assertEquals(1 + 2L * i, csv.getLinea());
+                assertEquals(i, csv.entero(0));
+                assertEquals(largo, csv.campo(1));
+            }
+            assertFalse(csv.siguiente());
+        }
+    }
+}
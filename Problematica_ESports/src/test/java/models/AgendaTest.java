@@ -0,0 +1,87 @@
+package models;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AgendaTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2025, 3, 3);
+
+    /** Dos torneos de dos juegos de la misma categoría, cuatro partidas por día y torneo durante seis días. */
+    private static Agenda agendaConDosJuegos() {
+        Agenda global = Agenda.global(false);
+        Categoria moba = new Categoria("MOBA");
+        Torneo[] torneos = {
+                new Torneo("Copa LoL", "Org", INICIO, new Juego("LoL", moba), global),
+                new Torneo("Copa Dota", "Org", INICIO, new Juego("Dota", moba), global)};
+        for (int t = 0; t < torneos.length; t++) {
+            Equipo[] equipos = new Equipo[8];
+            for (int i = 0; i < equipos.length; i++) {
+                equipos[i] = new Equipo("T" + t + "E" + i);
+                torneos[t].agregarEquipo(equipos[i]);
+            }
+            for (int d = 0; d < 6; d++) {
+                for (int k = 0; k < 4; k++) {
+                    torneos[t].programarPartida(INICIO.plusDays(d), equipos[(2 * k + d) % 8],
+                            equipos[(2 * k + 1 + d) % 8], new Arbitro("Árbitro", t + "-" + d + "-" + k));
+                }
+            }
+        }
+        return global;
+    }
+
+    /** Recorre el rango por páginas como lo hace la API y junta todo. */
+    private static List<Partida> porPaginas(Agenda agenda, LocalDate desde, LocalDate hasta, Agenda.Filtro filtro,
+                                            int limite) {
+        List<Partida> out = new ArrayList<>();
+        int saltar = 0;
+        while (true) {
+            List<Partida> pagina = agenda.entre(desde, hasta, filtro, saltar, limite);
+            out.addAll(pagina);
+            if (pagina.size() < limite) return out;
+            LocalDate ultima = pagina.get(pagina.size() - 1).getFecha();
+            int mismoDia = 0;
+            for (int i = pagina.size() - 1; i >= 0 && pagina.get(i).getFecha().equals(ultima); i--) mismoDia++;
+            saltar = ultima.equals(desde) ? saltar + mismoDia : mismoDia;
+            desde = ultima;
+        }
+    }
+
+    @Test
+    void paginasCubrenElRangoEnOrdenYSinRepetir() {
+        Agenda agenda = agendaConDosJuegos();
+        LocalDate hasta = INICIO.plusDays(4);
+        List<Partida> todas = agenda.entre(INICIO, hasta, Agenda.Filtro.todas());
+        assertEquals(2 * 4 * 5, todas.size());
+
+        for (int limite : new int[]{1, 3, 7, 8, 100}) {
+            assertEquals(todas, porPaginas(agenda, INICIO, hasta, Agenda.Filtro.todas(), limite), "limite " + limite);
+        }
+    }
+
+    @Test
+    void categoriaConVariosJuegosSeIntercalaEnOrdenCronologico() {
+        Agenda agenda = agendaConDosJuegos();
+        Agenda.Filtro moba = Agenda.Filtro.todas().categoria("moba");
+        List<Partida> todas = agenda.entre(INICIO, INICIO.plusDays(5), moba);
+        assertEquals(2 * 4 * 6, todas.size());
+        for (int i = 1; i < todas.size(); i++) {
+            assertTrue(!todas.get(i).getFecha().isBefore(todas.get(i - 1).getFecha()));
+        }
+        assertEquals(todas, porPaginas(agenda, INICIO, INICIO.plusDays(5), moba, 5));
+    }
+
+    @Test
+    void paginaNoPasaDelMaximo() {
+        Agenda agenda = agendaConDosJuegos();
+        assertEquals(6, agenda.entre(INICIO, INICIO.plusDays(5), Agenda.Filtro.todas(), 0, 6).size());
+        assertEquals(2, agenda.entre(INICIO, INICIO, Agenda.Filtro.todas(), 6, 10).size());
+        assertTrue(agenda.entre(INICIO, INICIO, Agenda.Filtro.todas(), 0, 0).isEmpty());
+    }
+}
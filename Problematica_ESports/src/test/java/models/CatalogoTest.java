@@ -0,0 +1,33 @@
+package models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CatalogoTest {
+
+    @Test
+    void juegoRepetidoNoRegistraSuCategoria() {
+        Catalogo catalogo = new Catalogo();
+        Juego lol = catalogo.agregar("League of Legends", new Categoria("MOBA"));
+
+        assertNull(catalogo.agregar("league of legends ", new Categoria("FPS")));
+        assertEquals(List.of(lol.getCategoria()), catalogo.getCategorias());
+        assertSame(lol, catalogo.getJuego("LEAGUE OF LEGENDS"));
+    }
+
+    @Test
+    void categoriaConOtroNombreDeMayusculasEsLaMisma() {
+        Catalogo catalogo = new Catalogo();
+        Juego lol = catalogo.agregar("League of Legends", new Categoria("MOBA", "primera"));
+        Juego dota = catalogo.agregar("Dota 2", new Categoria(" moba", "segunda"));
+
+        assertSame(lol.getCategoria(), dota.getCategoria());
+        assertEquals("primera", dota.getCategoria().getDescripcion());
+        assertEquals(1, catalogo.getCategorias().size());
+    }
+}
@@ -0,0 +1,38 @@
+package models;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TorneoTest {
+
+    private static final LocalDate DIA = LocalDate.of(2025, 1, 1);
+
+    /** Cambiar el árbitro pasa por las agendas: no deja dobles reservas ni al anterior ocupado. */
+    @Test
+    void reasignarArbitroRespetaLaAgenda() {
+        Agenda global = Agenda.global(false);
+        Torneo t = new Torneo("Copa", "Org", DIA, new Juego("Juego", new Categoria("General")), global);
+        Equipo e1 = new Equipo("E1"), e2 = new Equipo("E2"), e3 = new Equipo("E3"), e4 = new Equipo("E4");
+        for (Equipo e : new Equipo[]{e1, e2, e3, e4}) t.agregarEquipo(e);
+        Arbitro a = new Arbitro("Ana", "Uno"), b = new Arbitro("Beto", "Dos"), c = new Arbitro("Carla", "Tres");
+        t.programarPartida(DIA, e1, e2, a);
+        Partida p = t.programarPartida(DIA, e3, e4, b);
+
+        assertThrows(IllegalStateException.class, () -> t.reasignarArbitro(p.getId(), a));
+        assertSame(b, p.getArbitro());
+        assertSame(p, t.partidaEnFecha(b, DIA));
+
+        t.reasignarArbitro(p.getId(), c);
+        assertSame(c, p.getArbitro());
+        assertNull(t.partidaEnFecha(b, DIA));
+        assertTrue(global.estaLibre(b, DIA));
+        assertSame(p, t.partidaEnFecha(c, DIA));
+        assertTrue(b.getPartidasArbitradas().isEmpty());
+    }
+}
@@ -0,0 +1,143 @@
+package persistencia;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DiarioTest {
+
+    /** Sin fsync por tiempo durante el test: solo por lote, sincronizar() o close(). */
+    private static final long SIN_INTERVALO = 3_600_000;
+
+    private static List<String> leer(Path dir, long desde) throws IOException {
+        List<String> leidos = new ArrayList<>();
+        Diario.reproducir(dir, desde, (sec, tipo, datos) -> leidos.add(sec + ":" + tipo + ":" + datos.readUTF()));
+        return leidos;
+    }
+
+    private static void anotar(Diario d, int tipo, String texto) {
+        d.anotar((byte) tipo, datos -> datos.writeUTF(texto));
+    }
+
+    private static List<Path> segmentos(Path dir) throws IOException {
+        try (Stream<Path> s = Files.list(dir)) {
+            return s.filter(p -> p.getFileName().toString().startsWith("diario-")).sorted().toList();
+        }
+    }
+
+    private static Path ultimoSegmento(Path dir) throws IOException {
+        List<Path> todos = segmentos(dir);
+        return todos.get(todos.size() - 1);
+    }
+
+    @Test
+    void reproduceLoAnotadoEnOrden(@TempDir Path dir) throws IOException {
+        try (Diario d = new Diario(dir, 1, 512, SIN_INTERVALO)) {
+            anotar(d, 1, "uno");
+            anotar(d, 2, "dos");
+            assertEquals(3, d.anotar((byte) 3, datos -> datos.writeUTF("tres")));
+        }
+        assertEquals(List.of("1:1:uno", "2:2:dos", "3:3:tres"), leer(dir, 0));
+        assertEquals(List.of("3:3:tres"), leer(dir, 2));
+        assertEquals(3, Diario.reproducir(dir, 0, (sec, tipo, datos) -> { }));
+    }
+
+    /** El lote se fuerza a disco al completarse, sin esperar a close(). */
+    @Test
+    void elLoteLlegaADiscoAlCompletarse(@TempDir Path dir) throws IOException {
+        try (Diario d = new Diario(dir, 1, 3, SIN_INTERVALO)) {
+            anotar(d, 1, "a");
+            anotar(d, 1, "b");
+            assertEquals(List.of(), leer(dir, 0));
+            anotar(d, 1, "c");
+            assertEquals(List.of("1:1:a", "2:1:b", "3:1:c"), leer(dir, 0));
+            anotar(d, 1, "d");
+            d.sincronizar();
+            assertEquals(4, leer(dir, 0).size());
+        }
+    }
+
+    @Test
+    void elTemporizadorFuerzaUnLoteIncompleto(@TempDir Path dir) throws Exception {
+        try (Diario d = new Diario(dir, 1, 512, 5)) {
+            anotar(d, 1, "solo");
+            long limite = System.nanoTime() + 5_000_000_000L;
+            while (leer(dir, 0).isEmpty() && System.nanoTime() < limite) Thread.sleep(5);
+            assertEquals(List.of("1:1:solo"), leer(dir, 0));
+        }
+    }
+
+    /** Un registro a medio escribir al final se descarta; los anteriores se conservan y se sigue anotando. */
+    @Test
+    void colaCortadaSeDescartaYSeSigueDesdeAhi(@TempDir Path dir) throws IOException {
+        try (Diario d = new Diario(dir, 1, 512, SIN_INTERVALO)) {
+            for (int i = 1; i <= 3; i++) anotar(d, 1, "r" + i);
+        }
+        Path segmento = ultimoSegmento(dir);
+        try (RandomAccessFile f = new RandomAccessFile(segmento.toFile(), "rw")) {
+            f.setLength(f.length() - 3);
+        }
+        assertEquals(List.of("1:1:r1", "2:1:r2"), leer(dir, 0));
+
+        long ultima = Diario.reproducir(dir, 0, (sec, tipo, datos) -> { });
+        try (Diario d = new Diario(dir, ultima + 1, 512, SIN_INTERVALO)) {
+            anotar(d, 1, "nuevo");
+        }
+        assertEquals(2, segmentos(dir).size());
+        assertEquals(List.of("1:1:r1", "2:1:r2", "3:1:nuevo"), leer(dir, 0));
+    }
+
+    @Test
+    void crcInvalidoCortaLaReproduccion(@TempDir Path dir) throws IOException {
+        try (Diario d = new Diario(dir, 1, 512, SIN_INTERVALO)) {
+            for (int i = 1; i <= 3; i++) anotar(d, 1, "r" + i);
+        }
+        Path segmento = ultimoSegmento(dir);
+        try (RandomAccessFile f = new RandomAccessFile(segmento.toFile(), "rw")) {
+            long pos = f.length() - 5; // último byte de datos del tercer registro
+            f.seek(pos);
+            int b = f.read();
+            f.seek(pos);
+            f.write(b ^ 0xFF);
+        }
+        assertEquals(List.of("1:1:r1", "2:1:r2"), leer(dir, 0));
+    }
+
+    /** Una apertura sin anotaciones no deja segmentos vacíos para la siguiente. */
+    @Test
+    void aperturaSinRegistrosNoAcumulaSegmentos(@TempDir Path dir) throws IOException {
+        try (Diario d = new Diario(dir, 1, 512, SIN_INTERVALO)) {
+            anotar(d, 1, "a");
+        }
+        new Diario(dir, 2, 512, SIN_INTERVALO).close();
+        new Diario(dir, 2, 512, SIN_INTERVALO).close();
+        assertEquals(2, segmentos(dir).size()); // el de "a" y el de la última apertura
+        assertEquals(List.of("1:1:a"), leer(dir, 0));
+    }
+
+    @Test
+    void rotarBorraLoCubiertoPorLaInstantanea(@TempDir Path dir) throws IOException {
+        try (Diario d = new Diario(dir, 1, 512, SIN_INTERVALO)) {
+            for (int i = 1; i <= 3; i++) anotar(d, 1, "r" + i);
+            assertThrows(IllegalStateException.class, () -> d.rotar(2));
+            d.rotar(3);
+            assertEquals(1, segmentos(dir).size());
+            anotar(d, 1, "r4");
+        }
+        assertEquals(List.of("4:1:r4"), leer(dir, 3));
+        assertTrue(segmentos(dir).get(0).getFileName().toString().endsWith("00004.bin"));
+        // Sin la instantánea, el diario ya no alcanza: falta 1..3.
+        assertThrows(IOException.class, () -> leer(dir, 0));
+    }
+}
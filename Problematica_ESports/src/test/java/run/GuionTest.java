@@ -0,0 +1,43 @@
+package run;
+
+import org.junit.jupiter.api.Test;
+import utils.ConsoleIO;
+import viewModel.AppVM;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GuionTest {
+
+    /** Un id inexistente o cancelado se informa con su línea y el guion sigue con el resto. */
+    @Test
+    void resultadoDePartidaInexistente() throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        ConsoleIO io = new ConsoleIO(InputStream.nullInputStream(), new PrintStream(salida, true, StandardCharsets.UTF_8), false);
+        AppVM vm = new AppVM(io);
+        String guion = """
+                juego Valorant FPS
+                equipo Fox
+                equipo Raptors
+                torneo Copa SYSTECH 2025-03-03 Valorant
+                inscribir Copa Fox
+                inscribir Copa Raptors
+                arbitro Carla Gómez
+                partida Copa 2025-03-03 Fox Raptors
+                resultado Copa 7 13 7
+                resultado Copa 1 13 7
+                """;
+
+        assertEquals(1, new Guion(vm, io).ejecutar(new BufferedReader(new StringReader(guion))));
+        assertTrue(salida.toString(StandardCharsets.UTF_8).contains("Línea 9: No existe la partida 7 en Copa"));
+        assertTrue(vm.getPartida("Copa", 1).tieneResultado());
+    }
+}
@@ -0,0 +1,61 @@
+package services;
+
+import models.Arbitro;
+import models.Categoria;
+import models.Equipo;
+import models.Juego;
+import models.Partida;
+import models.Torneo;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PoolArbitrosTest {
+
+    private static final LocalDate ENERO = LocalDate.of(2025, 1, 1);
+    private static final LocalDate FEBRERO = LocalDate.of(2025, 2, 5);
+
+    private final Torneo torneo = new Torneo("Copa", "Org", ENERO, new Juego("Juego", new Categoria("General")));
+
+    private Equipo equipo(String nombre) {
+        Equipo e = new Equipo(nombre);
+        torneo.agregarEquipo(e);
+        return e;
+    }
+
+    /** Trabajar en otra semana no debe sacar al árbitro de los montículos de días ya consultados. */
+    @Test
+    void cargaEnOtraSemanaNoLoSacaDeLosDiasYaConsultados() {
+        PoolArbitros pool = new PoolArbitros();
+        Arbitro a = pool.registrar("Ana", "Uno");
+        Arbitro b = pool.registrar("Beto", "Dos");
+        Equipo e1 = equipo("E1"), e2 = equipo("E2"), e3 = equipo("E3"), e4 = equipo("E4");
+
+        Partida p1 = pool.programar(torneo, ENERO, e1, e2);
+        Partida p2 = pool.programar(torneo, FEBRERO, e1, e2);
+        Partida p3 = pool.programar(torneo, ENERO, e3, e4);
+
+        assertSame(a, p1.getArbitro());
+        assertSame(b, p2.getArbitro());
+        assertSame(b, p3.getArbitro());
+        assertEquals(1, pool.getCargaDia(b, ENERO));
+        assertEquals(1, pool.getCargaSemana(b, FEBRERO));
+    }
+
+    /** Un montículo descartado por el tope de días se rehace con la carga al día. */
+    @Test
+    void diaDescartadoDeLaCacheSeRehace() {
+        PoolArbitros pool = new PoolArbitros();
+        Arbitro a = pool.registrar("Ana", "Uno");
+        Arbitro b = pool.registrar("Beto", "Dos");
+        Equipo e1 = equipo("E1"), e2 = equipo("E2"), e3 = equipo("E3"), e4 = equipo("E4");
+
+        assertSame(a, pool.programar(torneo, ENERO, e1, e2).getArbitro());
+        for (int d = 1; d <= PoolArbitros.MAX_DIAS_EN_CACHE + 1; d++) pool.elegir(ENERO.plusDays(7L * d));
+
+        assertSame(b, pool.programar(torneo, ENERO, e3, e4).getArbitro());
+    }
+}
@@ -0,0 +1,138 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TablaNombresTest {
+
+    @Test
+    void ignoraMayusculasYEspaciosEnLosExtremos() {
+        TablaNombres<String> t = new TablaNombres<>();
+        assertNull(t.putIfAbsent("Fox Gaming", "fox"));
+        assertEquals("fox", t.get("  fox gaming "));
+        assertEquals("fox", t.get("FOX GAMING\t"));
+        assertEquals("fox", t.putIfAbsent(" FOX gaming\n", "otro"));
+        assertNull(t.get("fox  gaming")); // los espacios de adentro sí cuentan
+        assertNull(t.get("Fox Gamin"));
+        assertNull(t.get(null));
+        assertEquals(1, t.size());
+        assertThrows(IllegalArgumentException.class, () -> t.putIfAbsent("  \t", "vacío"));
+    }
+
+    @Test
+    void nombresNoAscii() {
+        TablaNombres<String> t = new TablaNombres<>();
+        t.putIfAbsent("Ñandú Esports", "ñandú");
+        t.putIfAbsent("ΟΔΟΣ", "griego");
+        t.putIfAbsent("Straße", "calle");
+        t.putIfAbsent("\uD801\uDC00 Deseret", "deseret"); // U+10400, fuera del plano básico
+
+        assertEquals("ñandú", t.get("ñANDÚ esports"));
+        assertEquals("griego", t.get("οδος"));
+        assertEquals("griego", t.get("οδος".replace('σ', 'ς'))); // sigma final
+        assertNull(t.get("STRASSE")); // ß no tiene mayúscula de un solo carácter: no se expande
+        assertEquals("calle", t.get("STRAßE"));
+        assertEquals("deseret", t.get("\uD801\uDC28 deseret")); // U+10428, su minúscula
+        assertTrue(TablaNombres.iguales("\u212A", "k")); // signo Kelvin
+        assertEquals(TablaNombres.hash("\u212A"), TablaNombres.hash("k"));
+    }
+
+    /**
+     * Para todo carácter del plano básico (y algunos pares fuera de él), cualquier variante que
+     * {@link TablaNombres#iguales} dé por igual tiene el mismo {@link TablaNombres#hash}: si no, una búsqueda
+     * podría sondear otra posición y no encontrar una clave existente.
+     */
+    @Test
+    void igualesImplicaMismoHash() {
+        List<int[]> pares = new ArrayList<>();
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            if (Character.isSurrogate((char) c)) continue;
+            for (int v : new int[] { Character.toUpperCase(c), Character.toLowerCase(c), Character.toTitleCase(c),
+                    Character.toLowerCase(Character.toUpperCase(c)) }) {
+                pares.add(new int[] { c, v });
+            }
+        }
+        for (int c : new int[] { 0x10400, 0x10428, 0x1E900, 0x1E922, 0x16E40, 0x16E60 }) {
+            pares.add(new int[] { c, Character.toUpperCase(c) });
+            pares.add(new int[] { c, Character.toLowerCase(c) });
+        }
+        for (int[] p : pares) {
+            String a = "x" + Character.toString(p[0]) + "y", b = " X" + Character.toString(p[1]) + "Y ";
+            if (TablaNombres.iguales(a, b)) {
+                assertEquals(TablaNombres.hash(a), TablaNombres.hash(b),
+                        String.format("U+%04X vs U+%04X", p[0], p[1]));
+            }
+        }
+    }
+
+    @Test
+    void conservaElOrdenDeAltaAlCrecer() {
+        TablaNombres<Integer> t = new TablaNombres<>();
+        List<Integer> vista = t.values();
+        for (int i = 0; i < 5000; i++) assertNull(t.putIfAbsent("Equipo " + i, i));
+        assertEquals(5000, vista.size()); // la vista refleja las altas posteriores
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(Integer.valueOf(i), vista.get(i));
+            assertEquals(Integer.valueOf(i), t.get("EQUIPO " + i + " "));
+        }
+        assertNull(t.get("Equipo 5000"));
+    }
+
+    /**
+     * Lecturas optimistas mientras un hilo agrega y la tabla crece muchas veces: todo nombre ya agregado se
+     * encuentra con su valor y ninguno ausente aparece.
+     */
+    @Test
+    void lecturasConcurrentesConCrecimiento() throws InterruptedException {
+        TablaNombres<Integer> t = TablaNombres.concurrente();
+        int total = 200_000;
+        AtomicInteger publicados = new AtomicInteger();
+        AtomicBoolean fin = new AtomicBoolean();
+        AtomicReference<String> fallo = new AtomicReference<>();
+
+        List<Thread> lectores = new ArrayList<>();
+        for (int k = 0; k < 4; k++) {
+            Thread lector = new Thread(() -> {
+                ThreadLocalRandom r = ThreadLocalRandom.current();
+                for (int vuelta = 0; !fin.get() && fallo.get() == null; vuelta++) {
+                    int hasta = publicados.get();
+                    if (hasta > 0) {
+                        int i = r.nextInt(hasta);
+                        Integer v = t.get(i % 2 == 0 ? "equipo " + i : " EQUIPO " + i);
+                        if (v == null || v != i) fallo.compareAndSet(null, "get(" + i + ") = " + v);
+                    }
+                    Integer ausente = t.get("Equipo " + (total + r.nextInt(1000)));
+                    if (ausente != null) fallo.compareAndSet(null, "apareció un ausente: " + ausente);
+                    if ((vuelta & 1023) == 0 && t.values().size() < hasta)
+                        fallo.compareAndSet(null, "values() perdió altas");
+                }
+            });
+            lector.start();
+            lectores.add(lector);
+        }
+        for (int i = 0; i < total && fallo.get() == null; i++) {
+            assertNull(t.putIfAbsent("Equipo " + i, i));
+            publicados.set(i + 1);
+        }
+        fin.set(true);
+        for (Thread lector : lectores) lector.join();
+
+        assertNull(fallo.get());
+        assertEquals(total, t.size());
+        assertSame(t.values().get(123), t.get("equipo 123"));
+        assertFalse(t.contiene("Equipo " + total));
+    }
+}
@@ -0,0 +1,40 @@
+package viewModel;
+
+import models.Categoria;
+import models.Juego;
+import org.junit.jupiter.api.Test;
+import utils.ConsoleIO;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AppVMTest {
+
+    static AppVM vmMudo() {
+        return new AppVM(new ConsoleIO(InputStream.nullInputStream(), new PrintStream(OutputStream.nullOutputStream()), false));
+    }
+
+    @Test
+    void crearJuegoExistenteNoCambiaLasCategorias() {
+        AppVM vm = vmMudo();
+        Juego lol = vm.crearJuego("League of Legends", vm.crearCategoria("MOBA", null));
+        List<Categoria> antes = new ArrayList<>(vm.getCategorias());
+
+        assertSame(lol, vm.crearJuego("league of legends", vm.crearCategoria("FPS", "otra")));
+        assertEquals(antes, vm.getCategorias());
+    }
+
+    @Test
+    void crearCategoriaSolaNoLaRegistra() {
+        AppVM vm = vmMudo();
+        vm.crearCategoria("Suelta", "sin juegos");
+        assertTrue(vm.getCategorias().isEmpty());
+    }
+}
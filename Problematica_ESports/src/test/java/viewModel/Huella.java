@@ -0,0 +1,76 @@
+package viewModel;
+
+import models.Arbitro;
+import models.Equipo;
+import models.Juego;
+import models.Jugador;
+import models.Partida;
+import models.Torneo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Resumen en texto de todo el estado observable de un {@link AppVM}, para comparar dos VM (p. ej. antes de
+ * cerrar y después de reabrir desde disco) con un solo {@code assertEquals}.
+ *
+ * <p>Cubre juegos, árbitros del pool, planteles, la clasificación global con su orden de desempate, y por
+ * torneo los inscritos, las partidas vivas (id, fecha, equipos, árbitro, marcador), el último id, la tabla y
+ * los cara a cara.</p>
+ */
+final class Huella {
+
+    private Huella() { }
+
+    static String de(AppVM vm) {
+        StringBuilder sb = new StringBuilder();
+        for (Juego j : vm.getJuegos()) {
+            sb.append("juego ").append(j.getNombre()).append(" / ").append(j.getCategoria().getNombre())
+                    .append(" / ").append(j.getCategoria().getDescripcion()).append('\n');
+        }
+        for (Arbitro a : vm.getArbitros()) sb.append("arbitro ").append(arbitro(a)).append('\n');
+
+        List<Equipo> equipos = new ArrayList<>(vm.getEquipos());
+        equipos.sort(Comparator.comparing(Equipo::getNombre));
+        for (Equipo e : equipos) {
+            sb.append("equipo ").append(e.getNombre()).append('\n');
+            for (Jugador j : e.getJugadores()) sb.append("  ").append(jugador(j)).append('\n');
+        }
+        for (Jugador j : vm.getTopJugadores(Integer.MAX_VALUE)) {
+            sb.append("ranking ").append(vm.getPosicionJugador(j)).append(' ').append(jugador(j)).append('\n');
+        }
+
+        List<Torneo> torneos = new ArrayList<>(vm.getTorneos());
+        torneos.sort(Comparator.comparing(Torneo::getNombre));
+        for (Torneo t : torneos) {
+            sb.append("torneo ").append(t.getNombre()).append(" / ").append(t.getOrganizador()).append(" / ")
+                    .append(t.getFechaInicio()).append(" / ").append(t.getJuego().getNombre())
+                    .append(" / ultimoId=").append(t.getUltimoId()).append('\n');
+            List<Equipo> inscritos = new ArrayList<>(t.getEquipos());
+            inscritos.sort(Comparator.comparing(Equipo::getNombre));
+            for (Equipo e : inscritos) sb.append("  inscrito ").append(e.getNombre()).append('\n');
+            for (Partida p : vm.getPartidas(t.getNombre())) {
+                sb.append("  partida ").append(p.getId()).append(' ').append(p.getFecha()).append(' ')
+                        .append(p.getEquipo1().getNombre()).append('-').append(p.getEquipo2().getNombre())
+                        .append(' ').append(arbitro(p.getArbitro()));
+                if (p.tieneResultado()) sb.append(' ').append(p.getMarcador1()).append(':').append(p.getMarcador2());
+                sb.append('\n');
+            }
+            vm.getClasificacion(t.getNombre()).forEach(pos -> sb.append("  tabla ").append(pos).append('\n'));
+            for (Equipo e : inscritos) {
+                vm.getRivales(t.getNombre(), e.getNombre())
+                        .forEach(b -> sb.append("  cara a cara ").append(b).append('\n'));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String arbitro(Arbitro a) {
+        return a.getNombre() + " " + a.getApellido();
+    }
+
+    private static String jugador(Jugador j) {
+        return j + " " + j.getRankingInicial() + "->" + j.getRanking();
+    }
+}
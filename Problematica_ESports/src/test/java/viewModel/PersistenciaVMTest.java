@@ -0,0 +1,213 @@
+package viewModel;
+
+import models.Arbitro;
+import models.Jugador;
+import models.Partida;
+import models.Torneo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ida y vuelta por disco: se aplican mutaciones con persistencia activa, se cierra, se reabre un VM nuevo
+ * sobre la misma carpeta y se compara su {@link Huella} con la del original.
+ */
+class PersistenciaVMTest {
+
+    private static final int SIN_INSTANTANEAS = Integer.MAX_VALUE;
+    private static final LocalDate INICIO = LocalDate.of(2025, 3, 3);
+
+    private static AppVM abrir(Path dir, int cadaEventos) throws IOException {
+        AppVM vm = AppVMTest.vmMudo();
+        vm.activarPersistencia(dir, cadaEventos);
+        return vm;
+    }
+
+    /** Juego, equipos con jugadores (dos empatados en ranking), torneo, árbitros y una jornada con resultado. */
+    private static void poblar(AppVM vm) {
+        vm.crearJuego("Valorant", vm.crearCategoria("FPS", "Disparos en primera persona"));
+        for (String e : List.of("Fox", "Raptors", "Owls", "Wolves")) {
+            vm.crearEquipo(e);
+            vm.agregarJugadorAEquipo(e, e + " Uno", e.toLowerCase() + "1", 1500);
+            vm.agregarJugadorAEquipo(e, e + " Dos", e.toLowerCase() + "2", 1400 + e.length());
+        }
+        vm.crearTorneo("Copa", "SYSTECH", INICIO, "Valorant");
+        for (String e : List.of("Fox", "Raptors", "Owls", "Wolves")) vm.inscribirEquipoEnTorneo("Copa", e);
+        vm.crearArbitro("Carla", "Gómez");
+        vm.crearArbitro("Luis", "Pérez");
+        Partida p1 = vm.programarPartida("Copa", INICIO, "Fox", "Raptors");
+        vm.programarPartida("Copa", INICIO, "Owls", "Wolves");
+        vm.registrarResultado(p1, 13, 7);
+    }
+
+    /** Segunda jornada: resultado, cancelación, reprogramación y un árbitro que entra al programar. */
+    private static void masCambios(AppVM vm) {
+        vm.registrarResultado(vm.getPartida("Copa", 2), 9, 13);
+        Partida p3 = vm.programarPartida("Copa", INICIO.plusDays(7), "Fox", "Owls");
+        vm.programarPartida("Copa", INICIO.plusDays(7), "Raptors", "Wolves", new Arbitro("Ana", "Ruiz"));
+        vm.cancelarPartida("Copa", p3.getId());
+        vm.programarPartida("Copa", INICIO.plusDays(8), "Fox", "Wolves");
+        vm.reprogramarPartida("Copa", 4, INICIO.plusDays(9));
+        vm.registrarResultado(vm.getPartida("Copa", 4), 13, 11);
+    }
+
+    private static Path ultimoSegmento(Path dir) throws IOException {
+        try (Stream<Path> s = Files.list(dir)) {
+            return s.filter(p -> p.getFileName().toString().startsWith("diario-")).filter(p -> {
+                try {
+                    return Files.size(p) > 0;
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }).max(Path::compareTo).orElseThrow();
+        }
+    }
+
+    @Test
+    void elDiarioReproduceElEstado(@TempDir Path dir) throws IOException {
+        AppVM vm = abrir(dir, SIN_INSTANTANEAS);
+        poblar(vm);
+        masCambios(vm);
+        String huella = Huella.de(vm);
+        vm.cerrarPersistencia();
+        assertFalse(Files.exists(dir.resolve("instantanea.bin")));
+
+        AppVM reabierto = abrir(dir, SIN_INSTANTANEAS);
+        assertEquals(huella, Huella.de(reabierto));
+
+        // Sigue anotando a continuación: la partida nueva toma el id siguiente y sobrevive otra reapertura.
+        assertEquals(6, reabierto.programarPartida("Copa", INICIO.plusDays(14), "Owls", "Raptors").getId());
+        String despues = Huella.de(reabierto);
+        reabierto.cerrarPersistencia();
+        assertEquals(despues, Huella.de(abrir(dir, SIN_INSTANTANEAS)));
+    }
+
+    @Test
+    void instantaneaMasColaDelDiario(@TempDir Path dir) throws IOException {
+        AppVM vm = abrir(dir, SIN_INSTANTANEAS);
+        poblar(vm);
+        vm.guardarInstantanea();
+        assertTrue(Files.exists(dir.resolve("instantanea.bin")));
+        masCambios(vm);
+        String huella = Huella.de(vm);
+        vm.cerrarPersistencia();
+
+        assertEquals(huella, Huella.de(abrir(dir, SIN_INSTANTANEAS)));
+    }
+
+    /** Con instantáneas automáticas cada pocos eventos, el corte cae en varios puntos del escenario. */
+    @Test
+    void instantaneasAutomaticas(@TempDir Path dir) throws IOException {
+        AppVM vm = abrir(dir, 3);
+        poblar(vm);
+        masCambios(vm);
+        String huella = Huella.de(vm);
+        vm.cerrarPersistencia();
+
+        assertEquals(huella, Huella.de(abrir(dir, 3)));
+        assertEquals(huella, Huella.de(abrir(dir, SIN_INSTANTANEAS)));
+    }
+
+    /** Un último registro a medio escribir se pierde solo él: el estado queda como antes de esa mutación. */
+    @Test
+    void ultimoRegistroCortado(@TempDir Path dir) throws IOException {
+        AppVM vm = abrir(dir, SIN_INSTANTANEAS);
+        poblar(vm);
+        masCambios(vm);
+        String antes = Huella.de(vm);
+        vm.registrarResultado(vm.getPartida("Copa", 5), 2, 13);
+        assertNotEquals(antes, Huella.de(vm));
+        vm.cerrarPersistencia();
+
+        Path segmento = ultimoSegmento(dir);
+        try (RandomAccessFile f = new RandomAccessFile(segmento.toFile(), "rw")) {
+            f.setLength(f.length() - 2);
+        }
+        AppVM reabierto = abrir(dir, SIN_INSTANTANEAS);
+        assertEquals(antes, Huella.de(reabierto));
+
+        // El resultado perdido se puede volver a registrar y queda anotado detrás de la cola descartada.
+        reabierto.registrarResultado(reabierto.getPartida("Copa", 5), 2, 13);
+        String despues = Huella.de(reabierto);
+        reabierto.cerrarPersistencia();
+        assertEquals(despues, Huella.de(abrir(dir, SIN_INSTANTANEAS)));
+    }
+
+    @Test
+    void ultimoRegistroConCrcInvalido(@TempDir Path dir) throws IOException {
+        AppVM vm = abrir(dir, SIN_INSTANTANEAS);
+        poblar(vm);
+        vm.guardarInstantanea();
+        masCambios(vm);
+        String antes = Huella.de(vm);
+        vm.cancelarPartida("Copa", 5);
+        vm.cerrarPersistencia();
+
+        Path segmento = ultimoSegmento(dir);
+        try (RandomAccessFile f = new RandomAccessFile(segmento.toFile(), "rw")) {
+            long pos = f.length() - 1; // último byte del CRC
+            f.seek(pos);
+            int b = f.read();
+            f.seek(pos);
+            f.write(b ^ 0x01);
+        }
+        assertEquals(antes, Huella.de(abrir(dir, SIN_INSTANTANEAS)));
+    }
+
+    /**
+     * Carga solo desde la instantánea (sin cola de diario): jugadores empatados en ranking y dados de alta
+     * alternando equipos, un árbitro fuera del pool, resultados, y cancelaciones en medio y al final de la
+     * numeración.
+     */
+    @Test
+    void instantaneaSinColaRestauraElEstado(@TempDir Path dir) throws IOException {
+        AppVM vm = abrir(dir, SIN_INSTANTANEAS);
+        poblar(vm);
+        masCambios(vm);
+        vm.crearEquipo("Banca");
+        vm.crearEquipo("Reserva");
+        vm.agregarJugadorAEquipo("Banca", "Banca Uno", "banca1", 1500);
+        vm.agregarJugadorAEquipo("Reserva", "Reserva Uno", "reserva1", 1500);
+        vm.agregarJugadorAEquipo("Banca", "Banca Dos", "banca2", 1500);
+        // Un cambio hecho directamente sobre el modelo: solo la instantánea lo ve, y su árbitro no es del pool.
+        Torneo copa = vm.getTorneos().get(0);
+        copa.programarPartida(INICIO.plusDays(20), copa.getPartida(1).getEquipo1(), copa.getPartida(1).getEquipo2(),
+                new Arbitro("Externo", "Sinpool"));
+        vm.programarPartida("Copa", INICIO.plusDays(21), "Owls", "Raptors");
+        vm.programarPartida("Copa", INICIO.plusDays(22), "Owls", "Fox");
+        vm.cancelarPartida("Copa", 8);
+        assertEquals(8, copa.getUltimoId());
+        vm.guardarInstantanea();
+        String huella = Huella.de(vm);
+        vm.cerrarPersistencia();
+
+        AppVM cargado = abrir(dir, SIN_INSTANTANEAS);
+        assertEquals(huella, Huella.de(cargado));
+        assertEquals(List.of("Carla", "Luis", "Ana"), cargado.getArbitros().stream().map(Arbitro::getNombre).toList());
+        assertEquals("Externo", cargado.getPartida("Copa", 6).getArbitro().getNombre());
+        List<Jugador> empatados = cargado.getJugadoresEnRango(1500, 1500, 10).stream()
+                .filter(j -> List.of("Banca", "Reserva").contains(j.getEquipo().getNombre())).toList();
+        assertEquals(List.of("banca1", "reserva1", "banca2"), empatados.stream().map(Jugador::getAlias).toList());
+
+        // Después de cargar, ambos siguen igual: id siguiente al último cancelado y misma carga de árbitros.
+        Partida original = vm.programarPartida("Copa", INICIO.plusDays(22), "Raptors", "Wolves");
+        Partida tras = cargado.programarPartida("Copa", INICIO.plusDays(22), "Raptors", "Wolves");
+        assertEquals(9, tras.getId());
+        assertEquals(original.getArbitro().getNombre(), tras.getArbitro().getNombre());
+        assertEquals(Huella.de(vm), Huella.de(cargado));
+        assertSame(tras, cargado.getPartida("Copa", 9));
+    }
+}